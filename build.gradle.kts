@@ -9,6 +9,7 @@ plugins {
     id("org.springframework.boot") version "3.5.5"
     id("io.spring.dependency-management") version "1.1.7"
     id("org.springdoc.openapi-gradle-plugin") version "1.9.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.L5-G7"
@@ -43,6 +44,7 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-validation:$springBootVersion")
     implementation("io.jsonwebtoken:jjwt:$jjwtVersion")
     implementation("org.springframework.boot:spring-boot-starter-security")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation(project(":mealcraft-starter-external-recipes"))
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:$springdocVersion")
     implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
@@ -60,6 +62,13 @@ tasks.withType<Test> {
     useJUnitPlatform()
 }
 
+// Benchmarks live in src/jmh/java; run them with ./gradlew jmh
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+}
+
 openApi {
     apiDocsUrl.set("http://localhost:8080/v3/api-docs")
     outputDir.set(file("$projectDir/openapi"))
@@ -3,6 +3,8 @@ val springBootAutoconfigureVersion = "3.3.4"
 val springWebVersion = "6.1.12"
 val junitLauncherVersion = "1.13.4"
 val jacksonVersion = "2.17.2"
+val httpclient5Version = "5.5"
+val micrometerVersion = "1.15.3"
 
 plugins {
 	`java-library`
@@ -25,10 +27,16 @@ dependencies {
 	compileOnly("org.springframework.boot:spring-boot-configuration-processor:$springBootAutoconfigureVersion")
 	compileOnly("org.springframework:spring-web:$springWebVersion")
 	compileOnly("com.fasterxml.jackson.core:jackson-databind:$jacksonVersion")
+	compileOnly("org.apache.httpcomponents.client5:httpclient5:$httpclient5Version")
+	compileOnly("io.micrometer:micrometer-core:$micrometerVersion")
 
 	annotationProcessor("org.springframework.boot:spring-boot-configuration-processor:$springBootAutoconfigureVersion")
 
 	testImplementation("org.springframework.boot:spring-boot-starter-test:$springBootVersion")
 	testImplementation("org.junit.platform:junit-platform-launcher:$junitLauncherVersion")
+	testImplementation("org.springframework:spring-web:$springWebVersion")
+	testImplementation("com.fasterxml.jackson.core:jackson-databind:$jacksonVersion")
+	testImplementation("org.apache.httpcomponents.client5:httpclient5:$httpclient5Version")
+	testImplementation("io.micrometer:micrometer-core:$micrometerVersion")
 
 }
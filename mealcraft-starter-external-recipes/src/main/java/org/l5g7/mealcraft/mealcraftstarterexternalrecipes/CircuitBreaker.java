@@ -0,0 +1,146 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+
+/**
+ * Failure-rate circuit breaker over a count-based sliding window.
+ * <p>
+ * While {@link State#CLOSED}, the outcomes of the last {@code slidingWindowSize} calls are kept; once at least
+ * {@code minimumCalls} are recorded and the failure rate reaches {@code failureRateThreshold} percent the breaker
+ * opens and refuses calls for {@code openDuration}. After that it lets {@code halfOpenCalls} trial calls through:
+ * if all succeed it closes again, the first failure opens it for another {@code openDuration}.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    public interface TransitionListener {
+        void onTransition(State from, State to);
+    }
+
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoTime;
+    private final List<TransitionListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                          Duration openDuration, int halfOpenCalls) {
+        this(failureRateThreshold, slidingWindowSize, minimumCalls, openDuration, halfOpenCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                   Duration openDuration, int halfOpenCalls, LongSupplier nanoTime) {
+        if (failureRateThreshold < 1 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("Failure rate threshold must be between 1 and 100");
+        }
+        if (slidingWindowSize < 1 || minimumCalls < 1 || minimumCalls > slidingWindowSize) {
+            throw new IllegalArgumentException("Minimum calls must be between 1 and the sliding window size");
+        }
+        if (halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Half-open calls must be positive");
+        }
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoTime = nanoTime;
+        this.window = new boolean[slidingWindowSize];
+    }
+
+    public void addListener(TransitionListener listener) {
+        listeners.add(listener);
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Whether a call may go upstream now. A caller that gets {@code true} must report the outcome with
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoTime.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenPermits++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[windowIndex]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            failures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        switch (next) {
+            case OPEN -> openedAt = nanoTime.getAsLong();
+            case HALF_OPEN -> {
+                halfOpenPermits = 0;
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                windowIndex = 0;
+                recorded = 0;
+                failures = 0;
+            }
+        }
+        listeners.forEach(listener -> listener.onTransition(previous, next));
+    }
+}
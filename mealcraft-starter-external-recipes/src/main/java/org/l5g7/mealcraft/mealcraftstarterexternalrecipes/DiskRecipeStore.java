@@ -0,0 +1,413 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * {@link RecipeStore} persisted in a directory, so the corpus survives restarts.
+ * <p>
+ * {@code recipes.dat} is append-only: each recipe is written once, keyed by its upstream id, as
+ * {@code [int length][int crc32][body]}. {@code recipes.idx} is a memory-mapped array of
+ * {@code [long offset][int length]} slots, one per record in append order, behind an {@code [int magic][int count]}
+ * header; random picks choose a slot, lookups by id go through an in-memory map from id to slot built on open.
+ * <p>
+ * A record is appended before its slot is published, so a crash leaves at worst a torn tail: a last record that
+ * is cut short or fails its CRC at the end of the file. On open only that tail is cut off. Valid records the index
+ * does not cover yet are indexed, and the index is rebuilt from the data file when it does not match. Corrupt
+ * records inside the file and records beyond {@code maxRecipes} are left where they are, just not indexed.
+ * <p>
+ * One instance owns the directory at a time: the data file is locked on open, and a second instance, in this
+ * process or another, fails with {@link StoreLockedException}.
+ */
+public class DiskRecipeStore implements RecipeStore, AutoCloseable {
+
+    private static final Log log = LogFactory.getLog(DiskRecipeStore.class);
+
+    private static final int MAGIC = 0x4D435249;
+    private static final int INDEX_HEADER = 8;
+    private static final int INDEX_ENTRY = 12;
+    private static final int RECORD_HEADER = 8;
+
+    private final int maxRecipes;
+    private final FileChannel data;
+    private final FileLock lock;
+    private final FileChannel indexChannel;
+    private final MappedByteBuffer index;
+    private final Map<String, Integer> slotsById = new ConcurrentHashMap<>();
+    private final LongAdder served = new LongAdder();
+
+    private volatile int count;
+    private long dataEnd;
+
+    public DiskRecipeStore(Path directory, int maxRecipes) throws IOException {
+        if (maxRecipes < 1) {
+            throw new IllegalArgumentException("Store capacity must be positive");
+        }
+        this.maxRecipes = maxRecipes;
+        Files.createDirectories(directory);
+        this.data = FileChannel.open(directory.resolve("recipes.dat"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.lock = lock(data, directory);
+            this.indexChannel = FileChannel.open(directory.resolve("recipes.idx"),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            data.close();
+            throw e;
+        }
+        try {
+            this.index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    INDEX_HEADER + (long) maxRecipes * INDEX_ENTRY);
+            long indexed = loadIndex();
+            if (indexed < 0) {
+                slotsById.clear();
+                count = 0;
+                indexed = 0;
+                if (data.size() > 0) {
+                    log.info("External recipe store index at " + directory + " does not match its data, rebuilding it");
+                }
+            }
+            indexRecords(indexed);
+        } catch (IOException e) {
+            data.close();
+            indexChannel.close();
+            throw e;
+        }
+        log.info("External recipe store at " + directory + " opened with " + count + " recipes");
+    }
+
+    /**
+     * Thrown when another store, in this process or another one, already has the directory open.
+     */
+    public static class StoreLockedException extends IOException {
+
+        StoreLockedException(Path directory) {
+            super("External recipe store at " + directory + " is in use by another instance");
+        }
+    }
+
+    @Override
+    public synchronized void remember(ExternalRecipe recipe) {
+        if (recipe == null || recipe.sourceId() == null || slotsById.containsKey(recipe.sourceId())
+                || count >= maxRecipes) {
+            return;
+        }
+        try {
+            byte[] body = encode(recipe);
+            ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + body.length);
+            record.putInt(body.length).putInt(checksum(body)).put(body).flip();
+            long offset = dataEnd;
+            while (record.hasRemaining()) {
+                data.write(record, offset + record.position());
+            }
+            dataEnd = offset + RECORD_HEADER + body.length;
+
+            int slot = count;
+            putSlot(slot, offset, RECORD_HEADER + body.length);
+            slotsById.put(recipe.sourceId(), slot);
+            count = slot + 1;
+            index.putInt(4, count);
+        } catch (IOException e) {
+            log.warn("Storing external recipe " + recipe.sourceId() + " failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<ExternalRecipe> randomRecipes(int wanted) {
+        int size = count;
+        int n = Math.min(Math.max(wanted, 0), size);
+        Set<Integer> slots = new LinkedHashSet<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (n * 2 > size) {
+            List<Integer> all = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                all.add(i);
+            }
+            Collections.shuffle(all, random);
+            slots.addAll(all.subList(0, n));
+        } else {
+            while (slots.size() < n) {
+                slots.add(random.nextInt(size));
+            }
+        }
+        return read(slots);
+    }
+
+    @Override
+    public List<ExternalRecipe> byIds(Collection<String> sourceIds) {
+        List<Integer> slots = new ArrayList<>();
+        for (String sourceId : sourceIds) {
+            Integer slot = slotsById.get(sourceId);
+            if (slot != null) {
+                slots.add(slot);
+            }
+        }
+        return read(slots);
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public long servedRecipes() {
+        return served.sum();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        index.force();
+        data.force(false);
+        lock.release();
+        data.close();
+        indexChannel.close();
+    }
+
+    private List<ExternalRecipe> read(Collection<Integer> slots) {
+        List<ExternalRecipe> recipes = new ArrayList<>();
+        for (int slot : slots) {
+            try {
+                recipes.add(decode(readBody(slotOffset(slot), slotLength(slot))));
+            } catch (IOException e) {
+                log.warn("Reading stored external recipe failed: " + e.getMessage());
+            }
+        }
+        served.add(recipes.size());
+        return recipes;
+    }
+
+    /**
+     * Reads the body of the record at {@code offset}, or throws if the record is cut short or corrupt.
+     */
+    private byte[] readBody(long offset, int recordLength) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(recordLength);
+        while (record.hasRemaining()) {
+            if (data.read(record, offset + record.position()) < 0) {
+                throw new IOException("Record at " + offset + " is truncated");
+            }
+        }
+        record.flip();
+        int length = record.getInt();
+        int crc = record.getInt();
+        byte[] body = new byte[recordLength - RECORD_HEADER];
+        record.get(body);
+        if (length != body.length || crc != checksum(body)) {
+            throw new IOException("Record at " + offset + " is corrupt");
+        }
+        return body;
+    }
+
+    private static FileLock lock(FileChannel data, Path directory) throws IOException {
+        FileLock lock;
+        try {
+            lock = data.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            throw new StoreLockedException(directory);
+        }
+        return lock;
+    }
+
+    /**
+     * Loads the slots of a matching index and returns the end of the last indexed record, or {@code -1} when the
+     * index does not match the data file.
+     */
+    private long loadIndex() throws IOException {
+        if (index.getInt(0) != MAGIC) {
+            return -1;
+        }
+        int stored = index.getInt(4);
+        if (stored < 0 || stored > maxRecipes) {
+            return -1;
+        }
+        long end = 0;
+        for (int slot = 0; slot < stored; slot++) {
+            long offset = slotOffset(slot);
+            int length = slotLength(slot);
+            // slots skip corrupt and duplicate records, so they ascend without having to be contiguous
+            if (offset < end || length < RECORD_HEADER || offset + length > data.size()) {
+                return -1;
+            }
+            try {
+                slotsById.put(sourceIdOf(readBody(offset, length)), slot);
+            } catch (IOException e) {
+                return -1;
+            }
+            end = offset + length;
+        }
+        count = stored;
+        return end;
+    }
+
+    /**
+     * Indexes the records from {@code offset} on, after the {@link #count} already indexed ones. Only a torn last
+     * record is cut off; nothing else in the data file is ever deleted.
+     */
+    private void indexRecords(long offset) throws IOException {
+        int slot = count;
+        long size = data.size();
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        while (slot < maxRecipes && offset + RECORD_HEADER <= size) {
+            header.clear();
+            data.read(header, offset);
+            header.flip();
+            int length = header.getInt();
+            if (length < 0) {
+                log.warn("External recipe store has an unreadable record at " + offset + ", not indexing past it");
+                break;
+            }
+            long next = offset + RECORD_HEADER + length;
+            if (next > size) {
+                break;
+            }
+            String sourceId;
+            try {
+                sourceId = sourceIdOf(readBody(offset, RECORD_HEADER + length));
+            } catch (IOException e) {
+                if (next == size) {
+                    break;
+                }
+                log.warn("Skipping corrupt external recipe record at " + offset);
+                offset = next;
+                continue;
+            }
+            if (slotsById.putIfAbsent(sourceId, slot) == null) {
+                putSlot(slot++, offset, RECORD_HEADER + length);
+            }
+            offset = next;
+        }
+        if (slot < maxRecipes && offset < size && isTornTail(offset, size)) {
+            log.info("Cutting torn external recipe record at " + offset);
+            data.truncate(offset);
+            size = offset;
+        }
+        dataEnd = size;
+        if (slot != count) {
+            log.info("External recipe store indexed " + (slot - count) + " more recipes");
+        }
+        count = slot;
+        index.putInt(0, MAGIC);
+        index.putInt(4, count);
+    }
+
+    /**
+     * Whether the bytes from {@code offset} to the end of the file are one record that was cut short or whose
+     * checksum fails, i.e. an append interrupted by a crash.
+     */
+    private boolean isTornTail(long offset, long size) throws IOException {
+        if (offset + RECORD_HEADER > size) {
+            return true;
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        data.read(header, offset);
+        header.flip();
+        int length = header.getInt();
+        long next = offset + RECORD_HEADER + length;
+        if (length < 0) {
+            return false;
+        }
+        if (next > size) {
+            return true;
+        }
+        if (next != size) {
+            return false;
+        }
+        try {
+            readBody(offset, RECORD_HEADER + length);
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private void putSlot(int slot, long offset, int length) {
+        int position = INDEX_HEADER + slot * INDEX_ENTRY;
+        index.putLong(position, offset);
+        index.putInt(position + 8, length);
+    }
+
+    private long slotOffset(int slot) {
+        return index.getLong(INDEX_HEADER + slot * INDEX_ENTRY);
+    }
+
+    private int slotLength(int slot) {
+        return index.getInt(INDEX_HEADER + slot * INDEX_ENTRY + 8);
+    }
+
+    private static int checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(ExternalRecipe recipe) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(recipe.sourceId());
+            out.writeUTF(nullToEmpty(recipe.name()));
+            out.writeUTF(nullToEmpty(recipe.imageUrl()));
+            out.writeUTF(nullToEmpty(recipe.createdAt()));
+            List<String> ingredients = recipe.ingredients() != null ? recipe.ingredients() : List.of();
+            List<String> measures = recipe.measures() != null ? recipe.measures() : List.of();
+            out.writeShort(ingredients.size());
+            for (int i = 0; i < ingredients.size(); i++) {
+                out.writeUTF(nullToEmpty(ingredients.get(i)));
+                out.writeUTF(i < measures.size() ? nullToEmpty(measures.get(i)) : "");
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ExternalRecipe decode(byte[] body) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+        String sourceId = in.readUTF();
+        String name = in.readUTF();
+        String imageUrl = in.readUTF();
+        String createdAt = in.readUTF();
+        int n = in.readUnsignedShort();
+        List<String> ingredients = new ArrayList<>(n);
+        List<String> measures = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ingredients.add(in.readUTF());
+            measures.add(in.readUTF());
+        }
+        return new ExternalRecipe(ExternalRecipe.idFor(sourceId), name, imageUrl.isEmpty() ? null : imageUrl,
+                createdAt.isEmpty() ? null : createdAt, ingredients, measures, sourceId);
+    }
+
+    private static String sourceIdOf(byte[] body) throws IOException {
+        return new DataInputStream(new ByteArrayInputStream(body)).readUTF();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
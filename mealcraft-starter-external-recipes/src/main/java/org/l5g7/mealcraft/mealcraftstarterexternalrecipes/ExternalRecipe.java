@@ -2,11 +2,34 @@ package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
 
 import java.util.List;
 
+/**
+ * A recipe fetched from the external provider. {@code sourceId} is the provider's own id for the meal
+ * ({@code idMeal} for TheMealDB), or {@code null} when it is unknown; {@code id} is that id as a number
+ * when it is one.
+ */
 public record ExternalRecipe(
         Long id,
         String name,
         String imageUrl,
         String createdAt,
         List<String> ingredients,
-        List<String> measures
-) {}
+        List<String> measures,
+        String sourceId
+) {
+
+    public ExternalRecipe(Long id, String name, String imageUrl, String createdAt,
+                          List<String> ingredients, List<String> measures) {
+        this(id, name, imageUrl, createdAt, ingredients, measures, null);
+    }
+
+    /**
+     * {@code sourceId} as a number, or the current time for ids that are missing or not numeric.
+     */
+    public static Long idFor(String sourceId) {
+        if (sourceId != null && !sourceId.isEmpty() && sourceId.length() <= 18
+                && sourceId.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return Long.parseLong(sourceId);
+        }
+        return System.currentTimeMillis();
+    }
+}
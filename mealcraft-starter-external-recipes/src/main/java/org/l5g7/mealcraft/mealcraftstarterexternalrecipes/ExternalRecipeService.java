@@ -4,22 +4,72 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
-public class ExternalRecipeService implements RecipeProvider {
+/**
+ * {@link RecipeProvider} backed by TheMealDB.
+ * <p>
+ * Batch lookups fan out one upstream call per recipe on a pool of at most {@code maxConcurrency} threads and
+ * wait no longer than {@code batchTimeout} in total; whatever has not arrived by then is dropped from the result.
+ */
+public class ExternalRecipeService implements RecipeProvider, AutoCloseable {
+
+    static final int DEFAULT_MAX_CONCURRENCY = 50;
+    static final Duration DEFAULT_BATCH_TIMEOUT = Duration.ofSeconds(5);
 
     private final RestClient restClient;
     private final ObjectMapper objectMapper;
     private final String url;
+    private final String lookupUrl;
+    private final Duration batchTimeout;
+    private final ThreadPoolExecutor batchExecutor;
 
     public ExternalRecipeService(RestClient restClient, ObjectMapper objectMapper, String url) {
+        this(restClient, objectMapper, url, null, DEFAULT_MAX_CONCURRENCY, DEFAULT_BATCH_TIMEOUT);
+    }
+
+    /**
+     * @param lookupUrl endpoint taking the meal id as the {@code i} query parameter; when {@code null},
+     *                  {@code lookup.php} next to {@code url}
+     */
+    public ExternalRecipeService(RestClient restClient, ObjectMapper objectMapper, String url, String lookupUrl,
+                                 int maxConcurrency, Duration batchTimeout) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Batch concurrency must be positive");
+        }
         this.restClient = restClient;
         this.objectMapper = objectMapper;
         this.url = url;
+        this.lookupUrl = lookupUrl != null ? lookupUrl : URI.create(url).resolve("lookup.php").toString();
+        this.batchTimeout = batchTimeout;
+
+        AtomicInteger threads = new AtomicInteger();
+        this.batchExecutor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "external-recipe-batch-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchExecutor.allowCoreThreadTimeOut(true);
     }
 
     @Override
@@ -29,6 +79,84 @@ public class ExternalRecipeService implements RecipeProvider {
                 .retrieve()
                 .body(String.class);
 
+        return parse(body);
+    }
+
+    @Override
+    public List<ExternalRecipe> getRandomRecipes(int count) {
+        List<Supplier<ExternalRecipe>> calls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            calls.add(this::getRandomRecipe);
+        }
+
+        Set<String> seen = new HashSet<>();
+        List<ExternalRecipe> recipes = new ArrayList<>();
+        for (ExternalRecipe recipe : fanOut(calls)) {
+            if (recipe.sourceId() == null || seen.add(recipe.sourceId())) {
+                recipes.add(recipe);
+            }
+        }
+        return recipes;
+    }
+
+    @Override
+    public List<ExternalRecipe> getRecipesByIds(Collection<String> sourceIds) {
+        List<Supplier<ExternalRecipe>> calls = new ArrayList<>();
+        for (String sourceId : new LinkedHashSet<>(sourceIds)) {
+            calls.add(() -> getRecipeById(sourceId));
+        }
+        return fanOut(calls);
+    }
+
+    @Override
+    public void close() {
+        batchExecutor.shutdownNow();
+    }
+
+    private ExternalRecipe getRecipeById(String sourceId) {
+        URI uri = UriComponentsBuilder.fromUriString(lookupUrl)
+                .queryParam("i", sourceId)
+                .encode()
+                .build()
+                .toUri();
+        String body = restClient.get()
+                .uri(uri)
+                .retrieve()
+                .body(String.class);
+
+        return parse(body);
+    }
+
+    /**
+     * Runs the calls concurrently and returns, in call order, the results of those that completed
+     * before the batch deadline. Calls still queued at the deadline are cancelled before they start.
+     */
+    private List<ExternalRecipe> fanOut(List<Supplier<ExternalRecipe>> calls) {
+        List<CompletableFuture<ExternalRecipe>> futures = calls.stream()
+                .map(call -> CompletableFuture.supplyAsync(call, batchExecutor))
+                .toList();
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(batchTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // partial result: keep what completed, failed calls are simply left out
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<ExternalRecipe> recipes = new ArrayList<>();
+        for (CompletableFuture<ExternalRecipe> future : futures) {
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                recipes.add(future.join());
+            } else {
+                future.cancel(true);
+            }
+        }
+        return recipes;
+    }
+
+    private ExternalRecipe parse(String body) {
         JsonNode root;
         try {
             root = objectMapper.readTree(body);
@@ -54,13 +182,15 @@ public class ExternalRecipeService implements RecipeProvider {
             }
         }
 
+        String sourceId = meal.path("idMeal").asText(null);
         return new ExternalRecipe(
-                System.currentTimeMillis(),
+                ExternalRecipe.idFor(sourceId),
                 meal.path("strMeal").asText(),
                 meal.path("strMealThumb").asText(null),
                 LocalDateTime.now().toString(),
                 ingredients,
-                measures
+                measures,
+                sourceId
         );
     }
 }
@@ -2,27 +2,153 @@ package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.web.client.RestClient;
 
+import java.io.IOException;
+
 @AutoConfiguration
 @EnableConfigurationProperties(ExternalRecipesProperties.class)
 @ConditionalOnProperty(prefix = "mealcraft.recipes.external", name = "enabled", havingValue = "true")
 @ConditionalOnClass({ RestClient.class, ObjectMapper.class })
 public class ExternalRecipesAutoConfiguration {
 
+    static final String REQUEST_METRICS_BEAN = "externalRecipesHttpMetrics";
+
     @Bean
     @ConditionalOnMissingBean()
     public RecipeProvider recipeProvider(RestClient.Builder builder,
                                          ObjectMapper mapper,
-                                         ExternalRecipesProperties props) {
+                                         ExternalRecipesProperties props,
+                                         ObjectProvider<ExternalRecipesHttpClient> httpClient,
+                                         @Qualifier(REQUEST_METRICS_BEAN)
+                                         ObjectProvider<ClientHttpRequestInterceptor> requestMetrics,
+                                         ObjectProvider<CircuitBreaker> circuitBreaker,
+                                         ObjectProvider<Bulkhead> bulkhead,
+                                         ObjectProvider<RecipeStore> recipeStore) {
         String url = props.getUrl();
+        httpClient.ifAvailable(client -> builder.requestFactory(client.requestFactory()));
+        requestMetrics.ifAvailable(builder::requestInterceptor);
         RestClient client = builder.baseUrl(url).build();
-        return new ExternalRecipeService(client, mapper, url);
+        ExternalRecipesProperties.Batch batch = props.getBatch();
+        RecipeProvider provider = new ExternalRecipeService(client, mapper, url, props.getLookupUrl(),
+                batch.getMaxConcurrency(), batch.getTimeout());
+
+        if (props.getResilience().isEnabled()) {
+            ExternalRecipesProperties.Store store = props.getStore();
+            provider = new ResilientRecipeProvider(provider, circuitBreaker.getObject(), bulkhead.getObject(),
+                    recipeStore.getObject(), store.getLocalShare(), store.getMinCorpus());
+        }
+
+        ExternalRecipesProperties.Prefetch prefetch = props.getPrefetch();
+        if (!prefetch.isEnabled()) {
+            return provider;
+        }
+        return new PrefetchingRecipeProvider(provider, prefetch.getCapacity(), prefetch.getLowWaterMark());
+    }
+
+    /**
+     * Starts filling the prefetch buffer once the application is ready, not while the context is still being built.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "mealcraft.recipes.external.prefetch", name = "enabled", matchIfMissing = true)
+    ApplicationListener<ApplicationReadyEvent> externalRecipesPrefetchStarter(
+            ObjectProvider<RecipeProvider> recipeProvider) {
+        return event -> recipeProvider.ifAvailable(provider -> {
+            if (provider instanceof PrefetchingRecipeProvider prefetching) {
+                prefetching.refill();
+            }
+        });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "mealcraft.recipes.external.resilience", name = "enabled", matchIfMissing = true)
+    static class ResilienceConfiguration {
+
+        private static final Log log = LogFactory.getLog(ResilienceConfiguration.class);
+
+        @Bean
+        @ConditionalOnMissingBean
+        CircuitBreaker externalRecipesCircuitBreaker(ExternalRecipesProperties props) {
+            ExternalRecipesProperties.Resilience resilience = props.getResilience();
+            return new CircuitBreaker(resilience.getFailureRateThreshold(), resilience.getSlidingWindowSize(),
+                    resilience.getMinimumCalls(), resilience.getOpenDuration(), resilience.getHalfOpenCalls());
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        Bulkhead externalRecipesBulkhead(ExternalRecipesProperties props) {
+            return new Bulkhead(props.getResilience().getMaxConcurrentCalls());
+        }
+
+        /**
+         * Kept on disk when {@code mealcraft.recipes.external.store.path} is set, in memory otherwise. Falls back to
+         * memory as well when another instance already holds the directory.
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        RecipeStore externalRecipesStore(ExternalRecipesProperties props) throws IOException {
+            ExternalRecipesProperties.Store store = props.getStore();
+            if (store.getPath() != null) {
+                try {
+                    return new DiskRecipeStore(store.getPath(), store.getMaxRecipes());
+                } catch (DiskRecipeStore.StoreLockedException e) {
+                    log.warn(e.getMessage() + "; keeping external recipes in memory instead");
+                }
+            }
+            return new InMemoryRecipeStore(props.getResilience().getFallbackCapacity());
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "mealcraft.recipes.external.resilience", name = "enabled", matchIfMissing = true)
+    static class ResilienceMetricsConfiguration {
+
+        @Bean
+        ExternalRecipesResilienceMetrics externalRecipesResilienceMetrics(CircuitBreaker circuitBreaker,
+                                                                          Bulkhead bulkhead,
+                                                                          RecipeStore recipeStore) {
+            return new ExternalRecipesResilienceMetrics(circuitBreaker, bulkhead, recipeStore);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(HttpClients.class)
+    static class PooledHttpClientConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        ExternalRecipesHttpClient externalRecipesHttpClient(ExternalRecipesProperties props) {
+            return new ExternalRecipesHttpClient(props.getHttp());
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({ HttpClients.class, MeterRegistry.class })
+    static class HttpClientMetricsConfiguration {
+
+        /**
+         * Picked up by Spring Boot's metrics support, which binds every {@code MeterBinder} bean to the registry.
+         */
+        @Bean(REQUEST_METRICS_BEAN)
+        ExternalRecipesHttpMetrics externalRecipesHttpMetrics(ExternalRecipesHttpClient httpClient) {
+            return new ExternalRecipesHttpMetrics(httpClient);
+        }
     }
-}
\ No newline at end of file
+}
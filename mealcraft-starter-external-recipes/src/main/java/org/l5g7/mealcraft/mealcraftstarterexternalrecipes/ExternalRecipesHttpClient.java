@@ -0,0 +1,71 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Pooled Apache HttpClient used for calls to the external recipe provider.
+ * <p>
+ * Every wait is bounded: leasing a pooled connection, connecting and reading each have their own timeout,
+ * so a slow upstream costs a request thread at most those timeouts (times the retry budget) rather than
+ * holding it indefinitely.
+ */
+public class ExternalRecipesHttpClient implements AutoCloseable {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    public ExternalRecipesHttpClient(ExternalRecipesProperties.Http props) {
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(props.getMaxConnections())
+                .setMaxConnPerRoute(props.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(props.getConnectTimeout()))
+                        .setSocketTimeout(timeout(props.getReadTimeout()))
+                        .build())
+                .build();
+
+        TimeValue keepAlive = TimeValue.ofMilliseconds(props.getKeepAlive().toMillis());
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(props.getConnectionRequestTimeout()))
+                        .setResponseTimeout(timeout(props.getReadTimeout()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> keepAlive)
+                .evictIdleConnections(keepAlive)
+                .evictExpiredConnections()
+                .setRetryStrategy(new DefaultHttpRequestRetryStrategy(props.getMaxRetries(),
+                        TimeValue.ofMilliseconds(props.getRetryInterval().toMillis())))
+                .build();
+    }
+
+    public ClientHttpRequestFactory requestFactory() {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    PoolingHttpClientConnectionManager connectionManager() {
+        return connectionManager;
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+}
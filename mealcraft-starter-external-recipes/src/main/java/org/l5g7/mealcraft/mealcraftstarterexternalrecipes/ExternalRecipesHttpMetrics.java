@@ -0,0 +1,64 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics for calls to the external recipe provider: a {@value #REQUESTS_METRIC} timer with a percentile
+ * histogram per endpoint, status and exception, and the {@code httpcomponents.httpclient.pool.*} gauges of the
+ * connection pool tagged {@code httpclient=external-recipes}.
+ * <p>
+ * Meters are kept in a composite that every registry this binder is bound to joins, so requests made before the
+ * application's registry exists are not lost.
+ */
+public class ExternalRecipesHttpMetrics implements MeterBinder, ClientHttpRequestInterceptor {
+
+    public static final String REQUESTS_METRIC = "mealcraft.external.recipes.requests";
+
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+
+    public ExternalRecipesHttpMetrics(ExternalRecipesHttpClient httpClient) {
+        new PoolingHttpClientConnectionManagerMetricsBinder(httpClient.connectionManager(), "external-recipes")
+                .bindTo(registry);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        registry.add(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long start = System.nanoTime();
+        String status = "CLIENT_ERROR";
+        String exception = "none";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } catch (IOException | RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Timer.builder(REQUESTS_METRIC)
+                    .description("Calls to the external recipe provider")
+                    .tag("endpoint", request.getURI().getPath())
+                    .tag("status", status)
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -2,12 +2,27 @@ package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "mealcraft.recipes.external")
 public class ExternalRecipesProperties {
 
     private boolean enabled = true;
     private String url;
 
+    /**
+     * Endpoint looking a meal up by its id, passed as the {@code i} query parameter. Defaults to
+     * {@code lookup.php} next to {@code url}.
+     */
+    private String lookupUrl;
+
+    private final Prefetch prefetch = new Prefetch();
+    private final Batch batch = new Batch();
+    private final Http http = new Http();
+    private final Resilience resilience = new Resilience();
+    private final Store store = new Store();
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -23,4 +38,357 @@ public class ExternalRecipesProperties {
     public void setUrl(String url) {
         this.url = url;
     }
+
+    public String getLookupUrl() {
+        return lookupUrl;
+    }
+
+    public void setLookupUrl(String lookupUrl) {
+        this.lookupUrl = lookupUrl;
+    }
+
+    public Prefetch getPrefetch() {
+        return prefetch;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public Http getHttp() {
+        return http;
+    }
+
+    public Resilience getResilience() {
+        return resilience;
+    }
+
+    public Store getStore() {
+        return store;
+    }
+
+    public static class Prefetch {
+
+        /**
+         * Whether random recipes are fetched ahead of time and served from a buffer.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of recipes kept in the buffer.
+         */
+        private int capacity = 10;
+
+        /**
+         * A background refill starts when a request leaves fewer recipes than this in the buffer.
+         */
+        private int lowWaterMark = 3;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getLowWaterMark() {
+            return lowWaterMark;
+        }
+
+        public void setLowWaterMark(int lowWaterMark) {
+            this.lowWaterMark = lowWaterMark;
+        }
+    }
+
+    public static class Batch {
+
+        /**
+         * Maximum number of upstream calls a batch lookup runs at the same time.
+         */
+        private int maxConcurrency = ExternalRecipeService.DEFAULT_MAX_CONCURRENCY;
+
+        /**
+         * How long a batch lookup waits in total; calls still running then are left out of the result.
+         */
+        private Duration timeout = ExternalRecipeService.DEFAULT_BATCH_TIMEOUT;
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Http {
+
+        /**
+         * Maximum number of pooled connections to the provider.
+         */
+        private int maxConnections = ExternalRecipeService.DEFAULT_MAX_CONCURRENCY;
+
+        /**
+         * How long a request waits for a free pooled connection.
+         */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+        private Duration connectTimeout = Duration.ofSeconds(2);
+
+        /**
+         * How long a request waits for the response, and for data between packets.
+         */
+        private Duration readTimeout = Duration.ofSeconds(5);
+
+        /**
+         * How long an idle pooled connection is kept open.
+         */
+        private Duration keepAlive = Duration.ofSeconds(30);
+
+        /**
+         * How many times a failed request is retried, e.g. after an I/O error or a 503.
+         */
+        private int maxRetries = 1;
+
+        /**
+         * Pause before a retry when the response does not say how long to wait.
+         */
+        private Duration retryInterval = Duration.ofMillis(200);
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public Duration getConnectionRequestTimeout() {
+            return connectionRequestTimeout;
+        }
+
+        public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+            this.connectionRequestTimeout = connectionRequestTimeout;
+        }
+
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public Duration getKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public Duration getRetryInterval() {
+            return retryInterval;
+        }
+
+        public void setRetryInterval(Duration retryInterval) {
+            this.retryInterval = retryInterval;
+        }
+    }
+
+    public static class Resilience {
+
+        /**
+         * Whether calls go through the circuit breaker and bulkhead, with stored recipes as fallback.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Failure percentage over the sliding window at which the circuit opens.
+         */
+        private int failureRateThreshold = 50;
+
+        /**
+         * Number of most recent calls the failure rate is computed over.
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * Calls needed in the window before the failure rate is acted on.
+         */
+        private int minimumCalls = 10;
+
+        /**
+         * How long an open circuit refuses calls before letting trial calls through.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * Trial calls that must all succeed to close the circuit again.
+         */
+        private int halfOpenCalls = 3;
+
+        /**
+         * Maximum number of provider calls in progress at the same time.
+         */
+        private int maxConcurrentCalls = 20;
+
+        /**
+         * Number of recently fetched recipes kept for fallback when there is no on-disk store.
+         */
+        private int fallbackCapacity = 500;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(int halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public int getFallbackCapacity() {
+            return fallbackCapacity;
+        }
+
+        public void setFallbackCapacity(int fallbackCapacity) {
+            this.fallbackCapacity = fallbackCapacity;
+        }
+    }
+
+    public static class Store {
+
+        /**
+         * Directory of the on-disk recipe store. Without it fetched recipes are only kept in memory.
+         */
+        private Path path;
+
+        /**
+         * Maximum number of recipes the on-disk store holds; later ones are not stored.
+         */
+        private int maxRecipes = 10_000;
+
+        /**
+         * Share of random requests answered from the store without calling the provider, once it holds
+         * at least {@code min-corpus} recipes.
+         */
+        private double localShare = 0.5;
+
+        /**
+         * Number of stored recipes below which every random request still goes to the provider.
+         */
+        private int minCorpus = 100;
+
+        public Path getPath() {
+            return path;
+        }
+
+        public void setPath(Path path) {
+            this.path = path;
+        }
+
+        public int getMaxRecipes() {
+            return maxRecipes;
+        }
+
+        public void setMaxRecipes(int maxRecipes) {
+            this.maxRecipes = maxRecipes;
+        }
+
+        public double getLocalShare() {
+            return localShare;
+        }
+
+        public void setLocalShare(double localShare) {
+            this.localShare = localShare;
+        }
+
+        public int getMinCorpus() {
+            return minCorpus;
+        }
+
+        public void setMinCorpus(int minCorpus) {
+            this.minCorpus = minCorpus;
+        }
+    }
 }
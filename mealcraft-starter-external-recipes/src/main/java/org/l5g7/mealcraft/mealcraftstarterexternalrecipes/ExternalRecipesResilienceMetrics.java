@@ -0,0 +1,62 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+import java.util.Locale;
+
+/**
+ * Metrics for the resilience layer in front of the external recipe provider:
+ * <ul>
+ *     <li>{@code mealcraft.external.recipes.circuit.state}: 1 for the breaker's current state, 0 for the others</li>
+ *     <li>{@code mealcraft.external.recipes.circuit.transitions}: state changes, tagged {@code from} and {@code to}</li>
+ *     <li>{@code mealcraft.external.recipes.bulkhead.available} and {@code .bulkhead.rejected}</li>
+ *     <li>{@code mealcraft.external.recipes.fallback.size} and {@code .fallback.served}</li>
+ * </ul>
+ * Registered like {@link ExternalRecipesHttpMetrics}, through a composite joined by every bound registry.
+ */
+public class ExternalRecipesResilienceMetrics implements MeterBinder {
+
+    private static final String PREFIX = "mealcraft.external.recipes.";
+
+    private final CompositeMeterRegistry registry = new CompositeMeterRegistry();
+
+    public ExternalRecipesResilienceMetrics(CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                                            RecipeStore fallbackStore) {
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder(PREFIX + "circuit.state", circuitBreaker, breaker -> breaker.state() == state ? 1 : 0)
+                    .description("Current state of the external recipes circuit breaker")
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+        circuitBreaker.addListener((from, to) -> Counter.builder(PREFIX + "circuit.transitions")
+                .description("State changes of the external recipes circuit breaker")
+                .tag("from", from.name().toLowerCase(Locale.ROOT))
+                .tag("to", to.name().toLowerCase(Locale.ROOT))
+                .register(registry)
+                .increment());
+
+        Gauge.builder(PREFIX + "bulkhead.available", bulkhead, Bulkhead::availablePermits)
+                .description("Free slots for concurrent calls to the external recipe provider")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "bulkhead.rejected", bulkhead, Bulkhead::rejectedCalls)
+                .description("Calls turned away because the bulkhead was full")
+                .register(registry);
+
+        Gauge.builder(PREFIX + "fallback.size", fallbackStore, RecipeStore::size)
+                .description("Recipes kept for serving without calling the provider")
+                .register(registry);
+        FunctionCounter.builder(PREFIX + "fallback.served", fallbackStore, RecipeStore::servedRecipes)
+                .description("Recipes served from the local store")
+                .register(registry);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        registry.add(meterRegistry);
+    }
+}
@@ -0,0 +1,76 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link RecipeStore} holding the most recently fetched {@code capacity} meals in memory.
+ */
+public class InMemoryRecipeStore implements RecipeStore {
+
+    private final int capacity;
+    private final Map<String, ExternalRecipe> recipes;
+    private final LongAdder served = new LongAdder();
+
+    public InMemoryRecipeStore(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Fallback capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.recipes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExternalRecipe> eldest) {
+                return size() > InMemoryRecipeStore.this.capacity;
+            }
+        };
+    }
+
+    @Override
+    public synchronized void remember(ExternalRecipe recipe) {
+        if (recipe != null && recipe.sourceId() != null) {
+            recipes.put(recipe.sourceId(), recipe);
+        }
+    }
+
+    @Override
+    public List<ExternalRecipe> randomRecipes(int count) {
+        List<ExternalRecipe> all = snapshot();
+        Collections.shuffle(all, ThreadLocalRandom.current());
+        List<ExternalRecipe> picked = all.subList(0, Math.min(Math.max(count, 0), all.size()));
+        served.add(picked.size());
+        return new ArrayList<>(picked);
+    }
+
+    @Override
+    public synchronized List<ExternalRecipe> byIds(Collection<String> sourceIds) {
+        List<ExternalRecipe> found = new ArrayList<>();
+        for (String sourceId : sourceIds) {
+            ExternalRecipe recipe = recipes.get(sourceId);
+            if (recipe != null) {
+                found.add(recipe);
+            }
+        }
+        served.add(found.size());
+        return found;
+    }
+
+    @Override
+    public synchronized int size() {
+        return recipes.size();
+    }
+
+    @Override
+    public long servedRecipes() {
+        return served.sum();
+    }
+
+    private synchronized List<ExternalRecipe> snapshot() {
+        return new ArrayList<>(recipes.values());
+    }
+}
@@ -0,0 +1,171 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link RecipeProvider} that serves recipes from a bounded buffer filled ahead of time by a background thread.
+ * <p>
+ * Whenever a request leaves fewer than {@code lowWaterMark} recipes in the buffer, one refill is started that
+ * fetches from the delegate until the buffer is full again. Recipes whose upstream id is already buffered are
+ * dropped, so the buffer holds distinct meals. When the buffer is empty, e.g. right after start-up or while the
+ * upstream is down, the request falls back to calling the delegate itself.
+ */
+public class PrefetchingRecipeProvider implements RecipeProvider, AutoCloseable {
+
+    private static final Log log = LogFactory.getLog(PrefetchingRecipeProvider.class);
+
+    private final RecipeProvider delegate;
+    private final int capacity;
+    private final int lowWaterMark;
+
+    private final BlockingQueue<ExternalRecipe> buffer;
+    private final Set<String> bufferedIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final ExecutorService refiller;
+
+    public PrefetchingRecipeProvider(RecipeProvider delegate, int capacity, int lowWaterMark) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Prefetch capacity must be positive");
+        }
+        if (lowWaterMark < 0 || lowWaterMark > capacity) {
+            throw new IllegalArgumentException("Low-water mark must be between 0 and the capacity");
+        }
+        this.delegate = delegate;
+        this.capacity = capacity;
+        this.lowWaterMark = lowWaterMark;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.refiller = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "external-recipe-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public ExternalRecipe getRandomRecipe() throws NoSuchElementException {
+        ExternalRecipe recipe = buffer.poll();
+        if (recipe != null) {
+            forget(recipe);
+        }
+        if (buffer.size() < lowWaterMark || recipe == null) {
+            refill();
+        }
+        return recipe != null ? recipe : delegate.getRandomRecipe();
+    }
+
+    /**
+     * Takes what it can from the buffer and fetches only the rest from the delegate.
+     */
+    @Override
+    public List<ExternalRecipe> getRandomRecipes(int count) {
+        List<ExternalRecipe> recipes = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        ExternalRecipe buffered;
+        while (recipes.size() < count && (buffered = buffer.poll()) != null) {
+            forget(buffered);
+            seen.add(keyOf(buffered));
+            recipes.add(buffered);
+        }
+        if (buffer.size() < lowWaterMark) {
+            refill();
+        }
+
+        if (recipes.size() < count) {
+            for (ExternalRecipe fetched : delegate.getRandomRecipes(count - recipes.size())) {
+                if (seen.add(keyOf(fetched))) {
+                    recipes.add(fetched);
+                }
+            }
+        }
+        return recipes;
+    }
+
+    @Override
+    public List<ExternalRecipe> getRecipesByIds(Collection<String> sourceIds) {
+        return delegate.getRecipesByIds(sourceIds);
+    }
+
+    /**
+     * Starts filling the buffer in the background unless a refill is already running.
+     */
+    public void refill() {
+        if (!refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refiller.execute(this::fill);
+        } catch (RejectedExecutionException e) {
+            refilling.set(false);
+        }
+    }
+
+    public int buffered() {
+        return buffer.size();
+    }
+
+    @Override
+    public void close() {
+        refiller.shutdownNow();
+        try {
+            refiller.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Closing external recipe provider failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void fill() {
+        try {
+            // duplicates do not count towards the buffer, so bound the upstream calls a single refill may make
+            int attempts = capacity * 2;
+            while (buffer.size() < capacity && attempts-- > 0 && !Thread.currentThread().isInterrupted()) {
+                ExternalRecipe recipe = delegate.getRandomRecipe();
+                String key = keyOf(recipe);
+                if (key != null && !bufferedIds.add(key)) {
+                    continue;
+                }
+                if (!buffer.offer(recipe) && key != null) {
+                    bufferedIds.remove(key);
+                }
+            }
+        } catch (RuntimeException e) {
+            // the next request starts another refill; until then requests fall back to the delegate
+            log.warn("Prefetching external recipes failed: " + e.getMessage());
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    private void forget(ExternalRecipe recipe) {
+        String key = keyOf(recipe);
+        if (key != null) {
+            bufferedIds.remove(key);
+        }
+    }
+
+    private static String keyOf(ExternalRecipe recipe) {
+        return recipe.sourceId() != null ? recipe.sourceId() : recipe.name();
+    }
+}
@@ -1,6 +1,20 @@
 package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+import java.util.Collection;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 public interface RecipeProvider {
     ExternalRecipe getRandomRecipe() throws NoSuchElementException;
+
+    /**
+     * Up to {@code count} distinct random recipes. Calls that fail or miss the deadline are left out,
+     * so the result may be shorter, or empty.
+     */
+    List<ExternalRecipe> getRandomRecipes(int count);
+
+    /**
+     * The recipes with the given upstream ids that could be fetched before the deadline, in request order.
+     * Unknown ids are left out.
+     */
+    List<ExternalRecipe> getRecipesByIds(Collection<String> sourceIds);
 }
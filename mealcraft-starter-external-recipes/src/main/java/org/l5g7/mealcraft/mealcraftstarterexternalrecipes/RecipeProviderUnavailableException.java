@@ -0,0 +1,15 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+/**
+ * Thrown when the external provider cannot be called, or failed, and no stored recipe can stand in.
+ */
+public class RecipeProviderUnavailableException extends RuntimeException {
+
+    public RecipeProviderUnavailableException(String message) {
+        super(message);
+    }
+
+    public RecipeProviderUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
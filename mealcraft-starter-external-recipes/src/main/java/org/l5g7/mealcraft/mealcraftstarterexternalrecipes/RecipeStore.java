@@ -0,0 +1,36 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Recipes fetched from the external provider, kept by their upstream id so they can be served again without
+ * calling it. Recipes without an upstream id are not kept.
+ */
+public interface RecipeStore {
+
+    void remember(ExternalRecipe recipe);
+
+    default Optional<ExternalRecipe> randomRecipe() {
+        List<ExternalRecipe> picked = randomRecipes(1);
+        return picked.isEmpty() ? Optional.empty() : Optional.of(picked.get(0));
+    }
+
+    /**
+     * Up to {@code count} distinct stored recipes in random order.
+     */
+    List<ExternalRecipe> randomRecipes(int count);
+
+    /**
+     * The stored recipes among {@code sourceIds}, in request order.
+     */
+    List<ExternalRecipe> byIds(Collection<String> sourceIds);
+
+    int size();
+
+    /**
+     * How many recipes have been served from this store so far.
+     */
+    long servedRecipes();
+}
@@ -0,0 +1,156 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * {@link RecipeProvider} guarding the calls to its delegate with a {@link Bulkhead} and a {@link CircuitBreaker}.
+ * <p>
+ * Every recipe the delegate returns is remembered in a {@link RecipeStore}. When the bulkhead is full,
+ * the breaker is open or the call fails, the answer comes from that store instead, and only when the store has
+ * nothing to offer does the caller get a {@link RecipeProviderUnavailableException}. A batch call takes a single
+ * bulkhead slot. A random call that brings back nothing at all counts as a failure; a lookup by id that finds
+ * nothing does not, since the provider answered and the ids are simply unknown to it.
+ * <p>
+ * Once the store holds {@code minCorpus} recipes, a {@code localShare} fraction of random requests is answered
+ * from it without calling the provider at all.
+ */
+public class ResilientRecipeProvider implements RecipeProvider, AutoCloseable {
+
+    private final RecipeProvider delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final RecipeStore fallbackStore;
+    private final double localShare;
+    private final int minCorpus;
+
+    public ResilientRecipeProvider(RecipeProvider delegate, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                                   RecipeStore fallbackStore) {
+        this(delegate, circuitBreaker, bulkhead, fallbackStore, 0.0, Integer.MAX_VALUE);
+    }
+
+    public ResilientRecipeProvider(RecipeProvider delegate, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                                   RecipeStore fallbackStore, double localShare, int minCorpus) {
+        if (localShare < 0.0 || localShare > 1.0) {
+            throw new IllegalArgumentException("Local share must be between 0 and 1");
+        }
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.fallbackStore = fallbackStore;
+        this.localShare = localShare;
+        this.minCorpus = minCorpus;
+    }
+
+    @Override
+    public ExternalRecipe getRandomRecipe() throws NoSuchElementException {
+        if (answerLocally(1)) {
+            Optional<ExternalRecipe> stored = fallbackStore.randomRecipe();
+            if (stored.isPresent()) {
+                return stored.get();
+            }
+        }
+        List<ExternalRecipe> recipes = execute(() -> List.of(delegate.getRandomRecipe()),
+                () -> fallbackStore.randomRecipe().map(List::of).orElse(List.of()), true);
+        if (recipes.isEmpty()) {
+            throw new RecipeProviderUnavailableException("External recipes are unavailable");
+        }
+        return recipes.get(0);
+    }
+
+    @Override
+    public List<ExternalRecipe> getRandomRecipes(int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        if (answerLocally(count)) {
+            return fallbackStore.randomRecipes(count);
+        }
+        return execute(() -> delegate.getRandomRecipes(count), () -> fallbackStore.randomRecipes(count), true);
+    }
+
+    /**
+     * Meals already in the fallback store are answered from it; only the others go upstream.
+     */
+    @Override
+    public List<ExternalRecipe> getRecipesByIds(Collection<String> sourceIds) {
+        Set<String> requested = new LinkedHashSet<>(sourceIds);
+        Map<String, ExternalRecipe> found = new HashMap<>();
+        fallbackStore.byIds(requested).forEach(recipe -> found.put(recipe.sourceId(), recipe));
+
+        List<String> missing = requested.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            execute(() -> delegate.getRecipesByIds(missing), List::of, false)
+                    .forEach(recipe -> found.put(recipe.sourceId(), recipe));
+        }
+
+        List<ExternalRecipe> recipes = new ArrayList<>();
+        for (String sourceId : requested) {
+            ExternalRecipe recipe = found.get(sourceId);
+            if (recipe != null) {
+                recipes.add(recipe);
+            }
+        }
+        return recipes;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private boolean answerLocally(int count) {
+        return localShare > 0.0 && fallbackStore.size() >= Math.max(minCorpus, count)
+                && ThreadLocalRandom.current().nextDouble() < localShare;
+    }
+
+    private List<ExternalRecipe> execute(Supplier<List<ExternalRecipe>> call,
+                                         Supplier<List<ExternalRecipe>> fallback,
+                                         boolean emptyIsFailure) {
+        if (!bulkhead.tryAcquire()) {
+            return fallback.get();
+        }
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return fallback.get();
+            }
+
+            List<ExternalRecipe> recipes;
+            try {
+                recipes = call.get();
+            } catch (NoSuchElementException e) {
+                // the provider answered, there just was no meal in it
+                circuitBreaker.onSuccess();
+                throw e;
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                List<ExternalRecipe> stored = fallback.get();
+                if (stored.isEmpty()) {
+                    throw new RecipeProviderUnavailableException("External recipes are unavailable", e);
+                }
+                return stored;
+            }
+
+            if (recipes.isEmpty() && emptyIsFailure) {
+                circuitBreaker.onFailure();
+                return fallback.get();
+            }
+            circuitBreaker.onSuccess();
+            recipes.forEach(fallbackStore::remember);
+            return recipes;
+        } finally {
+            bulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiskRecipeStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopenedStore_keepsRecipes() throws IOException {
+        ExternalRecipe recipe = new ExternalRecipe(52772L, "Teriyaki Chicken", "https://img/teriyaki.jpg", null,
+                List.of("soy sauce", "chicken"), List.of("3/4 cup", "2 lb"), "52772");
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 10)) {
+            store.remember(recipe);
+        }
+
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 10)) {
+            assertEquals(1, store.size());
+            assertEquals(List.of(recipe), store.byIds(List.of("52772")));
+        }
+    }
+
+    @Test
+    void remember_skipsKnownIdsAndStopsWhenFull() throws IOException {
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 2)) {
+            store.remember(recipe("1"));
+            store.remember(recipe("1"));
+            store.remember(recipe("2"));
+            store.remember(recipe("3"));
+
+            assertEquals(2, store.size());
+            assertTrue(store.byIds(List.of("3")).isEmpty());
+        }
+    }
+
+    @Test
+    void randomRecipes_returnsDistinctStoredRecipes() throws IOException {
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 10)) {
+            for (int i = 1; i <= 5; i++) {
+                store.remember(recipe(String.valueOf(i)));
+            }
+
+            List<ExternalRecipe> recipes = store.randomRecipes(4);
+
+            Set<String> ids = new HashSet<>();
+            recipes.forEach(recipe -> ids.add(recipe.sourceId()));
+            assertEquals(4, ids.size());
+            assertEquals(5, store.randomRecipes(10).size());
+            assertEquals(9, store.servedRecipes());
+        }
+    }
+
+    @Test
+    void tornTail_isDroppedOnOpen() throws IOException {
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 10)) {
+            store.remember(recipe("1"));
+            store.remember(recipe("2"));
+        }
+        try (FileChannel data = FileChannel.open(directory.resolve("recipes.dat"), StandardOpenOption.WRITE)) {
+            data.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 40, 1, 2}), data.size());
+        }
+
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 10)) {
+            assertEquals(2, store.size());
+            store.remember(recipe("3"));
+            assertEquals(1, store.byIds(List.of("3")).size());
+        }
+    }
+
+    @Test
+    void lostIndex_isRebuiltFromData() throws IOException {
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 10)) {
+            store.remember(recipe("1"));
+            store.remember(recipe("2"));
+        }
+        Files.delete(directory.resolve("recipes.idx"));
+
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 10)) {
+            assertEquals(2, store.size());
+            assertEquals(List.of("2", "1"),
+                    store.byIds(List.of("2", "1")).stream().map(ExternalRecipe::sourceId).toList());
+        }
+    }
+
+    @Test
+    void corruptRecordInside_isSkippedButKept() throws IOException {
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 10)) {
+            store.remember(recipe("1"));
+            store.remember(recipe("2"));
+            store.remember(recipe("3"));
+        }
+        Path data = directory.resolve("recipes.dat");
+        long size = Files.size(data);
+        try (FileChannel channel = FileChannel.open(data, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 0}), 4);
+        }
+        Files.delete(directory.resolve("recipes.idx"));
+
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 10)) {
+            assertEquals(2, store.size());
+            assertEquals(2, store.byIds(List.of("1", "2", "3")).size());
+        }
+        assertEquals(size, Files.size(data));
+    }
+
+    @Test
+    void lowerCapacity_keepsRecordsBeyondIt() throws IOException {
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 10)) {
+            for (int i = 1; i <= 3; i++) {
+                store.remember(recipe(String.valueOf(i)));
+            }
+        }
+
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 2)) {
+            assertEquals(2, store.size());
+        }
+
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 10)) {
+            assertEquals(3, store.size());
+            assertEquals(1, store.byIds(List.of("3")).size());
+        }
+    }
+
+    @Test
+    void secondStoreOnSameDirectory_isRefused() throws IOException {
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 10)) {
+            assertThrows(DiskRecipeStore.StoreLockedException.class, () -> new DiskRecipeStore(directory, 10));
+        }
+
+        try (DiskRecipeStore store = new DiskRecipeStore(directory, 10)) {
+            assertEquals(0, store.size());
+        }
+    }
+
+    private static ExternalRecipe recipe(String sourceId) {
+        return new ExternalRecipe(Long.parseLong(sourceId), "Meal " + sourceId, null, null,
+                List.of("salt"), List.of("1 tsp"), sourceId);
+    }
+}
@@ -0,0 +1,107 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalRecipeServiceTest {
+
+    private StubMealDbServer mealDb;
+    private ExternalRecipeService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mealDb = new StubMealDbServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.close();
+        }
+        mealDb.close();
+    }
+
+    @Test
+    void getRandomRecipes_fansOutConcurrently() {
+        mealDb.mealIds = List.of("1", "2", "3", "4", "5", "6", "7", "8", "9", "10");
+        mealDb.delayMillis = 200;
+        service = service(10, Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        List<ExternalRecipe> recipes = service.getRandomRecipes(10);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(10, recipes.size());
+        assertTrue(elapsedMillis < 1500, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void getRandomRecipes_staysWithinConcurrencyLimit() {
+        mealDb.delayMillis = 50;
+        service = service(3, Duration.ofSeconds(5));
+
+        service.getRandomRecipes(8);
+
+        assertEquals(8, mealDb.requests.get());
+        assertTrue(mealDb.maxInFlight.get() <= 3, "max in flight " + mealDb.maxInFlight.get());
+    }
+
+    @Test
+    void getRandomRecipes_dropsDuplicateMeals() {
+        mealDb.mealIds = List.of("1", "1", "2");
+        service = service(3, Duration.ofSeconds(5));
+
+        List<ExternalRecipe> recipes = service.getRandomRecipes(3);
+
+        assertEquals(Set.of("1", "2"), recipes.stream().map(ExternalRecipe::sourceId).collect(Collectors.toSet()));
+        assertEquals(2, recipes.size());
+    }
+
+    @Test
+    void getRecipesByIds_keepsRequestOrderAndSkipsUnknownIds() {
+        mealDb.unknownIds = Set.of("404");
+        service = service(4, Duration.ofSeconds(5));
+
+        List<ExternalRecipe> recipes = service.getRecipesByIds(List.of("3", "404", "1", "3"));
+
+        assertEquals(List.of("3", "1"), recipes.stream().map(ExternalRecipe::sourceId).toList());
+        assertEquals("Meal 3", recipes.get(0).name());
+    }
+
+    @Test
+    void getRecipesByIds_deadlinePassed_returnsWhatArrived() {
+        mealDb.slowIds = Set.of("2");
+        service = service(4, Duration.ofMillis(500));
+
+        long start = System.nanoTime();
+        List<ExternalRecipe> recipes = service.getRecipesByIds(List.of("1", "2", "3"));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(List.of("1", "3"), recipes.stream().map(ExternalRecipe::sourceId).toList());
+        assertTrue(elapsedMillis < 2000, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void getRandomRecipes_upstreamDown_returnsEmptyList() {
+        mealDb.failing = true;
+        service = service(4, Duration.ofSeconds(5));
+
+        assertEquals(List.of(), service.getRandomRecipes(4));
+    }
+
+    private ExternalRecipeService service(int maxConcurrency, Duration timeout) {
+        return new ExternalRecipeService(RestClient.create(), new ObjectMapper(), mealDb.randomUrl(), null,
+                maxConcurrency, timeout);
+    }
+}
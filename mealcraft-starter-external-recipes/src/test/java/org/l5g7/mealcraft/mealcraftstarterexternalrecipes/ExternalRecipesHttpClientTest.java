@@ -0,0 +1,93 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalRecipesHttpClientTest {
+
+    private StubMealDbServer mealDb;
+    private ExternalRecipesHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mealDb = new StubMealDbServer();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        mealDb.close();
+    }
+
+    @Test
+    void slowUpstream_failsAfterReadTimeout() {
+        mealDb.delayMillis = 3000;
+        ExternalRecipesProperties.Http props = new ExternalRecipesProperties.Http();
+        props.setReadTimeout(Duration.ofMillis(200));
+        props.setMaxRetries(0);
+        httpClient = new ExternalRecipesHttpClient(props);
+        RecipeProvider provider = provider(RestClient.builder().requestFactory(httpClient.requestFactory()));
+
+        long start = System.nanoTime();
+        assertThrows(RuntimeException.class, provider::getRandomRecipe);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 1500, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void unavailableUpstream_retriedWithinBudget() {
+        mealDb.failing = true;
+        ExternalRecipesProperties.Http props = new ExternalRecipesProperties.Http();
+        props.setMaxRetries(2);
+        props.setRetryInterval(Duration.ofMillis(10));
+        httpClient = new ExternalRecipesHttpClient(props);
+        RecipeProvider provider = provider(RestClient.builder().requestFactory(httpClient.requestFactory()));
+
+        assertThrows(RuntimeException.class, provider::getRandomRecipe);
+
+        assertEquals(3, mealDb.requests.get());
+    }
+
+    @Test
+    void metrics_recordLatencyHistogramAndPoolGauges() {
+        ExternalRecipesProperties.Http props = new ExternalRecipesProperties.Http();
+        props.setMaxConnections(7);
+        httpClient = new ExternalRecipesHttpClient(props);
+        ExternalRecipesHttpMetrics metrics = new ExternalRecipesHttpMetrics(httpClient);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metrics.bindTo(registry);
+        RecipeProvider provider = provider(RestClient.builder()
+                .requestFactory(httpClient.requestFactory())
+                .requestInterceptor(metrics));
+
+        provider.getRandomRecipe();
+        provider.getRandomRecipe();
+
+        Timer timer = registry.get(ExternalRecipesHttpMetrics.REQUESTS_METRIC)
+                .tag("endpoint", "/random.php")
+                .tag("status", "200")
+                .timer();
+        assertEquals(2, timer.count());
+        assertTrue(timer.takeSnapshot().histogramCounts().length > 0);
+        assertEquals(7, registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "external-recipes")
+                .gauge().value());
+    }
+
+    private RecipeProvider provider(RestClient.Builder builder) {
+        return new ExternalRecipeService(builder.build(), new ObjectMapper(), mealDb.randomUrl());
+    }
+}
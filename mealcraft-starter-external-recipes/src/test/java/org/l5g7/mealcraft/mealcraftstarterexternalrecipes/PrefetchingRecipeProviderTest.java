@@ -0,0 +1,127 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefetchingRecipeProviderTest {
+
+    private StubMealDbServer mealDb;
+    private RecipeProvider upstream;
+    private PrefetchingRecipeProvider provider;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mealDb = new StubMealDbServer();
+        upstream = new ExternalRecipeService(RestClient.create(), new ObjectMapper(), mealDb.randomUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (provider != null) {
+            provider.close();
+        }
+        mealDb.close();
+    }
+
+    @Test
+    void refill_fillsBufferUpToCapacity() throws InterruptedException {
+        provider = new PrefetchingRecipeProvider(upstream, 5, 2);
+
+        provider.refill();
+        awaitUntil(() -> provider.buffered() == 5);
+
+        assertEquals(5, mealDb.requests.get());
+    }
+
+    @Test
+    void getRandomRecipe_servedFromBufferWithoutUpstreamCall() throws InterruptedException {
+        provider = new PrefetchingRecipeProvider(upstream, 5, 2);
+        provider.refill();
+        awaitUntil(() -> provider.buffered() == 5);
+
+        ExternalRecipe recipe = provider.getRandomRecipe();
+
+        assertEquals("1", recipe.sourceId());
+        assertEquals("Meal 1", recipe.name());
+        assertEquals(List.of("Rice"), recipe.ingredients());
+        assertEquals(5, mealDb.requests.get());
+    }
+
+    @Test
+    void getRandomRecipe_belowLowWaterMark_refillsInBackground() throws InterruptedException {
+        provider = new PrefetchingRecipeProvider(upstream, 4, 2);
+        provider.refill();
+        awaitUntil(() -> provider.buffered() == 4);
+
+        provider.getRandomRecipe();
+        provider.getRandomRecipe();
+        provider.getRandomRecipe();
+        awaitUntil(() -> provider.buffered() == 4);
+
+        assertEquals(7, mealDb.requests.get());
+    }
+
+    @Test
+    void refill_skipsMealsAlreadyInBuffer() throws InterruptedException {
+        mealDb.mealIds = List.of("1", "1", "2", "1", "3", "2", "4");
+        provider = new PrefetchingRecipeProvider(upstream, 4, 1);
+        provider.refill();
+        awaitUntil(() -> provider.buffered() == 4);
+
+        Set<String> served = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            served.add(provider.getRandomRecipe().sourceId());
+        }
+
+        assertEquals(Set.of("1", "2", "3", "4"), served);
+    }
+
+    @Test
+    void getRandomRecipe_emptyBuffer_fetchesDirectly() {
+        provider = new PrefetchingRecipeProvider(upstream, 3, 1);
+
+        ExternalRecipe recipe = provider.getRandomRecipe();
+
+        assertNotNull(recipe.sourceId());
+    }
+
+    @Test
+    void getRandomRecipe_upstreamDownAndBufferEmpty_propagatesFailure() throws InterruptedException {
+        mealDb.failing = true;
+        provider = new PrefetchingRecipeProvider(upstream, 3, 1);
+
+        assertThrows(RuntimeException.class, provider::getRandomRecipe);
+
+        mealDb.failing = false;
+        awaitUntil(() -> {
+            provider.refill();
+            return provider.buffered() == 3;
+        });
+    }
+
+    @Test
+    void constructor_lowWaterMarkAboveCapacity_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new PrefetchingRecipeProvider(upstream, 2, 3));
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting for the prefetch buffer");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
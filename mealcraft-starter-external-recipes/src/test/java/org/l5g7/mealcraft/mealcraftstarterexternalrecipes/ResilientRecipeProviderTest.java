@@ -0,0 +1,159 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientRecipeProviderTest {
+
+    private final FakeUpstream upstream = new FakeUpstream();
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+    private RecipeStore fallbackStore;
+    private ResilientRecipeProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker(50, 4, 2, Duration.ofMinutes(1), 1);
+        bulkhead = new Bulkhead(2);
+        fallbackStore = new InMemoryRecipeStore(10);
+        provider = new ResilientRecipeProvider(upstream, circuitBreaker, bulkhead, fallbackStore);
+    }
+
+    @Test
+    void upstreamFails_servesPreviouslyFetchedRecipe() {
+        ExternalRecipe fetched = provider.getRandomRecipe();
+        upstream.failing = true;
+
+        assertEquals(fetched, provider.getRandomRecipe());
+    }
+
+    @Test
+    void upstreamFailsWithNothingStored_throwsUnavailable() {
+        upstream.failing = true;
+
+        assertThrows(RecipeProviderUnavailableException.class, provider::getRandomRecipe);
+    }
+
+    @Test
+    void openCircuit_answersLocallyWithoutCallingUpstream() {
+        provider.getRandomRecipe();
+        upstream.failing = true;
+        provider.getRandomRecipe();
+        provider.getRandomRecipe();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+        int callsWhenOpened = upstream.calls.get();
+
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(provider.getRandomRecipe());
+        }
+
+        assertEquals(callsWhenOpened, upstream.calls.get());
+    }
+
+    @Test
+    void fullBulkhead_answersLocallyWithoutCallingUpstream() {
+        provider.getRandomRecipe();
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+
+        provider.getRandomRecipe();
+
+        assertEquals(1, upstream.calls.get());
+        assertEquals(1, bulkhead.rejectedCalls());
+    }
+
+    @Test
+    void getRecipesByIds_fetchesOnlyMealsNotStored() {
+        ExternalRecipe stored = provider.getRandomRecipe();
+
+        List<ExternalRecipe> recipes = provider.getRecipesByIds(List.of("x", stored.sourceId()));
+
+        assertEquals(List.of("x", stored.sourceId()), recipes.stream().map(ExternalRecipe::sourceId).toList());
+        assertEquals(List.of("x"), upstream.lookedUp);
+    }
+
+    @Test
+    void getRecipesByIds_unknownIds_keepCircuitClosed() {
+        upstream.knowsIds = false;
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(List.of(), provider.getRecipesByIds(List.of("unknown-" + i)));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+        assertEquals(4, upstream.calls.get());
+    }
+
+    @Test
+    void localShare_answersFromStoreOnceCorpusIsLargeEnough() {
+        provider = new ResilientRecipeProvider(upstream, circuitBreaker, bulkhead, fallbackStore, 1.0, 2);
+        provider.getRandomRecipe();
+        provider.getRandomRecipe();
+        int callsWithFullCorpus = upstream.calls.get();
+
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(provider.getRandomRecipe());
+        }
+
+        assertEquals(2, callsWithFullCorpus);
+        assertEquals(callsWithFullCorpus, upstream.calls.get());
+    }
+
+    @Test
+    void metrics_reportCircuitStateAndTransitions() {
+        ExternalRecipesResilienceMetrics metrics =
+                new ExternalRecipesResilienceMetrics(circuitBreaker, bulkhead, fallbackStore);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        metrics.bindTo(registry);
+
+        upstream.failing = true;
+        assertThrows(RecipeProviderUnavailableException.class, provider::getRandomRecipe);
+        assertThrows(RecipeProviderUnavailableException.class, provider::getRandomRecipe);
+
+        assertEquals(1, registry.get("mealcraft.external.recipes.circuit.state").tag("state", "open").gauge().value());
+        assertEquals(0, registry.get("mealcraft.external.recipes.circuit.state").tag("state", "closed").gauge().value());
+        assertEquals(1, registry.get("mealcraft.external.recipes.circuit.transitions")
+                .tag("from", "closed").tag("to", "open").counter().count());
+    }
+
+    private static class FakeUpstream implements RecipeProvider {
+
+        final AtomicInteger calls = new AtomicInteger();
+        volatile boolean failing;
+        volatile boolean knowsIds = true;
+        volatile List<String> lookedUp = List.of();
+
+        @Override
+        public ExternalRecipe getRandomRecipe() {
+            int n = calls.incrementAndGet();
+            if (failing) {
+                throw new IllegalStateException("upstream down");
+            }
+            return recipe(String.valueOf(n));
+        }
+
+        @Override
+        public List<ExternalRecipe> getRandomRecipes(int count) {
+            return List.of(getRandomRecipe());
+        }
+
+        @Override
+        public List<ExternalRecipe> getRecipesByIds(Collection<String> sourceIds) {
+            calls.incrementAndGet();
+            lookedUp = List.copyOf(sourceIds);
+            return knowsIds ? sourceIds.stream().map(FakeUpstream::recipe).toList() : List.of();
+        }
+
+        private static ExternalRecipe recipe(String sourceId) {
+            return new ExternalRecipe(1L, "Meal " + sourceId, null, null, List.of(), List.of(), sourceId);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.l5g7.mealcraft.mealcraftstarterexternalrecipes;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for TheMealDB serving {@code random.php} and {@code lookup.php?i=} on an ephemeral port.
+ * Random meals cycle through {@link #mealIds}; lookups answer for any id except those in {@link #unknownIds}.
+ */
+class StubMealDbServer implements AutoCloseable {
+
+    final AtomicInteger requests = new AtomicInteger();
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxInFlight = new AtomicInteger();
+
+    volatile List<String> mealIds = List.of("1", "2", "3", "4", "5", "6", "7", "8");
+    volatile Set<String> unknownIds = Set.of();
+    volatile Set<String> slowIds = Set.of();
+    volatile long delayMillis;
+    volatile boolean failing;
+
+    private final HttpServer server;
+    private final ExecutorService handlers = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "stub-mealdb");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    StubMealDbServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(handlers);
+        server.createContext("/random.php", exchange -> {
+            int n = requests.getAndIncrement();
+            respond(exchange, mealIds.get(n % mealIds.size()));
+        });
+        server.createContext("/lookup.php", exchange -> {
+            requests.incrementAndGet();
+            String query = exchange.getRequestURI().getQuery();
+            String id = query != null && query.startsWith("i=") ? query.substring(2) : "";
+            respond(exchange, unknownIds.contains(id) ? null : id);
+        });
+        server.start();
+    }
+
+    String randomUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/random.php";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    private void respond(HttpExchange exchange, String id) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            long delay = id != null && slowIds.contains(id) ? 10_000 : delayMillis;
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+            if (failing) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            String meals = id == null ? "null" : "[{\"idMeal\":\"" + id + "\",\"strMeal\":\"Meal " + id + "\","
+                    + "\"strIngredient1\":\"Rice\",\"strMeasure1\":\"200g\"}]";
+            byte[] body = ("{\"meals\":" + meals + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+}
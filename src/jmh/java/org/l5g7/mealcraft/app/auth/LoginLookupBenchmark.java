@@ -0,0 +1,88 @@
+package org.l5g7.mealcraft.app.auth;
+
+import org.l5g7.mealcraft.MealCraftApplication;
+import org.l5g7.mealcraft.app.auth.security.AuthenticationCache;
+import org.l5g7.mealcraft.app.user.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure the user lookup of a login against users tables of growing size; the time per lookup should stay flat.
+ * The app runs on its own in-memory database, filled with plain JDBC batches before the first iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoginLookupBenchmark {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private AuthenticationCache authenticationCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(MealCraftApplication.class)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:login_benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.batch.job.enabled=false",
+                        "server.port=0",
+                        "logging.level.root=WARN")
+                .run();
+        authenticationCache = context.getBean(AuthenticationCache.class);
+        insertUsers(context.getBean(JdbcTemplate.class), users);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> byUsername() {
+        return authenticationCache.findLoginUser("User" + ThreadLocalRandom.current().nextInt(users));
+    }
+
+    @Benchmark
+    public Optional<User> byEmail() {
+        return authenticationCache.findLoginUser("user" + ThreadLocalRandom.current().nextInt(users) + "@example.com");
+    }
+
+    /**
+     * Identifiers nobody uses; all but the first lookup of each are answered by the negative cache.
+     */
+    @Benchmark
+    public Optional<User> unknownIdentifier() {
+        return authenticationCache.findLoginUser("nobody" + ThreadLocalRandom.current().nextInt(1_000));
+    }
+
+    private static void insertUsers(JdbcTemplate jdbcTemplate, int count) {
+        Timestamp createdAt = new Timestamp(System.currentTimeMillis());
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            String username = "user" + i;
+            String email = username + "@example.com";
+            batch.add(new Object[]{username, username, email, email, "hashed_password", "USER", createdAt});
+            if (batch.size() == BATCH_SIZE || i == count - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO users " +
+                        "(username, username_key, email, email_key, password, role, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
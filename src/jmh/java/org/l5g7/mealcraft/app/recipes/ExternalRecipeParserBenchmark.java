@@ -0,0 +1,113 @@
+package org.l5g7.mealcraft.app.recipes;
+
+import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredientDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure parsing throughput on a sample of TheMealDB measures, against the regex-based parser it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ExternalRecipeParserBenchmark {
+
+    private static final String[] MEASURES = {
+            "1 lb", "2 tbs", "1/2 tsp", "1 tsp ", "200g", "1 cup ", "3 cloves", "to taste", "1 tblsp", "2-3 tbs",
+            "400g can", "Pinch", "1½ tsp", "¼ cup", "1 large", "2 1/2 cups", "Dusting", "3/4 cup", "250ml",
+            "Juice of 1", "1 litre", "3 tablespoons", "8 ounces", "2 lbs", "1.5 kg", "2,5 kg", "1 ½ cups", "½ tsp",
+            "12 oz ", "2 Tbsp", "500 grams", "100 ml", "4 Sprigs", "1/2 cup chopped", "2 chopped", "175g"
+    };
+
+    @Benchmark
+    public void tokenizer(Blackhole blackhole) {
+        for (String measure : MEASURES) {
+            RecipeIngredientDto dto = new RecipeIngredientDto();
+            ExternalRecipeParser.fillIngredientFromStrings(dto, "Ingredient", measure);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void regexBaseline(Blackhole blackhole) {
+        for (String measure : MEASURES) {
+            RecipeIngredientDto dto = new RecipeIngredientDto();
+            RegexMeasureParser.fill(dto, "Ingredient", measure);
+            blackhole.consume(dto);
+        }
+    }
+
+    /**
+     * The previous implementation, kept here only as the baseline.
+     */
+    private static final class RegexMeasureParser {
+
+        static void fill(RecipeIngredientDto dto, String name, String raw) {
+            String normalized = normalize(raw);
+            String[] parts = split(normalized);
+            dto.setProductName(name);
+            dto.setAmount(parseAmount(parts[0]));
+            dto.setUnitName(parts[1] == null || parts[1].isBlank() ? "pc" : parts[1].trim());
+        }
+
+        static String normalize(String raw) {
+            if (raw == null) {
+                return "";
+            }
+            String s = raw.trim().replace(',', '.');
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '½' -> sb.append(" 1/2");
+                    case '¼' -> sb.append(" 1/4");
+                    case '¾' -> sb.append(" 3/4");
+                    case '⅓' -> sb.append(" 1/3");
+                    case '⅔' -> sb.append(" 2/3");
+                    default -> sb.append(c);
+                }
+            }
+            return sb.toString().replaceAll("\\s+", " ").trim();
+        }
+
+        static String[] split(String normalized) {
+            if (normalized.isEmpty()) {
+                return new String[]{null, null};
+            }
+            String[] tokens = normalized.split("\\s+");
+            if (!tokens[0].matches("\\d+(?:\\.\\d+)?") && !tokens[0].matches("\\d+/\\d+")) {
+                return new String[]{null, normalized};
+            }
+            StringBuilder amount = new StringBuilder(tokens[0]);
+            int index = 1;
+            if (index < tokens.length && tokens[index].matches("\\d+/\\d+")) {
+                amount.append(' ').append(tokens[index++]);
+            }
+            StringBuilder unit = new StringBuilder();
+            for (int i = index; i < tokens.length; i++) {
+                if (i > index) {
+                    unit.append(' ');
+                }
+                unit.append(tokens[i]);
+            }
+            return new String[]{amount.toString(), index < tokens.length ? unit.toString() : null};
+        }
+
+        static Double parseAmount(String amount) {
+            if (amount == null) {
+                return 1.0;
+            }
+            String[] parts = amount.split("\\s+");
+            double value = parts[0].contains("/") ? fraction(parts[0]) : Double.parseDouble(parts[0]);
+            return parts.length > 1 ? value + fraction(parts[1]) : value;
+        }
+
+        static double fraction(String s) {
+            String[] p = s.split("/");
+            double den = Double.parseDouble(p[1]);
+            return den == 0.0 ? 0.0 : Double.parseDouble(p[0]) / den;
+        }
+    }
+}
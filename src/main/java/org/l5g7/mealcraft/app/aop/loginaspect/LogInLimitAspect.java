@@ -6,15 +6,17 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.l5g7.mealcraft.app.ratelimit.RateLimit;
+import org.l5g7.mealcraft.app.ratelimit.RateLimitStore;
+import org.l5g7.mealcraft.app.ratelimit.RateLimiter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.time.Duration;
 
 import static org.l5g7.mealcraft.app.aop.loginaspect.LogInAspectUtils.getClientIp;
 
@@ -22,11 +24,15 @@ import static org.l5g7.mealcraft.app.aop.loginaspect.LogInAspectUtils.getClientI
 @Component
 public class LogInLimitAspect {
 
-    private HashMap<String, ArrayList<LocalDateTime>> logCounts = new HashMap<>();
-
     private static final int LIMIT_MINUTES = 1;
     private static final int MAX_LOGS = 200;
 
+    private final RateLimiter rateLimiter;
+
+    public LogInLimitAspect(RateLimitStore rateLimitStore) {
+        this.rateLimiter = rateLimitStore.limiter("login", new RateLimit(MAX_LOGS, Duration.ofMinutes(LIMIT_MINUTES)));
+    }
+
     @Pointcut("execution(* org.l5g7.mealcraft.app.auth.AuthService.login(..))")
     public void loginMethod() {}
 
@@ -38,17 +44,14 @@ public class LogInLimitAspect {
         String clientIp = getClientIp(request);
 
         if (clientIp != null) {
-            logCounts = (HashMap<String, ArrayList<LocalDateTime>>) LogInAspectUtils.filterOldLogs(logCounts, LIMIT_MINUTES);
-
-            logCounts.putIfAbsent(clientIp, new ArrayList<>());
-            ArrayList<LocalDateTime> logRec = logCounts.get(clientIp);
-            if (logRec.size() >= MAX_LOGS) {
-               writeLogLimitExceededResponse(attr);
+            RateLimiter.Decision decision = rateLimiter.tryAcquire(clientIp);
+            if (!decision.allowed()) {
+                if (attr.getResponse() != null) {
+                    attr.getResponse().setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+                }
+                writeLogLimitExceededResponse(attr);
                 return null;
             }
-
-            logRec.add(LocalDateTime.now());
-            logCounts.put(clientIp, logRec);
         }
 
         return joinPoint.proceed();
@@ -3,6 +3,7 @@ package org.l5g7.mealcraft.app.auth;
 import jakarta.validation.Valid;
 import org.l5g7.mealcraft.app.auth.dto.LoginUserDto;
 import org.l5g7.mealcraft.app.auth.dto.RegisterUserDto;
+import org.l5g7.mealcraft.app.auth.security.AuthenticationCache;
 import org.l5g7.mealcraft.app.auth.security.JwtService;
 import org.l5g7.mealcraft.app.user.*;
 import org.l5g7.mealcraft.enums.Role;
@@ -27,11 +28,15 @@ public class AuthService {
 
     private JwtService jwtService;
 
-    public AuthService (UserRepository userRepository, UserService userService, PasswordHasher passwordHasher, JwtService jwtService) {
+    private AuthenticationCache authenticationCache;
+
+    public AuthService (UserRepository userRepository, UserService userService, PasswordHasher passwordHasher, JwtService jwtService,
+                        AuthenticationCache authenticationCache) {
         this.userRepository = userRepository;
         this.userService = userService;
         this.passwordHasher = passwordHasher;
         this.jwtService = jwtService;
+        this.authenticationCache = authenticationCache;
     }
 
     public String register(@Valid RegisterUserDto username) {
@@ -55,9 +60,7 @@ public class AuthService {
 
     public String login(LoginUserDto loginUser) {
         LogUtils.logInfo("Login attempt for: " + loginUser.getUsernameOrEmail());
-        User user = userRepository.findAll().stream()
-                .filter(usr -> usr.getUsername().equals(loginUser.getUsernameOrEmail()) || usr.getEmail().equals(loginUser.getUsernameOrEmail()))
-                .findFirst()
+        User user = authenticationCache.findLoginUser(loginUser.getUsernameOrEmail())
                 .orElseThrow(() -> {
                     LogUtils.logWarn("User not found: " + loginUser.getUsernameOrEmail(), LogMarker.WARN.getMarkerName());
                     throw new EntityDoesNotExistException("User", loginUser.getUsernameOrEmail());
@@ -82,7 +85,7 @@ public class AuthService {
         var username = auth.getName();
 
         LogUtils.logInfo("Logging out user: " + username);
-        if (userRepository.findAll().stream().filter(u-> u.getUsername().equals(username)).findFirst().isEmpty()) {
+        if (userRepository.findIdByUsername(username).isEmpty()) {
             LogUtils.logWarn("User not found for logout: " + username, LogMarker.WARN.getMarkerName());
             throw new EntityDoesNotExistException("User", username);
         }
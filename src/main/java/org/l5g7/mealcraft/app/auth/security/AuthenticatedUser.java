@@ -0,0 +1,29 @@
+package org.l5g7.mealcraft.app.auth.security;
+
+import lombok.Getter;
+import org.l5g7.mealcraft.enums.Role;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+/**
+ * Principal of a request authenticated by {@link JwtCookieFilter}. It carries the user's id and role,
+ * so code handling the request can read them without looking the user up again.
+ */
+@Getter
+public class AuthenticatedUser extends User {
+
+    private final Long id;
+    private final Role role;
+
+    public AuthenticatedUser(Long id, String username, Role role) {
+        super(username, "", List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+        this.id = id;
+        this.role = role;
+    }
+
+    public boolean isAdmin() {
+        return role == Role.ADMIN;
+    }
+}
@@ -0,0 +1,207 @@
+package org.l5g7.mealcraft.app.auth.security;
+
+import org.l5g7.mealcraft.app.user.User;
+import org.l5g7.mealcraft.app.user.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Resolves the token of a request to its {@link AuthenticatedUser}, so a returning token costs a digest and a map
+ * lookup instead of a signature check and a user query.
+ * <p>
+ * Principals are kept by a SHA-256 digest of their token, never longer than the token is valid. The ids of
+ * usernames seen in new tokens are kept too, including usernames that no longer exist, and so are login
+ * identifiers that matched no user, so a burst of logins for unknown accounts costs one query per identifier. All
+ * maps are bounded and their entries expire after {@code ttl}. {@link org.l5g7.mealcraft.app.user.UserService}
+ * evicts every user it creates, changes or deletes, which also drops the principals built for them.
+ */
+@Component
+public class AuthenticationCache {
+
+    private final JwtService jwtService;
+    private final UserRepository userRepository;
+    private final Expiring<AuthenticatedUser> principals;
+    private final Expiring<Optional<Long>> userIds;
+    private final Expiring<Boolean> unknownLogins;
+    private final Duration ttl;
+    private final Clock clock;
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public AuthenticationCache(JwtService jwtService, UserRepository userRepository,
+                               @Value("${mealcraft.auth.cache.max-entries:10000}") int maxEntries,
+                               @Value("${mealcraft.auth.cache.ttl:60s}") Duration ttl) {
+        this(jwtService, userRepository, maxEntries, ttl, Clock.systemUTC());
+    }
+
+    public AuthenticationCache(JwtService jwtService, UserRepository userRepository, int maxEntries, Duration ttl,
+                               Clock clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Authentication cache must hold at least one entry");
+        }
+        this.jwtService = jwtService;
+        this.userRepository = userRepository;
+        this.principals = new Expiring<>(maxEntries);
+        this.userIds = new Expiring<>(maxEntries);
+        this.unknownLogins = new Expiring<>(maxEntries);
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * The principal {@code token} stands for; empty when the token is not valid or its user no longer exists.
+     */
+    public Optional<AuthenticatedUser> resolve(String token) {
+        String key = digest(token);
+        Instant now = clock.instant();
+        AuthenticatedUser cached = principals.get(key, now);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<JwtClaims> claims = jwtService.parseToken(token);
+        if (claims.isEmpty()) {
+            return Optional.empty();
+        }
+        String username = claims.get().username();
+        long generation = evictions.get();
+        Optional<AuthenticatedUser> principal = userId(username, now)
+                .map(id -> new AuthenticatedUser(id, username, claims.get().role()));
+        if (principal.isPresent()) {
+            Instant expiresAt = now.plus(ttl);
+            principals.put(key, principal.get(),
+                    expiresAt.isBefore(claims.get().expiresAt()) ? expiresAt : claims.get().expiresAt(), now);
+        }
+        // an eviction that ran while we were loading may have missed what we just put
+        if (evictions.get() != generation) {
+            principals.remove(key);
+            userIds.remove(username);
+        }
+        return principal;
+    }
+
+    /**
+     * The user whose username or email is {@code identifier}; identifiers that recently matched nobody are answered
+     * without a query.
+     */
+    public Optional<User> findLoginUser(String identifier) {
+        String key = User.normalizeIdentifier(identifier);
+        Instant now = clock.instant();
+        if (unknownLogins.get(key, now) != null) {
+            return Optional.empty();
+        }
+
+        long generation = evictions.get();
+        Optional<User> user = userRepository.findByUsernameOrEmail(identifier);
+        if (user.isEmpty()) {
+            unknownLogins.put(key, Boolean.TRUE, now.plus(ttl), now);
+            // the account may have been created while we were looking
+            if (evictions.get() != generation) {
+                unknownLogins.remove(key);
+            }
+        }
+        return user;
+    }
+
+    public void evictUser(Long userId) {
+        evictions.incrementAndGet();
+        principals.removeIf(principal -> principal.getId().equals(userId));
+        userIds.removeIf(id -> id.isPresent() && id.get().equals(userId));
+    }
+
+    public void evictUsername(String username) {
+        evictions.incrementAndGet();
+        principals.removeIf(principal -> principal.getUsername().equals(username));
+        userIds.remove(username);
+        unknownLogins.remove(User.normalizeIdentifier(username));
+    }
+
+    public void evictEmail(String email) {
+        evictions.incrementAndGet();
+        unknownLogins.remove(User.normalizeIdentifier(email));
+    }
+
+    private Optional<Long> userId(String username, Instant now) {
+        Optional<Long> cached = userIds.get(username, now);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<Long> loaded = userRepository.findIdByUsername(username);
+        userIds.put(username, loaded, now.plus(ttl), now);
+        return loaded;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Expiring<V> {
+
+        private record Entry<V>(V value, Instant expiresAt) {
+        }
+
+        private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+        private final int maxEntries;
+
+        private Expiring(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        V get(String key, Instant now) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (!now.isBefore(entry.expiresAt())) {
+                entries.remove(key, entry);
+                return null;
+            }
+            return entry.value();
+        }
+
+        void put(String key, V value, Instant expiresAt, Instant now) {
+            if (entries.size() >= maxEntries) {
+                makeRoom(now);
+            }
+            entries.put(key, new Entry<>(value, expiresAt));
+        }
+
+        void remove(String key) {
+            entries.remove(key);
+        }
+
+        void removeIf(Predicate<V> predicate) {
+            entries.values().removeIf(entry -> predicate.test(entry.value()));
+        }
+
+        // drops expired entries first, then arbitrary ones until a quarter of the capacity is free
+        private void makeRoom(Instant now) {
+            entries.values().removeIf(entry -> !now.isBefore(entry.expiresAt()));
+            Iterator<String> keys = entries.keySet().iterator();
+            while (entries.size() > maxEntries - Math.max(1, maxEntries / 4) && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+}
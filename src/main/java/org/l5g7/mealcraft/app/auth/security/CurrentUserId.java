@@ -0,0 +1,21 @@
+package org.l5g7.mealcraft.app.auth.security;
+
+import org.l5g7.mealcraft.app.user.UserService;
+import org.springframework.security.core.Authentication;
+
+public class CurrentUserId {
+
+    private CurrentUserId() {
+    }
+
+    /**
+     * Id of the user behind {@code authentication}. Requests authenticated by {@link JwtCookieFilter} carry it in
+     * their {@link AuthenticatedUser} principal; for any other principal the user is looked up by name.
+     */
+    public static Long currentUserId(Authentication authentication, UserService userService) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return userService.getUserByUsername(authentication.getName()).id();
+    }
+}
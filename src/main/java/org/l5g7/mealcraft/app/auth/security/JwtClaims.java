@@ -0,0 +1,11 @@
+package org.l5g7.mealcraft.app.auth.security;
+
+import org.l5g7.mealcraft.enums.Role;
+
+import java.time.Instant;
+
+/**
+ * What a verified token says about its holder.
+ */
+public record JwtClaims(String username, Role role, Instant expiresAt) {
+}
@@ -5,34 +5,28 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.l5g7.mealcraft.app.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 
 import java.io.IOException;
-import java.util.List;
+import java.util.Optional;
 
 @Component
 public class JwtCookieFilter extends OncePerRequestFilter {
     @Value("${jwt.cookie-name}")
     private String authToken;
 
-    private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final AuthenticationCache authenticationCache;
 
     @Autowired
-    public JwtCookieFilter(JwtService jwtService, UserRepository userRepository) {
-        this.jwtService = jwtService;
-        this.userRepository = userRepository;
+    public JwtCookieFilter(AuthenticationCache authenticationCache) {
+        this.authenticationCache = authenticationCache;
     }
 
     @Override
@@ -45,22 +39,13 @@ public class JwtCookieFilter extends OncePerRequestFilter {
             for (Cookie cookie : request.getCookies()) {
                 if (authToken.equals(cookie.getName())) {
                     String token = cookie.getValue();
-                    if (jwtService.validateToken(token)) {
-                        String username = jwtService.getUsernameFromToken(token);
-
-                        if (username == null || userRepository.findByUsername(username).isEmpty()) {
-                            filterChain.doFilter(request, response);
-                            return;
-                        }
-
-                        String role = jwtService.getRolesFromToken(token);
-                        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
-
+                    Optional<AuthenticatedUser> principal = authenticationCache.resolve(token);
+                    if (principal.isPresent()) {
                         UsernamePasswordAuthenticationToken auth =
                                 new UsernamePasswordAuthenticationToken(
-                                        new User(username, "", authorities),
+                                        principal.get(),
                                         null,
-                                        authorities
+                                        principal.get().getAuthorities()
                                 );
                         auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(auth);
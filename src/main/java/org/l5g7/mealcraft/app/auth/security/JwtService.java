@@ -1,9 +1,9 @@
 package org.l5g7.mealcraft.app.auth.security;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.MalformedJwtException;
 import org.l5g7.mealcraft.enums.Role;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -12,14 +12,17 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class JwtService {
 
     private SecretKey secretKey;
+    private final JwtParser parser;
 
     public JwtService(JwtKey jwtKey){
         this.secretKey = jwtKey.getSecretKey();
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
     }
 
     @Value("${jwt.expiration-ms}")
@@ -37,35 +40,39 @@ public class JwtService {
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
+    /**
+     * Verifies {@code token} and reads its claims in a single parse. Empty when the token is expired, malformed,
+     * not signed with our key or carries no known role.
+     */
+    public Optional<JwtClaims> parseToken(String token) {
+        Claims claims;
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
 
-            return claims.getSubject();
-        } catch (ExpiredJwtException | MalformedJwtException e) {
-            return null;
+        Object role = claims.get("role");
+        if (claims.getSubject() == null || role == null || claims.getExpiration() == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new JwtClaims(claims.getSubject(), Role.valueOf(role.toString()),
+                    claims.getExpiration().toInstant()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
         }
     }
 
-    public String getRolesFromToken(String token) {
-        try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+    public String getUsernameFromToken(String token) {
+        return parseToken(token).map(JwtClaims::username).orElse(null);
+    }
 
-            return claims.get("role").toString();
-        } catch (ExpiredJwtException e) {
-            return null;
-        }
+    public String getRolesFromToken(String token) {
+        return parseToken(token).map(claims -> claims.role().name()).orElse(null);
     }
 
     public boolean validateToken(String token) {
-        return getUsernameFromToken(token) != null;
+        return parseToken(token).isPresent();
     }
 }
@@ -0,0 +1,104 @@
+package org.l5g7.mealcraft.app.caching;
+
+import org.l5g7.mealcraft.app.auth.security.AuthenticatedUser;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version counters of the aggregates the REST API lists, used to answer conditional GETs.
+ * <p>
+ * Service impls bump the versions of whatever a mutation changed. Inside a transaction the bump is applied
+ * right away and once more after completion, so a response read between the write and the commit is never
+ * tagged with the final version. Counters live in this instance only; the epoch in every tag keeps tags
+ * handed out before a restart from matching.
+ */
+@Component
+public class AggregateVersions {
+
+    public static final String PRODUCTS = "products";
+    public static final String UNITS = "units";
+    public static final String RECIPES = "recipes";
+    public static final String SHOPPING_ITEMS = "shopping-items";
+    public static final String MEAL_PLANS = "meal-plans";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public static String shoppingItemsOf(Long userId) {
+        return SHOPPING_ITEMS + ":" + userId;
+    }
+
+    public static String mealPlansOf(Long userId) {
+        return MEAL_PLANS + ":" + userId;
+    }
+
+    public long version(String aggregate) {
+        AtomicLong version = versions.get(aggregate);
+        return version != null ? version.get() : 0L;
+    }
+
+    public void bump(String... aggregates) {
+        increment(aggregates);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    increment(aggregates);
+                }
+            });
+        }
+    }
+
+    /**
+     * Sets a strong ETag built from the versions of {@code aggregates} and the caller on the response, which
+     * clients may keep as long as they revalidate it.
+     *
+     * @return {@code true} when the request's {@code If-None-Match} already names that tag; the response is then
+     * a 304 and the handler should return {@code null} without running its query
+     */
+    public boolean notModified(WebRequest request, String... aggregates) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            // Spring Security keeps a Cache-Control set here instead of its no-store, which would stop clients caching
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+                    CacheControl.noCache().cachePrivate().getHeaderValue());
+        }
+        return request.checkNotModified(etag(scopeOf(request.getUserPrincipal()), aggregates));
+    }
+
+    String etag(String scope, String... aggregates) {
+        StringBuilder tag = new StringBuilder("\"").append(epoch);
+        for (String aggregate : aggregates) {
+            tag.append('.').append(Long.toString(version(aggregate), 36));
+        }
+        return tag.append('.').append(scope).append('"').toString();
+    }
+
+    // Listings depend on who asks: admins see the public catalog, users their own entries on top of it.
+    private static String scopeOf(Principal principal) {
+        if (principal == null) {
+            return "anonymous";
+        }
+        if (principal instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.isAdmin() ? "admin" : "u" + user.getId();
+        }
+        return "n" + Integer.toHexString(principal.getName().hashCode());
+    }
+
+    private void increment(String... aggregates) {
+        for (String aggregate : aggregates) {
+            versions.computeIfAbsent(aggregate, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+}
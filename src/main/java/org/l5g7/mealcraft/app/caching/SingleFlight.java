@@ -0,0 +1,46 @@
+package org.l5g7.mealcraft.app.caching;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs a load at most once at a time per key: callers asking for a key while its load runs wait for that result
+ * instead of starting their own. Unlike {@code ConcurrentHashMap.computeIfAbsent}, the load runs outside any map
+ * lock, so slow work such as a database insert never blocks callers of other keys.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> running = new ConcurrentHashMap<>();
+
+    public V run(K key, Supplier<V> load) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> theirs = running.putIfAbsent(key, mine);
+        if (theirs != null) {
+            return await(theirs);
+        }
+        try {
+            V value = load.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            running.remove(key, mine);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.l5g7.mealcraft.enums.MealStatus;
 import java.util.Date;
 
 @Entity
+@Table(indexes = @Index(name = "idx_meal_plan_owner_date", columnList = "user_owner_id, plan_date"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
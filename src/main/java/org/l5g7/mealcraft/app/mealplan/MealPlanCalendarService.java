@@ -0,0 +1,11 @@
+package org.l5g7.mealcraft.app.mealplan;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+public interface MealPlanCalendarService {
+    Map<LocalDate, List<EventCell>> getUserMonthLayout(Long userId, YearMonth month);
+    List<MealPlanDto> getUserMealPlansOn(Long userId, LocalDate day);
+}
@@ -0,0 +1,130 @@
+package org.l5g7.mealcraft.app.mealplan;
+
+import org.l5g7.mealcraft.app.user.User;
+import org.l5g7.mealcraft.app.user.UserRepository;
+import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Reads only the meal plans overlapping the dates on screen. A plan covers {@code servings} days from its plan
+ * date, so the query window starts early enough to catch the longest plan the user has.
+ */
+@Service
+public class MealPlanCalendarServiceImpl implements MealPlanCalendarService {
+
+    private static final String ENTITY_USER = "User";
+
+    private final MealPlanRepository mealPlanRepository;
+    private final UserRepository userRepository;
+
+    public MealPlanCalendarServiceImpl(MealPlanRepository mealPlanRepository, UserRepository userRepository) {
+        this.mealPlanRepository = mealPlanRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Cells of every day of {@code month} with a meal planned, indexed by slot. A plan keeps the same slot on all
+     * of its days, and a slot is reused as soon as the plan holding it has ended, so a day never shows more rows
+     * than there are plans overlapping at some point of the month.
+     */
+    @Override
+    public Map<LocalDate, List<EventCell>> getUserMonthLayout(Long userId, YearMonth month) {
+        LocalDate first = month.atDay(1);
+        LocalDate last = month.atEndOfMonth();
+        List<PlannedDays> plans = findOverlapping(userId, first, last);
+
+        Map<LocalDate, List<EventCell>> layout = new HashMap<>();
+        PriorityQueue<PlacedPlan> ongoing = new PriorityQueue<>(Comparator.comparing(PlacedPlan::end));
+        PriorityQueue<Integer> freeSlots = new PriorityQueue<>();
+        int slotCount = 0;
+
+        for (PlannedDays plan : plans) {
+            while (!ongoing.isEmpty() && ongoing.peek().end().isBefore(plan.start())) {
+                freeSlots.add(ongoing.poll().slot());
+            }
+            int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.poll();
+            ongoing.add(new PlacedPlan(plan.end(), slot));
+
+            LocalDate from = plan.start().isBefore(first) ? first : plan.start();
+            LocalDate to = plan.end().isAfter(last) ? last : plan.end();
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                EventCell cell = new EventCell(day.isEqual(plan.start()), day.isEqual(plan.end()),
+                        plan.mealPlan().getRecipe().getName(), slot, plan.mealPlan().getColor().getHex());
+                putAtSlot(layout.computeIfAbsent(day, d -> new ArrayList<>()), slot, cell);
+            }
+        }
+        return layout;
+    }
+
+    @Override
+    public List<MealPlanDto> getUserMealPlansOn(Long userId, LocalDate day) {
+        return findOverlapping(userId, day, day).stream()
+                .map(plan -> toDto(plan.mealPlan()))
+                .toList();
+    }
+
+    /**
+     * Plans of the user covering at least one day of {@code [first, last]}, ordered by start.
+     */
+    private List<PlannedDays> findOverlapping(Long userId, LocalDate first, LocalDate last) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityDoesNotExistException(ENTITY_USER, String.valueOf(userId)));
+
+        Integer longest = mealPlanRepository.findMaxServingsByUserOwner(user);
+        if (longest == null) {
+            return List.of();
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        Date from = Date.from(first.minusDays(longest - 1L).atStartOfDay(zone).toInstant());
+        Date to = Date.from(last.plusDays(1).atStartOfDay(zone).toInstant().minusMillis(1));
+
+        List<PlannedDays> plans = new ArrayList<>();
+        for (MealPlan mealPlan : mealPlanRepository.findAllByUserOwnerAndPlanDateBetween(user, from, to)) {
+            LocalDate start = mealPlan.getPlanDate().toInstant().atZone(zone).toLocalDate();
+            LocalDate end = start.plusDays(mealPlan.getServings() - 1L);
+            if (!end.isBefore(first)) {
+                plans.add(new PlannedDays(mealPlan, start, end));
+            }
+        }
+        plans.sort(Comparator.comparing(PlannedDays::start).thenComparing(plan -> plan.mealPlan().getPlanDate()));
+        return plans;
+    }
+
+    private static void putAtSlot(List<EventCell> cells, int slot, EventCell cell) {
+        while (cells.size() <= slot) {
+            cells.add(null);
+        }
+        cells.set(slot, cell);
+    }
+
+    private static MealPlanDto toDto(MealPlan entity) {
+        return MealPlanDto.builder()
+                .id(entity.getId())
+                .userOwnerId(entity.getUserOwner().getId())
+                .recipeId(entity.getRecipe().getId())
+                .planDate(entity.getPlanDate())
+                .servings(entity.getServings())
+                .status(entity.getStatus())
+                .name(entity.getRecipe().getName())
+                .color(entity.getColor().getHex())
+                .build();
+    }
+
+    private record PlannedDays(MealPlan mealPlan, LocalDate start, LocalDate end) {
+    }
+
+    private record PlacedPlan(LocalDate end, int slot) {
+    }
+}
@@ -1,8 +1,10 @@
 package org.l5g7.mealcraft.app.mealplan;
 
 import jakarta.validation.Valid;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
 import org.l5g7.mealcraft.enums.MealStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Date;
 import java.util.List;
@@ -11,13 +13,18 @@ import java.util.List;
 @RequestMapping("/meal-plans")
 public class MealPlanController {
     private final MealPlanService mealPlanService;
+    private final AggregateVersions aggregateVersions;
 
-    public MealPlanController(MealPlanService mealPlanService) {
+    public MealPlanController(MealPlanService mealPlanService, AggregateVersions aggregateVersions) {
         this.mealPlanService = mealPlanService;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @GetMapping
-    public List<MealPlanDto> getAll() {
+    public List<MealPlanDto> getAll(WebRequest request) {
+        if (aggregateVersions.notModified(request, AggregateVersions.MEAL_PLANS, AggregateVersions.RECIPES)) {
+            return null;
+        }
         return mealPlanService.getAllMealPlans();
     }
 
@@ -27,7 +34,10 @@ public class MealPlanController {
     }
 
     @GetMapping("/user/{id}")
-    public List<MealPlanDto> getUserMealPlans(@PathVariable Long id) {
+    public List<MealPlanDto> getUserMealPlans(@PathVariable Long id, WebRequest request) {
+        if (userMealPlansNotModified(id, request)) {
+            return null;
+        }
         return mealPlanService.getUserMealPlans(id);
     }
 
@@ -35,8 +45,12 @@ public class MealPlanController {
     public List<MealPlanDto> getUserMealPlansBetweenDates(
             @PathVariable Long id,
             @RequestParam Date from,
-            @RequestParam Date to
+            @RequestParam Date to,
+            WebRequest request
     ) {
+        if (userMealPlansNotModified(id, request)) {
+            return null;
+        }
         return mealPlanService.getUserMealPlansBetweenDates(id, from, to);
     }
 
@@ -45,8 +59,12 @@ public class MealPlanController {
             @PathVariable Long id,
             @RequestParam Date from,
             @RequestParam Date to,
-            @RequestParam MealStatus status
+            @RequestParam MealStatus status,
+            WebRequest request
     ) {
+        if (userMealPlansNotModified(id, request)) {
+            return null;
+        }
         return mealPlanService.getUserMealPlansBetweenDatesWithStatus(id, from, to, status);
     }
 
@@ -55,8 +73,12 @@ public class MealPlanController {
             @PathVariable Long id,
             @RequestParam Date from,
             @RequestParam Date to,
-            @RequestParam MealStatus status
+            @RequestParam MealStatus status,
+            WebRequest request
     ) {
+        if (userMealPlansNotModified(id, request)) {
+            return null;
+        }
         return mealPlanService.getUserMealPlansBetweenDatesWithNotStatus(id, from, to, status);
     }
 
@@ -79,4 +101,8 @@ public class MealPlanController {
     public void deleteMealPlan(@PathVariable Long id) {
         mealPlanService.deleteMealPlan(id);
     }
+
+    private boolean userMealPlansNotModified(Long userId, WebRequest request) {
+        return aggregateVersions.notModified(request, AggregateVersions.mealPlansOf(userId), AggregateVersions.RECIPES);
+    }
 }
@@ -4,6 +4,8 @@ import org.l5g7.mealcraft.app.recipes.Recipe;
 import org.l5g7.mealcraft.app.user.User;
 import org.l5g7.mealcraft.enums.MealStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Date;
 import java.util.List;
@@ -15,4 +17,7 @@ public interface MealPlanRepository extends JpaRepository<MealPlan, Long> {
     List<MealPlan> findMealPlanByUserOwnerAndStatusNotAndPlanDateBetween(User userOwner, MealStatus notStatus, Date from, Date to);
     List<MealPlan> findAllByStatusAndPlanDateBetween(MealStatus status, Date from, Date to);
     boolean existsByRecipe(Recipe recipe);
+
+    @Query("SELECT MAX(m.servings) FROM MealPlan m WHERE m.userOwner = :userOwner")
+    Integer findMaxServingsByUserOwner(@Param("userOwner") User userOwner);
 }
@@ -1,6 +1,7 @@
 package org.l5g7.mealcraft.app.mealplan;
 
 import jakarta.validation.Valid;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
 import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredient;
 import org.l5g7.mealcraft.app.recipes.Recipe;
 import org.l5g7.mealcraft.app.recipes.RecipeRepository;
@@ -31,13 +32,15 @@ public class MealPlanServiceImpl implements MealPlanService {
     private static final String ENTITY_USER= "User";
     private final ShoppingItemRepository shoppingItemRepository;
     private final ShoppingItemService shoppingItemService;
+    private final AggregateVersions aggregateVersions;
 
-    public MealPlanServiceImpl(MealPlanRepository mealPlanRepository, UserRepository userRepository, RecipeRepository recipeRepository, ShoppingItemRepository shoppingItemRepository, ShoppingItemService shoppingItemService) {
+    public MealPlanServiceImpl(MealPlanRepository mealPlanRepository, UserRepository userRepository, RecipeRepository recipeRepository, ShoppingItemRepository shoppingItemRepository, ShoppingItemService shoppingItemService, AggregateVersions aggregateVersions) {
         this.mealPlanRepository = mealPlanRepository;
         this.userRepository = userRepository;
         this.recipeRepository = recipeRepository;
         this.shoppingItemRepository = shoppingItemRepository;
         this.shoppingItemService = shoppingItemService;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @Override
@@ -178,6 +181,7 @@ public class MealPlanServiceImpl implements MealPlanService {
                 .build();
 
         mealPlanRepository.save(entity);
+        bumpMealPlans(userOwner.getId());
 
         for(RecipeIngredient ingredient : recipe.getIngredients()){
             shoppingItemService.addShoppingItem(new ShoppingItemDto(null, ingredient.getProduct().getName(), userOwner.getId(), ingredient.getProduct().getId(),ingredient.getAmount()*entity.getServings(),false,null,null));
@@ -204,6 +208,7 @@ public class MealPlanServiceImpl implements MealPlanService {
             }
         }
 
+        Long previousOwnerId = existing.get().getUserOwner().getId();
         existing.get().setUserOwner(userOwner);
         existing.get().setRecipe(recipe);
         existing.get().setPlanDate(mealPlanDto.getPlanDate());
@@ -212,6 +217,7 @@ public class MealPlanServiceImpl implements MealPlanService {
         existing.get().setColor(MealPlanColor.fromHex(mealPlanDto.getColor()));
 
         mealPlanRepository.save(existing.get());
+        bumpMealPlans(previousOwnerId, userOwner.getId());
     }
 
     @Override
@@ -221,6 +227,7 @@ public class MealPlanServiceImpl implements MealPlanService {
             throw new EntityDoesNotExistException(ENTITY_NAME, String.valueOf(id));
         }
 
+        Long previousOwnerId = existing.get().getUserOwner().getId();
         if(mealPlanDto.getUserOwnerId()!=null){
             User userOwner = userRepository.findById(mealPlanDto.getUserOwnerId())
                     .orElseThrow(() -> new EntityDoesNotExistException(ENTITY_USER, String.valueOf(mealPlanDto.getUserOwnerId())));
@@ -235,6 +242,8 @@ public class MealPlanServiceImpl implements MealPlanService {
             for(RecipeIngredient ingredient : recipe.getIngredients()){
                 shoppingItemRepository.save(new ShoppingItem(null,existing.get().getUserOwner(),ingredient.getProduct(),ingredient.getAmount(),false,null));
             }
+            aggregateVersions.bump(AggregateVersions.SHOPPING_ITEMS,
+                    AggregateVersions.shoppingItemsOf(existing.get().getUserOwner().getId()));
         }
 
         if(mealPlanDto.getPlanDate()!=null){
@@ -254,6 +263,7 @@ public class MealPlanServiceImpl implements MealPlanService {
         }
 
         mealPlanRepository.save(existing.get());
+        bumpMealPlans(previousOwnerId, existing.get().getUserOwner().getId());
     }
 
     @Override
@@ -267,5 +277,13 @@ public class MealPlanServiceImpl implements MealPlanService {
         }
 
         mealPlanRepository.deleteById(id);
+        bumpMealPlans(existing.get().getUserOwner().getId());
+    }
+
+    private void bumpMealPlans(Long... ownerIds) {
+        aggregateVersions.bump(AggregateVersions.MEAL_PLANS);
+        for (Long ownerId : ownerIds) {
+            aggregateVersions.bump(AggregateVersions.mealPlansOf(ownerId));
+        }
     }
 }
@@ -0,0 +1,56 @@
+package org.l5g7.mealcraft.app.paging;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is {@code null} on the last page.
+ * <p>
+ * Repositories are asked for {@code limit + 1} rows via {@link #fetch(int)}; the extra row only tells
+ * whether another page exists and is dropped by {@link #of}.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static Pageable fetch(int limit) {
+        checkLimit(limit);
+        return PageRequest.ofSize(limit + 1);
+    }
+
+    public static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    public static <T> CursorPage<T> of(List<T> fetched, int limit, Function<T, PageCursor> cursorOf) {
+        if (fetched.size() <= limit) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = List.copyOf(fetched.subList(0, limit));
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    /**
+     * Items as the response body, so list endpoints keep returning a JSON array, with the cursor of the
+     * next page in the {@value #NEXT_CURSOR_HEADER} header.
+     */
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+}
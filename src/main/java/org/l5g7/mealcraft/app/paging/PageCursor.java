@@ -0,0 +1,35 @@
+package org.l5g7.mealcraft.app.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Keyset position in a listing ordered by {@code (createdAt, id)}: the next page starts strictly after it.
+ * Clients receive it as an opaque URL-safe token.
+ */
+public record PageCursor(Date createdAt, long id) {
+
+    public static final PageCursor START = new PageCursor(new Date(0), 0L);
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':');
+            return new PageCursor(
+                    new Date(Long.parseLong(value.substring(0, separator))),
+                    Long.parseLong(value.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+    }
+
+    public String encode() {
+        String value = createdAt.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
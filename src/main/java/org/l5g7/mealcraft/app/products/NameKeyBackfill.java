@@ -0,0 +1,81 @@
+package org.l5g7.mealcraft.app.products;
+
+import org.l5g7.mealcraft.app.units.Unit;
+import org.l5g7.mealcraft.app.units.UnitRepository;
+import org.l5g7.mealcraft.logging.LogUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Fills the unit name keys and public product name keys of rows stored before those columns existed, as name
+ * lookups from other instances and the unique constraints only work through the keys.
+ * <p>
+ * Rows whose names differ only in case or padding cannot share a key. A row already holding the key, or else the
+ * oldest legacy row, keeps its name; the others are renamed to {@code "<name> (<id>)"} rather than merged, since
+ * recipes, fridges and shopping lists may point at each of them. After that a later edit of any of them cannot
+ * fail on the constraint. Runs once the beans are created, before the name indexes are built and the web server
+ * takes requests.
+ */
+@Component
+public class NameKeyBackfill implements SmartInitializingSingleton {
+
+    private final UnitRepository unitRepository;
+    private final ProductRepository productRepository;
+
+    public NameKeyBackfill(UnitRepository unitRepository, ProductRepository productRepository) {
+        this.unitRepository = unitRepository;
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill("unit",
+                unitRepository.findAllByNameKeyIsNullOrderByIdAsc().stream()
+                        .map(unit -> new LegacyRow(unit.getId(), unit.getName()))
+                        .toList(),
+                unitRepository::existsByNameKey,
+                unitRepository::assignNameKey);
+        backfill("public product",
+                productRepository.findAllByOwnerUserIsNullAndPublicNameKeyIsNullOrderByIdAsc().stream()
+                        .map(product -> new LegacyRow(product.getId(), product.getName()))
+                        .toList(),
+                productRepository::existsByPublicNameKey,
+                productRepository::assignPublicNameKey);
+    }
+
+    private static void backfill(String kind, List<LegacyRow> rows, Predicate<String> keyTaken, KeyWriter writer) {
+        int filled = 0;
+        for (LegacyRow row : rows) {
+            String name = row.name();
+            String key = Unit.normalizeName(name);
+            for (int attempt = 1; keyTaken.test(key); attempt++) {
+                name = row.name().trim() + " (" + row.id() + (attempt > 1 ? "-" + attempt : "") + ")";
+                key = Unit.normalizeName(name);
+            }
+            if (!name.equals(row.name())) {
+                LogUtils.logWarn("Renamed " + kind + " " + row.id() + " from '" + row.name() + "' to '" + name
+                        + "', as another " + kind + " already has that name");
+            }
+            try {
+                filled += writer.write(row.id(), name, key);
+            } catch (DataIntegrityViolationException e) {
+                LogUtils.logError("Could not fill the name key of " + kind + " " + row.id() + ": " + e.getMessage());
+            }
+        }
+        if (filled > 0) {
+            LogUtils.logInfo("Filled the name key of " + filled + " " + kind + "s");
+        }
+    }
+
+    private record LegacyRow(Long id, String name) {
+    }
+
+    @FunctionalInterface
+    private interface KeyWriter {
+        int write(Long id, String name, String nameKey);
+    }
+}
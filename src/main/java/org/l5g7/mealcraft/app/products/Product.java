@@ -1,17 +1,17 @@
 package org.l5g7.mealcraft.app.products;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.*;
 import org.l5g7.mealcraft.app.units.Unit;
 import org.l5g7.mealcraft.app.user.User;
 
 import java.util.Date;
+import java.util.Locale;
 
 @Entity
-@Table(name = "product")
+@Table(name = "product",
+        indexes = @Index(name = "idx_product_created_at_id", columnList = "created_at, id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_public_name_key", columnNames = "public_name_key"))
 @Data @NoArgsConstructor @AllArgsConstructor @Builder
 public class Product {
 
@@ -33,4 +33,22 @@ public class Product {
     @Temporal(TemporalType.TIMESTAMP)
     @Column(nullable = false, updatable = false)
     private Date createdAt;
+
+    /**
+     * Trimmed, lower-cased name of a public product and {@code null} for a private one; unique, so there is at
+     * most one public product per name while users keep their own copies.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "public_name_key")
+    private String publicNameKey;
+
+    @PrePersist
+    @PreUpdate
+    void updatePublicNameKey() {
+        publicNameKey = ownerUser == null && name != null ? normalizeName(name) : null;
+    }
+
+    public static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
 }
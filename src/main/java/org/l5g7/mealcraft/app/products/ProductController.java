@@ -1,8 +1,12 @@
 package org.l5g7.mealcraft.app.products;
 
 import jakarta.validation.Valid;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
 import java.util.List;
 
 @RestController
@@ -10,14 +14,21 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final AggregateVersions aggregateVersions;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, AggregateVersions aggregateVersions) {
         this.productService = productService;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @GetMapping
-    public List<ProductDto> getAll() {
-        return productService.getAllProducts();
+    public ResponseEntity<List<ProductDto>> getAll(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "50") int limit,
+                                                   WebRequest request) {
+        if (aggregateVersions.notModified(request, AggregateVersions.PRODUCTS, AggregateVersions.UNITS)) {
+            return null;
+        }
+        return productService.getProductsPage(cursor, limit).toResponse();
     }
 
     @GetMapping("/{id}")
@@ -46,7 +57,12 @@ public class ProductController {
     }
 
     @GetMapping("/search")
-    public List<ProductDto> searchProducts(@RequestParam("prefix") String prefix) {
-        return productService.searchProductsByPrefix(prefix);
+    public List<ProductDto> searchProducts(@RequestParam("prefix") String prefix,
+                                           @RequestParam(value = "limit", defaultValue = "20") int limit,
+                                           @RequestParam(value = "fuzzy", defaultValue = "false") boolean fuzzy) {
+        if (fuzzy) {
+            return productService.searchProductsFuzzy(prefix, limit);
+        }
+        return productService.searchProductsByPrefix(prefix, limit);
     }
 }
@@ -0,0 +1,7 @@
+package org.l5g7.mealcraft.app.products;
+
+/**
+ * Published when a product's name changed, so views denormalizing it can follow.
+ */
+public record ProductRenamedEvent(Long productId, String name) {
+}
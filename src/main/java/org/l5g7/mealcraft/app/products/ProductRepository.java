@@ -1,10 +1,16 @@
 package org.l5g7.mealcraft.app.products;
 
 import org.l5g7.mealcraft.app.units.Unit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
     long countByCreatedAtBetween(Date from, Date to);
@@ -14,4 +20,27 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findAllByOwnerUserIsNullAndNameStartingWithIgnoreCase(String prefix);
     List<Product> findAllByNameStartingWithIgnoreCaseAndOwnerUserIsNullOrOwnerUser_Id(String prefix, Long ownerId);
     boolean existsByDefaultUnit(Unit defaultUnit);
+    Optional<Product> findByPublicNameKey(String publicNameKey);
+    boolean existsByPublicNameKey(String publicNameKey);
+    List<Product> findAllByOwnerUserIsNullAndPublicNameKeyIsNullOrderByIdAsc();
+
+    /**
+     * Sets the name and {@link Product#getPublicNameKey()} of a public product written before the key existed;
+     * returns the rows updated.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Product p SET p.name = :name, p.publicNameKey = :nameKey WHERE p.id = :id")
+    int assignPublicNameKey(@Param("id") Long id, @Param("name") String name, @Param("nameKey") String nameKey);
+
+    @Query("SELECT new org.l5g7.mealcraft.app.products.ProductDto(" +
+            "p.id, p.name, u.id, o.id, p.imageUrl, p.createdAt, u.name) " +
+            "FROM Product p LEFT JOIN p.defaultUnit u LEFT JOIN p.ownerUser o " +
+            "WHERE (o.id IS NULL OR o.id = :ownerId) " +
+            "AND (p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id)) " +
+            "ORDER BY p.createdAt, p.id")
+    List<ProductDto> findVisibleProductsAfter(@Param("ownerId") Long ownerId,
+                                              @Param("createdAt") Date createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
 }
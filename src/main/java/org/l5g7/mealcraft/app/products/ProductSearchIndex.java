@@ -0,0 +1,305 @@
+package org.l5g7.mealcraft.app.products;
+
+import org.l5g7.mealcraft.logging.LogUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.l5g7.mealcraft.app.caching.AfterCommit.afterCommit;
+
+/**
+ * In-memory product name index used for autocomplete.
+ * <p>
+ * Public products and each owner's private products live in separate sorted maps keyed by normalized name,
+ * so a prefix lookup is a range scan that stops after {@code limit} entries; a user sees the public range
+ * merged with their own. For typo-tolerant lookups every name is also split into trigrams; candidates sharing
+ * enough trigrams with the query are verified with a bounded edit distance. Reads are lock-free, writers are
+ * serialized and applied after the surrounding transaction commits. A rebuild fills fresh maps and publishes them
+ * in one step, so readers never see a partly loaded index. Lookups return copies of the indexed products, which
+ * callers are free to modify.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final char RANGE_END = '\uffff';
+    private static final int GRAM = 3;
+
+    private static final Comparator<ProductMatch> BEST_FIRST = Comparator
+            .comparingInt(ProductMatch::distance)
+            .thenComparing(Comparator.comparingDouble(ProductMatch::similarity).reversed())
+            .thenComparing(match -> normalize(match.product().getName()))
+            .thenComparing(match -> match.product().getId());
+
+    private final ProductRepository productRepository;
+
+    private volatile Products products = new Products();
+
+    /**
+     * A product within {@code distance} edits of the query; {@code similarity} is the Jaccard similarity of
+     * their trigram sets and breaks ties between equally distant names.
+     */
+    public record ProductMatch(ProductDto product, int distance, double similarity) {
+    }
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Products loaded = new Products();
+        List<Product> all = productRepository.findAll();
+        all.forEach(product -> loaded.put(toDto(product)));
+        products = loaded;
+
+        LogUtils.logInfo("Product search index built with " + all.size() + " products");
+    }
+
+    public void indexProduct(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        ProductDto dto = toDto(product);
+        afterCommit(() -> {
+            synchronized (this) {
+                products.remove(dto.getId());
+                products.put(dto);
+            }
+        });
+    }
+
+    public void removeProduct(Long productId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                products.remove(productId);
+            }
+        });
+    }
+
+    public void renameUnit(Long unitId, String unitName) {
+        afterCommit(() -> {
+            synchronized (this) {
+                Products current = products;
+                current.byId.values().stream()
+                        .filter(dto -> unitId.equals(dto.getDefaultUnitId()))
+                        .toList()
+                        .forEach(dto -> {
+                            current.remove(dto.getId());
+                            current.put(new ProductDto(dto.getId(), dto.getName(), dto.getDefaultUnitId(), dto.getOwnerUserId(),
+                                    dto.getImageUrl(), dto.getCreatedAt(), unitName));
+                        });
+            }
+        });
+    }
+
+    /**
+     * Up to {@code limit} products visible to {@code ownerId} (public ones only when {@code null}) whose name
+     * starts with {@code prefix}, case-insensitively, in name order.
+     */
+    public List<ProductDto> findByPrefix(String prefix, Long ownerId, int limit) {
+        String from = prefix == null ? "" : normalize(prefix);
+        String to = from + RANGE_END;
+
+        Products current = products;
+        Iterator<Map.Entry<String, ProductDto>> publicRange =
+                current.publicProducts.subMap(from, to).entrySet().iterator();
+        ConcurrentNavigableMap<String, ProductDto> own = ownerId != null ? current.byOwner.get(ownerId) : null;
+        Iterator<Map.Entry<String, ProductDto>> ownRange = own != null
+                ? own.subMap(from, to).entrySet().iterator()
+                : Collections.emptyIterator();
+
+        List<ProductDto> result = new ArrayList<>(Math.min(limit, 64));
+        Map.Entry<String, ProductDto> nextPublic = publicRange.hasNext() ? publicRange.next() : null;
+        Map.Entry<String, ProductDto> nextOwn = ownRange.hasNext() ? ownRange.next() : null;
+
+        while (result.size() < limit && (nextPublic != null || nextOwn != null)) {
+            if (nextOwn == null || (nextPublic != null && nextPublic.getKey().compareTo(nextOwn.getKey()) <= 0)) {
+                result.add(copyOf(nextPublic.getValue()));
+                nextPublic = publicRange.hasNext() ? publicRange.next() : null;
+            } else {
+                result.add(copyOf(nextOwn.getValue()));
+                nextOwn = ownRange.hasNext() ? ownRange.next() : null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Up to {@code limit} products visible to {@code ownerId} (public ones only when {@code null}) whose
+     * normalized name is at most {@code maxDistance} edits away from {@code query}, closest first.
+     * <p>
+     * Each edit touches at most {@value #GRAM} trigrams, so a name within {@code k} edits shares at least
+     * {@code |trigrams(query)| - 3k} of them with the query; only names passing that count are verified. When
+     * that bound drops to zero (short queries with a large budget) a candidate must still share one trigram.
+     */
+    public List<ProductMatch> findSimilar(String query, Long ownerId, int maxDistance, int limit) {
+        if (query == null || query.isBlank() || limit < 1) {
+            return List.of();
+        }
+        String normalizedQuery = normalize(query);
+        Set<String> queryGrams = trigrams(normalizedQuery);
+
+        Products current = products;
+        Map<Long, Integer> sharedGrams = new HashMap<>();
+        for (String gram : queryGrams) {
+            Set<Long> postings = current.byTrigram.get(gram);
+            if (postings != null) {
+                postings.forEach(id -> sharedGrams.merge(id, 1, Integer::sum));
+            }
+        }
+
+        int minShared = Math.max(1, queryGrams.size() - GRAM * maxDistance);
+        PriorityQueue<ProductMatch> best = new PriorityQueue<>(BEST_FIRST.reversed());
+        sharedGrams.forEach((id, shared) -> {
+            if (shared < minShared) {
+                return;
+            }
+            ProductDto dto = current.byId.get(id);
+            if (dto == null || (dto.getOwnerUserId() != null && !dto.getOwnerUserId().equals(ownerId))) {
+                return;
+            }
+            String name = normalize(dto.getName());
+            int distance = boundedEditDistance(normalizedQuery, name, maxDistance);
+            if (distance > maxDistance) {
+                return;
+            }
+            int union = queryGrams.size() + trigrams(name).size() - shared;
+            best.add(new ProductMatch(dto, distance, (double) shared / union));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+
+        return best.stream()
+                .sorted(BEST_FIRST)
+                .map(match -> new ProductMatch(copyOf(match.product()), match.distance(), match.similarity()))
+                .toList();
+    }
+
+    private static String keyOf(ProductDto dto) {
+        return normalize(dto.getName()) + KEY_SEPARATOR + dto.getId();
+    }
+
+    static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Distinct trigrams of the name padded with two leading and one trailing space, so that word
+     * boundaries count and even one- or two-letter names produce at least one trigram.
+     */
+    static Set<String> trigrams(String normalizedName) {
+        String padded = "  " + normalizedName + " ";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * Levenshtein distance between {@code a} and {@code b}, computed only within the diagonal band of width
+     * {@code max}; returns {@code max + 1} as soon as the distance is known to exceed {@code max}.
+     */
+    static int boundedEditDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int overLimit = max + 1;
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j <= max ? j : overLimit;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(b.length(), i + max);
+            Arrays.fill(current, overLimit);
+            current[0] = i <= max ? i : overLimit;
+            int rowMin = current[0];
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(value, overLimit);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return overLimit;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static ProductDto copyOf(ProductDto dto) {
+        return new ProductDto(dto.getId(), dto.getName(), dto.getDefaultUnitId(), dto.getOwnerUserId(), dto.getImageUrl(),
+                dto.getCreatedAt() != null ? new Date(dto.getCreatedAt().getTime()) : null, dto.getDefaultUnitName());
+    }
+
+    private static ProductDto toDto(Product entity) {
+        return ProductDto.builder()
+                .id(entity.getId())
+                .name(entity.getName())
+                .defaultUnitId(entity.getDefaultUnit() != null ? entity.getDefaultUnit().getId() : null)
+                .ownerUserId(entity.getOwnerUser() != null ? entity.getOwnerUser().getId() : null)
+                .imageUrl(entity.getImageUrl())
+                .createdAt(entity.getCreatedAt())
+                .defaultUnitName(entity.getDefaultUnit() != null ? entity.getDefaultUnit().getName() : null)
+                .build();
+    }
+
+    /**
+     * The maps of one generation of the index; a rebuild replaces all of them at once.
+     */
+    private static final class Products {
+
+        private final ConcurrentNavigableMap<String, ProductDto> publicProducts = new ConcurrentSkipListMap<>();
+        private final Map<Long, ConcurrentNavigableMap<String, ProductDto>> byOwner = new ConcurrentHashMap<>();
+        private final Map<Long, ProductDto> byId = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> byTrigram = new ConcurrentHashMap<>();
+
+        void put(ProductDto dto) {
+            byId.put(dto.getId(), dto);
+            scopeOf(dto.getOwnerUserId()).put(keyOf(dto), dto);
+            for (String gram : trigrams(normalize(dto.getName()))) {
+                byTrigram.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(dto.getId());
+            }
+        }
+
+        void remove(Long productId) {
+            ProductDto existing = byId.remove(productId);
+            if (existing == null) {
+                return;
+            }
+            ConcurrentNavigableMap<String, ProductDto> scope = scopeOf(existing.getOwnerUserId());
+            scope.remove(keyOf(existing));
+            if (existing.getOwnerUserId() != null && scope.isEmpty()) {
+                byOwner.remove(existing.getOwnerUserId());
+            }
+            for (String gram : trigrams(normalize(existing.getName()))) {
+                Set<Long> postings = byTrigram.get(gram);
+                if (postings != null) {
+                    postings.remove(productId);
+                    if (postings.isEmpty()) {
+                        byTrigram.remove(gram);
+                    }
+                }
+            }
+        }
+
+        private ConcurrentNavigableMap<String, ProductDto> scopeOf(Long ownerId) {
+            return ownerId == null
+                    ? publicProducts
+                    : byOwner.computeIfAbsent(ownerId, id -> new ConcurrentSkipListMap<>());
+        }
+    }
+}
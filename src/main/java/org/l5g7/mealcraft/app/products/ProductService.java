@@ -1,18 +1,25 @@
 package org.l5g7.mealcraft.app.products;
 
+import org.l5g7.mealcraft.app.paging.CursorPage;
 import org.l5g7.mealcraft.app.units.Unit;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ProductService {
 
     List<ProductDto> getAllProducts();
+    CursorPage<ProductDto> getProductsPage(String cursor, int limit);
     ProductDto getProductById(Long id);
     void createProduct(ProductDto product);
     void updateProduct(Long id, ProductDto productDto);
     void patchProduct(Long id, ProductDto patch);
     void deleteProductById(Long id);
     List<ProductDto> searchProductsByPrefix(String prefix);
+    List<ProductDto> searchProductsByPrefix(String prefix, int limit);
+    List<ProductDto> searchProductsFuzzy(String query, int limit);
+    Optional<Product> findSimilarPublicProduct(String name);
+    Optional<ProductDto> matchPublicProduct(String name);
     void addProductToRecipe(Long recipeId, Long productId, Double amount);
     Product getOrCreatePublicProduct(String name, Unit unit);
 }
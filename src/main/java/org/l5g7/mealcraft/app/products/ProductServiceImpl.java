@@ -1,21 +1,28 @@
 package org.l5g7.mealcraft.app.products;
 
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
+import org.l5g7.mealcraft.app.paging.CursorPage;
+import org.l5g7.mealcraft.app.paging.PageCursor;
 import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredient;
 import org.l5g7.mealcraft.app.recipes.Recipe;
+import org.l5g7.mealcraft.app.recipes.RecipeIngredientIndex;
 import org.l5g7.mealcraft.app.recipes.RecipeRepository;
 import org.l5g7.mealcraft.app.units.Unit;
 import org.l5g7.mealcraft.app.units.UnitRepository;
 import org.l5g7.mealcraft.app.user.CurrentUserProvider;
 import org.l5g7.mealcraft.app.user.User;
+import org.l5g7.mealcraft.exception.EntityAlreadyExistsException;
 import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheConfig;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -26,14 +33,26 @@ public class ProductServiceImpl implements ProductService {
     private final UnitRepository unitRepository;
     private final RecipeRepository recipeRepository;
     private final CurrentUserProvider currentUserProvider;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final ProductSearchIndex productSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PublicProductNameIndex publicProductNameIndex;
+    private final AggregateVersions aggregateVersions;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
     private static final String ENTITY_NAME = "Product";
 
     @Autowired
-    public ProductServiceImpl(ProductRepository productRepository, UnitRepository unitRepository, RecipeRepository recipeRepository, CurrentUserProvider currentUserProvider) {
+    public ProductServiceImpl(ProductRepository productRepository, UnitRepository unitRepository, RecipeRepository recipeRepository, CurrentUserProvider currentUserProvider, RecipeIngredientIndex recipeIngredientIndex, ProductSearchIndex productSearchIndex, ApplicationEventPublisher eventPublisher, PublicProductNameIndex publicProductNameIndex, AggregateVersions aggregateVersions) {
         this.productRepository = productRepository;
         this.unitRepository = unitRepository;
         this.recipeRepository = recipeRepository;
         this.currentUserProvider = currentUserProvider;
+        this.recipeIngredientIndex = recipeIngredientIndex;
+        this.productSearchIndex = productSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.publicProductNameIndex = publicProductNameIndex;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @Override
@@ -62,6 +81,21 @@ public class ProductServiceImpl implements ProductService {
                 .toList();
     }
 
+    @Override
+    public CursorPage<ProductDto> getProductsPage(String cursor, int limit) {
+        User currentUser = currentUserProvider.getCurrentUserOrNullIfAdmin();
+        PageCursor after = PageCursor.decode(cursor);
+
+        List<ProductDto> rows = productRepository.findVisibleProductsAfter(
+                currentUser != null ? currentUser.getId() : null,
+                after.createdAt(),
+                after.id(),
+                CursorPage.fetch(limit)
+        );
+
+        return CursorPage.of(rows, limit, row -> new PageCursor(row.getCreatedAt(), row.getId()));
+    }
+
     @Override
     @Cacheable(key = "#id")
     public ProductDto getProductById(Long id) {
@@ -103,6 +137,9 @@ public class ProductServiceImpl implements ProductService {
                 ));
 
         User currentUser = currentUserProvider.getCurrentUserOrNullIfAdmin();
+        if (currentUser == null) {
+            checkPublicNameAvailable(productDto.getName(), null);
+        }
 
         Product entity = Product.builder()
                 .name(productDto.getName())
@@ -116,6 +153,11 @@ public class ProductServiceImpl implements ProductService {
         }
 
         productRepository.save(entity);
+        productSearchIndex.indexProduct(entity);
+        if (currentUser == null) {
+            publicProductNameIndex.put(entity.getId(), entity.getName());
+        }
+        aggregateVersions.bump(AggregateVersions.PRODUCTS);
     }
 
     @Override
@@ -149,11 +191,24 @@ public class ProductServiceImpl implements ProductService {
                 }
             }
 
+            String oldName = product.getName();
+            if (owner == null) {
+                checkPublicNameAvailable(productDto.getName(), id);
+            }
             product.setName(productDto.getName());
             product.setImageUrl(productDto.getImageUrl());
             product.setDefaultUnit(unit);
 
             productRepository.save(product);
+            productSearchIndex.indexProduct(product);
+            if (!Objects.equals(oldName, product.getName())) {
+                if (owner == null) {
+                    publicProductNameIndex.rename(id, oldName, product.getName());
+                }
+                recipeIngredientIndex.renameProduct(id, product.getName());
+                eventPublisher.publishEvent(new ProductRenamedEvent(id, product.getName()));
+            }
+            aggregateVersions.bump(AggregateVersions.PRODUCTS);
         });
     }
 
@@ -181,7 +236,11 @@ public class ProductServiceImpl implements ProductService {
             }
         }
 
+        String oldName = product.getName();
         if (patch.getName() != null) {
+            if (owner == null) {
+                checkPublicNameAvailable(patch.getName(), id);
+            }
             product.setName(patch.getName());
         }
         if (patch.getImageUrl() != null) {
@@ -197,6 +256,15 @@ public class ProductServiceImpl implements ProductService {
             product.setDefaultUnit(unit);
         }
         productRepository.save(product);
+        productSearchIndex.indexProduct(product);
+        if (!Objects.equals(oldName, product.getName())) {
+            if (owner == null) {
+                publicProductNameIndex.rename(id, oldName, product.getName());
+            }
+            recipeIngredientIndex.renameProduct(id, product.getName());
+            eventPublisher.publishEvent(new ProductRenamedEvent(id, product.getName()));
+        }
+        aggregateVersions.bump(AggregateVersions.PRODUCTS);
     }
 
     @Override
@@ -219,38 +287,86 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalArgumentException("Cannot delete product because it is used in some recipes");
         }
         productRepository.delete(product);
+        productSearchIndex.removeProduct(id);
+        if (product.getOwnerUser() == null) {
+            publicProductNameIndex.remove(id, product.getName());
+        }
+        aggregateVersions.bump(AggregateVersions.PRODUCTS);
     }
 
 
     @Override
-    @Cacheable(key = "'searchPrefix_' + #prefix")
     public List<ProductDto> searchProductsByPrefix(String prefix) {
+        return searchProductsByPrefix(prefix, DEFAULT_SEARCH_LIMIT);
+    }
+
+    @Override
+    public List<ProductDto> searchProductsByPrefix(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+
         User currentUser = currentUserProvider.getCurrentUserOrNullIfAdmin();
 
-        List<Product> products;
+        return productSearchIndex.findByPrefix(prefix, currentUser != null ? currentUser.getId() : null, limit);
+    }
 
-        if (currentUser == null) {
-            products = productRepository.findAllByOwnerUserIsNullAndNameStartingWithIgnoreCase(prefix);
-        } else {
-            products = productRepository.findAll()
-                    .stream().filter(p -> p.getOwnerUser() == null || p.getOwnerUser().getId().equals(currentUser.getId()))
-                    .filter(p -> p.getName().toLowerCase().startsWith(prefix.toLowerCase()))
-                    .toList();
+    @Override
+    public List<ProductDto> searchProductsFuzzy(String query, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        if (query == null || query.isBlank()) {
+            return List.of();
         }
 
-        return products.stream()
-                .map(entity -> ProductDto.builder()
-                        .id(entity.getId())
-                        .name(entity.getName())
-                        .defaultUnitId(entity.getDefaultUnit().getId())
-                        .ownerUserId(entity.getOwnerUser() != null ? entity.getOwnerUser().getId() : null)
-                        .imageUrl(entity.getImageUrl())
-                        .createdAt(entity.getCreatedAt())
-                        .defaultUnitName(entity.getDefaultUnit().getName())
-                        .build())
+        User currentUser = currentUserProvider.getCurrentUserOrNullIfAdmin();
+        int maxDistance = searchTypoBudget(query.trim().length());
+
+        return productSearchIndex.findSimilar(query, currentUser != null ? currentUser.getId() : null, maxDistance, limit)
+                .stream()
+                .map(ProductSearchIndex.ProductMatch::product)
                 .toList();
     }
 
+    @Override
+    public Optional<Product> findSimilarPublicProduct(String name) {
+        return matchPublicProduct(name)
+                .flatMap(match -> productRepository.findById(match.getId()))
+                .filter(product -> product.getOwnerUser() == null);
+    }
+
+    @Override
+    public Optional<ProductDto> matchPublicProduct(String name) {
+        if (name == null || name.isBlank()) {
+            return Optional.empty();
+        }
+
+        int maxDistance = importTypoBudget(name.trim().length());
+
+        return productSearchIndex.findSimilar(name, null, maxDistance, 1).stream()
+                .findFirst()
+                .map(ProductSearchIndex.ProductMatch::product);
+    }
+
+    private static int searchTypoBudget(int length) {
+        if (length < 3) {
+            return 0;
+        }
+        if (length <= 5) {
+            return 1;
+        }
+        return length <= 10 ? 2 : 3;
+    }
+
+    // Imports merge silently, so short names ("butter" / "batter") must match exactly.
+    private static int importTypoBudget(int length) {
+        if (length < 7) {
+            return 0;
+        }
+        return length < 12 ? 1 : 2;
+    }
+
     @Override
     @CacheEvict(allEntries = true)
     public void addProductToRecipe(Long recipeId, Long productId, Double amount) {
@@ -275,6 +391,7 @@ public class ProductServiceImpl implements ProductService {
                 .build();
 
         recipe.getIngredients().add(recipeIngredient);
+        aggregateVersions.bump(AggregateVersions.RECIPES);
     }
 
     @Override
@@ -291,23 +408,29 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalArgumentException("Unit must not be null");
         }
 
-        String trimmed = name.trim();
+        return publicProductNameIndex.getOrCreate(name, trimmed -> {
+            Product saved = productRepository.saveAndFlush(Product.builder()
+                    .name(trimmed)
+                    .imageUrl(null)
+                    .defaultUnit(unit)
+                    .createdAt(new Date())
+                    .build());
+            productSearchIndex.indexProduct(saved);
+            aggregateVersions.bump(AggregateVersions.PRODUCTS);
+            return saved;
+        });
+    }
 
-        List<Product> publicProducts = productRepository.findAllByOwnerUserIsNull();
-        for (Product p : publicProducts) {
-            if (p.getName().equalsIgnoreCase(trimmed)) {
-                return p;
-            }
+    private void checkPublicNameAvailable(String name, Long id) {
+        if (name == null) {
+            return;
         }
-
-        Product entity = Product.builder()
-                .name(trimmed)
-                .imageUrl(null)
-                .defaultUnit(unit)
-                .createdAt(new Date())
-                .build();
-
-        return productRepository.save(entity);
+        publicProductNameIndex.find(name)
+                .filter(existingId -> !existingId.equals(id))
+                .filter(productRepository::existsById)
+                .ifPresent(existingId -> {
+                    throw new EntityAlreadyExistsException(ENTITY_NAME, "name", name);
+                });
     }
 
 }
\ No newline at end of file
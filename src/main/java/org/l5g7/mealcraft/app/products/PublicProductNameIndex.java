@@ -0,0 +1,138 @@
+package org.l5g7.mealcraft.app.products;
+
+import org.l5g7.mealcraft.app.caching.SingleFlight;
+import org.l5g7.mealcraft.logging.LogUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static org.l5g7.mealcraft.app.caching.AfterCommit.afterCommit;
+
+/**
+ * In-memory map from normalized public product name to product id backing
+ * {@link ProductService#getOrCreatePublicProduct}.
+ * <p>
+ * Works like {@code UnitNameIndex}: a missing name is created once, in its own transaction, however many imports
+ * ask for it at the same time, and the unique {@code public_name_key} constraint settles races with other
+ * application instances. As there, a product created for a caller whose transaction rolls back stays behind as
+ * an ordinary public product, and a caller inside a transaction holds a second connection while it is created.
+ */
+@Component
+public class PublicProductNameIndex {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate newTransaction;
+
+    private volatile Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    private final SingleFlight<String, Long> creations = new SingleFlight<>();
+
+    public PublicProductNameIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Map<String, Long> loaded = new ConcurrentHashMap<>();
+        productRepository.findAllByOwnerUserIsNull()
+                .forEach(product -> loaded.putIfAbsent(Product.normalizeName(product.getName()), product.getId()));
+        // swapped in whole so lookups never miss a product mid-rebuild; a name missed meanwhile is found again by key
+        idsByName = loaded;
+
+        LogUtils.logInfo("Public product name index built with " + loaded.size() + " products");
+    }
+
+    /**
+     * The public product named {@code name}, ignoring case and surrounding whitespace. If there is none,
+     * {@code creator} is called with the trimmed name, in a new transaction, to save it.
+     */
+    public Product getOrCreate(String name, Function<String, Product> creator) {
+        String trimmed = name.trim();
+        String key = Product.normalizeName(trimmed);
+
+        Long id = idOf(trimmed, key, creator);
+        Optional<Product> product = productRepository.findById(id);
+        if (product.isPresent()) {
+            return product.get();
+        }
+
+        // removed without going through ProductService, e.g. by a bulk delete
+        idsByName.remove(key, id);
+        Long recreated = idOf(trimmed, key, creator);
+        return productRepository.findById(recreated)
+                .orElseThrow(() -> new IllegalStateException("Product '" + trimmed + "' could not be created"));
+    }
+
+    /**
+     * Id of the public product named {@code name}, ignoring case and surrounding whitespace.
+     */
+    public Optional<Long> find(String name) {
+        return Optional.ofNullable(idsByName.get(Product.normalizeName(name)));
+    }
+
+    public void put(Long productId, String name) {
+        if (productId == null || name == null) {
+            return;
+        }
+        String key = Product.normalizeName(name);
+        afterCommit(() -> idsByName.put(key, productId));
+    }
+
+    public void rename(Long productId, String oldName, String newName) {
+        if (productId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            if (oldName != null) {
+                idsByName.remove(Product.normalizeName(oldName), productId);
+            }
+            if (newName != null) {
+                idsByName.put(Product.normalizeName(newName), productId);
+            }
+        });
+    }
+
+    public void remove(Long productId, String name) {
+        if (productId == null || name == null) {
+            return;
+        }
+        afterCommit(() -> idsByName.remove(Product.normalizeName(name), productId));
+    }
+
+    private Long idOf(String name, String key, Function<String, Product> creator) {
+        Long id = idsByName.get(key);
+        if (id != null) {
+            return id;
+        }
+        return creations.run(key, () -> {
+            Long known = idsByName.get(key);
+            if (known != null) {
+                return known;
+            }
+            Long created = create(name, key, creator);
+            Long raced = idsByName.putIfAbsent(key, created);
+            return raced != null ? raced : created;
+        });
+    }
+
+    private Long create(String name, String key, Function<String, Product> creator) {
+        try {
+            return newTransaction.execute(status -> productRepository.findByPublicNameKey(key)
+                    .orElseGet(() -> creator.apply(name))
+                    .getId());
+        } catch (DataIntegrityViolationException e) {
+            // another instance inserted the same name between our lookup and insert
+            return productRepository.findByPublicNameKey(key).map(Product::getId).orElseThrow(() -> e);
+        }
+    }
+}
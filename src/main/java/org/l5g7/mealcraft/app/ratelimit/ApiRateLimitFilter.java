@@ -0,0 +1,158 @@
+package org.l5g7.mealcraft.app.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.l5g7.mealcraft.app.auth.security.AuthenticatedUser;
+import org.l5g7.mealcraft.enums.Role;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limits how often each signed-in caller may hit the expensive endpoints configured under
+ * {@code mealcraft.rate-limit.endpoints}, with a separate limit per role. Every caller has a bucket of their own,
+ * so a heavy user runs out of permits without slowing anyone else down. Rejected requests get a {@code 429} with
+ * {@code Retry-After}. Counts live in the configured {@link RateLimitStore}.
+ * <p>
+ * Publishes a {@value #REQUESTS_METRIC} counter per endpoint, role and outcome and a {@value #CALLERS_METRIC}
+ * gauge of the callers tracked per endpoint and role.
+ */
+@Component
+public class ApiRateLimitFilter extends OncePerRequestFilter {
+
+    public static final String REQUESTS_METRIC = "mealcraft.rate-limit.requests";
+    public static final String CALLERS_METRIC = "mealcraft.rate-limit.callers";
+
+    private static final String TOO_MANY_REQUESTS_BODY =
+            "{\"error\": \"Too many requests to this endpoint. Please try again later.\"}";
+
+    private record Bucket(RateLimiter limiter, Counter allowed, Counter rejected) {
+    }
+
+    private record Rule(PathPattern pattern, String method, Map<Role, Bucket> buckets) {
+
+        boolean matches(HttpServletRequest request, PathContainer path) {
+            return (method == null || method.equalsIgnoreCase(request.getMethod())) && pattern.matches(path);
+        }
+    }
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    public ApiRateLimitFilter(ApiRateLimitProperties properties, RateLimitStore rateLimitStore,
+                              MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        properties.getEndpoints().forEach((name, endpoint) -> {
+            Map<Role, Bucket> buckets = new EnumMap<>(Role.class);
+            endpoint.getLimits().forEach((role, limit) -> {
+                RateLimiter limiter = rateLimitStore.limiter("api:" + name + ":" + role.name(), limit);
+                Gauge.builder(CALLERS_METRIC, limiter, RateLimiter::trackedKeys)
+                        .description("Callers tracked by the API rate limiter")
+                        .tag("endpoint", name)
+                        .tag("role", role.name())
+                        .register(meterRegistry);
+                buckets.put(role, new Bucket(limiter,
+                        requestCounter(meterRegistry, name, role, "allowed"),
+                        requestCounter(meterRegistry, name, role, "rejected")));
+            });
+            rules.add(new Rule(PathPatternParser.defaultInstance.parse(endpoint.getPattern()),
+                    endpoint.getMethod(), buckets));
+        });
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return rules.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Bucket bucket = bucketOf(request);
+        if (bucket != null) {
+            RateLimiter.Decision decision = bucket.limiter().tryAcquire(callerOf(
+                    SecurityContextHolder.getContext().getAuthentication()));
+            if (!decision.allowed()) {
+                bucket.rejected().increment();
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.getWriter().write(TOO_MANY_REQUESTS_BODY);
+                return;
+            }
+            bucket.allowed().increment();
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // Anonymous requests are left to Spring Security, which turns them away from these endpoints anyway.
+    private Bucket bucketOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        Role role = roleOf(authentication);
+        if (role == null) {
+            return null;
+        }
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Rule rule : rules) {
+            if (rule.matches(request, path)) {
+                return rule.buckets().get(role);
+            }
+        }
+        return null;
+    }
+
+    private static Role roleOf(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getRole();
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            for (Role role : Role.values()) {
+                if (("ROLE_" + role.name()).equals(authority.getAuthority())) {
+                    return role;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String callerOf(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "u" + user.getId();
+        }
+        return "n" + authentication.getName();
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String endpoint, Role role, String outcome) {
+        return Counter.builder(REQUESTS_METRIC)
+                .description("Requests checked by the API rate limiter")
+                .tag("endpoint", endpoint)
+                .tag("role", role.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
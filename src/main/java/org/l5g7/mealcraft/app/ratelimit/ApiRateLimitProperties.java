@@ -0,0 +1,142 @@
+package org.l5g7.mealcraft.app.ratelimit;
+
+import org.l5g7.mealcraft.enums.Role;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "mealcraft.rate-limit")
+public class ApiRateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Where counts are kept: {@code memory} for this node only, or {@code jdbc} for the application database,
+     * shared by every node using it. The memory store spaces permits evenly (GCRA); the jdbc store counts them in
+     * fixed windows of the period, so a caller may pass up to twice the limit within one period that straddles
+     * two windows.
+     */
+    private String store = "memory";
+
+    /**
+     * Maximum number of callers tracked in memory per limiter; idle callers are forgotten first.
+     */
+    private int maxKeys = 100_000;
+
+    private final Jdbc jdbc = new Jdbc();
+
+    /**
+     * Limited endpoints by name; the name tags the metrics of the endpoint.
+     */
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getStore() {
+        return store;
+    }
+
+    public void setStore(String store) {
+        this.store = store;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public Jdbc getJdbc() {
+        return jdbc;
+    }
+
+    public Map<String, Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public static class Jdbc {
+
+        /**
+         * Most permits a node reserves for one caller at a time; never more than a tenth of the limit.
+         */
+        private int maxLease = 20;
+
+        /**
+         * How often unused permits of idle leases are returned and ended windows deleted.
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        public int getMaxLease() {
+            return maxLease;
+        }
+
+        public void setMaxLease(int maxLease) {
+            this.maxLease = maxLease;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+    }
+
+    public static class Endpoint {
+
+        /**
+         * Path pattern of the limited requests, e.g. {@code /recipes/import/**}.
+         */
+        private String pattern;
+
+        /**
+         * HTTP method of the limited requests; every method when not set.
+         */
+        private String method;
+
+        /**
+         * Limit of each caller per role; callers of a role without a limit are not limited.
+         */
+        private Map<Role, RateLimit> limits = new HashMap<>();
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public Map<Role, RateLimit> getLimits() {
+            return limits;
+        }
+
+        public void setLimits(Map<Role, RateLimit> limits) {
+            this.limits = limits;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.l5g7.mealcraft.app.ratelimit;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory {@link RateLimiter} after the generic cell rate algorithm. Each key keeps a single theoretical arrival
+ * time in nanoseconds, so a check is one map lookup and a compare-and-set: no lock, no history of past calls.
+ * <p>
+ * A key behaves like a token bucket holding {@link RateLimit#permits()} permits, refilled evenly over
+ * {@link RateLimit#period()}. A key is idle once its bucket is full again. When more than {@code maxKeys} keys are
+ * tracked, idle keys are dropped first, then arbitrary ones until a quarter of the room is free, so a flood of
+ * distinct keys cannot grow the map without bound. A permit taken while its key is being dropped may go uncounted.
+ */
+public class GcraRateLimiter implements RateLimiter {
+
+    private final long emissionInterval;
+    private final long tolerance;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public GcraRateLimiter(RateLimit limit, int maxKeys) {
+        this(limit, maxKeys, System::nanoTime);
+    }
+
+    GcraRateLimiter(RateLimit limit, int maxKeys, LongSupplier nanoClock) {
+        if (maxKeys < 1) {
+            throw new IllegalArgumentException("A rate limiter must track at least one key");
+        }
+        this.emissionInterval = Math.max(1, limit.period().toNanos() / limit.permits());
+        this.tolerance = emissionInterval * (limit.permits() - 1);
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public Decision tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong arrival = arrivals.get(key);
+        if (arrival == null) {
+            if (arrivals.size() >= maxKeys) {
+                makeRoom(now);
+            }
+            arrival = arrivals.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long theoretical = arrival.get();
+            // nanoTime values may only be compared through their difference
+            long backlog = Math.max(theoretical - now, 0);
+            if (backlog > tolerance) {
+                return Decision.reject(Duration.ofNanos(backlog - tolerance));
+            }
+            if (arrival.compareAndSet(theoretical, now + backlog + emissionInterval)) {
+                return Decision.allow();
+            }
+        }
+    }
+
+    @Override
+    public int trackedKeys() {
+        return arrivals.size();
+    }
+
+    private void makeRoom(long now) {
+        // one thread sweeps; the others go on and may overshoot maxKeys by a few keys meanwhile
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            arrivals.values().removeIf(arrival -> arrival.get() - now <= 0);
+            int target = maxKeys - Math.max(1, maxKeys / 4);
+            Iterator<AtomicLong> iterator = arrivals.values().iterator();
+            while (arrivals.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
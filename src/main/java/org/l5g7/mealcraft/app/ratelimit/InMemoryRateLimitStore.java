@@ -0,0 +1,23 @@
+package org.l5g7.mealcraft.app.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link RateLimitStore} of this node only, backed by {@link GcraRateLimiter}s. Behind a load balancer every node
+ * enforces its own limit, so a client may get the limit once per node.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final int maxKeys;
+    private final Map<String, RateLimiter> limiters = new ConcurrentHashMap<>();
+
+    public InMemoryRateLimitStore(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public RateLimiter limiter(String name, RateLimit limit) {
+        return limiters.computeIfAbsent(name, key -> new GcraRateLimiter(limit, maxKeys));
+    }
+}
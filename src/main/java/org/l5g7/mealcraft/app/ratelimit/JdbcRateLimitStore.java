@@ -0,0 +1,211 @@
+package org.l5g7.mealcraft.app.ratelimit;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link RateLimitStore} keeping its counts in the application database, so every node behind a load balancer
+ * enforces one shared limit instead of one limit each.
+ * <p>
+ * Permits are counted per key in fixed windows of the limit's period. Unlike the GCRA of the in-memory store,
+ * a fixed window lets a caller use its permits at the end of one window and again at the start of the next, so
+ * up to twice the limit can pass within one period around a window boundary.
+ * <p>
+ * A node reserves a lease of several permits with one atomic {@code MERGE} and hands them out locally, so most
+ * requests do not touch the database. Leases are capped at a tenth of the limit and at {@code maxLease}.
+ * {@link #flush()} runs every {@code flushInterval}. It returns the unused permits of leases idle that long to
+ * the table in one JDBC batch and deletes windows that have ended. A node may therefore hold back at most one
+ * lease per key, and only while the key is in use.
+ * <p>
+ * The statements are plain SQL:2008 and run on H2 and on PostgreSQL 15 or later. The table is declared by
+ * {@link RateLimitCounter}.
+ */
+public class JdbcRateLimitStore implements RateLimitStore, AutoCloseable {
+
+    private static final String RESERVE = "MERGE INTO rate_limit_counter c "
+            + "USING (SELECT CAST(:name AS VARCHAR(100)) AS limiter_name, CAST(:key AS VARCHAR(200)) AS caller_key, "
+            + "CAST(:windowStart AS BIGINT) AS window_start) s "
+            + "ON c.limiter_name = s.limiter_name AND c.caller_key = s.caller_key AND c.window_start = s.window_start "
+            + "WHEN MATCHED AND c.used + :count <= :permits THEN UPDATE SET used = c.used + :count "
+            + "WHEN NOT MATCHED THEN INSERT (limiter_name, caller_key, window_start, expires_at, used) "
+            + "VALUES (s.limiter_name, s.caller_key, s.window_start, :expiresAt, :count)";
+    private static final String RETURN_UNUSED = "UPDATE rate_limit_counter SET used = used - :unused "
+            + "WHERE limiter_name = :name AND caller_key = :key AND window_start = :windowStart";
+    private static final String DELETE_ENDED = "DELETE FROM rate_limit_counter WHERE expires_at <= :now";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int maxKeys;
+    private final long maxLease;
+    private final long idleMillis;
+    private final LongSupplier clock;
+    private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    public JdbcRateLimitStore(NamedParameterJdbcTemplate jdbcTemplate, int maxKeys, int maxLease,
+                              Duration flushInterval) {
+        this(jdbcTemplate, maxKeys, maxLease, flushInterval, System::currentTimeMillis);
+    }
+
+    JdbcRateLimitStore(NamedParameterJdbcTemplate jdbcTemplate, int maxKeys, int maxLease, Duration flushInterval,
+                       LongSupplier clock) {
+        if (maxKeys < 1 || maxLease < 1) {
+            throw new IllegalArgumentException("A rate limit store needs room for at least one key and permit");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxKeys = maxKeys;
+        this.maxLease = maxLease;
+        this.idleMillis = flushInterval.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public RateLimiter limiter(String name, RateLimit limit) {
+        return limiters.computeIfAbsent(name, key -> new Limiter(key, limit));
+    }
+
+    @Scheduled(fixedDelayString = "${mealcraft.rate-limit.jdbc.flush-interval:1s}")
+    public void flush() {
+        returnLeases(false);
+        jdbcTemplate.update(DELETE_ENDED, new MapSqlParameterSource("now", clock.getAsLong()));
+    }
+
+    /**
+     * Returns every lease this node holds, e.g. on shutdown.
+     */
+    @Override
+    public void close() {
+        returnLeases(true);
+    }
+
+    private void returnLeases(boolean all) {
+        long now = clock.getAsLong();
+        List<SqlParameterSource> unused = new ArrayList<>();
+        for (Limiter limiter : limiters.values()) {
+            limiter.drainLeases(now, all, unused);
+        }
+        if (!unused.isEmpty()) {
+            jdbcTemplate.batchUpdate(RETURN_UNUSED, unused.toArray(new SqlParameterSource[0]));
+        }
+    }
+
+    private final class Limiter implements RateLimiter {
+
+        private final String name;
+        private final long permits;
+        private final long periodMillis;
+        private final long leaseSize;
+        private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+        private Limiter(String name, RateLimit limit) {
+            this.name = name;
+            this.permits = limit.permits();
+            this.periodMillis = Math.max(1, limit.period().toMillis());
+            this.leaseSize = Math.max(1, Math.min(maxLease, limit.permits() / 10));
+        }
+
+        @Override
+        public Decision tryAcquire(String key) {
+            long now = clock.getAsLong();
+            long windowStart = now - Math.floorMod(now, periodMillis);
+            Lease lease = leases.get(key);
+            if (lease != null && lease.windowStart == windowStart && lease.take(now)) {
+                return Decision.allow();
+            }
+
+            // past maxKeys new keys get single permits: a flood of keys then costs round trips, not memory
+            long wanted = lease != null || leases.size() < maxKeys ? leaseSize : 1;
+            long granted = reserve(key, windowStart, wanted) ? wanted : 0;
+            if (granted == 0 && wanted > 1 && reserve(key, windowStart, 1)) {
+                granted = 1;
+            }
+            if (granted == 0) {
+                return Decision.reject(Duration.ofMillis(windowStart + periodMillis - now));
+            }
+            if (granted > 1) {
+                leases.merge(key, new Lease(windowStart, granted - 1, now),
+                        (current, added) -> current.windowStart == added.windowStart ? current.add(added) : added);
+            }
+            return Decision.allow();
+        }
+
+        @Override
+        public int trackedKeys() {
+            return leases.size();
+        }
+
+        private boolean reserve(String key, long windowStart, long count) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("name", name)
+                    .addValue("key", key)
+                    .addValue("windowStart", windowStart)
+                    .addValue("expiresAt", windowStart + periodMillis)
+                    .addValue("count", count)
+                    .addValue("permits", permits);
+            try {
+                return jdbcTemplate.update(RESERVE, params) > 0;
+            } catch (DuplicateKeyException e) {
+                // another node opened the window at the same moment; it matches now
+                return jdbcTemplate.update(RESERVE, params) > 0;
+            }
+        }
+
+        private void drainLeases(long now, boolean all, List<SqlParameterSource> unused) {
+            leases.forEach((key, lease) -> {
+                boolean ended = lease.windowStart + periodMillis <= now;
+                if ((all || ended || now - lease.lastUsed >= idleMillis) && leases.remove(key, lease)) {
+                    long left = lease.drain();
+                    if (left > 0 && !ended) {
+                        unused.add(new MapSqlParameterSource()
+                                .addValue("unused", left)
+                                .addValue("name", name)
+                                .addValue("key", key)
+                                .addValue("windowStart", lease.windowStart));
+                    }
+                }
+            });
+        }
+    }
+
+    private static final class Lease {
+
+        private final long windowStart;
+        private final AtomicLong remaining;
+        private volatile long lastUsed;
+
+        private Lease(long windowStart, long remaining, long now) {
+            this.windowStart = windowStart;
+            this.remaining = new AtomicLong(remaining);
+            this.lastUsed = now;
+        }
+
+        boolean take(long now) {
+            for (long left = remaining.get(); left > 0; left = remaining.get()) {
+                if (remaining.compareAndSet(left, left - 1)) {
+                    lastUsed = now;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Lease add(Lease other) {
+            remaining.addAndGet(other.remaining.get());
+            lastUsed = other.lastUsed;
+            return this;
+        }
+
+        long drain() {
+            return remaining.getAndSet(0);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.l5g7.mealcraft.app.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Up to {@code permits} calls at once, earned back evenly over {@code period}.
+ */
+public record RateLimit(long permits, Duration period) {
+
+    public RateLimit {
+        if (permits < 1) {
+            throw new IllegalArgumentException("A rate limit must allow at least one permit");
+        }
+        if (period == null || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("A rate limit needs a positive period");
+        }
+    }
+}
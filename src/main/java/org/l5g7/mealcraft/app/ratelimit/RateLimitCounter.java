@@ -0,0 +1,46 @@
+package org.l5g7.mealcraft.app.ratelimit;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Permits used by one caller of one limiter in one window, as counted by {@link JdbcRateLimitStore}. The store
+ * reads and writes the table with plain SQL; the entity only declares its schema, so it is created and updated
+ * with the rest of the database.
+ */
+@Entity
+@Table(name = "rate_limit_counter",
+        indexes = @Index(name = "idx_rate_limit_counter_expires_at", columnList = "expires_at"))
+@IdClass(RateLimitCounter.Key.class)
+@Data @NoArgsConstructor @AllArgsConstructor
+public class RateLimitCounter {
+
+    @Id
+    @Column(name = "limiter_name", length = 100)
+    private String limiterName;
+
+    @Id
+    @Column(name = "caller_key", length = 200)
+    private String callerKey;
+
+    @Id
+    @Column(name = "window_start")
+    private long windowStart;
+
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    @Column(nullable = false)
+    private long used;
+
+    @Data @NoArgsConstructor @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String limiterName;
+        private String callerKey;
+        private long windowStart;
+    }
+}
@@ -0,0 +1,10 @@
+package org.l5g7.mealcraft.app.ratelimit;
+
+/**
+ * Where rate limiters keep their counts. Limiters taken from the same store under the same name share one count per
+ * key, across nodes when the store itself is shared; the name therefore stands for one {@link RateLimit}.
+ */
+public interface RateLimitStore {
+
+    RateLimiter limiter(String name, RateLimit limit);
+}
@@ -0,0 +1,37 @@
+package org.l5g7.mealcraft.app.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out permits per key, e.g. per client address or per user, under one {@link RateLimit}.
+ */
+public interface RateLimiter {
+
+    record Decision(boolean allowed, Duration retryAfter) {
+
+        private static final Decision ALLOWED = new Decision(true, Duration.ZERO);
+
+        public static Decision allow() {
+            return ALLOWED;
+        }
+
+        public static Decision reject(Duration retryAfter) {
+            return new Decision(false, retryAfter);
+        }
+
+        /**
+         * {@link #retryAfter()} rounded up to whole seconds, as a {@code Retry-After} header wants it.
+         */
+        public long retryAfterSeconds() {
+            return allowed ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfter.toNanos() + 999_999_999L));
+        }
+    }
+
+    Decision tryAcquire(String key);
+
+    /**
+     * Number of keys whose state this limiter currently keeps in memory.
+     */
+    int trackedKeys();
+}
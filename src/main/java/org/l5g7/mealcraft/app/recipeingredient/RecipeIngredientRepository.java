@@ -1,6 +1,20 @@
 package org.l5g7.mealcraft.app.recipeingredient;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredient, Long> {
+
+    @Query("SELECT r.id AS recipeId, o.id AS ownerUserId, p.id AS productId, p.name AS productName " +
+            "FROM RecipeIngredient ri JOIN ri.recipe r LEFT JOIN r.ownerUser o JOIN ri.product p")
+    List<IngredientRow> findAllIngredientRows();
+
+    interface IngredientRow {
+        Long getRecipeId();
+        Long getOwnerUserId();
+        Long getProductId();
+        String getProductName();
+    }
 }
@@ -5,9 +5,72 @@ import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.ExternalRecipe;
 
 import java.util.ArrayList;
 import java.util.List;
-
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns TheMealDB recipes into {@link RecipeDto}s.
+ * <p>
+ * Measures such as {@code "1½ cups"}, {@code "2-3 tbs"} or {@code "400g can"} are read by a hand-written
+ * tokenizer: the raw measure is normalized once into a char buffer (decimal comma to dot, vulgar fractions
+ * spelled out, whitespace collapsed) and the amount is scanned from it in place, without regular expressions
+ * or intermediate strings. A leading number, fraction or mixed number becomes the amount, a range such as
+ * {@code "2-3"} counts as its upper bound, and the rest of the measure becomes the unit, with common spellings
+ * mapped to one name. A measure that does not start with an amount is one unit of the whole measure.
+ */
 public class ExternalRecipeParser {
 
+    private static final String DEFAULT_UNIT = "pc";
+    private static final double DEFAULT_AMOUNT = 1.0;
+
+    /**
+     * Longest digit run whose value is converted by hand; up to 15 digits both the digits and the power of ten
+     * are exact doubles, so one division rounds exactly like {@link Double#parseDouble}.
+     */
+    private static final int MAX_EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private static final Map<String, String> UNIT_ALIASES = Map.ofEntries(
+            Map.entry("tbsp", "tbsp"),
+            Map.entry("tbs", "tbsp"),
+            Map.entry("tbls", "tbsp"),
+            Map.entry("tblsp", "tbsp"),
+            Map.entry("tablespoon", "tbsp"),
+            Map.entry("tablespoons", "tbsp"),
+            Map.entry("tsp", "tsp"),
+            Map.entry("tsps", "tsp"),
+            Map.entry("teaspoon", "tsp"),
+            Map.entry("teaspoons", "tsp"),
+            Map.entry("cup", "cup"),
+            Map.entry("cups", "cup"),
+            Map.entry("g", "g"),
+            Map.entry("gr", "g"),
+            Map.entry("gram", "g"),
+            Map.entry("grams", "g"),
+            Map.entry("kg", "kg"),
+            Map.entry("kilogram", "kg"),
+            Map.entry("kilograms", "kg"),
+            Map.entry("ml", "ml"),
+            Map.entry("millilitre", "ml"),
+            Map.entry("millilitres", "ml"),
+            Map.entry("milliliter", "ml"),
+            Map.entry("milliliters", "ml"),
+            Map.entry("l", "l"),
+            Map.entry("litre", "l"),
+            Map.entry("litres", "l"),
+            Map.entry("liter", "l"),
+            Map.entry("liters", "l"),
+            Map.entry("oz", "oz"),
+            Map.entry("ounce", "oz"),
+            Map.entry("ounces", "oz"),
+            Map.entry("lb", "lb"),
+            Map.entry("lbs", "lb"),
+            Map.entry("pound", "lb"),
+            Map.entry("pounds", "lb")
+    );
+
     private ExternalRecipeParser() {
     }
 
@@ -46,38 +109,49 @@ public class ExternalRecipeParser {
                                                  String ingredientName,
                                                  String rawMeasure) {
 
-        String normalized = normalizeMeasure(rawMeasure);
-        String[] parts = splitAmountAndUnit(normalized);
-        Double amount = parseAmountPart(parts[0]);
-        String unit = normalizeUnitName(parts[1]);
-
         dto.setProductName(ingredientName);
-        dto.setAmount(amount);
-        dto.setUnitName(unit);
-    }
 
-    public static String normalizeMeasure(String raw) {
-        if (raw == null) {
-            return "";
+        char[] measure = new char[normalizedCapacity(rawMeasure)];
+        int length = normalizeInto(rawMeasure, measure);
+        if (length == 0) {
+            dto.setAmount(DEFAULT_AMOUNT);
+            dto.setUnitName(DEFAULT_UNIT);
+            return;
         }
 
-        String s = raw.trim().replace(',', '.');
+        int firstEnd = tokenEnd(measure, 0, length);
+        double amount = parseQuantity(measure, 0, firstEnd);
+        if (Double.isNaN(amount)) {
+            dto.setAmount(DEFAULT_AMOUNT);
+            dto.setUnitName(unitName(measure, 0, length));
+            return;
+        }
+
+        int pos = nextToken(firstEnd, length);
+        int end = tokenEnd(measure, pos, length);
+        if (pos < length && isFraction(measure, pos, end) && !isRange(measure, 0, firstEnd)) {
+            amount += parseFraction(measure, pos, end);
+            pos = nextToken(end, length);
+            end = tokenEnd(measure, pos, length);
+        }
 
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-            switch (c) {
-                case '½' -> sb.append(" 1/2");
-                case '¼' -> sb.append(" 1/4");
-                case '¾' -> sb.append(" 3/4");
-                case '⅓' -> sb.append(" 1/3");
-                case '⅔' -> sb.append(" 2/3");
-                default -> sb.append(c);
+        if (pos < length && end - pos == 1 && isDash(measure[pos])) {
+            int upperStart = nextToken(end, length);
+            int upperEnd = tokenEnd(measure, upperStart, length);
+            double upper = upperStart < length ? parseQuantity(measure, upperStart, upperEnd) : Double.NaN;
+            if (!Double.isNaN(upper)) {
+                amount = upper;
+                pos = nextToken(upperEnd, length);
             }
         }
 
-        String result = sb.toString();
-        return result.replaceAll("\\s+", " ").trim();
+        dto.setAmount(amount);
+        dto.setUnitName(pos < length ? unitName(measure, pos, length) : DEFAULT_UNIT);
+    }
+
+    public static String normalizeMeasure(String raw) {
+        char[] measure = new char[normalizedCapacity(raw)];
+        return new String(measure, 0, normalizeInto(raw, measure));
     }
 
     public static String[] splitAmountAndUnit(String normalized) {
@@ -86,94 +160,309 @@ public class ExternalRecipeParser {
         }
 
         String s = normalized.trim();
-        String[] tokens = s.split("\\s+");
-        if (tokens.length == 0) {
-            return new String[]{null, null};
+        int firstEnd = indexOfSpace(s, 0);
+        if (!isNumberOrFraction(s, 0, firstEnd)) {
+            return new String[]{null, normalized};
         }
 
-        int index = 0;
-        StringBuilder amountBuilder = new StringBuilder();
+        int amountEnd = firstEnd;
+        int pos = skipSpaces(s, firstEnd);
+        int end = indexOfSpace(s, pos);
+        if (pos < s.length() && isFraction(s, pos, end)) {
+            amountEnd = end;
+            pos = skipSpaces(s, end);
+        }
 
-        if (isNumberOrFraction(tokens[index])) {
-            amountBuilder.append(tokens[index]);
-            index++;
-        } else {
-            return new String[]{null, normalized};
+        String amountPart = amountEnd == firstEnd
+                ? s.substring(0, firstEnd)
+                : s.substring(0, firstEnd) + ' ' + s.substring(skipSpaces(s, firstEnd), amountEnd);
+        String unitPart = pos < s.length() ? collapseSpaces(s, pos) : null;
+
+        return new String[]{amountPart, unitPart};
+    }
+
+    public static Double parseAmountPart(String numberPart) {
+        if (numberPart == null || numberPart.isBlank()) {
+            return DEFAULT_AMOUNT;
+        }
+
+        String s = numberPart.trim();
+
+        int space = s.indexOf(' ');
+        if (space >= 0) {
+            double base = Double.parseDouble(s.substring(0, space));
+            String rest = s.substring(skipSpaces(s, space));
+            int restEnd = indexOfSpace(rest, 0);
+            double frac = rest.indexOf('/', 0) >= 0 && rest.indexOf('/') < restEnd
+                    ? parseFraction(rest.substring(0, restEnd))
+                    : 0.0;
+            return base + frac;
+        }
+
+        if (s.indexOf('/') >= 0) {
+            return parseFraction(s);
         }
 
-        if (index < tokens.length && isFraction(tokens[index])) {
-            amountBuilder.append(' ').append(tokens[index]);
-            index++;
+        return Double.parseDouble(s);
+    }
+
+    public static double parseFraction(String frac) {
+        int slash = frac.indexOf('/');
+        if (slash < 0 || frac.indexOf('/', slash + 1) >= 0 || slash == 0 || slash == frac.length() - 1) {
+            return 0.0;
         }
+        double num = Double.parseDouble(frac.substring(0, slash));
+        double den = Double.parseDouble(frac.substring(slash + 1));
+        if (den == 0.0) {
+            return 0.0;
+        }
+        return num / den;
+    }
 
-        String unitPart = null;
-        if (index < tokens.length) {
-            StringBuilder unitBuilder = new StringBuilder();
-            for (int i = index; i < tokens.length; i++) {
-                if (i > index) {
-                    unitBuilder.append(' ');
+    public static String normalizeUnitName(String rawUnit) {
+        if (rawUnit == null || rawUnit.isBlank()) {
+            return DEFAULT_UNIT;
+        }
+        return rawUnit.trim();
+    }
+
+    /**
+     * Writes the normalized form of {@code raw} into {@code out} and returns its length: trimmed, ',' replaced
+     * by '.', each vulgar fraction replaced by a space and its ASCII spelling, and whitespace runs collapsed
+     * to a single space.
+     */
+    private static int normalizeInto(String raw, char[] out) {
+        if (raw == null) {
+            return 0;
+        }
+        int length = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            String fraction = vulgarFraction(c);
+            if (fraction != null) {
+                if (length > 0) {
+                    out[length++] = ' ';
+                }
+                pendingSpace = false;
+                for (int j = 0; j < fraction.length(); j++) {
+                    out[length++] = fraction.charAt(j);
+                }
+            } else if (isWhitespace(c)) {
+                pendingSpace = true;
+            } else if (length == 0 && c <= ' ') {
+                // leading control characters are trimmed like String.trim() does
+            } else {
+                if (pendingSpace && length > 0) {
+                    out[length++] = ' ';
                 }
-                unitBuilder.append(tokens[i]);
+                pendingSpace = false;
+                out[length++] = c == ',' ? '.' : c;
             }
-            unitPart = unitBuilder.toString();
         }
+        while (length > 0 && out[length - 1] <= ' ') {
+            length--;
+        }
+        return length;
+    }
 
-        return new String[]{amountBuilder.toString(), unitPart};
+    private static int normalizedCapacity(String raw) {
+        return raw == null ? 0 : raw.length() * 4;
     }
 
-    private static boolean isNumberOrFraction(String token) {
-        return isNumber(token) || isFraction(token);
+    private static String vulgarFraction(char c) {
+        return switch (c) {
+            case '½' -> "1/2";
+            case '¼' -> "1/4";
+            case '¾' -> "3/4";
+            case '⅓' -> "1/3";
+            case '⅔' -> "2/3";
+            default -> null;
+        };
     }
 
-    private static boolean isNumber(String token) {
-        return token.matches("\\d+(?:\\.\\d+)?");
+    /**
+     * The characters {@code \s} matches in a Java regular expression.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
-    private static boolean isFraction(String token) {
-        return token.matches("\\d+/\\d+");
+    private static boolean isDash(char c) {
+        return c == '-' || c == '–';
     }
 
-    public static Double parseAmountPart(String numberPart) {
-        if (numberPart == null || numberPart.isBlank()) {
-            return 1.0;
+    private static int tokenEnd(char[] s, int from, int length) {
+        int i = from;
+        while (i < length && s[i] != ' ') {
+            i++;
         }
+        return i;
+    }
 
-        String s = numberPart.trim();
+    private static int nextToken(int tokenEnd, int length) {
+        return Math.min(tokenEnd + 1, length);
+    }
+
+    /**
+     * Value of a number, fraction or range token, or {@code NaN} if the token is none of these. A range
+     * {@code a-b} is read as its upper bound, except that {@code 1-1/2} is the mixed number 1½.
+     */
+    private static double parseQuantity(char[] s, int from, int to) {
+        if (isNumber(s, from, to)) {
+            return parseNumber(s, from, to);
+        }
+        if (isFraction(s, from, to)) {
+            return parseFraction(s, from, to);
+        }
+        int dash = dashIndex(s, from, to);
+        if (dash < 0 || !isNumberOrFraction(s, from, dash) || !isNumberOrFraction(s, dash + 1, to)) {
+            return Double.NaN;
+        }
+        if (isDigits(s, from, dash) && isProperFraction(s, dash + 1, to)) {
+            return parseNumber(s, from, dash) + parseFraction(s, dash + 1, to);
+        }
+        return isNumber(s, dash + 1, to) ? parseNumber(s, dash + 1, to) : parseFraction(s, dash + 1, to);
+    }
 
-        if (s.contains(" ")) {
-            String[] parts = s.split("\\s+");
-            double base = Double.parseDouble(parts[0]);
-            double frac = 0.0;
-            if (parts.length > 1 && parts[1].contains("/")) {
-                frac = parseFraction(parts[1]);
+    private static boolean isRange(char[] s, int from, int to) {
+        return dashIndex(s, from, to) >= 0;
+    }
+
+    private static int dashIndex(char[] s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (isDash(s[i])) {
+                return i;
             }
-            return base + frac;
         }
+        return -1;
+    }
 
-        if (s.contains("/")) {
-            return parseFraction(s);
+    private static boolean isNumberOrFraction(char[] s, int from, int to) {
+        return isNumber(s, from, to) || isFraction(s, from, to);
+    }
+
+    /**
+     * {@code \d+(?:\.\d+)?}
+     */
+    private static boolean isNumber(char[] s, int from, int to) {
+        int i = digitsEnd(s, from, to);
+        if (i == from) {
+            return false;
+        }
+        if (i == to) {
+            return true;
         }
+        return s[i] == '.' && digitsEnd(s, i + 1, to) == to && i + 1 < to;
+    }
 
-        return Double.parseDouble(s);
+    /**
+     * {@code \d+/\d+}
+     */
+    private static boolean isFraction(char[] s, int from, int to) {
+        int i = digitsEnd(s, from, to);
+        return i > from && i < to && s[i] == '/' && i + 1 < to && digitsEnd(s, i + 1, to) == to;
     }
 
-    public static double parseFraction(String frac) {
-        String[] p = frac.split("/");
-        if (p.length != 2) {
-            return 0.0;
+    private static boolean isProperFraction(char[] s, int from, int to) {
+        if (!isFraction(s, from, to)) {
+            return false;
+        }
+        int slash = digitsEnd(s, from, to);
+        return parseDigits(s, from, slash) < parseDigits(s, slash + 1, to);
+    }
+
+    private static boolean isDigits(char[] s, int from, int to) {
+        return to > from && digitsEnd(s, from, to) == to;
+    }
+
+    private static int digitsEnd(char[] s, int from, int to) {
+        int i = from;
+        while (i < to && s[i] >= '0' && s[i] <= '9') {
+            i++;
         }
-        double num = Double.parseDouble(p[0]);
-        double den = Double.parseDouble(p[1]);
+        return i;
+    }
+
+    private static double parseNumber(char[] s, int from, int to) {
+        int dot = digitsEnd(s, from, to);
+        int digits = to - from - (dot < to ? 1 : 0);
+        if (digits > MAX_EXACT_DIGITS) {
+            return Double.parseDouble(new String(s, from, to - from));
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            if (i != dot) {
+                value = value * 10 + (s[i] - '0');
+            }
+        }
+        return dot < to ? value / POWERS_OF_TEN[to - dot - 1] : value;
+    }
+
+    private static double parseFraction(char[] s, int from, int to) {
+        int slash = digitsEnd(s, from, to);
+        double num = parseDigits(s, from, slash);
+        double den = parseDigits(s, slash + 1, to);
         if (den == 0.0) {
             return 0.0;
         }
         return num / den;
     }
 
-    public static String normalizeUnitName(String rawUnit) {
-        if (rawUnit == null || rawUnit.isBlank()) {
-            return "pc";
+    private static double parseDigits(char[] s, int from, int to) {
+        if (to - from > MAX_EXACT_DIGITS) {
+            return Double.parseDouble(new String(s, from, to - from));
         }
-        return rawUnit.trim();
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (s[i] - '0');
+        }
+        return value;
+    }
+
+    private static String unitName(char[] s, int from, int to) {
+        String unit = normalizeUnitName(new String(s, from, to - from));
+        String alias = UNIT_ALIASES.get(unit.toLowerCase(Locale.ROOT));
+        return alias != null ? alias : unit;
+    }
+
+    private static boolean isNumberOrFraction(String s, int from, int to) {
+        char[] token = s.substring(from, to).toCharArray();
+        return isNumberOrFraction(token, 0, token.length);
+    }
+
+    private static boolean isFraction(String s, int from, int to) {
+        char[] token = s.substring(from, to).toCharArray();
+        return isFraction(token, 0, token.length);
+    }
+
+    private static int indexOfSpace(String s, int from) {
+        int i = from;
+        while (i < s.length() && !isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipSpaces(String s, int from) {
+        int i = from;
+        while (i < s.length() && isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String collapseSpaces(String s, int from) {
+        StringBuilder sb = new StringBuilder(s.length() - from);
+        int i = from;
+        while (i < s.length()) {
+            int end = indexOfSpace(s, i);
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(s, i, end);
+            i = skipSpaces(s, end);
+        }
+        return sb.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,211 @@
+package org.l5g7.mealcraft.app.recipes;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Reads newline-delimited JSON with one streaming parser while keeping the one-value-per-line framing: every
+ * value is reported with the line it starts on, a line that cannot be read fails on its own, and anything after
+ * a value on the same line is ignored.
+ * <p>
+ * Jackson cannot go on after a syntax error, and the broken value may already have run into the lines below it.
+ * The reader therefore keeps what the parser has read since the start of the current line, and after a failed
+ * line starts a new parser on the following one, handing it the bytes the old parser had read past that point.
+ */
+final class NdjsonReader<T> implements Closeable {
+
+    private final ObjectReader reader;
+    private final ReplayableInput input;
+    private JsonParser parser;
+    private MappingIterator<T> values;
+    private int linesBefore;
+
+    private int line;
+    private T value;
+    private JsonProcessingException error;
+
+    NdjsonReader(ObjectReader reader, InputStream ndjson) throws IOException {
+        this.reader = reader;
+        this.input = new ReplayableInput(ndjson);
+        open(0);
+    }
+
+    /**
+     * Moves to the next non-blank line. Returns {@code false} at the end of the input; otherwise {@link #line()}
+     * is set and either {@link #value()} or {@link #error()} describes the line.
+     */
+    boolean next() throws IOException {
+        value = null;
+        error = null;
+        while (true) {
+            try {
+                if (!values.hasNextValue()) {
+                    return false;
+                }
+            } catch (JsonProcessingException e) {
+                int errorLine = linesBefore + parser.currentLocation().getLineNr();
+                restartAfter(errorLine);
+                if (errorLine == line) {
+                    continue;
+                }
+                line = errorLine;
+                error = e;
+                return true;
+            }
+
+            int valueLine = linesBefore + parser.currentTokenLocation().getLineNr();
+            if (valueLine == line) {
+                restartAfter(line);
+                continue;
+            }
+            line = valueLine;
+            input.keepFromLine(line - linesBefore);
+            try {
+                value = values.nextValue();
+            } catch (JsonProcessingException e) {
+                error = e;
+                restartAfter(line);
+            }
+            return true;
+        }
+    }
+
+    int line() {
+        return line;
+    }
+
+    T value() {
+        return value;
+    }
+
+    JsonProcessingException error() {
+        return error;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private void restartAfter(int failedLine) throws IOException {
+        parser.close();
+        input.restartAfterLine(failedLine - linesBefore);
+        open(failedLine);
+    }
+
+    private void open(int lines) throws IOException {
+        linesBefore = lines;
+        parser = reader.createParser(input);
+        values = reader.readValues(parser);
+    }
+
+    /**
+     * Hands the source to the current parser and keeps everything it has read from the start of a given line
+     * on, so that a new parser can be given those bytes again. Closing it leaves the source open.
+     */
+    private static final class ReplayableInput extends InputStream {
+
+        private final InputStream source;
+        private byte[] replay = new byte[0];
+        private int replayed;
+        private byte[] kept = new byte[8192];
+        private int keptStart;
+        private int keptEnd;
+        private int keptLine = 1;
+
+        ReplayableInput(InputStream source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            int count;
+            if (replayed < replay.length) {
+                count = Math.min(length, replay.length - replayed);
+                System.arraycopy(replay, replayed, buffer, offset, count);
+                replayed += count;
+            } else {
+                count = source.read(buffer, offset, length);
+                if (count <= 0) {
+                    return count;
+                }
+            }
+            keep(buffer, offset, count);
+            return count;
+        }
+
+        /**
+         * Forgets what the current parser read before {@code parserLine}, counted from 1 for each parser.
+         */
+        void keepFromLine(int parserLine) {
+            while (keptLine < parserLine && keptStart < keptEnd) {
+                if (kept[keptStart++] == '\n') {
+                    keptLine++;
+                }
+            }
+        }
+
+        /**
+         * Rewinds to the start of the line after {@code parserLine} for a new parser: what the current parser
+         * read past that point is handed out again, and if it never got there, the source is skipped up to it.
+         */
+        void restartAfterLine(int parserLine) throws IOException {
+            int breaks = parserLine - keptLine + 1;
+            int position = keptStart;
+            while (breaks > 0 && position < keptEnd) {
+                if (kept[position++] == '\n') {
+                    breaks--;
+                }
+            }
+
+            byte[] pending = Arrays.copyOfRange(kept, position, keptEnd + replay.length - replayed);
+            System.arraycopy(replay, replayed, pending, keptEnd - position, replay.length - replayed);
+            replay = pending;
+            replayed = 0;
+            while (breaks > 0) {
+                int next = read();
+                if (next == -1) {
+                    break;
+                }
+                if (next == '\n') {
+                    breaks--;
+                }
+            }
+
+            keptStart = 0;
+            keptEnd = 0;
+            keptLine = 1;
+        }
+
+        private void keep(byte[] buffer, int offset, int count) {
+            if (keptEnd + count > kept.length) {
+                int size = keptEnd - keptStart;
+                byte[] target = size + count > kept.length
+                        ? new byte[Math.max(kept.length * 2, size + count)]
+                        : kept;
+                System.arraycopy(kept, keptStart, target, 0, size);
+                kept = target;
+                keptStart = 0;
+                keptEnd = size;
+            }
+            System.arraycopy(buffer, offset, kept, keptEnd, count);
+            keptEnd += count;
+        }
+    }
+}
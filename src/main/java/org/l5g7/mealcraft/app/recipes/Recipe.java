@@ -11,7 +11,7 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
-@Table(name = "recipe")
+@Table(name = "recipe", indexes = @Index(name = "idx_recipe_created_at_id", columnList = "created_at, id"))
 @Data @NoArgsConstructor @AllArgsConstructor @Builder
 public class Recipe {
 
@@ -0,0 +1,345 @@
+package org.l5g7.mealcraft.app.recipes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
+import org.l5g7.mealcraft.app.products.Product;
+import org.l5g7.mealcraft.app.products.ProductDto;
+import org.l5g7.mealcraft.app.products.ProductSearchIndex;
+import org.l5g7.mealcraft.app.products.ProductService;
+import org.l5g7.mealcraft.app.products.PublicProductNameIndex;
+import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredient;
+import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredientDto;
+import org.l5g7.mealcraft.app.units.Unit;
+import org.l5g7.mealcraft.app.units.UnitNameIndex;
+import org.l5g7.mealcraft.logging.LogUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Bulk counterpart of {@link RecipeService#importRecipe}: streams newline-delimited JSON recipes through one
+ * {@link NdjsonReader} and writes them in chunks of {@value #CHUNK_SIZE}, reporting a result per line.
+ * <p>
+ * A chunk resolves all of its product names at once against the in-memory {@link ProductSearchIndex}, with the
+ * same typo tolerance as the single import, and only inserts the names that are still unknown; their units come
+ * from {@link UnitNameIndex}. New products, recipes and ingredients are written with JDBC batch inserts in one
+ * transaction per chunk. If a chunk fails, for instance because a concurrent import inserted one of its products
+ * first, its recipes are retried one at a time against freshly resolved products, so only the recipes that fail
+ * on their own are reported as unsaved. The product indexes, the ingredient index and the recipe read model
+ * follow once a chunk has committed.
+ */
+@Component
+public class RecipeBulkImporter {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final String DEFAULT_UNIT = "pc";
+    private static final String[] ID_COLUMN = {"id"};
+
+    private static final String INSERT_PRODUCT = "INSERT INTO product (name, public_name_key, default_unit_id, created_at) "
+            + "VALUES (:name, :nameKey, :unitId, :createdAt)";
+    private static final String INSERT_RECIPE =
+            "INSERT INTO recipe (name, image_url, created_at) VALUES (:name, :imageUrl, :createdAt)";
+    private static final String INSERT_INGREDIENT =
+            "INSERT INTO recipe_ingredient (recipe_id, product_id, amount) VALUES (:recipeId, :productId, :amount)";
+
+    private final ObjectReader recipeReader;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UnitNameIndex unitNameIndex;
+    private final ProductService productService;
+    private final ProductSearchIndex productSearchIndex;
+    private final PublicProductNameIndex publicProductNameIndex;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final AggregateVersions aggregateVersions;
+
+    public RecipeBulkImporter(ObjectMapper objectMapper,
+                              NamedParameterJdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              UnitNameIndex unitNameIndex,
+                              ProductService productService,
+                              ProductSearchIndex productSearchIndex,
+                              PublicProductNameIndex publicProductNameIndex,
+                              RecipeIngredientIndex recipeIngredientIndex,
+                              ApplicationEventPublisher eventPublisher,
+                              CacheManager cacheManager,
+                              AggregateVersions aggregateVersions) {
+        this.recipeReader = objectMapper.readerFor(RecipeDto.class);
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.unitNameIndex = unitNameIndex;
+        this.productService = productService;
+        this.productSearchIndex = productSearchIndex;
+        this.publicProductNameIndex = publicProductNameIndex;
+        this.recipeIngredientIndex = recipeIngredientIndex;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.aggregateVersions = aggregateVersions;
+    }
+
+    /**
+     * Imports every non-blank line of {@code ndjson} as a public recipe. Lines that cannot be parsed or
+     * validated fail on their own; the returned results are ordered by line number.
+     */
+    public List<RecipeImportResult> importRecipes(InputStream ndjson) throws IOException {
+        List<RecipeImportResult> results = new ArrayList<>();
+        List<ParsedRecipe> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (NdjsonReader<RecipeDto> recipes = new NdjsonReader<>(recipeReader, ndjson)) {
+            while (recipes.next()) {
+                int line = recipes.line();
+                if (recipes.error() != null) {
+                    results.add(failed(line, "Malformed JSON: " + recipes.error().getOriginalMessage()));
+                    continue;
+                }
+                try {
+                    chunk.add(parse(line, recipes.value()));
+                } catch (IllegalArgumentException e) {
+                    results.add(failed(line, e.getMessage()));
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, results);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, results);
+        }
+
+        evictCache("products");
+        evictCache("units");
+
+        results.sort(Comparator.comparingInt(RecipeImportResult::getLine));
+        return results;
+    }
+
+    private void importChunk(List<ParsedRecipe> chunk, List<RecipeImportResult> results) {
+        try {
+            ResolvedProducts resolved = resolveProducts(chunk);
+            results.addAll(transactionTemplate.execute(status -> writeChunk(chunk, resolved)));
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                LogUtils.logError("Bulk recipe import of line " + chunk.get(0).line() + " failed: " + e.getMessage());
+                results.add(failed(chunk.get(0).line(), "Recipe could not be saved"));
+                return;
+            }
+            LogUtils.logWarn("Bulk recipe import chunk starting at line " + chunk.get(0).line()
+                    + " failed, importing its recipes one at a time: " + e.getMessage());
+            chunk.forEach(recipe -> importChunk(List.of(recipe), results));
+        }
+    }
+
+    /**
+     * Matches the chunk's product names against the index and gets the units of the unknown ones. Runs before the
+     * chunk's transaction, as {@link UnitNameIndex#getOrCreate} commits new units on a connection of its own.
+     */
+    private ResolvedProducts resolveProducts(List<ParsedRecipe> chunk) {
+        Map<String, ProductDto> known = new HashMap<>();
+        Map<String, ParsedIngredient> unknown = new LinkedHashMap<>();
+        for (ParsedRecipe recipe : chunk) {
+            for (ParsedIngredient ingredient : recipe.ingredients()) {
+                String key = normalize(ingredient.productName());
+                if (known.containsKey(key) || unknown.containsKey(key)) {
+                    continue;
+                }
+                productService.matchPublicProduct(ingredient.productName()).ifPresentOrElse(
+                        product -> known.put(key, product),
+                        () -> unknown.put(key, ingredient));
+            }
+        }
+        Map<String, Unit> units = new HashMap<>();
+        List<Unit> unknownUnits = unknown.values().stream()
+                .map(ingredient -> units.computeIfAbsent(normalize(ingredient.unitName()),
+                        key -> unitNameIndex.getOrCreate(ingredient.unitName())))
+                .toList();
+        return new ResolvedProducts(known, unknown, unknownUnits);
+    }
+
+    private List<RecipeImportResult> writeChunk(List<ParsedRecipe> chunk, ResolvedProducts resolved) {
+        Date now = new Date();
+
+        Map<String, ProductDto> productsByName = new HashMap<>(resolved.known());
+        Map<String, ParsedIngredient> unknownProducts = resolved.unknown();
+        List<Unit> productUnits = resolved.unknownUnits();
+        List<SqlParameterSource> productParams = new ArrayList<>(unknownProducts.size());
+        int productIndex = 0;
+        for (Map.Entry<String, ParsedIngredient> entry : unknownProducts.entrySet()) {
+            productParams.add(new MapSqlParameterSource()
+                    .addValue("name", entry.getValue().productName())
+                    .addValue("nameKey", entry.getKey())
+                    .addValue("unitId", productUnits.get(productIndex++).getId())
+                    .addValue("createdAt", now));
+        }
+        List<Long> productIds = insertReturningIds(INSERT_PRODUCT, productParams);
+        productIndex = 0;
+        for (Map.Entry<String, ParsedIngredient> entry : unknownProducts.entrySet()) {
+            Unit unit = productUnits.get(productIndex);
+            Long id = productIds.get(productIndex++);
+            String name = entry.getValue().productName();
+            productsByName.put(entry.getKey(), ProductDto.builder().id(id).name(name).defaultUnitId(unit.getId()).build());
+            productSearchIndex.indexProduct(Product.builder().id(id).name(name).defaultUnit(unit).createdAt(now).build());
+            publicProductNameIndex.put(id, name);
+        }
+
+        List<RecipeImportResult> results = new ArrayList<>(chunk.size());
+        List<ParsedRecipe> accepted = new ArrayList<>(chunk.size());
+        List<List<ProductDto>> acceptedProducts = new ArrayList<>(chunk.size());
+        for (ParsedRecipe recipe : chunk) {
+            List<ProductDto> products = recipe.ingredients().stream()
+                    .map(ingredient -> productsByName.get(normalize(ingredient.productName())))
+                    .toList();
+            if (products.stream().map(ProductDto::getId).distinct().count() < products.size()) {
+                results.add(failed(recipe.line(), "Recipe cannot contain the same product more than once"));
+            } else {
+                accepted.add(recipe);
+                acceptedProducts.add(products);
+            }
+        }
+
+        List<Long> recipeIds = insertReturningIds(INSERT_RECIPE, accepted.stream()
+                .map(recipe -> (SqlParameterSource) new MapSqlParameterSource()
+                        .addValue("name", recipe.name())
+                        .addValue("imageUrl", recipe.imageUrl())
+                        .addValue("createdAt", now))
+                .toList());
+
+        List<SqlParameterSource> ingredientParams = new ArrayList<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            List<ParsedIngredient> ingredients = accepted.get(i).ingredients();
+            for (int j = 0; j < ingredients.size(); j++) {
+                ingredientParams.add(new MapSqlParameterSource()
+                        .addValue("recipeId", recipeIds.get(i))
+                        .addValue("productId", acceptedProducts.get(i).get(j).getId())
+                        .addValue("amount", ingredients.get(j).amount()));
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_INGREDIENT, ingredientParams.toArray(SqlParameterSource[]::new));
+
+        for (int i = 0; i < accepted.size(); i++) {
+            results.add(RecipeImportResult.builder().line(accepted.get(i).line()).recipeId(recipeIds.get(i)).build());
+            recipeIngredientIndex.indexRecipe(toRecipe(recipeIds.get(i), accepted.get(i), acceptedProducts.get(i)));
+        }
+        eventPublisher.publishEvent(new RecipesImportedEvent(recipeIds));
+        aggregateVersions.bump(AggregateVersions.RECIPES, AggregateVersions.PRODUCTS, AggregateVersions.UNITS);
+
+        return results;
+    }
+
+    private List<Long> insertReturningIds(String sql, List<? extends SqlParameterSource> params) {
+        if (params.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(sql, params.toArray(SqlParameterSource[]::new), keyHolder, ID_COLUMN);
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    /**
+     * The same checks {@link RecipeServiceImpl#importRecipe} applies, without touching the database.
+     */
+    private static ParsedRecipe parse(int line, RecipeDto dto) {
+        if (dto == null) {
+            throw new IllegalArgumentException("Line must contain a recipe object");
+        }
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            throw new IllegalArgumentException("Recipe name must not be blank");
+        }
+        if (dto.getIngredients() == null) {
+            throw new IllegalArgumentException("Imported recipe must contain at least one ingredient");
+        }
+
+        List<ParsedIngredient> ingredients = new ArrayList<>();
+        Set<String> usedProductNames = new HashSet<>();
+        for (RecipeIngredientDto ingredient : dto.getIngredients()) {
+            if (isCompletelyEmpty(ingredient)) {
+                continue;
+            }
+            String productName = ingredient.getProductName();
+            if (productName == null || productName.isBlank()) {
+                throw new IllegalArgumentException("Ingredient must have product name");
+            }
+            if (ingredient.getAmount() == null || ingredient.getAmount() <= 0) {
+                throw new IllegalArgumentException("Ingredient amount must be positive");
+            }
+            if (!usedProductNames.add(normalize(productName))) {
+                throw new IllegalArgumentException("Recipe cannot contain the same product more than once");
+            }
+            String unitName = ingredient.getUnitName() == null || ingredient.getUnitName().isBlank()
+                    ? DEFAULT_UNIT
+                    : ingredient.getUnitName().trim();
+            ingredients.add(new ParsedIngredient(productName.trim(), unitName, ingredient.getAmount()));
+        }
+        if (ingredients.isEmpty()) {
+            throw new IllegalArgumentException("Imported recipe must contain at least one ingredient");
+        }
+
+        return new ParsedRecipe(line, dto.getName().trim(), dto.getImageUrl(), ingredients);
+    }
+
+    private static boolean isCompletelyEmpty(RecipeIngredientDto ingredient) {
+        return ingredient == null
+                || ((ingredient.getProductName() == null || ingredient.getProductName().isBlank())
+                && (ingredient.getAmount() == null || ingredient.getAmount() <= 0));
+    }
+
+    private static Recipe toRecipe(Long id, ParsedRecipe parsed, List<ProductDto> products) {
+        Recipe recipe = Recipe.builder().id(id).name(parsed.name()).build();
+        List<RecipeIngredient> ingredients = new ArrayList<>(products.size());
+        for (int i = 0; i < products.size(); i++) {
+            ProductDto product = products.get(i);
+            ingredients.add(RecipeIngredient.builder()
+                    .recipe(recipe)
+                    .product(Product.builder().id(product.getId()).name(product.getName()).build())
+                    .amount(parsed.ingredients().get(i).amount())
+                    .build());
+        }
+        recipe.setIngredients(ingredients);
+        return recipe;
+    }
+
+    private void evictCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static RecipeImportResult failed(int line, String error) {
+        return RecipeImportResult.builder().line(line).error(error).build();
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record ParsedIngredient(String productName, String unitName, Double amount) {
+    }
+
+    private record ParsedRecipe(int line, String name, String imageUrl, List<ParsedIngredient> ingredients) {
+    }
+
+    /**
+     * Product names of a chunk already known to the index, and the unknown ones with the units to create them in.
+     */
+    private record ResolvedProducts(Map<String, ProductDto> known, Map<String, ParsedIngredient> unknown,
+                                    List<Unit> unknownUnits) {
+    }
+}
@@ -0,0 +1,7 @@
+package org.l5g7.mealcraft.app.recipes;
+
+/**
+ * Published when a recipe was created or its header or ingredients changed.
+ */
+public record RecipeChangedEvent(Long recipeId) {
+}
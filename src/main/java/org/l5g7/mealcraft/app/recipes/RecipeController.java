@@ -1,27 +1,50 @@
 package org.l5g7.mealcraft.app.recipes;
 
 import jakarta.validation.Valid;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
 import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.ExternalRecipe;
-import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.ExternalRecipeService;
+import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.RecipeProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
 @RequestMapping("/recipes")
 public class RecipeController {
 
+    static final int MAX_EXTERNAL_BATCH = 50;
+
     private final RecipeService recipeService;
-    private final ExternalRecipeService externalRecipeService;
+    private final RecipeProvider recipeProvider;
+    private final AggregateVersions aggregateVersions;
 
-    public RecipeController(RecipeService recipeService, ExternalRecipeService externalRecipeService) {
+    public RecipeController(RecipeService recipeService, RecipeProvider recipeProvider,
+                            AggregateVersions aggregateVersions) {
         this.recipeService = recipeService;
-        this.externalRecipeService = externalRecipeService;
+        this.recipeProvider = recipeProvider;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @GetMapping
-    public List<RecipeDto> getAllRecipes() {
-        return recipeService.getAllRecipes();
+    public ResponseEntity<?> getAllRecipes(@RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "50") int limit,
+                                          @RequestParam(defaultValue = "full") String view,
+                                          WebRequest request) {
+        if (aggregateVersions.notModified(request,
+                AggregateVersions.RECIPES, AggregateVersions.PRODUCTS, AggregateVersions.UNITS)) {
+            return null;
+        }
+        return switch (view) {
+            case "full" -> recipeService.getRecipesPage(cursor, limit).toResponse();
+            case "summary" -> recipeService.getRecipeSummaries(cursor, limit).toResponse();
+            default -> throw new IllegalArgumentException("Unknown view: " + view);
+        };
     }
 
     @GetMapping("/{id}")
@@ -34,6 +57,12 @@ public class RecipeController {
         return recipeService.getRecipesByProducts(products);
     }
 
+    @GetMapping("/suggest")
+    public List<RecipeSuggestionDto> suggestRecipes(@RequestParam List<String> products,
+                                                    @RequestParam(defaultValue = "10") int limit) {
+        return recipeService.suggestRecipes(products, limit);
+    }
+
     @PostMapping
     public void createRecipe(@Valid @RequestBody RecipeDto recipe) {
         recipeService.createRecipe(recipe);
@@ -57,12 +86,37 @@ public class RecipeController {
 
     @GetMapping("/external/random")
     public RecipeDto getExternalRandom() {
-        ExternalRecipe external = externalRecipeService.getRandomRecipe();
+        ExternalRecipe external = recipeProvider.getRandomRecipe();
         return ExternalRecipeParser.toRecipeDto(external);
     }
 
+    @GetMapping("/external/random/batch")
+    public List<RecipeDto> getExternalRandomBatch(@RequestParam(defaultValue = "10") int count) {
+        if (count < 1 || count > MAX_EXTERNAL_BATCH) {
+            throw new IllegalArgumentException("Count must be between 1 and " + MAX_EXTERNAL_BATCH);
+        }
+        return recipeProvider.getRandomRecipes(count).stream()
+                .map(ExternalRecipeParser::toRecipeDto)
+                .toList();
+    }
+
+    @GetMapping("/external")
+    public List<RecipeDto> getExternalByIds(@RequestParam List<String> ids) {
+        if (ids.size() > MAX_EXTERNAL_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_EXTERNAL_BATCH + " ids can be requested at once");
+        }
+        return recipeProvider.getRecipesByIds(ids).stream()
+                .map(ExternalRecipeParser::toRecipeDto)
+                .toList();
+    }
+
     @PostMapping("/import")
     public void importRecipe(@RequestBody RecipeDto dto) {
         recipeService.importRecipe(dto);
     }
+
+    @PostMapping(value = "/import/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public List<RecipeImportResult> importRecipes(InputStream body) throws IOException {
+        return recipeService.importRecipes(body);
+    }
 }
@@ -0,0 +1,7 @@
+package org.l5g7.mealcraft.app.recipes;
+
+/**
+ * Published when a recipe was deleted; recipes based on it no longer have a base recipe.
+ */
+public record RecipeDeletedEvent(Long recipeId) {
+}
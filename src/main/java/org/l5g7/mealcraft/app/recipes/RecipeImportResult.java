@@ -0,0 +1,19 @@
+package org.l5g7.mealcraft.app.recipes;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeImportResult {
+
+    private int line;
+
+    private Long recipeId;
+
+    private String error;
+}
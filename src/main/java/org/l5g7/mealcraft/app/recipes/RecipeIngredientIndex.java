@@ -0,0 +1,414 @@
+package org.l5g7.mealcraft.app.recipes;
+
+import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredient;
+import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredientRepository;
+import org.l5g7.mealcraft.logging.LogUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.l5g7.mealcraft.app.caching.AfterCommit.afterCommit;
+
+/**
+ * In-memory inverted index from product to the recipes that use it.
+ * <p>
+ * Every indexed recipe gets a dense slot number; each product keeps a {@link BitSet} of the slots using it,
+ * and public / per-owner recipes are kept in separate slot sets. "What can I cook with these products"
+ * becomes a bitset walk over the requested products instead of loading every recipe with its ingredients.
+ * Per-slot product ids are kept in primitive arrays so partial matches can be scored without touching the
+ * entity graph either.
+ * <p>
+ * Mutations issued inside a transaction are applied after it commits, so a rolled back change never
+ * reaches the index. A rebuild loads a fresh generation of the index without holding the lock, replays onto it
+ * the mutations applied while it was loading and only then swaps it in, so none of them is lost.
+ */
+@Component
+public class RecipeIngredientIndex {
+
+    private static final long PUBLIC_OWNER = -1L;
+    private static final long[] NO_PRODUCTS = new long[0];
+    private static final int PARALLEL_SCORING_THRESHOLD = 4096;
+
+    private static final Comparator<RecipeMatch> BEST_FIRST = Comparator
+            .comparingInt(RecipeMatch::missingCount)
+            .thenComparing(Comparator.comparingDouble(RecipeMatch::coverage).reversed())
+            .thenComparing(Comparator.comparingInt(RecipeMatch::matchedCount).reversed())
+            .thenComparingLong(RecipeMatch::recipeId);
+
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // guarded by lock
+    private Slots slots = new Slots();
+    private List<Consumer<Slots>> changesDuringRebuild;
+
+    public RecipeIngredientIndex(RecipeIngredientRepository recipeIngredientRepository) {
+        this.recipeIngredientRepository = recipeIngredientRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<Consumer<Slots>> changes = new ArrayList<>();
+        underWriteLock(() -> changesDuringRebuild = changes);
+
+        Slots loaded;
+        try {
+            loaded = load();
+        } catch (RuntimeException e) {
+            underWriteLock(() -> changesDuringRebuild = null);
+            throw e;
+        }
+        underWriteLock(() -> {
+            changes.forEach(change -> change.accept(loaded));
+            slots = loaded;
+            changesDuringRebuild = null;
+        });
+
+        LogUtils.logInfo("Recipe ingredient index built with " + loaded.slotByRecipeId.size() + " recipes");
+    }
+
+    private Slots load() {
+        Map<Long, Long> owners = new LinkedHashMap<>();
+        Map<Long, Map<Long, String>> productsByRecipe = new HashMap<>();
+        for (RecipeIngredientRepository.IngredientRow row : recipeIngredientRepository.findAllIngredientRows()) {
+            owners.putIfAbsent(row.getRecipeId(), row.getOwnerUserId());
+            productsByRecipe.computeIfAbsent(row.getRecipeId(), id -> new HashMap<>())
+                    .put(row.getProductId(), row.getProductName());
+        }
+
+        Slots loaded = new Slots();
+        owners.forEach((recipeId, ownerId) ->
+                loaded.put(new IndexedRecipe(recipeId, ownerId, productsByRecipe.get(recipeId))));
+        return loaded;
+    }
+
+    public void indexRecipe(Recipe recipe) {
+        if (recipe.getId() == null) {
+            return;
+        }
+        IndexedRecipe entry = IndexedRecipe.of(recipe);
+        afterCommit(() -> write(current -> {
+            current.remove(entry.recipeId());
+            current.put(entry);
+        }));
+    }
+
+    public void removeRecipe(Long recipeId) {
+        afterCommit(() -> write(current -> current.remove(recipeId)));
+    }
+
+    public void renameProduct(Long productId, String name) {
+        afterCommit(() -> write(current -> current.rename(productId, name)));
+    }
+
+    /**
+     * Ids of the recipes visible to {@code ownerId} (public ones only when {@code null}) whose every
+     * ingredient is one of {@code productNames}, compared case-insensitively. Sorted by recipe id.
+     */
+    public List<Long> findRecipesMadeOnlyOf(Collection<String> productNames, Long ownerId) {
+        lock.readLock().lock();
+        try {
+            Slots current = slots;
+            BitSet visible = current.visibleSlots(ownerId);
+
+            int[] hits = new int[current.slotCount];
+            BitSet candidates = new BitSet(current.slotCount);
+            for (Long productId : current.productIdsFor(productNames)) {
+                BitSet usedBy = (BitSet) current.slotsByProduct.get(productId).clone();
+                usedBy.and(visible);
+                candidates.or(usedBy);
+                for (int slot = usedBy.nextSetBit(0); slot >= 0; slot = usedBy.nextSetBit(slot + 1)) {
+                    hits[slot]++;
+                }
+            }
+
+            List<Long> result = new ArrayList<>();
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                if (hits[slot] == current.slotProducts[slot].length) {
+                    result.add(current.slotRecipeIds[slot]);
+                }
+            }
+            Collections.sort(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code limit} best partial matches among the recipes visible to {@code ownerId} that use at least one
+     * of {@code productNames}: fewest missing ingredients first, then highest coverage, then most matched
+     * ingredients.
+     * <p>
+     * Coverage is the share of the recipe's ingredients that are available, each ingredient counting once.
+     * Ingredient amounts are not weighed in: each is given in its product's own unit, so summing them across
+     * products would let a recipe's grams outweigh its pieces.
+     * <p>
+     * The candidates' product lists are copied under the read lock and scored after it is released, so large
+     * candidate sets scored in parallel on the common pool never hold up a writer. Each chunk keeps its own
+     * bounded heap.
+     */
+    public List<RecipeMatch> findBestMatches(Collection<String> productNames, Long ownerId, int limit) {
+        long[] recipeIds;
+        long[][] recipeProducts;
+        long[] available;
+        lock.readLock().lock();
+        try {
+            Slots current = slots;
+            Set<Long> productIds = current.productIdsFor(productNames);
+
+            BitSet candidates = new BitSet(current.slotCount);
+            for (Long productId : productIds) {
+                candidates.or(current.slotsByProduct.get(productId));
+            }
+            candidates.and(current.visibleSlots(ownerId));
+
+            recipeIds = new long[candidates.cardinality()];
+            recipeProducts = new long[recipeIds.length][];
+            int i = 0;
+            for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                recipeIds[i] = current.slotRecipeIds[slot];
+                recipeProducts[i++] = current.slotProducts[slot];
+            }
+            available = productIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int chunkSize = Math.max(PARALLEL_SCORING_THRESHOLD / 4,
+                recipeIds.length / (ForkJoinPool.getCommonPoolParallelism() * 4 + 1) + 1);
+        int chunks = (recipeIds.length + chunkSize - 1) / chunkSize;
+
+        IntStream chunkStream = IntStream.range(0, chunks);
+        if (recipeIds.length >= PARALLEL_SCORING_THRESHOLD) {
+            chunkStream = chunkStream.parallel();
+        }
+
+        PriorityQueue<RecipeMatch> best = chunkStream
+                .mapToObj(chunk -> scoreChunk(recipeIds, recipeProducts, chunk * chunkSize,
+                        Math.min(recipeIds.length, (chunk + 1) * chunkSize), available, limit))
+                .reduce(new PriorityQueue<>(BEST_FIRST.reversed()), (left, right) -> {
+                    PriorityQueue<RecipeMatch> merged = new PriorityQueue<>(BEST_FIRST.reversed());
+                    left.forEach(match -> offer(merged, match, limit));
+                    right.forEach(match -> offer(merged, match, limit));
+                    return merged;
+                });
+
+        List<RecipeMatch> result = new ArrayList<>(best);
+        result.sort(BEST_FIRST);
+        return result;
+    }
+
+    private static PriorityQueue<RecipeMatch> scoreChunk(long[] recipeIds, long[][] recipeProducts, int from, int to,
+                                                         long[] available, int limit) {
+        PriorityQueue<RecipeMatch> heap = new PriorityQueue<>(BEST_FIRST.reversed());
+        for (int i = from; i < to; i++) {
+            long[] products = recipeProducts[i];
+            int matched = 0;
+            for (long product : products) {
+                if (Arrays.binarySearch(available, product) >= 0) {
+                    matched++;
+                }
+            }
+
+            double coverage = (double) matched / products.length;
+            offer(heap, new RecipeMatch(recipeIds[i], matched, products.length - matched, coverage), limit);
+        }
+        return heap;
+    }
+
+    private static void offer(PriorityQueue<RecipeMatch> heap, RecipeMatch match, int limit) {
+        if (heap.size() < limit) {
+            heap.add(match);
+        } else if (BEST_FIRST.compare(match, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(match);
+        }
+    }
+
+    /**
+     * Applies {@code mutation} to the current generation, and remembers it for the generation a rebuild is
+     * loading meanwhile.
+     */
+    private void write(Consumer<Slots> mutation) {
+        underWriteLock(() -> {
+            mutation.accept(slots);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(mutation);
+            }
+        });
+    }
+
+    private void underWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Score of one recipe against the available products; {@code coverage} is the share of the recipe's
+     * ingredients that are available.
+     */
+    public record RecipeMatch(long recipeId, int matchedCount, int missingCount, double coverage) {
+    }
+
+    private record IndexedRecipe(Long recipeId, Long ownerUserId, Map<Long, String> products) {
+
+        static IndexedRecipe of(Recipe recipe) {
+            Map<Long, String> products = new HashMap<>();
+            if (recipe.getIngredients() != null) {
+                for (RecipeIngredient ingredient : recipe.getIngredients()) {
+                    if (ingredient.getProduct() != null) {
+                        products.put(ingredient.getProduct().getId(), ingredient.getProduct().getName());
+                    }
+                }
+            }
+            Long ownerUserId = recipe.getOwnerUser() != null ? recipe.getOwnerUser().getId() : null;
+            return new IndexedRecipe(recipe.getId(), ownerUserId, products);
+        }
+    }
+
+    /**
+     * One generation of the index; a rebuild replaces it as a whole. Not thread-safe on its own, see {@link #lock}.
+     */
+    private static final class Slots {
+
+        private final Map<Long, Integer> slotByRecipeId = new HashMap<>();
+        private final Deque<Integer> freeSlots = new ArrayDeque<>();
+        private long[] slotRecipeIds = new long[64];
+        private long[] slotOwners = new long[64];
+        private long[][] slotProducts = new long[64][];
+        private int slotCount;
+
+        private final BitSet publicSlots = new BitSet();
+        private final Map<Long, BitSet> slotsByOwner = new HashMap<>();
+        private final Map<Long, BitSet> slotsByProduct = new HashMap<>();
+        private final Map<Long, String> nameByProduct = new HashMap<>();
+        private final Map<String, Set<Long>> productsByName = new HashMap<>();
+
+        private BitSet visibleSlots(Long ownerId) {
+            BitSet visible = (BitSet) publicSlots.clone();
+            if (ownerId != null && slotsByOwner.containsKey(ownerId)) {
+                visible.or(slotsByOwner.get(ownerId));
+            }
+            return visible;
+        }
+
+        private Set<Long> productIdsFor(Collection<String> productNames) {
+            Set<Long> productIds = new HashSet<>();
+            for (String name : productNames) {
+                if (name != null) {
+                    productIds.addAll(productsByName.getOrDefault(normalize(name), Set.of()));
+                }
+            }
+            return productIds;
+        }
+
+        private void put(IndexedRecipe entry) {
+            if (entry.products().isEmpty()) {
+                return;
+            }
+
+            int slot = freeSlots.isEmpty() ? nextSlot() : freeSlots.pop();
+            long owner = entry.ownerUserId() != null ? entry.ownerUserId() : PUBLIC_OWNER;
+            long[] products = new long[entry.products().size()];
+
+            int i = 0;
+            for (Map.Entry<Long, String> product : entry.products().entrySet()) {
+                Long productId = product.getKey();
+                products[i++] = productId;
+                slotsByProduct.computeIfAbsent(productId, id -> new BitSet()).set(slot);
+                if (!nameByProduct.containsKey(productId)) {
+                    linkName(productId, product.getValue());
+                }
+            }
+
+            slotRecipeIds[slot] = entry.recipeId();
+            slotOwners[slot] = owner;
+            slotProducts[slot] = products;
+            slotByRecipeId.put(entry.recipeId(), slot);
+            ownerSlots(owner).set(slot);
+        }
+
+        private void remove(Long recipeId) {
+            Integer slot = slotByRecipeId.remove(recipeId);
+            if (slot == null) {
+                return;
+            }
+
+            for (long productId : slotProducts[slot]) {
+                BitSet usedBy = slotsByProduct.get(productId);
+                usedBy.clear(slot);
+                if (usedBy.isEmpty()) {
+                    slotsByProduct.remove(productId);
+                    unlinkName(productId);
+                }
+            }
+
+            long owner = slotOwners[slot];
+            ownerSlots(owner).clear(slot);
+            if (owner != PUBLIC_OWNER && slotsByOwner.get(owner).isEmpty()) {
+                slotsByOwner.remove(owner);
+            }
+
+            slotProducts[slot] = NO_PRODUCTS;
+            freeSlots.push(slot);
+        }
+
+        private void rename(Long productId, String name) {
+            if (nameByProduct.containsKey(productId)) {
+                unlinkName(productId);
+                linkName(productId, name);
+            }
+        }
+
+        private int nextSlot() {
+            if (slotCount == slotRecipeIds.length) {
+                int capacity = slotCount * 2;
+                slotRecipeIds = Arrays.copyOf(slotRecipeIds, capacity);
+                slotOwners = Arrays.copyOf(slotOwners, capacity);
+                slotProducts = Arrays.copyOf(slotProducts, capacity);
+            }
+            return slotCount++;
+        }
+
+        private BitSet ownerSlots(long owner) {
+            return owner == PUBLIC_OWNER
+                    ? publicSlots
+                    : slotsByOwner.computeIfAbsent(owner, id -> new BitSet());
+        }
+
+        private void linkName(Long productId, String name) {
+            nameByProduct.put(productId, name);
+            productsByName.computeIfAbsent(normalize(name), n -> new HashSet<>()).add(productId);
+        }
+
+        private void unlinkName(Long productId) {
+            String name = nameByProduct.remove(productId);
+            if (name == null) {
+                return;
+            }
+            Set<Long> ids = productsByName.get(normalize(name));
+            if (ids != null) {
+                ids.remove(productId);
+                if (ids.isEmpty()) {
+                    productsByName.remove(normalize(name));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.l5g7.mealcraft.app.recipes;
+
+/**
+ * One ingredient of a recipe together with its product name, as selected by
+ * {@link RecipeRepository#findIngredientRowsByRecipeIdIn}.
+ */
+public record RecipeIngredientRow(Long recipeId,
+                                  Long id,
+                                  Long productId,
+                                  String productName,
+                                  Double amount) {
+}
@@ -0,0 +1,324 @@
+package org.l5g7.mealcraft.app.recipes;
+
+import org.l5g7.mealcraft.app.paging.CursorPage;
+import org.l5g7.mealcraft.app.paging.PageCursor;
+import org.l5g7.mealcraft.app.products.ProductRenamedEvent;
+import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredientDto;
+import org.l5g7.mealcraft.logging.LogUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Denormalized in-memory view of all recipes with their ingredients, serving recipe reads without touching
+ * the database.
+ * <p>
+ * Every recipe is held as an immutable snapshot keyed by id. Public recipes and each owner's private ones are
+ * also kept in separate maps ordered by {@code (createdAt, id)}, so a user's listing or page is a merge of the
+ * public range with their own. Readers always receive fresh {@link RecipeDto} copies.
+ * <p>
+ * The model is loaded from a single streaming query at startup and afterwards follows the domain events the
+ * services publish, once their transaction has committed: changed or bulk-imported recipes are re-read by id,
+ * a deleted one is dropped and product renames are applied in place. A changed recipe replaces its previous
+ * snapshot without first being removed, so it never disappears from a concurrent read. Reads are lock-free,
+ * writers are serialized.
+ * A rebuild fills fresh maps and publishes them in one step, so readers never see a partly loaded model.
+ */
+@Component
+public class RecipeReadModel {
+
+    private static final Comparator<Key> KEY_ORDER = Comparator
+            .comparingLong(Key::createdAt)
+            .thenComparingLong(Key::id);
+
+    private final RecipeRepository recipeRepository;
+
+    private volatile Recipes recipes = new Recipes();
+
+    public RecipeReadModel(RecipeRepository recipeRepository) {
+        this.recipeRepository = recipeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        Recipes loaded = new Recipes();
+        try (Stream<RecipeReadRow> rows = recipeRepository.streamAllReadRows()) {
+            RecipeReadRow header = null;
+            List<IngredientSnapshot> ingredients = new ArrayList<>();
+            for (Iterator<RecipeReadRow> iterator = rows.iterator(); iterator.hasNext(); ) {
+                RecipeReadRow row = iterator.next();
+                if (header != null && !header.id().equals(row.id())) {
+                    loaded.put(snapshotOf(header, ingredients));
+                    ingredients = new ArrayList<>();
+                }
+                header = row;
+                if (row.ingredientId() != null) {
+                    ingredients.add(new IngredientSnapshot(row.ingredientId(), row.productId(), row.productName(), row.amount()));
+                }
+            }
+            if (header != null) {
+                loaded.put(snapshotOf(header, ingredients));
+            }
+        }
+        recipes = loaded;
+
+        LogUtils.logInfo("Recipe read model built with " + loaded.byId.size() + " recipes");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.recipeId() != null) {
+            reload(List.of(event.recipeId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRecipesImported(RecipesImportedEvent event) {
+        if (!event.recipeIds().isEmpty()) {
+            reload(event.recipeIds());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRecipeDeleted(RecipeDeletedEvent event) {
+        Long recipeId = event.recipeId();
+        Recipes current = recipes;
+        current.remove(recipeId);
+        current.byId.values().stream()
+                .filter(snapshot -> recipeId.equals(snapshot.baseRecipeId()))
+                .toList()
+                .forEach(child -> current.put(child.withoutBaseRecipe()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductRenamed(ProductRenamedEvent event) {
+        Recipes current = recipes;
+        current.byId.values().stream()
+                .filter(snapshot -> snapshot.uses(event.productId()))
+                .toList()
+                .forEach(snapshot -> current.put(snapshot.withProductName(event.productId(), event.name())));
+    }
+
+    /**
+     * All recipes visible to {@code ownerId} (public ones only when {@code null}) in {@code (createdAt, id)} order.
+     */
+    public List<RecipeDto> findVisible(Long ownerId) {
+        return visibleAfter(ownerId, null, Integer.MAX_VALUE).stream().map(RecipeSnapshot::toDto).toList();
+    }
+
+    public Optional<RecipeDto> findVisibleById(Long id, Long ownerId) {
+        RecipeSnapshot snapshot = recipes.byId.get(id);
+        if (snapshot == null || !snapshot.isVisibleTo(ownerId)) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot.toDto());
+    }
+
+    /**
+     * The recipes with the given ids, in the order of {@code ids}; unknown ids are skipped. Callers are
+     * expected to pass ids already filtered by visibility.
+     */
+    public List<RecipeDto> findAllById(List<Long> ids) {
+        Map<Long, RecipeSnapshot> byId = recipes.byId;
+        List<RecipeDto> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            RecipeSnapshot snapshot = byId.get(id);
+            if (snapshot != null) {
+                result.add(snapshot.toDto());
+            }
+        }
+        return result;
+    }
+
+    public CursorPage<RecipeDto> findPage(Long ownerId, PageCursor after, int limit) {
+        return pageOf(ownerId, after, limit).map(RecipeSnapshot::toDto);
+    }
+
+    public CursorPage<RecipeSummaryDto> findSummaryPage(Long ownerId, PageCursor after, int limit) {
+        return pageOf(ownerId, after, limit).map(RecipeSnapshot::toSummary);
+    }
+
+    private CursorPage<RecipeSnapshot> pageOf(Long ownerId, PageCursor after, int limit) {
+        CursorPage.checkLimit(limit);
+        List<RecipeSnapshot> fetched = visibleAfter(ownerId, new Key(after.createdAt().getTime(), after.id()), limit + 1);
+        return CursorPage.of(fetched, limit, snapshot -> new PageCursor(new Date(snapshot.key().createdAt()), snapshot.id()));
+    }
+
+    private List<RecipeSnapshot> visibleAfter(Long ownerId, Key after, int max) {
+        Recipes current = recipes;
+        ConcurrentNavigableMap<Key, RecipeSnapshot> own = ownerId != null ? current.byOwner.get(ownerId) : null;
+        Iterator<RecipeSnapshot> publicRange = rangeAfter(current.publicRecipes, after);
+        Iterator<RecipeSnapshot> ownRange = own != null ? rangeAfter(own, after) : Collections.emptyIterator();
+
+        List<RecipeSnapshot> result = new ArrayList<>();
+        RecipeSnapshot nextPublic = publicRange.hasNext() ? publicRange.next() : null;
+        RecipeSnapshot nextOwn = ownRange.hasNext() ? ownRange.next() : null;
+
+        while (result.size() < max && (nextPublic != null || nextOwn != null)) {
+            if (nextOwn == null || (nextPublic != null && KEY_ORDER.compare(nextPublic.key(), nextOwn.key()) <= 0)) {
+                result.add(nextPublic);
+                nextPublic = publicRange.hasNext() ? publicRange.next() : null;
+            } else {
+                result.add(nextOwn);
+                nextOwn = ownRange.hasNext() ? ownRange.next() : null;
+            }
+        }
+        return result;
+    }
+
+    private static Iterator<RecipeSnapshot> rangeAfter(ConcurrentNavigableMap<Key, RecipeSnapshot> recipes, Key after) {
+        return (after == null ? recipes : recipes.tailMap(after, false)).values().iterator();
+    }
+
+    private void reload(List<Long> recipeIds) {
+        Map<Long, List<IngredientSnapshot>> ingredientsByRecipe = new HashMap<>();
+        for (RecipeIngredientRow row : recipeRepository.findIngredientRowsByRecipeIdIn(recipeIds)) {
+            ingredientsByRecipe.computeIfAbsent(row.recipeId(), id -> new ArrayList<>())
+                    .add(new IngredientSnapshot(row.id(), row.productId(), row.productName(), row.amount()));
+        }
+
+        List<RecipeSnapshot> reloaded = new ArrayList<>(recipeIds.size());
+        for (RecipeRow row : recipeRepository.findRecipeRowsByIdIn(recipeIds)) {
+            reloaded.add(new RecipeSnapshot(row.id(), row.name(), row.ownerUserId(), row.baseRecipeId(), copyOf(row.createdAt()),
+                    row.imageUrl(), List.copyOf(ingredientsByRecipe.getOrDefault(row.id(), List.of()))));
+        }
+
+        Recipes current = recipes;
+        Set<Long> gone = new HashSet<>(recipeIds);
+        for (RecipeSnapshot snapshot : reloaded) {
+            current.put(snapshot);
+            gone.remove(snapshot.id());
+        }
+        gone.forEach(current::remove);
+    }
+
+    private static RecipeSnapshot snapshotOf(RecipeReadRow header, List<IngredientSnapshot> ingredients) {
+        return new RecipeSnapshot(header.id(), header.name(), header.ownerUserId(), header.baseRecipeId(),
+                copyOf(header.createdAt()), header.imageUrl(), List.copyOf(ingredients));
+    }
+
+    private static Date copyOf(Date date) {
+        return date != null ? new Date(date.getTime()) : null;
+    }
+
+    private record Key(long createdAt, long id) {
+    }
+
+    /**
+     * The maps of one generation of the model; a rebuild replaces all of them at once.
+     */
+    private static final class Recipes {
+
+        private final Map<Long, RecipeSnapshot> byId = new ConcurrentHashMap<>();
+        private final ConcurrentNavigableMap<Key, RecipeSnapshot> publicRecipes = new ConcurrentSkipListMap<>(KEY_ORDER);
+        private final Map<Long, ConcurrentNavigableMap<Key, RecipeSnapshot>> byOwner = new ConcurrentHashMap<>();
+
+        /**
+         * Adds or replaces a snapshot. A replaced one is only unlinked from its old position after the new one
+         * is in place, so a concurrent listing may briefly show both when the position changed, but never
+         * neither.
+         */
+        void put(RecipeSnapshot snapshot) {
+            scopeOf(snapshot.ownerUserId()).put(snapshot.key(), snapshot);
+            RecipeSnapshot previous = byId.put(snapshot.id(), snapshot);
+            if (previous != null && (!previous.key().equals(snapshot.key())
+                    || !Objects.equals(previous.ownerUserId(), snapshot.ownerUserId()))) {
+                unlink(previous);
+            }
+        }
+
+        void remove(Long recipeId) {
+            RecipeSnapshot existing = byId.remove(recipeId);
+            if (existing != null) {
+                unlink(existing);
+            }
+        }
+
+        private void unlink(RecipeSnapshot snapshot) {
+            ConcurrentNavigableMap<Key, RecipeSnapshot> scope = scopeOf(snapshot.ownerUserId());
+            scope.remove(snapshot.key());
+            if (snapshot.ownerUserId() != null && scope.isEmpty()) {
+                byOwner.remove(snapshot.ownerUserId());
+            }
+        }
+
+        private ConcurrentNavigableMap<Key, RecipeSnapshot> scopeOf(Long ownerId) {
+            return ownerId == null
+                    ? publicRecipes
+                    : byOwner.computeIfAbsent(ownerId, id -> new ConcurrentSkipListMap<>(KEY_ORDER));
+        }
+    }
+
+    private record IngredientSnapshot(Long id, Long productId, String productName, Double amount) {
+
+        RecipeIngredientDto toDto() {
+            return RecipeIngredientDto.builder()
+                    .id(id)
+                    .productId(productId)
+                    .productName(productName)
+                    .amount(amount)
+                    .build();
+        }
+    }
+
+    private record RecipeSnapshot(Long id,
+                                  String name,
+                                  Long ownerUserId,
+                                  Long baseRecipeId,
+                                  Date createdAt,
+                                  String imageUrl,
+                                  List<IngredientSnapshot> ingredients) {
+
+        Key key() {
+            return new Key(createdAt != null ? createdAt.getTime() : 0L, id);
+        }
+
+        boolean isVisibleTo(Long ownerId) {
+            return ownerUserId == null || ownerUserId.equals(ownerId);
+        }
+
+        boolean uses(Long productId) {
+            return ingredients.stream().anyMatch(ingredient -> productId.equals(ingredient.productId()));
+        }
+
+        RecipeSnapshot withoutBaseRecipe() {
+            return new RecipeSnapshot(id, name, ownerUserId, null, createdAt, imageUrl, ingredients);
+        }
+
+        RecipeSnapshot withProductName(Long productId, String productName) {
+            List<IngredientSnapshot> renamed = ingredients.stream()
+                    .map(ingredient -> productId.equals(ingredient.productId())
+                            ? new IngredientSnapshot(ingredient.id(), productId, productName, ingredient.amount())
+                            : ingredient)
+                    .toList();
+            return new RecipeSnapshot(id, name, ownerUserId, baseRecipeId, createdAt, imageUrl, renamed);
+        }
+
+        RecipeDto toDto() {
+            List<RecipeIngredientDto> ingredientDtos = new ArrayList<>(ingredients.size());
+            ingredients.forEach(ingredient -> ingredientDtos.add(ingredient.toDto()));
+            return RecipeDto.builder()
+                    .id(id)
+                    .name(name)
+                    .ownerUserId(ownerUserId)
+                    .baseRecipeId(baseRecipeId)
+                    .createdAt(copyOf(createdAt))
+                    .imageUrl(imageUrl)
+                    .ingredients(ingredientDtos)
+                    .build();
+        }
+
+        RecipeSummaryDto toSummary() {
+            return new RecipeSummaryDto(id, name, imageUrl, copyOf(createdAt), (long) ingredients.size());
+        }
+    }
+}
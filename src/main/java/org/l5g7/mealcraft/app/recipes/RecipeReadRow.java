@@ -0,0 +1,20 @@
+package org.l5g7.mealcraft.app.recipes;
+
+import java.util.Date;
+
+/**
+ * Recipe header joined with one of its ingredients, as streamed by
+ * {@link RecipeRepository#streamAllReadRows()}; the ingredient columns are {@code null} for a recipe
+ * without ingredients.
+ */
+public record RecipeReadRow(Long id,
+                            String name,
+                            Long ownerUserId,
+                            Long baseRecipeId,
+                            Date createdAt,
+                            String imageUrl,
+                            Long ingredientId,
+                            Long productId,
+                            String productName,
+                            Double amount) {
+}
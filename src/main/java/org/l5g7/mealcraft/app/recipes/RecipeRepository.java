@@ -1,15 +1,41 @@
 package org.l5g7.mealcraft.app.recipes;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.l5g7.mealcraft.app.products.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
     long countByCreatedAtBetween(Date from, Date to);
     List<Recipe> findAllByBaseRecipe(Recipe baseRecipe);
     List<Recipe> findAllByIngredientsProduct(Product product);
-    List<Recipe> findAllByOwnerUserIsNullOrOwnerUser_Id(Long ownerId);
-    List<Recipe> findAllByOwnerUserIsNull();
+
+    String RECIPE_ROW_SELECT = "SELECT new org.l5g7.mealcraft.app.recipes.RecipeRow(" +
+            "r.id, r.name, o.id, b.id, r.createdAt, r.imageUrl) " +
+            "FROM Recipe r LEFT JOIN r.ownerUser o LEFT JOIN r.baseRecipe b ";
+
+    @Query(RECIPE_ROW_SELECT + "WHERE r.id IN :ids ORDER BY r.id")
+    List<RecipeRow> findRecipeRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new org.l5g7.mealcraft.app.recipes.RecipeIngredientRow(" +
+            "ri.recipe.id, ri.id, p.id, p.name, ri.amount) " +
+            "FROM RecipeIngredient ri JOIN ri.product p " +
+            "WHERE ri.recipe.id IN :recipeIds ORDER BY ri.recipe.id, ri.id")
+    List<RecipeIngredientRow> findIngredientRowsByRecipeIdIn(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new org.l5g7.mealcraft.app.recipes.RecipeReadRow(" +
+            "r.id, r.name, o.id, b.id, r.createdAt, r.imageUrl, ri.id, p.id, p.name, ri.amount) " +
+            "FROM Recipe r LEFT JOIN r.ownerUser o LEFT JOIN r.baseRecipe b " +
+            "LEFT JOIN r.ingredients ri LEFT JOIN ri.product p " +
+            "ORDER BY r.id, ri.id")
+    Stream<RecipeReadRow> streamAllReadRows();
 }
@@ -0,0 +1,15 @@
+package org.l5g7.mealcraft.app.recipes;
+
+import java.util.Date;
+
+/**
+ * Flat recipe header as selected by the read queries in {@link RecipeRepository}, without touching the
+ * eagerly mapped owner and base recipe associations.
+ */
+public record RecipeRow(Long id,
+                        String name,
+                        Long ownerUserId,
+                        Long baseRecipeId,
+                        Date createdAt,
+                        String imageUrl) {
+}
@@ -1,10 +1,16 @@
 package org.l5g7.mealcraft.app.recipes;
+import org.l5g7.mealcraft.app.paging.CursorPage;
+
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.NoSuchElementException;
 
 public interface RecipeService {
 
     List<RecipeDto> getAllRecipes();
+    CursorPage<RecipeDto> getRecipesPage(String cursor, int limit);
+    CursorPage<RecipeSummaryDto> getRecipeSummaries(String cursor, int limit);
     RecipeDto getRecipeById(Long id);
     void createRecipe(RecipeDto recipe);
     void updateRecipe(Long id, RecipeDto recipeDto);
@@ -12,7 +18,9 @@ public interface RecipeService {
     void deleteRecipeById(Long id);
     RecipeDto getRandomRecipe() throws NoSuchElementException;
     List<RecipeDto> getRecipesByProducts(List<String> products);
+    List<RecipeSuggestionDto> suggestRecipes(List<String> products, int limit);
     void importRecipe(RecipeDto dto);
+    List<RecipeImportResult> importRecipes(InputStream ndjson) throws IOException;
 
 }
 
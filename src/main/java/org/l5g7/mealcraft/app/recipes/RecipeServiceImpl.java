@@ -1,6 +1,9 @@
 package org.l5g7.mealcraft.app.recipes;
 
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
 import org.l5g7.mealcraft.app.mealplan.MealPlanRepository;
+import org.l5g7.mealcraft.app.paging.CursorPage;
+import org.l5g7.mealcraft.app.paging.PageCursor;
 import org.l5g7.mealcraft.app.products.Product;
 import org.l5g7.mealcraft.app.products.ProductRepository;
 import org.l5g7.mealcraft.app.products.ProductService;
@@ -15,9 +18,12 @@ import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
 import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.ExternalRecipe;
 import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.RecipeProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 
 @Service
@@ -31,12 +37,18 @@ public class RecipeServiceImpl implements RecipeService {
     private final UnitService unitService;
     private final ProductService productService;
     private final MealPlanRepository mealPlanRepository;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final RecipeReadModel recipeReadModel;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecipeBulkImporter recipeBulkImporter;
+    private final AggregateVersions aggregateVersions;
 
     private static final String ENTITY_NAME = "Recipe";
     private static final String ENTITY_PRODUCT = "Product";
+    private static final int MAX_SUGGESTIONS = 100;
 
     @Autowired
-    public RecipeServiceImpl(RecipeRepository recipeRepository, ProductRepository productRepository, UserRepository userRepository, RecipeProvider recipeProvider, CurrentUserProvider currentUserProvider, UnitService unitService, ProductService productService, MealPlanRepository mealPlanRepository) {
+    public RecipeServiceImpl(RecipeRepository recipeRepository, ProductRepository productRepository, UserRepository userRepository, RecipeProvider recipeProvider, CurrentUserProvider currentUserProvider, UnitService unitService, ProductService productService, MealPlanRepository mealPlanRepository, RecipeIngredientIndex recipeIngredientIndex, RecipeReadModel recipeReadModel, ApplicationEventPublisher eventPublisher, RecipeBulkImporter recipeBulkImporter, AggregateVersions aggregateVersions) {
         this.recipeRepository = recipeRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
@@ -45,84 +57,37 @@ public class RecipeServiceImpl implements RecipeService {
         this.unitService = unitService;
         this.productService = productService;
         this.mealPlanRepository = mealPlanRepository;
+        this.recipeIngredientIndex = recipeIngredientIndex;
+        this.recipeReadModel = recipeReadModel;
+        this.eventPublisher = eventPublisher;
+        this.recipeBulkImporter = recipeBulkImporter;
+        this.aggregateVersions = aggregateVersions;
     }
 
-    @Transactional
     @Override
     public List<RecipeDto> getAllRecipes() {
-        User currentUser = currentUserProvider.getCurrentUserOrNullIfAdmin();
+        return recipeReadModel.findVisible(currentOwnerId());
+    }
 
-        List<Recipe> entities;
+    @Override
+    public CursorPage<RecipeDto> getRecipesPage(String cursor, int limit) {
+        return recipeReadModel.findPage(currentOwnerId(), PageCursor.decode(cursor), limit);
+    }
 
-        if (currentUser == null) {
-            entities = recipeRepository.findAllByOwnerUserIsNull();
-        } else {
-            entities = recipeRepository.findAllByOwnerUserIsNullOrOwnerUser_Id(currentUser.getId());
-        }
-
-        return entities.stream()
-                .map(entity -> {
-                    List<RecipeIngredientDto> ingredients = (entity.getIngredients() != null)
-                            ? entity.getIngredients().stream()
-                            .map(ingredient -> RecipeIngredientDto.builder()
-                                    .id(ingredient.getId())
-                                    .productId(ingredient.getProduct().getId())
-                                    .productName(ingredient.getProduct().getName())
-                                    .amount(ingredient.getAmount())
-                                    .build())
-                            .toList()
-                            : List.of();
-
-                    return RecipeDto.builder()
-                            .id(entity.getId())
-                            .name(entity.getName())
-                            .ownerUserId(entity.getOwnerUser() != null ? entity.getOwnerUser().getId() : null)
-                            .baseRecipeId(entity.getBaseRecipe() != null ? entity.getBaseRecipe().getId() : null)
-                            .createdAt(entity.getCreatedAt())
-                            .imageUrl(entity.getImageUrl())
-                            .ingredients(ingredients)
-                            .build();
-                }).toList();
+    @Override
+    public CursorPage<RecipeSummaryDto> getRecipeSummaries(String cursor, int limit) {
+        return recipeReadModel.findSummaryPage(currentOwnerId(), PageCursor.decode(cursor), limit);
     }
 
-    @Transactional
     @Override
     public RecipeDto getRecipeById(Long id) {
-        User currentUser = currentUserProvider.getCurrentUserOrNullIfAdmin();
-
-        Optional<Recipe> recipe = recipeRepository.findById(id);
-
-        if (recipe.isPresent()) {
-            Recipe entity = recipe.get();
-
-            User owner = entity.getOwnerUser();
-            if (owner != null && (currentUser == null || !owner.getId().equals(currentUser.getId()))) {
-                throw new EntityDoesNotExistException(ENTITY_NAME, "id", String.valueOf(id));
-            }
+        return recipeReadModel.findVisibleById(id, currentOwnerId())
+                .orElseThrow(() -> new EntityDoesNotExistException(ENTITY_NAME, "id", String.valueOf(id)));
+    }
 
-            List<RecipeIngredientDto> ingredients = entity.getIngredients() != null
-                    ? entity.getIngredients().stream()
-                    .map(ingredient -> RecipeIngredientDto.builder()
-                            .id(ingredient.getId())
-                            .productId(ingredient.getProduct().getId())
-                            .productName(ingredient.getProduct().getName())
-                            .amount(ingredient.getAmount())
-                            .build())
-                    .toList()
-                    : List.of();
-
-            return new RecipeDto(
-                    entity.getId(),
-                    entity.getName(),
-                    owner != null ? owner.getId() : null,
-                    entity.getBaseRecipe() != null ? entity.getBaseRecipe().getId() : null,
-                    entity.getCreatedAt(),
-                    entity.getImageUrl(),
-                    ingredients
-            );
-        } else {
-            throw new EntityDoesNotExistException(ENTITY_NAME, "id", String.valueOf(id));
-        }
+    private Long currentOwnerId() {
+        User currentUser = currentUserProvider.getCurrentUserOrNullIfAdmin();
+        return currentUser != null ? currentUser.getId() : null;
     }
 
     @Transactional
@@ -189,6 +154,9 @@ public class RecipeServiceImpl implements RecipeService {
         entity.setIngredients(ingredients);
 
         recipeRepository.save(entity);
+        recipeIngredientIndex.indexRecipe(entity);
+        eventPublisher.publishEvent(new RecipeChangedEvent(entity.getId()));
+        aggregateVersions.bump(AggregateVersions.RECIPES);
     }
 
     @Transactional
@@ -270,6 +238,9 @@ public class RecipeServiceImpl implements RecipeService {
         recipe.getIngredients().addAll(ingredients);
 
         recipeRepository.save(recipe);
+        recipeIngredientIndex.indexRecipe(recipe);
+        eventPublisher.publishEvent(new RecipeChangedEvent(recipe.getId()));
+        aggregateVersions.bump(AggregateVersions.RECIPES);
     }
 
     private void verifyIngredients(RecipeIngredientDto ingDto, Set<Long> usedProducts) {
@@ -380,6 +351,9 @@ public class RecipeServiceImpl implements RecipeService {
                     )));
         }
         recipeRepository.save(recipe);
+        recipeIngredientIndex.indexRecipe(recipe);
+        eventPublisher.publishEvent(new RecipeChangedEvent(recipe.getId()));
+        aggregateVersions.bump(AggregateVersions.RECIPES);
     }
 
     private void verifyCurrentUserAndOwner(User productOwner, User currentUser, Long productId) {
@@ -430,6 +404,9 @@ public class RecipeServiceImpl implements RecipeService {
         }
 
         recipeRepository.deleteById(id);
+        recipeIngredientIndex.removeRecipe(id);
+        eventPublisher.publishEvent(new RecipeDeletedEvent(id));
+        aggregateVersions.bump(AggregateVersions.RECIPES);
     }
 
 
@@ -445,64 +422,62 @@ public class RecipeServiceImpl implements RecipeService {
                 .build();
     }
 
-    @Transactional
     @Override
     public List<RecipeDto> getRecipesByProducts(List<String> products) {
         if (products == null || products.isEmpty()) {
             return List.of();
         }
 
-        User currentUser = currentUserProvider.getCurrentUserOrNullIfAdmin();
-
-        Set<String> allowedProductNames = products.stream()
-                .map(String::toLowerCase)
-                .collect(java.util.stream.Collectors.toSet());
+        List<Long> recipeIds = recipeIngredientIndex.findRecipesMadeOnlyOf(products, currentOwnerId());
+        if (recipeIds.isEmpty()) {
+            return List.of();
+        }
 
-        List<Recipe> entities;
+        return recipeReadModel.findAllById(recipeIds);
+    }
 
-        if (currentUser == null) {
-            entities = recipeRepository.findAllByOwnerUserIsNull();
-        } else {
-            entities = recipeRepository.findAllByOwnerUserIsNullOrOwnerUser_Id(currentUser.getId());
+    @Override
+    public List<RecipeSuggestionDto> suggestRecipes(List<String> products, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Suggestion limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        if (products == null || products.isEmpty()) {
+            return List.of();
         }
 
-        List<Recipe> filteredEntities = entities.stream()
-                .filter(recipe -> {
-                    if (recipe.getIngredients() == null || recipe.getIngredients().isEmpty()) {
-                        return false;
-                    }
+        List<RecipeIngredientIndex.RecipeMatch> matches = recipeIngredientIndex.findBestMatches(products, currentOwnerId(), limit);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
 
-                    return recipe.getIngredients().stream()
-                            .allMatch(ingredient ->
-                                ingredient.getProduct() != null &&
-                                allowedProductNames.contains(ingredient.getProduct().getName().toLowerCase())
-                            );
+        Map<Long, RecipeDto> recipesById = new HashMap<>();
+        recipeReadModel.findAllById(matches.stream().map(RecipeIngredientIndex.RecipeMatch::recipeId).toList())
+                .forEach(recipe -> recipesById.put(recipe.getId(), recipe));
+
+        Set<String> available = new HashSet<>();
+        products.stream()
+                .filter(Objects::nonNull)
+                .map(product -> product.trim().toLowerCase(Locale.ROOT))
+                .forEach(available::add);
+
+        return matches.stream()
+                .filter(match -> recipesById.containsKey(match.recipeId()))
+                .map(match -> {
+                    RecipeDto recipe = recipesById.get(match.recipeId());
+                    List<String> missingProducts = recipe.getIngredients().stream()
+                            .map(RecipeIngredientDto::getProductName)
+                            .filter(name -> !available.contains(name.trim().toLowerCase(Locale.ROOT)))
+                            .toList();
+
+                    return RecipeSuggestionDto.builder()
+                            .recipe(recipe)
+                            .matchedCount(match.matchedCount())
+                            .missingCount(match.missingCount())
+                            .coverage(match.coverage())
+                            .missingProducts(missingProducts)
+                            .build();
                 })
                 .toList();
-
-        return filteredEntities.stream()
-                .map(entity -> {
-                    List<RecipeIngredientDto> ingredients = (entity.getIngredients() != null)
-                            ? entity.getIngredients().stream()
-                            .map(ingredient -> RecipeIngredientDto.builder()
-                                    .id(ingredient.getId())
-                                    .productId(ingredient.getProduct().getId())
-                                    .productName(ingredient.getProduct().getName())
-                                    .amount(ingredient.getAmount())
-                                    .build())
-                            .toList()
-                            : List.of();
-
-                    return RecipeDto.builder()
-                            .id(entity.getId())
-                            .name(entity.getName())
-                            .ownerUserId(entity.getOwnerUser() != null ? entity.getOwnerUser().getId() : null)
-                            .baseRecipeId(entity.getBaseRecipe() != null ? entity.getBaseRecipe().getId() : null)
-                            .createdAt(entity.getCreatedAt())
-                            .imageUrl(entity.getImageUrl())
-                            .ingredients(ingredients)
-                            .build();
-                }).toList();
     }
 
     @Override
@@ -520,6 +495,15 @@ public class RecipeServiceImpl implements RecipeService {
 
         entity.setIngredients(ingredients);
         recipeRepository.save(entity);
+        recipeIngredientIndex.indexRecipe(entity);
+        eventPublisher.publishEvent(new RecipeChangedEvent(entity.getId()));
+        aggregateVersions.bump(AggregateVersions.RECIPES, AggregateVersions.UNITS);
+    }
+
+    @Override
+    public List<RecipeImportResult> importRecipes(InputStream ndjson) throws IOException {
+        validateImportUser();
+        return recipeBulkImporter.importRecipes(ndjson);
     }
 
     private void validateImportUser() {
@@ -549,6 +533,7 @@ public class RecipeServiceImpl implements RecipeService {
                                                             Recipe recipe) {
         List<RecipeIngredient> ingredients = new ArrayList<>();
         Set<String> usedProductNames = new java.util.HashSet<>();
+        Set<Long> usedProductIds = new java.util.HashSet<>();
 
         for (RecipeIngredientDto ingDto : ingredientDtos) {
             if (isCompletelyEmpty(ingDto)) {
@@ -561,7 +546,11 @@ public class RecipeServiceImpl implements RecipeService {
 
             String unitName = normalizeUnitName(ingDto.getUnitName());
             Unit unit = unitService.getOrCreateUnitByName(unitName);
-            Product product = productService.getOrCreatePublicProduct(productName, unit);
+            Product product = productService.findSimilarPublicProduct(productName)
+                    .orElseGet(() -> productService.getOrCreatePublicProduct(productName, unit));
+            if (product.getId() != null && !usedProductIds.add(product.getId())) {
+                throw new IllegalArgumentException("Recipe cannot contain the same product more than once");
+            }
 
             RecipeIngredient ingredient = RecipeIngredient.builder()
                     .recipe(recipe)
@@ -0,0 +1,25 @@
+package org.l5g7.mealcraft.app.recipes;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeSuggestionDto {
+
+    private RecipeDto recipe;
+
+    private int matchedCount;
+
+    private int missingCount;
+
+    private double coverage;
+
+    private List<String> missingProducts;
+}
@@ -0,0 +1,25 @@
+package org.l5g7.mealcraft.app.recipes;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeSummaryDto {
+
+    private Long id;
+
+    private String name;
+
+    private String imageUrl;
+
+    private Date createdAt;
+
+    private Long ingredientCount;
+}
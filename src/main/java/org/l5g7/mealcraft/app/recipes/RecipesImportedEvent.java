@@ -0,0 +1,9 @@
+package org.l5g7.mealcraft.app.recipes;
+
+import java.util.List;
+
+/**
+ * Published once per chunk of a bulk import with the ids of the recipes it created.
+ */
+public record RecipesImportedEvent(List<Long> recipeIds) {
+}
@@ -1,7 +1,10 @@
 package org.l5g7.mealcraft.app.shoppingitem;
 
 import jakarta.validation.Valid;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -10,14 +13,22 @@ import java.util.List;
 public class ShoppingItemController {
 
     private final ShoppingItemService shoppingItemService;
+    private final AggregateVersions aggregateVersions;
 
-    public ShoppingItemController(ShoppingItemService shoppingItemService) {
+    public ShoppingItemController(ShoppingItemService shoppingItemService, AggregateVersions aggregateVersions) {
         this.shoppingItemService = shoppingItemService;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @GetMapping
-    public List<ShoppingItemDto> getAllShoppingItem() {
-        return shoppingItemService.getAllShoppingItems();
+    public ResponseEntity<List<ShoppingItemDto>> getAllShoppingItem(@RequestParam(required = false) String cursor,
+                                                                    @RequestParam(defaultValue = "50") int limit,
+                                                                    WebRequest request) {
+        if (aggregateVersions.notModified(request,
+                AggregateVersions.SHOPPING_ITEMS, AggregateVersions.PRODUCTS, AggregateVersions.UNITS)) {
+            return null;
+        }
+        return shoppingItemService.getShoppingItemsPage(cursor, limit).toResponse();
     }
 
 
@@ -27,7 +38,11 @@ public class ShoppingItemController {
     }
 
     @GetMapping("/getUserShoppingItems/{id}")
-    public List<ShoppingItemDto> getUserNotifications(@PathVariable Long id) {
+    public List<ShoppingItemDto> getUserNotifications(@PathVariable Long id, WebRequest request) {
+        if (aggregateVersions.notModified(request,
+                AggregateVersions.shoppingItemsOf(id), AggregateVersions.PRODUCTS, AggregateVersions.UNITS)) {
+            return null;
+        }
         return shoppingItemService.getUserShoppingItems(id);
     }
 
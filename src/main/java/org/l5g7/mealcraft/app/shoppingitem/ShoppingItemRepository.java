@@ -1,12 +1,15 @@
 package org.l5g7.mealcraft.app.shoppingitem;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 public interface ShoppingItemRepository extends JpaRepository<ShoppingItem, Long> {
     List<ShoppingItem> findByUserOwnerId(Long userId);
@@ -14,4 +17,16 @@ public interface ShoppingItemRepository extends JpaRepository<ShoppingItem, Long
     @Transactional
     @Query("DELETE FROM ShoppingItem s WHERE s.status = true AND s.boughtAt < :time")
     void deleteBought(Date time);
+
+    @Query("SELECT DISTINCT s.userOwner.id FROM ShoppingItem s WHERE s.status = true AND s.boughtAt < :time")
+    List<Long> findOwnerIdsOfBought(@Param("time") Date time);
+
+    @Query("SELECT s.userOwner.id FROM ShoppingItem s WHERE s.id = :id")
+    Optional<Long> findUserOwnerIdById(@Param("id") Long id);
+
+    @Query("SELECT new org.l5g7.mealcraft.app.shoppingitem.ShoppingItemDto(" +
+            "s.id, p.name, o.id, p.id, s.requiredQty, s.status, u.name, s.boughtAt) " +
+            "FROM ShoppingItem s LEFT JOIN s.userOwner o LEFT JOIN s.product p LEFT JOIN p.defaultUnit u " +
+            "WHERE s.id > :id ORDER BY s.id")
+    List<ShoppingItemDto> findAllAfter(@Param("id") Long id, Pageable pageable);
 }
@@ -1,9 +1,12 @@
 package org.l5g7.mealcraft.app.shoppingitem;
+import org.l5g7.mealcraft.app.paging.CursorPage;
+
 import java.util.List;
 
 public interface ShoppingItemService {
 
     List<ShoppingItemDto> getAllShoppingItems();
+    CursorPage<ShoppingItemDto> getShoppingItemsPage(String cursor, int limit);
     List<ShoppingItemDto> getUserShoppingItems(Long userId);
     ShoppingItemDto getShoppingItemById(Long id);
     void createShoppingItem(ShoppingItemDto shoppingItemDto);
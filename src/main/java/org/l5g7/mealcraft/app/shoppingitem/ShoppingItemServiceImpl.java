@@ -1,5 +1,8 @@
 package org.l5g7.mealcraft.app.shoppingitem;
 
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
+import org.l5g7.mealcraft.app.paging.CursorPage;
+import org.l5g7.mealcraft.app.paging.PageCursor;
 import org.l5g7.mealcraft.app.products.Product;
 import org.l5g7.mealcraft.app.products.ProductRepository;
 import org.l5g7.mealcraft.app.user.User;
@@ -19,13 +22,15 @@ public class ShoppingItemServiceImpl implements ShoppingItemService {
     private final ShoppingItemRepository shoppingItemRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final AggregateVersions aggregateVersions;
     private static final String ENTITY_NAME_PRODUCT = "Product";
 
     @Autowired
-    public ShoppingItemServiceImpl(ShoppingItemRepository shoppingItemRepository, ProductRepository productRepository, UserRepository userRepository, RecipeProvider recipeProvider) {
+    public ShoppingItemServiceImpl(ShoppingItemRepository shoppingItemRepository, ProductRepository productRepository, UserRepository userRepository, RecipeProvider recipeProvider, AggregateVersions aggregateVersions) {
         this.shoppingItemRepository = shoppingItemRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @Override
@@ -43,6 +48,16 @@ public class ShoppingItemServiceImpl implements ShoppingItemService {
                     .build()).toList();
     }
 
+    // Shopping items carry no creation time; identity ids follow insertion order, so the cursor only uses the id.
+    @Override
+    public CursorPage<ShoppingItemDto> getShoppingItemsPage(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+
+        List<ShoppingItemDto> rows = shoppingItemRepository.findAllAfter(after.id(), CursorPage.fetch(limit));
+
+        return CursorPage.of(rows, limit, row -> new PageCursor(PageCursor.START.createdAt(), row.getId()));
+    }
+
     @Override
     public List<ShoppingItemDto> getUserShoppingItems(Long userId) {
         List<ShoppingItem> entities = shoppingItemRepository.findByUserOwnerId(userId);
@@ -100,7 +115,7 @@ public class ShoppingItemServiceImpl implements ShoppingItemService {
 
 
         shoppingItemRepository.save(entity);
-
+        bumpShoppingItems(user.getId());
     }
 
     @Override
@@ -117,11 +132,13 @@ public class ShoppingItemServiceImpl implements ShoppingItemService {
         double roundedQty = Math.round(shoppingItemDto.getRequiredQty() * 100.0) / 100.0;
 
         existing.ifPresent(shoppingItem -> {
+            Long previousOwnerId = shoppingItem.getUserOwner().getId();
             shoppingItem.setProduct(product);
             shoppingItem.setUserOwner(user);
             shoppingItem.setRequiredQty(roundedQty);
             shoppingItem.setStatus(shoppingItemDto.getStatus());
             shoppingItemRepository.save(shoppingItem);
+            bumpShoppingItems(previousOwnerId, user.getId());
         });
     }
 
@@ -132,6 +149,7 @@ public class ShoppingItemServiceImpl implements ShoppingItemService {
             throw new EntityDoesNotExistException("ShoppingItem", String.valueOf(id));
         }
         existing.ifPresent(shoppingItem -> {
+            Long previousOwnerId = shoppingItem.getUserOwner().getId();
             if (patch.getRequiredQty() != null) {
                 double roundedQty = Math.round(patch.getRequiredQty() * 100.0) / 100.0;
                 shoppingItem.setRequiredQty(roundedQty);
@@ -151,12 +169,15 @@ public class ShoppingItemServiceImpl implements ShoppingItemService {
                 shoppingItem.setBoughtAt(patch.getBoughtAt());
             }
             shoppingItemRepository.save(shoppingItem);
+            bumpShoppingItems(previousOwnerId, shoppingItem.getUserOwner().getId());
         });
     }
 
     @Override
     public void deleteShoppingItemById(Long id) {
+        Optional<Long> ownerId = shoppingItemRepository.findUserOwnerIdById(id);
         shoppingItemRepository.deleteById(id);
+        ownerId.ifPresent(this::bumpShoppingItems);
     }
 
     @Override
@@ -169,6 +190,7 @@ public class ShoppingItemServiceImpl implements ShoppingItemService {
             shoppingItem.setStatus(!shoppingItem.getStatus());
             shoppingItem.setBoughtAt(new Date(System.currentTimeMillis()));
             shoppingItemRepository.save(shoppingItem);
+            bumpShoppingItems(shoppingItem.getUserOwner().getId());
         });
     }
 
@@ -196,12 +218,14 @@ public class ShoppingItemServiceImpl implements ShoppingItemService {
 
                 if(item.getRequiredQty()<0.01){
                     shoppingItemRepository.delete(item);
+                    bumpShoppingItems(shoppingItemDto.getUserOwnerId());
                     return;
                 }
                 if(shoppingItemDto.getRequiredQty()>0){
                     item.setStatus(false);
                 }
                 shoppingItemRepository.save(item);
+                bumpShoppingItems(shoppingItemDto.getUserOwnerId());
                 return;
             }
         }
@@ -244,11 +268,17 @@ public class ShoppingItemServiceImpl implements ShoppingItemService {
                     item.setRequiredQty(item.getRequiredQty() - shoppingItemDto.getRequiredQty());
                     shoppingItemRepository.save(item);
                 }
+                bumpShoppingItems(shoppingItemDto.getUserOwnerId());
                 return;
             }
         }
     }
 
-
+    private void bumpShoppingItems(Long... ownerIds) {
+        aggregateVersions.bump(AggregateVersions.SHOPPING_ITEMS);
+        for (Long ownerId : ownerIds) {
+            aggregateVersions.bump(AggregateVersions.shoppingItemsOf(ownerId));
+        }
+    }
 
 }
\ No newline at end of file
@@ -3,7 +3,10 @@ package org.l5g7.mealcraft.app.units;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.util.Locale;
+
 @Entity
+@Table(name = "unit", uniqueConstraints = @UniqueConstraint(name = "uk_unit_name_key", columnNames = "name_key"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,4 +19,21 @@ public class Unit {
 
     @Column(nullable = false)
     private String name;
+
+    /**
+     * Trimmed, lower-cased {@link #name}; unique, so two units can never differ only in case or padding.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "name_key")
+    private String nameKey;
+
+    @PrePersist
+    @PreUpdate
+    void updateNameKey() {
+        nameKey = name != null ? normalizeName(name) : null;
+    }
+
+    public static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
 }
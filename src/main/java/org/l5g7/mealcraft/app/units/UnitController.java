@@ -1,8 +1,10 @@
 package org.l5g7.mealcraft.app.units;
 
 import jakarta.validation.Valid;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -11,14 +13,19 @@ import java.util.List;
 public class UnitController {
 
     private final UnitServiceImpl unitServiceImpl;
+    private final AggregateVersions aggregateVersions;
 
     @Autowired
-    public UnitController(UnitServiceImpl unitServiceImpl) {
+    public UnitController(UnitServiceImpl unitServiceImpl, AggregateVersions aggregateVersions) {
         this.unitServiceImpl = unitServiceImpl;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @GetMapping
-    public List<UnitDto> getAllUnits() {
+    public List<UnitDto> getAllUnits(WebRequest request) {
+        if (aggregateVersions.notModified(request, AggregateVersions.UNITS)) {
+            return null;
+        }
         return unitServiceImpl.getAllUnits();
     }
 
@@ -0,0 +1,124 @@
+package org.l5g7.mealcraft.app.units;
+
+import org.l5g7.mealcraft.app.caching.SingleFlight;
+import org.l5g7.mealcraft.logging.LogUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.l5g7.mealcraft.app.caching.AfterCommit.afterCommit;
+
+/**
+ * In-memory map from normalized unit name to unit id backing {@link UnitService#getOrCreateUnitByName}.
+ * <p>
+ * A missing name is created once, while concurrent callers asking for the same name wait for that one insert
+ * instead of each creating a unit; callers of other names are not held up. The unique {@code name_key} constraint
+ * covers other application instances. Renames and deletions made through {@link UnitService} are applied after
+ * their transaction commits.
+ * <p>
+ * The insert runs in a transaction of its own, so the waiting callers can use the unit at once. This has two
+ * consequences. A unit created for a caller whose transaction later rolls back stays behind; it is an ordinary
+ * unit and is reused by the next caller asking for that name. And a caller inside a transaction holds a second
+ * pooled connection for the duration of the insert, so bulk callers should resolve their units before opening
+ * their own transaction, as {@code RecipeBulkImporter} does.
+ */
+@Component
+public class UnitNameIndex {
+
+    private final UnitRepository unitRepository;
+    private final TransactionTemplate newTransaction;
+
+    private volatile Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    private final SingleFlight<String, Long> creations = new SingleFlight<>();
+
+    public UnitNameIndex(UnitRepository unitRepository, PlatformTransactionManager transactionManager) {
+        this.unitRepository = unitRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        Map<String, Long> loaded = new ConcurrentHashMap<>();
+        List<Unit> units = unitRepository.findAll();
+        units.forEach(unit -> loaded.putIfAbsent(Unit.normalizeName(unit.getName()), unit.getId()));
+        // swapped in whole so lookups never miss a unit mid-rebuild; a name missed meanwhile is found again by key
+        idsByName = loaded;
+
+        LogUtils.logInfo("Unit name index built with " + loaded.size() + " units");
+    }
+
+    /**
+     * The unit named {@code name}, ignoring case and surrounding whitespace, created first if there is none.
+     * A unit created here is committed even if the caller's transaction later rolls back.
+     */
+    public Unit getOrCreate(String name) {
+        String trimmed = name.trim();
+        String key = Unit.normalizeName(trimmed);
+
+        Long id = idOf(trimmed, key);
+        Optional<Unit> unit = unitRepository.findById(id);
+        if (unit.isPresent()) {
+            return unit.get();
+        }
+
+        // removed without going through UnitService, e.g. by a bulk delete
+        idsByName.remove(key, id);
+        Long recreated = idOf(trimmed, key);
+        return unitRepository.findById(recreated)
+                .orElseThrow(() -> new IllegalStateException("Unit '" + trimmed + "' could not be created"));
+    }
+
+    public void put(Unit unit) {
+        String key = Unit.normalizeName(unit.getName());
+        long id = unit.getId();
+        afterCommit(() -> idsByName.put(key, id));
+    }
+
+    public void rename(Long unitId, String oldName, String newName) {
+        afterCommit(() -> {
+            idsByName.remove(Unit.normalizeName(oldName), unitId);
+            idsByName.put(Unit.normalizeName(newName), unitId);
+        });
+    }
+
+    public void remove(Long unitId, String name) {
+        afterCommit(() -> idsByName.remove(Unit.normalizeName(name), unitId));
+    }
+
+    private Long idOf(String name, String key) {
+        Long id = idsByName.get(key);
+        if (id != null) {
+            return id;
+        }
+        return creations.run(key, () -> {
+            Long known = idsByName.get(key);
+            if (known != null) {
+                return known;
+            }
+            Long created = create(name, key);
+            Long raced = idsByName.putIfAbsent(key, created);
+            return raced != null ? raced : created;
+        });
+    }
+
+    private Long create(String name, String key) {
+        try {
+            return newTransaction.execute(status -> unitRepository.findByNameKey(key)
+                    .orElseGet(() -> unitRepository.saveAndFlush(Unit.builder().name(name).build()))
+                    .getId());
+        } catch (DataIntegrityViolationException e) {
+            // another instance inserted the same name between our lookup and insert
+            return unitRepository.findByNameKey(key).map(Unit::getId).orElseThrow(() -> e);
+        }
+    }
+}
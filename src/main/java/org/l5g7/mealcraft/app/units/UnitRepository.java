@@ -1,6 +1,10 @@
 package org.l5g7.mealcraft.app.units;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -10,4 +14,15 @@ public interface UnitRepository extends JpaRepository<Unit, Long> {
     boolean existsByNameIgnoreCase(String name);
     List<Unit> findAllByNameStartingWithIgnoreCase(String prefix);
     Optional<Unit> findFirstByNameIgnoreCase(String name);
+    Optional<Unit> findByNameKey(String nameKey);
+    boolean existsByNameKey(String nameKey);
+    List<Unit> findAllByNameKeyIsNullOrderByIdAsc();
+
+    /**
+     * Sets the name and {@link Unit#getNameKey()} of a unit written before the key existed; returns the rows updated.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Unit u SET u.name = :name, u.nameKey = :nameKey WHERE u.id = :id")
+    int assignNameKey(@Param("id") Long id, @Param("name") String name, @Param("nameKey") String nameKey);
 }
@@ -1,6 +1,8 @@
 package org.l5g7.mealcraft.app.units;
 
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
 import org.l5g7.mealcraft.app.products.ProductRepository;
+import org.l5g7.mealcraft.app.products.ProductSearchIndex;
 import org.l5g7.mealcraft.app.user.CurrentUserProvider;
 import org.l5g7.mealcraft.exception.EntityAlreadyExistsException;
 import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
@@ -23,12 +25,20 @@ public class UnitServiceImpl implements UnitService {
 
     private final UnitRepository repository;
     private final ProductRepository productRepository;
+    private final ProductSearchIndex productSearchIndex;
+    private final UnitNameIndex unitNameIndex;
+    private final AggregateVersions aggregateVersions;
 
     @Autowired
     public UnitServiceImpl(UnitRepository repository,
-                           ProductRepository productRepository, CurrentUserProvider currentUserProvider) {
+                           ProductRepository productRepository, CurrentUserProvider currentUserProvider,
+                           ProductSearchIndex productSearchIndex, UnitNameIndex unitNameIndex,
+                           AggregateVersions aggregateVersions) {
         this.repository = repository;
         this.productRepository = productRepository;
+        this.productSearchIndex = productSearchIndex;
+        this.unitNameIndex = unitNameIndex;
+        this.aggregateVersions = aggregateVersions;
     }
 
     @Cacheable(key = "'allUnits'")
@@ -83,6 +93,8 @@ public class UnitServiceImpl implements UnitService {
                             .name(name)
                             .build()
             );
+            unitNameIndex.put(result);
+            aggregateVersions.bump(AggregateVersions.UNITS);
 
             LogUtils.logInfo("Created unit: " + result.getId() + ", name: " + result.getName());
             return new UnitDto(result.getId(), result.getName());
@@ -102,6 +114,7 @@ public class UnitServiceImpl implements UnitService {
                             "id",
                             String.valueOf(id)
                     ));
+            String oldName = unit.getName();
 
             if (updatedUnit.getName() != null) {
                 String newName = updatedUnit.getName();
@@ -115,6 +128,9 @@ public class UnitServiceImpl implements UnitService {
             }
 
             Unit savedUnit = repository.save(unit);
+            productSearchIndex.renameUnit(id, unit.getName());
+            unitNameIndex.rename(id, oldName, unit.getName());
+            aggregateVersions.bump(AggregateVersions.UNITS);
             LogUtils.logInfo("Saved updated unit: " + savedUnit.getId());
             return new UnitDto(savedUnit.getId(), savedUnit.getName());
         } finally {
@@ -153,6 +169,8 @@ public class UnitServiceImpl implements UnitService {
             }
 
             repository.delete(unit);
+            unitNameIndex.remove(id, unit.getName());
+            aggregateVersions.bump(AggregateVersions.UNITS);
             LogUtils.logInfo("Deleted unit: " + id);
         } finally {
             LogUtils.logRemoveKey("user");
@@ -165,14 +183,7 @@ public class UnitServiceImpl implements UnitService {
             throw new IllegalArgumentException("Unit name must not be blank");
         }
 
-        String trimmed = name.trim();
-
-        return repository.findFirstByNameIgnoreCase(trimmed)
-                .orElseGet(() -> repository.save(
-                        Unit.builder()
-                                .name(trimmed)
-                                .build()
-                ));
+        return unitNameIndex.getOrCreate(name);
     }
 
     @Override
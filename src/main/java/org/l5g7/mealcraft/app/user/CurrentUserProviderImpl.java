@@ -1,5 +1,6 @@
 package org.l5g7.mealcraft.app.user;
 
+import org.l5g7.mealcraft.app.auth.security.AuthenticatedUser;
 import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,6 +26,11 @@ public class CurrentUserProviderImpl implements CurrentUserProvider {
             return null;
         }
 
+        // the JWT filter already checked the user exists, so a reference is enough for ownership checks
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return userRepository.getReferenceById(principal.getId());
+        }
+
         String name = authentication.getName();
         return userRepository.findByUsername(name)
                 .orElseThrow(() -> new EntityDoesNotExistException("User", "name", name));
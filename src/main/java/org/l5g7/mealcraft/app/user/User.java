@@ -7,9 +7,15 @@ import org.l5g7.mealcraft.enums.Role;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+        indexes = @Index(name = "idx_users_created_at_id", columnList = "created_at, id"),
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_users_username_key", columnNames = "username_key"),
+                @UniqueConstraint(name = "uk_users_email_key", columnNames = "email_key")
+        })
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter @Setter
@@ -45,4 +51,27 @@ public class User {
     @Temporal(TemporalType.TIMESTAMP)
     @Column(nullable = false, updatable = false)
     private Date createdAt;
+
+    /**
+     * Trimmed, lower-cased {@link #username} and {@link #email}; unique, so logins can look either up through an
+     * index and no two accounts differ only in case.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "username_key")
+    private String usernameKey;
+
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_key")
+    private String emailKey;
+
+    @PrePersist
+    @PreUpdate
+    void updateIdentifierKeys() {
+        usernameKey = username != null ? normalizeIdentifier(username) : null;
+        emailKey = email != null ? normalizeIdentifier(email) : null;
+    }
+
+    public static String normalizeIdentifier(String identifier) {
+        return identifier.trim().toLowerCase(Locale.ROOT);
+    }
 }
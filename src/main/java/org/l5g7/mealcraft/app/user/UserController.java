@@ -2,6 +2,7 @@ package org.l5g7.mealcraft.app.user;
 
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -23,8 +24,9 @@ public class UserController {
     }
 
     @GetMapping
-    public List<UserResponseDto> getAllUsers() {
-        return userService.getAllUsers();
+    public ResponseEntity<List<UserResponseDto>> getAllUsers(@RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "50") int limit) {
+        return userService.getUsersPage(cursor, limit).toResponse();
     }
 
     @PostMapping
@@ -0,0 +1,41 @@
+package org.l5g7.mealcraft.app.user;
+
+import org.l5g7.mealcraft.logging.LogUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Fills the username and email keys of users stored before those columns existed, e.g. after a schema update or a
+ * restored backup, as logins only look users up through the keys. Runs once the beans are created, before the web
+ * server takes requests.
+ */
+@Component
+public class UserIdentifierKeyBackfill implements SmartInitializingSingleton {
+
+    private final UserRepository userRepository;
+
+    public UserIdentifierKeyBackfill(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill("username", userRepository::backfillUsernameKeys);
+        backfill("email", userRepository::backfillEmailKeys);
+    }
+
+    private static void backfill(String column, IntSupplier update) {
+        try {
+            int updated = update.getAsInt();
+            if (updated > 0) {
+                LogUtils.logInfo("Filled the " + column + " key of " + updated + " users");
+            }
+        } catch (DataIntegrityViolationException e) {
+            LogUtils.logError("Could not fill " + column + " keys: some users have a " + column
+                    + " differing only in case and cannot log in until one of them is changed");
+        }
+    }
+}
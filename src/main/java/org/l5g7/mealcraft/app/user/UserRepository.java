@@ -1,12 +1,52 @@
 package org.l5g7.mealcraft.app.user;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String email);
+    Optional<User> findByUsernameKey(String usernameKey);
+    Optional<User> findByEmailKey(String emailKey);
+
+    /**
+     * The user whose username or email matches {@code identifier}, ignoring case and padding; a username match
+     * wins. Probes each unique key on its own, as an {@code OR} across two columns is a table scan on H2.
+     */
+    default Optional<User> findByUsernameOrEmail(String identifier) {
+        String key = User.normalizeIdentifier(identifier);
+        Optional<User> byUsername = findByUsernameKey(key);
+        return byUsername.isPresent() ? byUsername : findByEmailKey(key);
+    }
+
+    /**
+     * Fills {@link User#getUsernameKey()} of rows written before the key existed; returns the rows updated.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.usernameKey = LOWER(TRIM(u.username)) WHERE u.usernameKey IS NULL")
+    int backfillUsernameKeys();
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.emailKey = LOWER(TRIM(u.email)) WHERE u.emailKey IS NULL")
+    int backfillEmailKeys();
+
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
     long countByCreatedAtBetween(Date from, Date to);
+
+    @Query("SELECT u FROM User u " +
+            "WHERE u.createdAt > :createdAt OR (u.createdAt = :createdAt AND u.id > :id) " +
+            "ORDER BY u.createdAt, u.id")
+    List<User> findAllAfter(@Param("createdAt") Date createdAt, @Param("id") Long id, Pageable pageable);
 }
@@ -1,10 +1,13 @@
 package org.l5g7.mealcraft.app.user;
 
 
+import org.l5g7.mealcraft.app.paging.CursorPage;
+
 import java.util.List;
 
 public interface UserService {
     List<UserResponseDto> getAllUsers();
+    CursorPage<UserResponseDto> getUsersPage(String cursor, int limit);
     UserResponseDto getUserById(Long id);
     UserResponseDto getUserByUsername(String username);
     void createUser(UserRequestDto user);
@@ -1,5 +1,8 @@
 package org.l5g7.mealcraft.app.user;
 
+import org.l5g7.mealcraft.app.auth.security.AuthenticationCache;
+import org.l5g7.mealcraft.app.paging.CursorPage;
+import org.l5g7.mealcraft.app.paging.PageCursor;
 import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -13,11 +16,13 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordHasher passwordHasher;
+    private final AuthenticationCache authenticationCache;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, PasswordHasher passwordHasher) {
+    public UserServiceImpl(UserRepository userRepository, PasswordHasher passwordHasher, AuthenticationCache authenticationCache) {
         this.userRepository = userRepository;
         this.passwordHasher = passwordHasher;
+        this.authenticationCache = authenticationCache;
     }
 
 
@@ -34,6 +39,22 @@ public class UserServiceImpl implements UserService {
                 .toList();
     }
 
+    @Override
+    public CursorPage<UserResponseDto> getUsersPage(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+
+        List<User> users = userRepository.findAllAfter(after.createdAt(), after.id(), CursorPage.fetch(limit));
+
+        return CursorPage.of(users, limit, u -> new PageCursor(u.getCreatedAt(), u.getId()))
+                .map(u -> new UserResponseDto(
+                        u.getId(),
+                        u.getUsername(),
+                        u.getEmail(),
+                        u.getRole(),
+                        u.getAvatarUrl()
+                ));
+    }
+
     @Override
     public UserResponseDto getUserById(Long id) {
         Optional<User> user = userRepository.findById(id);
@@ -80,6 +101,8 @@ public class UserServiceImpl implements UserService {
                 .createdAt(new Date())
                 .build();
         userRepository.save(newUser);
+        authenticationCache.evictUsername(newUser.getUsername());
+        authenticationCache.evictEmail(newUser.getEmail());
     }
 
     @Override
@@ -98,6 +121,7 @@ public class UserServiceImpl implements UserService {
             }
             userToUpdate.setAvatarUrl(user.avatarUrl());
             userRepository.save(userToUpdate);
+            evict(userToUpdate);
         }
     }
 
@@ -124,6 +148,7 @@ public class UserServiceImpl implements UserService {
                 userToPatch.setAvatarUrl(patch.avatarUrl());
             }
             userRepository.save(userToPatch);
+            evict(userToPatch);
         }
 
 
@@ -132,5 +157,13 @@ public class UserServiceImpl implements UserService {
     @Override
     public void deleteUserById(Long id) {
         userRepository.deleteById(id);
+        authenticationCache.evictUser(id);
+    }
+
+    // the name or email may have changed, and an earlier lookup of the new ones may be cached as unknown
+    private void evict(User user) {
+        authenticationCache.evictUser(user.getId());
+        authenticationCache.evictUsername(user.getUsername());
+        authenticationCache.evictEmail(user.getEmail());
     }
 }
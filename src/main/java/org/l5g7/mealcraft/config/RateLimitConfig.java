@@ -0,0 +1,32 @@
+package org.l5g7.mealcraft.config;
+
+import org.l5g7.mealcraft.app.ratelimit.ApiRateLimitProperties;
+import org.l5g7.mealcraft.app.ratelimit.InMemoryRateLimitStore;
+import org.l5g7.mealcraft.app.ratelimit.JdbcRateLimitStore;
+import org.l5g7.mealcraft.app.ratelimit.RateLimitStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@Configuration
+@EnableConfigurationProperties(ApiRateLimitProperties.class)
+public class RateLimitConfig {
+
+    private static final String STORE_PROPERTY = "mealcraft.rate-limit.store";
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "memory", matchIfMissing = true)
+    public RateLimitStore inMemoryRateLimitStore(ApiRateLimitProperties properties) {
+        return new InMemoryRateLimitStore(properties.getMaxKeys());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "jdbc")
+    public RateLimitStore jdbcRateLimitStore(NamedParameterJdbcTemplate jdbcTemplate,
+                                             ApiRateLimitProperties properties) {
+        return new JdbcRateLimitStore(jdbcTemplate, properties.getMaxKeys(),
+                properties.getJdbc().getMaxLease(), properties.getJdbc().getFlushInterval());
+    }
+}
@@ -1,5 +1,7 @@
 package org.l5g7.mealcraft.config;
 
+import org.l5g7.mealcraft.app.auth.security.JwtCookieFilter;
+import org.l5g7.mealcraft.app.ratelimit.ApiRateLimitFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -21,9 +23,11 @@ public class SecurityConfig {
 
 
     private final OncePerRequestFilter jwtCookieFilter;
+    private final ApiRateLimitFilter apiRateLimitFilter;
 
-    public SecurityConfig(OncePerRequestFilter jwtCookieFilter) {
+    public SecurityConfig(OncePerRequestFilter jwtCookieFilter, ApiRateLimitFilter apiRateLimitFilter) {
         this.jwtCookieFilter = jwtCookieFilter;
+        this.apiRateLimitFilter = apiRateLimitFilter;
     }
 
     @Bean
@@ -47,11 +51,14 @@ public class SecurityConfig {
                         ).permitAll()
                         .requestMatchers("/mealcraft/login", "/mealcraft/register", "/mealcraft/landing").permitAll()
                         .requestMatchers("/mealcraft/admin/**").hasRole(ADMIN_STR)
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole(ADMIN_STR)
                         .requestMatchers("/mealcraft/**").hasAnyRole(ADMIN_STR, USER_STR, PREMIUM_USER_STR)
                         .anyRequest().hasAnyRole(ADMIN_STR, USER_STR, PREMIUM_USER_STR)
 
                 )
                 .addFilterBefore(jwtCookieFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(apiRateLimitFilter, JwtCookieFilter.class)
                 .cors(Customizer.withDefaults());
         return http.build();
     }
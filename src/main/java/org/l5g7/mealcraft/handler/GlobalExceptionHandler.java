@@ -2,6 +2,7 @@ package org.l5g7.mealcraft.handler;
 
 import org.l5g7.mealcraft.exception.EntityAlreadyExistsException;
 import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
+import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.RecipeProviderUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
@@ -33,6 +34,14 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return handleExceptionInternal(e, e.getMessage(), new HttpHeaders(), HttpStatus.NOT_FOUND, request);
     }
 
+    @ExceptionHandler(RecipeProviderUnavailableException.class)
+    protected ResponseEntity<Object> handleRecipeProviderUnavailable(RecipeProviderUnavailableException e, WebRequest request) {
+
+        log.warn("External recipes unavailable: {}", e.getMessage());
+
+        return handleExceptionInternal(e, e.getMessage(), new HttpHeaders(), HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     protected ResponseEntity<Object> handleIllegalArgument(IllegalArgumentException e, WebRequest request) {
 
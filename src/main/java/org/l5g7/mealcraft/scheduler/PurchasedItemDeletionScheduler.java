@@ -1,22 +1,31 @@
 package org.l5g7.mealcraft.scheduler;
 
 import lombok.RequiredArgsConstructor;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
 import org.l5g7.mealcraft.app.shoppingitem.ShoppingItemRepository;
 import org.l5g7.mealcraft.logging.LogUtils;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class PurchasedItemDeletionScheduler {
     private final ShoppingItemRepository shoppingItemRepository;
+    private final AggregateVersions aggregateVersions;
 
     @Scheduled(fixedDelayString =  "#{${shopping-item-cleanup-tick-delay-minutes} * 60 * 1000}")
     public void cleanUpPurchasedItems() {
         Date twoMinutesAgo = new Date(System.currentTimeMillis() - 2 * 60 * 1000);
+        List<Long> ownerIds = shoppingItemRepository.findOwnerIdsOfBought(twoMinutesAgo);
+        if (ownerIds.isEmpty()) {
+            return;
+        }
         shoppingItemRepository.deleteBought(twoMinutesAgo);
+        aggregateVersions.bump(AggregateVersions.SHOPPING_ITEMS);
+        ownerIds.forEach(ownerId -> aggregateVersions.bump(AggregateVersions.shoppingItemsOf(ownerId)));
         LogUtils.logInfo("Deleted items purchased 2 minutes ago");
     }
 
@@ -1,16 +1,14 @@
 package org.l5g7.mealcraft.web;
 
+import org.l5g7.mealcraft.app.paging.CursorPage;
 import org.l5g7.mealcraft.app.products.ProductDto;
 import org.l5g7.mealcraft.app.units.UnitDto;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.ParameterizedTypeReference;
+import org.l5g7.mealcraft.web.gateway.ApiGateway;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestClient;
 
 import java.util.List;
 
@@ -18,35 +16,31 @@ import java.util.List;
 @RequestMapping("/mealcraft/admin")
 public class AdminProductWebController {
 
-    private final RestClient internalApiClient;
+    private final ApiGateway apiGateway;
 
     private static final String FRAGMENT_TO_LOAD = "fragmentToLoad";
     private static final String TITLE = "title";
     private static final String ADMIN_PAGE = "admin-page";
-    private static final String UNITS_URI = "/units";
     private static final String UNITS_MODEL_ATTR = "units";
-    private static final String PRODUCTS_URI = "/products";
-    private static final String PRODUCT_ID_URI = "/products/{id}";
     private static final String PRODUCT_MODEL_ATTR = "product";
     private static final String PRODUCT_FORM_FRAGMENT = "fragments/product-form :: content";
     private static final String PRODUCTS_FRAGMENT = "fragments/products :: content";
     private static final String REDIRECT_PRODUCTS_URI = "redirect:/mealcraft/admin/product";
+    private static final String NEXT_CURSOR = "nextCursor";
+    private static final String PAGE_PATH = "pagePath";
+    private static final int PAGE_SIZE = CursorPage.DEFAULT_LIMIT;
 
 
-    public AdminProductWebController(@Qualifier("internalApiClient") RestClient internalApiClient) {
-        this.internalApiClient = internalApiClient;
+    public AdminProductWebController(ApiGateway apiGateway) {
+        this.apiGateway = apiGateway;
     }
 
     @GetMapping("/product")
-    public String productsPage(Model model) {
-        ResponseEntity<List<ProductDto>> response = internalApiClient.get()
-                .uri(PRODUCTS_URI)
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<List<ProductDto>>() {
-                });
-
-        List<ProductDto> data = response.getBody();
-        model.addAttribute("data", data);
+    public String productsPage(@RequestParam(required = false) String cursor, Model model) {
+        CursorPage<ProductDto> page = apiGateway.getProductsPage(cursor, PAGE_SIZE);
+        model.addAttribute("data", page.items());
+        model.addAttribute(NEXT_CURSOR, page.nextCursor());
+        model.addAttribute(PAGE_PATH, "/mealcraft/admin/product");
         model.addAttribute(FRAGMENT_TO_LOAD, PRODUCTS_FRAGMENT);
         model.addAttribute(TITLE, "Products");
         return ADMIN_PAGE;
@@ -56,14 +50,7 @@ public class AdminProductWebController {
     public String showCreateProductForm(Model model) {
         ProductDto product = new ProductDto();
 
-        ResponseEntity<List<UnitDto>> unitsResponse = internalApiClient
-                .get()
-                .uri(UNITS_URI)
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<List<UnitDto>>() {
-                });
-
-        List<UnitDto> units = unitsResponse.getBody();
+        List<UnitDto> units = apiGateway.getUnits();
 
         model.addAttribute(PRODUCT_MODEL_ATTR, product);
         model.addAttribute(UNITS_MODEL_ATTR, units);
@@ -79,31 +66,16 @@ public class AdminProductWebController {
 
         try {
             if (productDto.getId() == null) {
-                internalApiClient
-                        .post()
-                        .uri(PRODUCTS_URI)
-                        .body(productDto)
-                        .retrieve()
-                        .toBodilessEntity();
+                apiGateway.createProduct(productDto);
             } else {
-                internalApiClient
-                        .put()
-                        .uri(PRODUCT_ID_URI, productDto.getId())
-                        .body(productDto)
-                        .retrieve()
-                        .toBodilessEntity();
+                apiGateway.updateProduct(productDto.getId(), productDto);
             }
             return REDIRECT_PRODUCTS_URI;
 
         } catch (HttpClientErrorException e) {
 
             if (e.getStatusCode() == HttpStatus.CONFLICT) {
-                List<UnitDto> units = internalApiClient
-                        .get()
-                        .uri(UNITS_URI)
-                        .retrieve()
-                        .body(new ParameterizedTypeReference<List<UnitDto>>() {
-                        });
+                List<UnitDto> units = apiGateway.getUnits();
 
                 model.addAttribute(PRODUCT_MODEL_ATTR, productDto);
                 model.addAttribute(UNITS_MODEL_ATTR, units);
@@ -121,18 +93,8 @@ public class AdminProductWebController {
     @GetMapping("/product/edit/{id}")
     public String showEditProductForm(@PathVariable Long id, Model model) {
 
-        ProductDto product = internalApiClient
-                .get()
-                .uri(PRODUCT_ID_URI, id)
-                .retrieve()
-                .body(ProductDto.class);
-
-        List<UnitDto> units = internalApiClient
-                .get()
-                .uri(UNITS_URI)
-                .retrieve()
-                .body(new ParameterizedTypeReference<List<UnitDto>>() {
-                });
+        ProductDto product = apiGateway.getProduct(id);
+        List<UnitDto> units = apiGateway.getUnits();
 
         model.addAttribute(PRODUCT_MODEL_ATTR, product);
         model.addAttribute(UNITS_MODEL_ATTR, units);
@@ -145,26 +107,17 @@ public class AdminProductWebController {
     @GetMapping("/product/delete/{id}")
     public String deleteProduct(@PathVariable Long id, Model model) {
         try {
-            internalApiClient
-                    .delete()
-                    .uri(PRODUCT_ID_URI, id)
-                    .retrieve()
-                    .toBodilessEntity();
+            apiGateway.deleteProduct(id);
 
             return REDIRECT_PRODUCTS_URI;
 
         } catch (HttpClientErrorException e) {
             String message = e.getResponseBodyAsString();
-            ResponseEntity<List<ProductDto>> response = internalApiClient
-                    .get()
-                    .uri(PRODUCTS_URI)
-                    .retrieve()
-                    .toEntity(new ParameterizedTypeReference<List<ProductDto>>() {
-                    });
-
-            List<ProductDto> data = response.getBody();
+            CursorPage<ProductDto> page = apiGateway.getProductsPage(null, PAGE_SIZE);
 
-            model.addAttribute("data", data);
+            model.addAttribute("data", page.items());
+            model.addAttribute(NEXT_CURSOR, page.nextCursor());
+            model.addAttribute(PAGE_PATH, "/mealcraft/admin/product");
             model.addAttribute("errorMessage", message);
             model.addAttribute(FRAGMENT_TO_LOAD, PRODUCTS_FRAGMENT);
             model.addAttribute(TITLE, "Products");
@@ -1,15 +1,14 @@
 package org.l5g7.mealcraft.web;
 
+import org.l5g7.mealcraft.app.paging.CursorPage;
 import org.l5g7.mealcraft.app.products.ProductDto;
 import org.l5g7.mealcraft.app.recipes.RecipeDto;
+import org.l5g7.mealcraft.app.recipes.RecipeSummaryDto;
 import org.l5g7.mealcraft.app.units.UnitDto;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.ResponseEntity;
+import org.l5g7.mealcraft.web.gateway.ApiGateway;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientResponseException;
 
 import java.util.List;
@@ -18,33 +17,31 @@ import java.util.List;
 @RequestMapping("/mealcraft/admin")
 public class AdminRecipeWebController {
 
-    private final RestClient internalApiClient;
+    private final ApiGateway apiGateway;
 
     private static final String FRAGMENT_TO_LOAD = "fragmentToLoad";
     private static final String TITLE = "title";
     private static final String ADMIN_PAGE = "admin-page";
     private static final String RECIPE = "recipe";
     private static final String REDIRECT_RECIPE_PAGE = "redirect:/mealcraft/admin/recipe";
-    private static final String RECIPE_ID_URI = "/recipes/{id}";
     private static final String RECIPE_FORM_FRAGMENT = "fragments/recipe-form :: content";
     private static final String IMPORT_RECIPE_FORM_FRAGMENT = "fragments/recipe-import-form :: content";
     private static final String ERROR_MESSAGE = "errorMessage";
-    private static final String RECIPE_URI = "/recipes";
+    private static final String NEXT_CURSOR = "nextCursor";
+    private static final String PAGE_PATH = "pagePath";
+    private static final int PAGE_SIZE = CursorPage.DEFAULT_LIMIT;
+    private static final int IMPORT_CANDIDATES = 50;
 
-    public AdminRecipeWebController(@Qualifier("internalApiClient") RestClient internalApiClient) {
-        this.internalApiClient = internalApiClient;
+    public AdminRecipeWebController(ApiGateway apiGateway) {
+        this.apiGateway = apiGateway;
     }
 
     @GetMapping("/recipe")
-    public String recipesPage(Model model) {
-        ResponseEntity<List<RecipeDto>> response = internalApiClient.get()
-                .uri(RECIPE_URI)
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<List<RecipeDto>>() {
-                });
-
-        List<RecipeDto> data = response.getBody();
-        model.addAttribute("data", data);
+    public String recipesPage(@RequestParam(required = false) String cursor, Model model) {
+        CursorPage<RecipeSummaryDto> page = apiGateway.getRecipeSummaries(cursor, PAGE_SIZE);
+        model.addAttribute("data", page.items());
+        model.addAttribute(NEXT_CURSOR, page.nextCursor());
+        model.addAttribute(PAGE_PATH, "/mealcraft/admin/recipe");
         model.addAttribute(FRAGMENT_TO_LOAD, "fragments/recipes :: content");
         model.addAttribute(TITLE, "Recipes");
         return ADMIN_PAGE;
@@ -64,11 +61,7 @@ public class AdminRecipeWebController {
     @GetMapping("/recipe/new-from/{id}")
     public String showCreateBasedOnRecipeForm(@PathVariable Long id, Model model) {
 
-        RecipeDto base = internalApiClient
-                .get()
-                .uri(RECIPE_ID_URI, id)
-                .retrieve()
-                .body(RecipeDto.class);
+        RecipeDto base = apiGateway.getRecipe(id);
 
         if (base == null) {
             return REDIRECT_RECIPE_PAGE;
@@ -87,11 +80,7 @@ public class AdminRecipeWebController {
     @GetMapping("/recipe/edit/{id}")
     public String showEditRecipeForm(@PathVariable Long id, Model model) {
 
-        RecipeDto recipe = internalApiClient
-                .get()
-                .uri(RECIPE_ID_URI, id)
-                .retrieve()
-                .body(RecipeDto.class);
+        RecipeDto recipe = apiGateway.getRecipe(id);
 
         model.addAttribute(RECIPE, recipe);
         model.addAttribute(TITLE, "Edit recipe");
@@ -109,19 +98,9 @@ public class AdminRecipeWebController {
 
         try {
             if (recipeDto.getId() == null) {
-                internalApiClient
-                        .post()
-                        .uri(RECIPE_URI)
-                        .body(recipeDto)
-                        .retrieve()
-                        .toBodilessEntity();
+                apiGateway.createRecipe(recipeDto);
             } else {
-                internalApiClient
-                        .put()
-                        .uri(RECIPE_ID_URI, recipeDto.getId())
-                        .body(recipeDto)
-                        .retrieve()
-                        .toBodilessEntity();
+                apiGateway.updateRecipe(recipeDto.getId(), recipeDto);
             }
 
             return REDIRECT_RECIPE_PAGE;
@@ -149,11 +128,7 @@ public class AdminRecipeWebController {
     @PostMapping("/recipe/delete/{id}")
     public String deleteRecipe(@PathVariable Long id, Model model) {
         try {
-            internalApiClient
-                    .delete()
-                    .uri(RECIPE_ID_URI, id)
-                    .retrieve()
-                    .toBodilessEntity();
+            apiGateway.deleteRecipe(id);
 
             return REDIRECT_RECIPE_PAGE;
 
@@ -163,13 +138,10 @@ public class AdminRecipeWebController {
                     ? body
                     : "Failed to delete recipe: " + ex.getStatusCode();
 
-            ResponseEntity<List<RecipeDto>> response = internalApiClient.get()
-                    .uri(RECIPE_URI)
-                    .retrieve()
-                    .toEntity(new ParameterizedTypeReference<List<RecipeDto>>() {});
-
-            List<RecipeDto> data = response.getBody();
-            model.addAttribute("data", data);
+            CursorPage<RecipeSummaryDto> page = apiGateway.getRecipeSummaries(null, PAGE_SIZE);
+            model.addAttribute("data", page.items());
+            model.addAttribute(NEXT_CURSOR, page.nextCursor());
+            model.addAttribute(PAGE_PATH, "/mealcraft/admin/recipe");
             model.addAttribute(ERROR_MESSAGE, message);
             model.addAttribute(FRAGMENT_TO_LOAD, "fragments/recipes :: content");
             model.addAttribute(TITLE, "Recipes");
@@ -180,11 +152,7 @@ public class AdminRecipeWebController {
 
     @GetMapping("/recipe/view/{id}")
     public String viewRecipe(@PathVariable Long id, Model model) {
-        RecipeDto recipe = internalApiClient
-                .get()
-                .uri(RECIPE_ID_URI, id)
-                .retrieve()
-                .body(RecipeDto.class);
+        RecipeDto recipe = apiGateway.getRecipe(id);
 
         model.addAttribute(RECIPE, recipe);
         model.addAttribute(TITLE, "Recipe details");
@@ -197,40 +165,32 @@ public class AdminRecipeWebController {
     @ResponseBody
     public List<ProductDto> getProductSuggestions(@RequestParam("query") String query) {
 
-        return internalApiClient
-                .get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/products/search")
-                        .queryParam("prefix", query)
-                        .build())
-                .retrieve()
-                .body(new ParameterizedTypeReference<List<ProductDto>>() {
-                });
+        return apiGateway.searchProducts(query);
     }
 
     @GetMapping("/recipe/unit-suggestions")
     @ResponseBody
     public List<UnitDto> getUnitSuggestions(@RequestParam("query") String query) {
 
-        return internalApiClient
-                .get()
-                .uri(uriBuilder -> uriBuilder
-                        .path("/units/search")
-                        .queryParam("prefix", query)
-                        .build())
-                .retrieve()
-                .body(new ParameterizedTypeReference<List<UnitDto>>() {
-                });
+        return apiGateway.searchUnits(query);
+    }
+
+    @GetMapping("/recipe/import/candidates")
+    public String showImportCandidates(Model model) {
+
+        model.addAttribute("data", apiGateway.getExternalRandomRecipes(IMPORT_CANDIDATES));
+        model.addAttribute(TITLE, "Random external recipes");
+        model.addAttribute(FRAGMENT_TO_LOAD, "fragments/recipe-import-candidates :: content");
+
+        return ADMIN_PAGE;
     }
 
     @GetMapping("/recipe/import")
-    public String showImportRecipeForm(Model model) {
+    public String showImportRecipeForm(@RequestParam(required = false) String externalId, Model model) {
 
-        RecipeDto recipe = internalApiClient
-                .get()
-                .uri("/recipes/external/random")
-                .retrieve()
-                .body(RecipeDto.class);
+        RecipeDto recipe = externalId != null
+                ? apiGateway.getExternalRecipe(externalId)
+                : apiGateway.getExternalRandomRecipe();
 
         model.addAttribute(RECIPE, recipe);
         model.addAttribute(TITLE, "Import external recipe");
@@ -242,12 +202,7 @@ public class AdminRecipeWebController {
     @PostMapping("/recipe/import")
     public String importRecipe(@ModelAttribute("recipe") RecipeDto recipeDto, Model model) {
         try {
-            internalApiClient
-                    .post()
-                    .uri("/recipes/import")
-                    .body(recipeDto)
-                    .retrieve()
-                    .toBodilessEntity();
+            apiGateway.importRecipe(recipeDto);
 
             return REDIRECT_RECIPE_PAGE;
 
@@ -1,13 +1,10 @@
 package org.l5g7.mealcraft.web;
 
 import org.l5g7.mealcraft.app.statistics.DailyStats;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.ResponseEntity;
+import org.l5g7.mealcraft.web.gateway.ApiGateway;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestClient;
 
 import java.util.List;
 
@@ -15,14 +12,14 @@ import java.util.List;
 @RequestMapping("/mealcraft/admin/stats")
 public class AdminStatisticsWebController {
 
-    private final RestClient internalApiClient;
+    private final ApiGateway apiGateway;
 
     private static final String FRAGMENT_TO_LOAD = "fragmentToLoad";
     private static final String TITLE = "title";
     private static final String ADMIN_PAGE = "admin-page";
 
-    public AdminStatisticsWebController(@Qualifier("internalApiClient") RestClient internalApiClient) {
-        this.internalApiClient = internalApiClient;
+    public AdminStatisticsWebController(ApiGateway apiGateway) {
+        this.apiGateway = apiGateway;
     }
 
     @GetMapping
@@ -33,42 +30,14 @@ public class AdminStatisticsWebController {
         String effectiveDay = day;
 
         if ("recalculate".equals(action)) {
-            if (effectiveDay == null || effectiveDay.isBlank()) {
-                internalApiClient
-                        .post()
-                        .uri("/statistics/recalculate")
-                        .retrieve()
-                        .toBodilessEntity();
-            } else {
-                internalApiClient
-                        .post()
-                        .uri("/statistics/recalculate?day={day}", effectiveDay)
-                        .retrieve()
-                        .toBodilessEntity();
-            }
+            apiGateway.recalculateStatistics(effectiveDay);
         }
 
         if ("all".equals(action)) {
             effectiveDay = null;
         }
 
-        ResponseEntity<List<DailyStats>> response;
-
-        if (effectiveDay == null || effectiveDay.isBlank()) {
-            response = internalApiClient
-                    .get()
-                    .uri("/statistics")
-                    .retrieve()
-                    .toEntity(new ParameterizedTypeReference<List<DailyStats>>() {});
-        } else {
-            response = internalApiClient
-                    .get()
-                    .uri("/statistics?day={day}", effectiveDay)
-                    .retrieve()
-                    .toEntity(new ParameterizedTypeReference<List<DailyStats>>() {});
-        }
-
-        List<DailyStats> data = response.getBody();
+        List<DailyStats> data = apiGateway.getStatistics(effectiveDay);
         if (data == null) {
             data = List.of();
         }
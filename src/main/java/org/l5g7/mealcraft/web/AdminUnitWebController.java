@@ -3,14 +3,11 @@ package org.l5g7.mealcraft.web;
 import org.l5g7.mealcraft.app.units.UnitCreateDto;
 import org.l5g7.mealcraft.app.units.UnitDto;
 import org.l5g7.mealcraft.app.units.UnitUpdateDto;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.ResponseEntity;
+import org.l5g7.mealcraft.web.gateway.ApiGateway;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestClient;
 
 import java.util.List;
 
@@ -18,28 +15,21 @@ import java.util.List;
 @RequestMapping("/mealcraft/admin")
 public class AdminUnitWebController {
 
-    private final RestClient internalApiClient;
+    private final ApiGateway apiGateway;
 
     private static final String FRAGMENT_TO_LOAD = "fragmentToLoad";
     private static final String TITLE = "title";
     private static final String ADMIN_PAGE = "admin-page";
-    private static final String UNITS_URI = "/units";
-    private static final String UNIT_ID_URI = "/units/{id}";
     private static final String REDIRECT_UNITS_URI = "redirect:/mealcraft/admin/unit";
     private static final String UNIT_FORM_FRAGMENT = "fragments/unit-form :: content";
 
-    public AdminUnitWebController(@Qualifier("internalApiClient") RestClient internalApiClient) {
-        this.internalApiClient = internalApiClient;
+    public AdminUnitWebController(ApiGateway apiGateway) {
+        this.apiGateway = apiGateway;
     }
 
     @GetMapping("/unit")
     public String unitsPage(Model model) {
-        ResponseEntity<List<UnitDto>> response = internalApiClient.get()
-                .uri(UNITS_URI)
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<List<UnitDto>>() {});
-
-        List<UnitDto> data = response.getBody();
+        List<UnitDto> data = apiGateway.getUnits();
         model.addAttribute("data", data);
         model.addAttribute(FRAGMENT_TO_LOAD, "fragments/units :: content");
         model.addAttribute(TITLE, "Units");
@@ -67,12 +57,7 @@ public class AdminUnitWebController {
                         .name(unitDto.getName())
                         .build();
 
-                internalApiClient
-                        .post()
-                        .uri(UNITS_URI)
-                        .body(createDto)
-                        .retrieve()
-                        .toBodilessEntity();
+                apiGateway.createUnit(createDto);
 
             } else {
                 UnitUpdateDto updateDto = UnitUpdateDto.builder()
@@ -80,12 +65,7 @@ public class AdminUnitWebController {
                         .name(unitDto.getName())
                         .build();
 
-                internalApiClient
-                        .put()
-                        .uri(UNIT_ID_URI, unitDto.getId())
-                        .body(updateDto)
-                        .retrieve()
-                        .toBodilessEntity();
+                apiGateway.updateUnit(unitDto.getId(), updateDto);
             }
 
             return REDIRECT_UNITS_URI;
@@ -105,11 +85,7 @@ public class AdminUnitWebController {
 
     @GetMapping("/unit/edit/{id}")
     public String showEditUnitForm(@PathVariable Long id, Model model) {
-        UnitDto unit = internalApiClient
-                .get()
-                .uri(UNIT_ID_URI, id)
-                .retrieve()
-                .body(UnitDto.class);
+        UnitDto unit = apiGateway.getUnit(id);
 
         model.addAttribute("unit", unit);
         model.addAttribute(TITLE, "Edit unit");
@@ -121,22 +97,13 @@ public class AdminUnitWebController {
     @GetMapping("/unit/delete/{id}")
     public String deleteUnit(@PathVariable Long id, Model model) {
         try {
-            internalApiClient
-                    .delete()
-                    .uri(UNIT_ID_URI, id)
-                    .retrieve()
-                    .toBodilessEntity();
+            apiGateway.deleteUnit(id);
 
             return REDIRECT_UNITS_URI;
 
         } catch (HttpClientErrorException ex) {
 
-            ResponseEntity<List<UnitDto>> response = internalApiClient.get()
-                    .uri(UNITS_URI)
-                    .retrieve()
-                    .toEntity(new ParameterizedTypeReference<List<UnitDto>>() {});
-
-            List<UnitDto> data = response.getBody();
+            List<UnitDto> data = apiGateway.getUnits();
 
             String message = ex.getResponseBodyAsString();
 
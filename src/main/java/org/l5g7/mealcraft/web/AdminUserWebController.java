@@ -1,40 +1,35 @@
 package org.l5g7.mealcraft.web;
 
+import org.l5g7.mealcraft.app.paging.CursorPage;
 import org.l5g7.mealcraft.app.user.UserResponseDto;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.ResponseEntity;
+import org.l5g7.mealcraft.web.gateway.ApiGateway;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.client.RestClient;
-
-import java.util.List;
+import org.springframework.web.bind.annotation.RequestParam;
 
 @Controller
 @RequestMapping("/mealcraft/admin")
 public class AdminUserWebController {
 
-    private final RestClient internalApiClient;
+    private final ApiGateway apiGateway;
 
     private static final String FRAGMENT_TO_LOAD = "fragmentToLoad";
     private static final String TITLE = "title";
     private static final String ADMIN_PAGE = "admin-page";
+    private static final int PAGE_SIZE = CursorPage.DEFAULT_LIMIT;
 
-    public AdminUserWebController(@Qualifier("internalApiClient") RestClient internalApiClient) {
-        this.internalApiClient = internalApiClient;
+    public AdminUserWebController(ApiGateway apiGateway) {
+        this.apiGateway = apiGateway;
     }
 
     @GetMapping("/user")
-    public String usersPage(Model model) {
-        ResponseEntity<List<UserResponseDto>> response = internalApiClient.get()
-                .uri("/users")
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<List<UserResponseDto>>() {});
-
-        List<UserResponseDto> data = response.getBody();
-        model.addAttribute("data", data);
+    public String usersPage(@RequestParam(required = false) String cursor, Model model) {
+        CursorPage<UserResponseDto> page = apiGateway.getUsersPage(cursor, PAGE_SIZE);
+        model.addAttribute("data", page.items());
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("pagePath", "/mealcraft/admin/user");
         model.addAttribute(FRAGMENT_TO_LOAD, "fragments/users :: content");
         model.addAttribute(TITLE, "Users");
         return ADMIN_PAGE;
@@ -1,18 +1,15 @@
 package org.l5g7.mealcraft.web;
 
 import jakarta.servlet.http.HttpSession;
-import org.l5g7.mealcraft.app.mealplan.EventCell;
 import org.l5g7.mealcraft.app.mealplan.MealPlanDto;
 import org.l5g7.mealcraft.app.products.ProductDto;
 import org.l5g7.mealcraft.app.recipes.RecipeDto;
 import org.l5g7.mealcraft.app.shoppingitem.ShoppingItemDto;
 import org.l5g7.mealcraft.app.units.UnitDto;
 import org.l5g7.mealcraft.app.user.UserService;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.ParameterizedTypeReference;
+import org.l5g7.mealcraft.web.gateway.ApiGateway;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,7 +17,6 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientResponseException;
 
 import java.time.LocalDate;
@@ -29,34 +25,34 @@ import java.time.DayOfWeek;
 import java.time.ZoneId;
 import java.util.*;
 
+import static org.l5g7.mealcraft.app.auth.security.CurrentUserId.currentUserId;
+
 @Controller
 public class HomeWebController {
 
-    private final RestClient internalApiClient;
+    private final ApiGateway apiGateway;
     private final UserService userService;
+    private final PageComposer pageComposer;
     private static final String FRAGMENT_TO_LOAD = "fragmentToLoad";
     private static final String USERNAME = "username";
     private static final String TITLE = "title";
     private static final String RECIPE = "recipe";
     private static final String RECIPE_FORM_FRAGMENT = "fragments/recipe-form :: content";
     private static final String REDIRECT_HOME_PAGE = "redirect:/mealcraft/home";
-    private static final String RECIPE_ID_URI = "/recipes/{id}";
     private static final String REDIRECT_RECIPE_PAGE = "redirect:/mealcraft/user/recipes";
     private static final String REDIRECT_PRODUCTS_URI = "redirect:/mealcraft/user/products";
     private static final String ERROR_MESSAGE = "errorMessage";
-    private static final String RECIPE_URI = "/recipes";
-    private static final String PRODUCTS_URI = "/products";
-    private static final String PRODUCT_ID_URI = "/products/{id}";
     private static final String PRODUCT_MODEL_ATTR = "product";
     private static final String PRODUCT_FORM_FRAGMENT = "fragments/product-form :: content";
     private static final String PRODUCTS_FRAGMENT = "fragments/products :: content";
-    private static final String UNITS_URI = "/units";
     private static final String UNITS_MODEL_ATTR = "units";
+    private static final String SHOPPING_ITEMS = "shoppingItems";
 
 
-    public HomeWebController(@Qualifier("internalApiClient") RestClient internalApiClient, UserService userService) {
-        this.internalApiClient = internalApiClient;
+    public HomeWebController(ApiGateway apiGateway, UserService userService, PageComposer pageComposer) {
+        this.apiGateway = apiGateway;
         this.userService = userService;
+        this.pageComposer = pageComposer;
     }
 
     @GetMapping("/mealcraft/home")
@@ -71,11 +67,14 @@ public class HomeWebController {
         }
 
         String username = auth.getName();
+        Long userId = currentUserId(auth, userService);
         model.addAttribute(USERNAME, username);
 
         addMonthCalendarToModel(model, month);
-        addCalendarMealPlansToModel(model, username);
-        addShoppingItemsToModel(model, username);
+        pageComposer.compose(model,
+                PagePart.of("calendar meal plans", m -> addCalendarMealPlansToModel(m, userId, month))
+                        .orElse(m -> m.addAttribute("dayEventMap", Map.of())),
+                shoppingItemsPart(userId));
 
         model.addAttribute(TITLE, "MealCraft — Main Page");
         model.addAttribute(FRAGMENT_TO_LOAD, "fragments/calendar :: calendarFragment");
@@ -88,11 +87,15 @@ public class HomeWebController {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
 
         String username = auth.getName();
+        Long userId = currentUserId(auth, userService);
         model.addAttribute(USERNAME, username);
 
         model.addAttribute(TITLE, "MealCraft — Main Page");
-        addPageMealPlansToModel(model, username, day);
-        addShoppingItemsToModel(model, username);
+        pageComposer.compose(model,
+                PagePart.of("day meal plans", m -> addPageMealPlansToModel(m, userId, day))
+                        .orElse(m -> m.addAttribute("dayEventMapForDay", Map.of())),
+                shoppingItemsPart(userId));
+        model.addAttribute("dayDate", Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant()));
         model.addAttribute("day", day);
         model.addAttribute(FRAGMENT_TO_LOAD, "fragments/day :: dayFragment");
         return "home";
@@ -106,8 +109,9 @@ public class HomeWebController {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
+        Long userId = currentUserId(auth, userService);
         model.addAttribute(USERNAME, username);
-        addShoppingItemsToModel(model, username);
+        addShoppingItemsToModel(model, userId);
         model.addAttribute(TITLE, "Create your own recipe");
 
         RecipeDto recipe = new RecipeDto();
@@ -121,14 +125,7 @@ public class HomeWebController {
     public String showCreateProductForm(Model model) {
         ProductDto product = new ProductDto();
 
-        ResponseEntity<List<UnitDto>> unitsResponse = internalApiClient
-                .get()
-                .uri(UNITS_URI)
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<List<UnitDto>>() {
-                });
-
-        List<UnitDto> units = unitsResponse.getBody();
+        List<UnitDto> units = apiGateway.getUnits();
 
         model.addAttribute(PRODUCT_MODEL_ATTR, product);
         model.addAttribute(UNITS_MODEL_ATTR, units);
@@ -138,8 +135,9 @@ public class HomeWebController {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
+        Long userId = currentUserId(auth, userService);
         model.addAttribute(USERNAME, username);
-        addShoppingItemsToModel(model, username);
+        addShoppingItemsToModel(model, userId);
         return "home";
     }
 
@@ -148,19 +146,15 @@ public class HomeWebController {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
+        Long userId = currentUserId(auth, userService);
         model.addAttribute(USERNAME, username);
-        addShoppingItemsToModel(model, username);
+        addShoppingItemsToModel(model, userId);
         model.addAttribute(TITLE, "Your own recipes");
 
-        ResponseEntity<List<RecipeDto>> response = internalApiClient.get()
-                .uri(RECIPE_URI)
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<List<RecipeDto>>() {});
-
-        List<RecipeDto> data = response.getBody();
+        List<RecipeDto> data = apiGateway.getRecipes();
         List<RecipeDto> recipes = new ArrayList<>();
         if(data != null) {
-             recipes = data.stream().filter(r -> r.getOwnerUserId()!=null && r.getOwnerUserId().equals(userService.getUserByUsername(username).id()))
+             recipes = data.stream().filter(r -> r.getOwnerUserId()!=null && r.getOwnerUserId().equals(userId))
                     .toList();
         }
         model.addAttribute("data", recipes);
@@ -173,18 +167,14 @@ public class HomeWebController {
     public String showUserProductsPage(Model model) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
+        Long userId = currentUserId(auth, userService);
         model.addAttribute(USERNAME, username);
-        addShoppingItemsToModel(model, username);
-
-        ResponseEntity<List<ProductDto>> response = internalApiClient.get()
-                .uri(PRODUCTS_URI)
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<List<ProductDto>>() {});
+        addShoppingItemsToModel(model, userId);
 
-        List<ProductDto> data = response.getBody();
+        List<ProductDto> data = apiGateway.getProducts();
         List<ProductDto> products = new ArrayList<>();
         if(data != null) {
-            products = data.stream().filter(r -> r.getOwnerUserId()!=null && r.getOwnerUserId().equals(userService.getUserByUsername(username).id()))
+            products = data.stream().filter(r -> r.getOwnerUserId()!=null && r.getOwnerUserId().equals(userId))
                     .toList();
         }
         model.addAttribute("data", products);
@@ -196,11 +186,7 @@ public class HomeWebController {
     @GetMapping("/mealcraft/home/recipes/edit/{id}")
     public String showUserEditRecipeForm(@PathVariable Long id, Model model) {
 
-        RecipeDto recipe = internalApiClient
-                .get()
-                .uri(RECIPE_ID_URI, id)
-                .retrieve()
-                .body(RecipeDto.class);
+        RecipeDto recipe = apiGateway.getRecipe(id);
 
         model.addAttribute(RECIPE, recipe);
         model.addAttribute(TITLE, "Edit your own recipe");
@@ -209,26 +195,17 @@ public class HomeWebController {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
+        Long userId = currentUserId(auth, userService);
         model.addAttribute(USERNAME, username);
-        addShoppingItemsToModel(model, username);
+        addShoppingItemsToModel(model, userId);
         return "home";
     }
 
     @GetMapping("/mealcraft/home/products/edit/{id}")
     public String showEditProductForm(@PathVariable Long id, Model model) {
 
-        ProductDto product = internalApiClient
-                .get()
-                .uri(PRODUCT_ID_URI, id)
-                .retrieve()
-                .body(ProductDto.class);
-
-        List<UnitDto> units = internalApiClient
-                .get()
-                .uri(UNITS_URI)
-                .retrieve()
-                .body(new ParameterizedTypeReference<List<UnitDto>>() {
-                });
+        ProductDto product = apiGateway.getProduct(id);
+        List<UnitDto> units = apiGateway.getUnits();
 
         model.addAttribute(PRODUCT_MODEL_ATTR, product);
         model.addAttribute(UNITS_MODEL_ATTR, units);
@@ -237,8 +214,9 @@ public class HomeWebController {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
+        Long userId = currentUserId(auth, userService);
         model.addAttribute(USERNAME, username);
-        addShoppingItemsToModel(model, username);
+        addShoppingItemsToModel(model, userId);
         return "home";
     }
 
@@ -251,23 +229,14 @@ public class HomeWebController {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
-        recipeDto.setOwnerUserId(userService.getUserByUsername(username).id());
+        Long userId = currentUserId(auth, userService);
+        recipeDto.setOwnerUserId(userId);
 
         try {
             if (recipeDto.getId() == null) {
-                internalApiClient
-                        .post()
-                        .uri(RECIPE_URI)
-                        .body(recipeDto)
-                        .retrieve()
-                        .toBodilessEntity();
+                apiGateway.createRecipe(recipeDto);
             } else {
-                internalApiClient
-                        .put()
-                        .uri(RECIPE_ID_URI, recipeDto.getId())
-                        .body(recipeDto)
-                        .retrieve()
-                        .toBodilessEntity();
+                apiGateway.updateRecipe(recipeDto.getId(), recipeDto);
             }
 
             return REDIRECT_HOME_PAGE;
@@ -288,7 +257,7 @@ public class HomeWebController {
             model.addAttribute(FRAGMENT_TO_LOAD, RECIPE_FORM_FRAGMENT);
 
             model.addAttribute(USERNAME, username);
-            addShoppingItemsToModel(model, username);
+            addShoppingItemsToModel(model, userId);
             model.addAttribute(ERROR_MESSAGE, message);
             return "home";
         }
@@ -300,35 +269,21 @@ public class HomeWebController {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
-        productDto.setOwnerUserId(userService.getUserByUsername(username).id());
+        Long userId = currentUserId(auth, userService);
+        productDto.setOwnerUserId(userId);
 
         try {
             if (productDto.getId() == null) {
-                internalApiClient
-                        .post()
-                        .uri(PRODUCTS_URI)
-                        .body(productDto)
-                        .retrieve()
-                        .toBodilessEntity();
+                apiGateway.createProduct(productDto);
             } else {
-                internalApiClient
-                        .put()
-                        .uri(PRODUCT_ID_URI, productDto.getId())
-                        .body(productDto)
-                        .retrieve()
-                        .toBodilessEntity();
+                apiGateway.updateProduct(productDto.getId(), productDto);
             }
             return REDIRECT_PRODUCTS_URI;
 
         } catch (HttpClientErrorException e) {
 
             if (e.getStatusCode() == HttpStatus.CONFLICT) {
-                List<UnitDto> units = internalApiClient
-                        .get()
-                        .uri(UNITS_URI)
-                        .retrieve()
-                        .body(new ParameterizedTypeReference<List<UnitDto>>() {
-                        });
+                List<UnitDto> units = apiGateway.getUnits();
 
                 model.addAttribute(PRODUCT_MODEL_ATTR, productDto);
                 model.addAttribute(UNITS_MODEL_ATTR, units);
@@ -336,7 +291,7 @@ public class HomeWebController {
                 model.addAttribute(FRAGMENT_TO_LOAD, PRODUCT_FORM_FRAGMENT);
 
                 model.addAttribute(USERNAME, username);
-                addShoppingItemsToModel(model, username);
+                addShoppingItemsToModel(model, userId);
                 model.addAttribute(ERROR_MESSAGE, "Product with this name already exists");
                 return "home";
             }
@@ -351,29 +306,21 @@ public class HomeWebController {
         String username = auth.getName();
 
         try {
-            internalApiClient
-                    .delete()
-                    .uri(RECIPE_ID_URI, id)
-                    .retrieve()
-                    .toBodilessEntity();
+            apiGateway.deleteRecipe(id);
 
             return REDIRECT_RECIPE_PAGE;
 
         } catch (RestClientResponseException ex) {
+            Long userId = currentUserId(auth, userService);
             String body = ex.getResponseBodyAsString();
             String message = !body.isBlank()
                     ? body
                     : "Failed to delete recipe: " + ex.getStatusCode();
 
-            ResponseEntity<List<RecipeDto>> response = internalApiClient.get()
-                    .uri(RECIPE_URI)
-                    .retrieve()
-                    .toEntity(new ParameterizedTypeReference<List<RecipeDto>>() {});
-
-            List<RecipeDto> data = response.getBody();
+            List<RecipeDto> data = apiGateway.getRecipes();
             List<RecipeDto> recipes = new ArrayList<>();
             if(data != null) {
-                recipes = data.stream().filter(r -> r.getOwnerUserId()!=null && r.getOwnerUserId().equals(userService.getUserByUsername(username).id()))
+                recipes = data.stream().filter(r -> r.getOwnerUserId()!=null && r.getOwnerUserId().equals(userId))
                         .toList();
             }
             model.addAttribute("data", recipes);
@@ -383,7 +330,7 @@ public class HomeWebController {
 
 
             model.addAttribute(USERNAME, username);
-            addShoppingItemsToModel(model, username);
+            addShoppingItemsToModel(model, userId);
             model.addAttribute(ERROR_MESSAGE, message);
             return "home";
         }
@@ -396,24 +343,14 @@ public class HomeWebController {
         String username = auth.getName();
 
         try {
-            internalApiClient
-                    .delete()
-                    .uri(PRODUCT_ID_URI, id)
-                    .retrieve()
-                    .toBodilessEntity();
+            apiGateway.deleteProduct(id);
 
             return REDIRECT_PRODUCTS_URI;
 
         } catch (HttpClientErrorException e) {
+            Long userId = currentUserId(auth, userService);
             String message = e.getResponseBodyAsString();
-            ResponseEntity<List<ProductDto>> response = internalApiClient
-                    .get()
-                    .uri(PRODUCTS_URI)
-                    .retrieve()
-                    .toEntity(new ParameterizedTypeReference<List<ProductDto>>() {
-                    });
-
-            List<ProductDto> data = response.getBody();
+            List<ProductDto> data = apiGateway.getProducts();
 
             model.addAttribute("data", data);
             model.addAttribute(ERROR_MESSAGE, message);
@@ -421,7 +358,7 @@ public class HomeWebController {
             model.addAttribute(TITLE, "Products");
 
             model.addAttribute(USERNAME, username);
-            addShoppingItemsToModel(model, username);
+            addShoppingItemsToModel(model, userId);
             model.addAttribute(ERROR_MESSAGE, message);
             return "home";
         }
@@ -429,11 +366,7 @@ public class HomeWebController {
 
     @GetMapping("/mealcraft/home/recipes/view/{id}")
     public String viewRecipe(@PathVariable Long id, Model model) {
-        RecipeDto recipe = internalApiClient
-                .get()
-                .uri(RECIPE_ID_URI, id)
-                .retrieve()
-                .body(RecipeDto.class);
+        RecipeDto recipe = apiGateway.getRecipe(id);
 
         model.addAttribute(RECIPE, recipe);
         model.addAttribute(TITLE, "Recipe details");
@@ -441,8 +374,9 @@ public class HomeWebController {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
+        Long userId = currentUserId(auth, userService);
         model.addAttribute(USERNAME, username);
-        addShoppingItemsToModel(model, username);
+        addShoppingItemsToModel(model, userId);
         return "home";
     }
 
@@ -450,10 +384,7 @@ public class HomeWebController {
     @PostMapping("/mealcraft/shopping/toggle")
     public String toggleChecked(@RequestParam Long id) {
 
-        internalApiClient.patch()
-                .uri("/shopping-items/toggle/{id}", id)
-                .retrieve()
-                .toBodilessEntity();
+        apiGateway.toggleShoppingItem(id);
         return REDIRECT_HOME_PAGE;
     }
 
@@ -472,21 +403,18 @@ public class HomeWebController {
         }
 
         String username = auth.getName();
+        Long userId = currentUserId(auth, userService);
         model.addAttribute(USERNAME, username);
         model.addAttribute(TITLE, "MealCraft — Recipe Craft");
         model.addAttribute(FRAGMENT_TO_LOAD, "craft-page :: content");
 
-        addShoppingItemsToModel(model, username);
+        addShoppingItemsToModel(model, userId);
         return "home";
     }
 
-    private void putAtSlot(List<EventCell> list, int slot, EventCell cell) {
-        while (list.size() <= slot) {
-            list.add(null);
-        }
-        list.set(slot, cell);
-    }
-
+    /**
+     * Id of the signed-in user, taken from the principal set up by the JWT filter when there is one.
+     */
     private void addMonthCalendarToModel(Model model, LocalDate month) {
 
         LocalDate now = (month != null) ? month : LocalDate.now();
@@ -521,77 +449,25 @@ public class HomeWebController {
         model.addAttribute("weeks", weeks);
     }
 
-    private void addShoppingItemsToModel(Model model, String username) {
-        ResponseEntity<List<ShoppingItemDto>> response = internalApiClient.get()
-                .uri("/shopping-items/getUserShoppingItems/{id}", userService.getUserByUsername(username).id())
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<>() {
-                });
-
-        List<ShoppingItemDto> shoppingItems = response.getBody();
-        model.addAttribute("shoppingItems", shoppingItems);
+    private void addShoppingItemsToModel(Model model, Long userId) {
+        List<ShoppingItemDto> shoppingItems = apiGateway.getUserShoppingItems(userId);
+        model.addAttribute(SHOPPING_ITEMS, shoppingItems);
     }
 
-    private void addCalendarMealPlansToModel(Model model, String username) {
-
-        ResponseEntity<List<MealPlanDto>> responseMeals = internalApiClient.get()
-                .uri("/meal-plans/user/{id}", userService.getUserByUsername(username).id())
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<>() {
-                });
-        List<MealPlanDto> events = responseMeals.getBody();
-        Map<LocalDate, ArrayList<EventCell>> dayEventMap = new TreeMap<>();
-
-        if (events != null) {
-            events.sort(Comparator.comparing(MealPlanDto::getPlanDate));
-
-            for (MealPlanDto ev : events) {
-                Date date = ev.getPlanDate();
-                LocalDate start = date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-                LocalDate end = start.plusDays(ev.getServings() - 1L);
-                int slot = 0;
-                boolean foundSlot = false;
-                for (LocalDate i = start; i.isBefore(end) || i.isEqual(end); i = i.plusDays(1)) {
-                    dayEventMap.computeIfAbsent(i, k -> new ArrayList<>());
-                    if (!foundSlot) {
-                        slot = dayEventMap.get(i).size();
-                        foundSlot = true;
-                    }
-                    putAtSlot(dayEventMap.get(i), slot, new EventCell(i.isEqual(start), i.isEqual(end), ev.getName(), slot, ev.getColor()));
-                }
-            }
-        }
+    private PagePart shoppingItemsPart(Long userId) {
+        return PagePart.of("shopping items", m -> addShoppingItemsToModel(m, userId))
+                .orElse(m -> m.addAttribute(SHOPPING_ITEMS, List.of()));
+    }
 
-        model.addAttribute("dayEventMap", dayEventMap);
+    private void addCalendarMealPlansToModel(Model model, Long userId, LocalDate month) {
+        YearMonth shownMonth = (month != null) ? YearMonth.from(month) : YearMonth.now();
+        model.addAttribute("dayEventMap", apiGateway.getUserMonthLayout(userId, shownMonth));
     }
 
-    private void addPageMealPlansToModel(Model model, String username, LocalDate day) {
-        ResponseEntity<List<MealPlanDto>> responseMeals = internalApiClient.get()
-                .uri("/meal-plans/user/{id}", userService.getUserByUsername(username).id())
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<>() {
-                });
-
-        List<MealPlanDto> events = responseMeals.getBody();
-        Map<LocalDate, ArrayList<MealPlanDto>> dayEventMapForDay = new TreeMap<>();
-
-        if (events != null) {
-            events.sort(Comparator.comparing(MealPlanDto::getPlanDate));
-
-            for (MealPlanDto ev : events) {
-                Date date = ev.getPlanDate();
-                LocalDate start = date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-                LocalDate end = start.plusDays(ev.getServings()-1L);
-                for (LocalDate i = start; i.isBefore(end) || i.isEqual(end); i = i.plusDays(1)) {
-                    dayEventMapForDay.computeIfAbsent(i, k -> new ArrayList<>());
-                    dayEventMapForDay.get(i).add(ev);
-                }
-            }
-        }
+    private void addPageMealPlansToModel(Model model, Long userId, LocalDate day) {
+        Map<LocalDate, List<MealPlanDto>> dayEventMapForDay = Map.of(day, apiGateway.getUserMealPlansOn(userId, day));
 
         model.addAttribute("dayEventMapForDay", dayEventMapForDay);
-        Date d = Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
-        model.addAttribute("dayDate", d);
     }
 
 }
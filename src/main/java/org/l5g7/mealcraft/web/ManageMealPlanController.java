@@ -6,26 +6,25 @@ import org.l5g7.mealcraft.app.shoppingitem.ShoppingItemDto;
 import org.l5g7.mealcraft.app.user.UserService;
 import org.l5g7.mealcraft.enums.MealPlanColor;
 import org.l5g7.mealcraft.enums.MealStatus;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.ParameterizedTypeReference;
+import org.l5g7.mealcraft.web.gateway.ApiGateway;
 import org.springframework.format.annotation.DateTimeFormat;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientResponseException;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.*;
 
+import static org.l5g7.mealcraft.app.auth.security.CurrentUserId.currentUserId;
+
 @Controller
 @RequestMapping("/mealcraft/meals")
 public class ManageMealPlanController {
-    private final RestClient internalApiClient;
+    private final ApiGateway apiGateway;
     private final UserService userService;
     private static final String TITLE = "title";
     private static final String USERNAME = "username";
@@ -34,14 +33,13 @@ public class ManageMealPlanController {
     private static final String HOME_PAGE = "home";
     private static final String REDIRECT_HOME_PAGE = "redirect:/mealcraft/home";
     private static final String MEAL_PLAN_FORM_FRAGMENT = "fragments/meal-plan-form :: content";
-    private static final String MEAL_PLAN_ID_URI        = "/meal-plans/{id}";
 
     private static final String PLAN_YOUR_MEAL = "Plan your meal";
     private static final String MEAL_COLORS = "mealColors";
 
 
-    public ManageMealPlanController(@Qualifier("internalApiClient") RestClient internalApiClient, UserService userService) {
-        this.internalApiClient = internalApiClient;
+    public ManageMealPlanController(ApiGateway apiGateway, UserService userService) {
+        this.apiGateway = apiGateway;
         this.userService = userService;
     }
 
@@ -50,6 +48,7 @@ public class ManageMealPlanController {
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
+        Long userId = currentUserId(auth, userService);
 
         MealPlanDto mealPlanDto = new MealPlanDto();
         mealPlanDto.setServings(1);
@@ -57,7 +56,7 @@ public class ManageMealPlanController {
         Date d = Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
         mealPlanDto.setPlanDate(d);
         mealPlanDto.setStatus(MealStatus.PLANNED);
-        mealPlanDto.setUserOwnerId(userService.getUserByUsername(username).id());
+        mealPlanDto.setUserOwnerId(userId);
 
 
         addRecipeListToModel(model);
@@ -66,7 +65,7 @@ public class ManageMealPlanController {
         model.addAttribute(TITLE, PLAN_YOUR_MEAL);
         model.addAttribute(FRAGMENT_TO_LOAD, MEAL_PLAN_FORM_FRAGMENT);
         model.addAttribute(USERNAME, username);
-        addShoppingItemsToModel(model, username);
+        addShoppingItemsToModel(model, userId);
 
         return HOME_PAGE;
     }
@@ -76,13 +75,7 @@ public class ManageMealPlanController {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String username = auth.getName();
 
-        ResponseEntity<MealPlanDto> response = internalApiClient.get()
-                .uri(MEAL_PLAN_ID_URI, id)
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<>() {
-                });
-
-        MealPlanDto mealPlanDto = response.getBody();
+        MealPlanDto mealPlanDto = apiGateway.getMealPlan(id);
 
         addRecipeListToModel(model);
         model.addAttribute(MEAL_COLORS, MealPlanColor.values());
@@ -91,7 +84,7 @@ public class ManageMealPlanController {
         model.addAttribute(FRAGMENT_TO_LOAD, MEAL_PLAN_FORM_FRAGMENT);
 
         model.addAttribute(USERNAME, username);
-        addShoppingItemsToModel(model, username);
+        addShoppingItemsToModel(model, currentUserId(auth, userService));
 
         return HOME_PAGE;
     }
@@ -101,19 +94,9 @@ public class ManageMealPlanController {
 
         try {
             if (mealPlanDto.getId() == null) {
-                internalApiClient
-                        .post()
-                        .uri("/meal-plans")
-                        .body(mealPlanDto)
-                        .retrieve()
-                        .toBodilessEntity();
+                apiGateway.createMealPlan(mealPlanDto);
             } else {
-                internalApiClient
-                        .put()
-                        .uri(MEAL_PLAN_ID_URI, mealPlanDto.getId())
-                        .body(mealPlanDto)
-                        .retrieve()
-                        .toBodilessEntity();
+                apiGateway.updateMealPlan(mealPlanDto.getId(), mealPlanDto);
             }
             return REDIRECT_HOME_PAGE;
 
@@ -137,31 +120,21 @@ public class ManageMealPlanController {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
             String username = auth.getName();
             model.addAttribute(USERNAME, username);
-            addShoppingItemsToModel(model, username);
+            addShoppingItemsToModel(model, currentUserId(auth, userService));
             return HOME_PAGE;
         }
     }
 
     @GetMapping("/delete/{id}")
     public String deleteMealPlan(@PathVariable Long id) {
-        internalApiClient
-                .delete()
-                .uri(MEAL_PLAN_ID_URI, id)
-                .retrieve()
-                .toBodilessEntity();
+        apiGateway.deleteMealPlan(id);
 
         return REDIRECT_HOME_PAGE;
     }
 
     private void addRecipeListToModel(Model model) {
 
-        ResponseEntity<List<RecipeDto>> response = internalApiClient.get()
-                .uri("/recipes")
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<>() {
-                });
-
-        List<RecipeDto> recipes = response.getBody();
+        List<RecipeDto> recipes = apiGateway.getRecipes();
 
         assert recipes != null;
         List<Map<String, Object>> recipeList = recipes.stream()
@@ -176,14 +149,8 @@ public class ManageMealPlanController {
         model.addAttribute("recipeList", recipeList);
     }
 
-    public void addShoppingItemsToModel(Model model, String username) {
-        ResponseEntity<List<ShoppingItemDto>> response = internalApiClient.get()
-                .uri("/shopping-items/getUserShoppingItems/{id}", userService.getUserByUsername(username).id())
-                .retrieve()
-                .toEntity(new ParameterizedTypeReference<>() {
-                });
-
-        List<ShoppingItemDto> shoppingItems = response.getBody();
+    public void addShoppingItemsToModel(Model model, Long userId) {
+        List<ShoppingItemDto> shoppingItems = apiGateway.getUserShoppingItems(userId);
         model.addAttribute("shoppingItems", shoppingItems);
     }
 
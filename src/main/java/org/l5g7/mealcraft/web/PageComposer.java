@@ -0,0 +1,125 @@
+package org.l5g7.mealcraft.web;
+
+import org.l5g7.mealcraft.logging.LogUtils;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.ui.Model;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills the independent parts of a page model at the same time, so a page takes about as long as its slowest
+ * part rather than the sum of all of them.
+ * <p>
+ * Parts run on a bounded pool with the caller's security context, MDC and request attributes. Each part's
+ * attributes are merged into the page model on the calling thread once it completes. A part that fails or
+ * outlives its timeout is logged and replaced by its fallback; the page is rendered with the other parts as usual.
+ * When the pool is saturated, parts run on the calling thread instead.
+ */
+@Component
+public class PageComposer implements AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration defaultTimeout;
+
+    public PageComposer(@Value("${mealcraft.web.page-parts.threads:8}") int threads,
+                        @Value("${mealcraft.web.page-parts.timeout:2s}") Duration defaultTimeout) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(threads * 16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "page-part-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public void compose(Model model, PagePart... parts) {
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        long start = System.nanoTime();
+
+        List<Future<Model>> futures = new ArrayList<>(parts.length);
+        for (PagePart part : parts) {
+            futures.add(executor.submit(() -> contribute(part, securityContext, mdc, requestAttributes)));
+        }
+
+        for (int i = 0; i < parts.length; i++) {
+            PagePart part = parts[i];
+            Future<Model> future = futures.get(i);
+            Duration timeout = part.timeout() != null ? part.timeout() : defaultTimeout;
+            long remaining = start + timeout.toNanos() - System.nanoTime();
+            try {
+                model.addAllAttributes(future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS).asMap());
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                LogUtils.logWarn("Page part '" + part.name() + "' timed out after " + timeout.toMillis() + " ms");
+                part.fallback().accept(model);
+            } catch (ExecutionException e) {
+                LogUtils.logWarn("Page part '" + part.name() + "' failed: " + e.getCause());
+                part.fallback().accept(model);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                part.fallback().accept(model);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs a part with the caller's context, restoring whatever the running thread had before, which matters
+     * when the pool is full and the part runs on the caller's own thread.
+     */
+    private static Model contribute(PagePart part, SecurityContext securityContext, Map<String, String> mdc,
+                                    RequestAttributes requestAttributes) {
+        SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+        Map<String, String> previousMdc = MDC.getCopyOfContextMap();
+        RequestAttributes previousRequestAttributes = RequestContextHolder.getRequestAttributes();
+
+        SecurityContextHolder.setContext(securityContext);
+        setMdc(mdc);
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+        try {
+            Model partModel = new ExtendedModelMap();
+            part.contributor().accept(partModel);
+            return partModel;
+        } finally {
+            SecurityContextHolder.setContext(previousSecurityContext);
+            setMdc(previousMdc);
+            RequestContextHolder.setRequestAttributes(previousRequestAttributes);
+        }
+    }
+
+    private static void setMdc(Map<String, String> contextMap) {
+        if (contextMap != null) {
+            MDC.setContextMap(contextMap);
+        } else {
+            MDC.clear();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.l5g7.mealcraft.web;
+
+import org.springframework.ui.Model;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * One independent piece of a page model, filled in by {@link PageComposer} alongside the others.
+ * The contributor writes into a model of its own; when it fails or runs past its timeout, the fallback
+ * writes into the page model instead, so the template still finds the attributes it expects.
+ */
+public record PagePart(String name, Consumer<Model> contributor, Consumer<Model> fallback, Duration timeout) {
+
+    public static PagePart of(String name, Consumer<Model> contributor) {
+        return new PagePart(name, contributor, model -> { }, null);
+    }
+
+    public PagePart orElse(Consumer<Model> fallback) {
+        return new PagePart(name, contributor, fallback, timeout);
+    }
+
+    public PagePart within(Duration timeout) {
+        return new PagePart(name, contributor, fallback, timeout);
+    }
+}
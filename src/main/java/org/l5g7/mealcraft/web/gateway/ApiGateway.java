@@ -0,0 +1,340 @@
+package org.l5g7.mealcraft.web.gateway;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.l5g7.mealcraft.app.mealplan.EventCell;
+import org.l5g7.mealcraft.app.mealplan.MealPlanCalendarService;
+import org.l5g7.mealcraft.app.mealplan.MealPlanDto;
+import org.l5g7.mealcraft.app.mealplan.MealPlanService;
+import org.l5g7.mealcraft.app.paging.CursorPage;
+import org.l5g7.mealcraft.app.products.ProductDto;
+import org.l5g7.mealcraft.app.products.ProductService;
+import org.l5g7.mealcraft.app.recipes.ExternalRecipeParser;
+import org.l5g7.mealcraft.app.recipes.RecipeDto;
+import org.l5g7.mealcraft.app.recipes.RecipeService;
+import org.l5g7.mealcraft.app.recipes.RecipeSummaryDto;
+import org.l5g7.mealcraft.app.shoppingitem.ShoppingItemDto;
+import org.l5g7.mealcraft.app.shoppingitem.ShoppingItemService;
+import org.l5g7.mealcraft.app.statistics.DailyStats;
+import org.l5g7.mealcraft.app.statistics.StatisticsController;
+import org.l5g7.mealcraft.app.units.UnitCreateDto;
+import org.l5g7.mealcraft.app.units.UnitDto;
+import org.l5g7.mealcraft.app.units.UnitService;
+import org.l5g7.mealcraft.app.units.UnitUpdateDto;
+import org.l5g7.mealcraft.app.user.UserResponseDto;
+import org.l5g7.mealcraft.app.user.UserService;
+import org.l5g7.mealcraft.exception.EntityAlreadyExistsException;
+import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
+import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.ExternalRecipe;
+import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.RecipeProvider;
+import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.RecipeProviderUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * In-process replacement for the loopback {@code internalApiClient} used by the Thymeleaf controllers.
+ * Calls the services directly on the request thread, so the caller's security context applies as is,
+ * and reports failures as {@link RestClientResponseException}s with the same status and body
+ * {@code GlobalExceptionHandler} would have produced for the REST endpoint.
+ */
+@Component
+public class ApiGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiGateway.class);
+
+    private final RecipeService recipeService;
+    private final ProductService productService;
+    private final UnitService unitService;
+    private final ShoppingItemService shoppingItemService;
+    private final MealPlanService mealPlanService;
+    private final MealPlanCalendarService mealPlanCalendarService;
+    private final UserService userService;
+    private final StatisticsController statisticsController;
+    private final RecipeProvider recipeProvider;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    public ApiGateway(RecipeService recipeService,
+                      ProductService productService,
+                      UnitService unitService,
+                      ShoppingItemService shoppingItemService,
+                      MealPlanService mealPlanService,
+                      MealPlanCalendarService mealPlanCalendarService,
+                      UserService userService,
+                      StatisticsController statisticsController,
+                      RecipeProvider recipeProvider,
+                      Validator validator,
+                      ObjectMapper objectMapper) {
+        this.recipeService = recipeService;
+        this.productService = productService;
+        this.unitService = unitService;
+        this.shoppingItemService = shoppingItemService;
+        this.mealPlanService = mealPlanService;
+        this.mealPlanCalendarService = mealPlanCalendarService;
+        this.userService = userService;
+        this.statisticsController = statisticsController;
+        this.recipeProvider = recipeProvider;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    public List<RecipeDto> getRecipes() {
+        return call(recipeService::getAllRecipes);
+    }
+
+    public CursorPage<RecipeSummaryDto> getRecipeSummaries(String cursor, int limit) {
+        return call(() -> recipeService.getRecipeSummaries(cursor, limit));
+    }
+
+    public RecipeDto getRecipe(Long id) {
+        return call(() -> recipeService.getRecipeById(id));
+    }
+
+    public void createRecipe(RecipeDto recipe) {
+        run(() -> {
+            validate(recipe);
+            recipeService.createRecipe(recipe);
+        });
+    }
+
+    public void updateRecipe(Long id, RecipeDto recipe) {
+        run(() -> {
+            validate(recipe);
+            recipeService.updateRecipe(id, recipe);
+        });
+    }
+
+    public void deleteRecipe(Long id) {
+        run(() -> recipeService.deleteRecipeById(id));
+    }
+
+    public RecipeDto getExternalRandomRecipe() {
+        return call(() -> ExternalRecipeParser.toRecipeDto(recipeProvider.getRandomRecipe()));
+    }
+
+    public List<ExternalRecipe> getExternalRandomRecipes(int count) {
+        return call(() -> recipeProvider.getRandomRecipes(count));
+    }
+
+    public RecipeDto getExternalRecipe(String sourceId) {
+        return call(() -> recipeProvider.getRecipesByIds(List.of(sourceId)).stream()
+                .findFirst()
+                .map(ExternalRecipeParser::toRecipeDto)
+                .orElseThrow(() -> new EntityDoesNotExistException("External recipe", sourceId)));
+    }
+
+    public void importRecipe(RecipeDto recipe) {
+        run(() -> recipeService.importRecipe(recipe));
+    }
+
+    public List<ProductDto> getProducts() {
+        return call(productService::getAllProducts);
+    }
+
+    public CursorPage<ProductDto> getProductsPage(String cursor, int limit) {
+        return call(() -> productService.getProductsPage(cursor, limit));
+    }
+
+    public ProductDto getProduct(Long id) {
+        return call(() -> productService.getProductById(id));
+    }
+
+    public void createProduct(ProductDto product) {
+        run(() -> {
+            validate(product);
+            productService.createProduct(product);
+        });
+    }
+
+    public void updateProduct(Long id, ProductDto product) {
+        run(() -> {
+            validate(product);
+            productService.updateProduct(id, product);
+        });
+    }
+
+    public void deleteProduct(Long id) {
+        run(() -> productService.deleteProductById(id));
+    }
+
+    public List<ProductDto> searchProducts(String prefix) {
+        return call(() -> productService.searchProductsByPrefix(prefix));
+    }
+
+    public List<UnitDto> getUnits() {
+        return call(unitService::getAllUnits);
+    }
+
+    public UnitDto getUnit(Long id) {
+        return call(() -> unitService.getUnitById(id));
+    }
+
+    public void createUnit(UnitCreateDto unit) {
+        run(() -> {
+            validate(unit);
+            unitService.createUnit(unit);
+        });
+    }
+
+    public void updateUnit(Long id, UnitUpdateDto unit) {
+        run(() -> {
+            validate(unit);
+            unitService.updateUnit(id, unit);
+        });
+    }
+
+    public void deleteUnit(Long id) {
+        run(() -> unitService.deleteUnit(id));
+    }
+
+    public List<UnitDto> searchUnits(String prefix) {
+        return call(() -> unitService.searchUnitsByPrefix(prefix));
+    }
+
+    public List<ShoppingItemDto> getUserShoppingItems(Long userId) {
+        return call(() -> shoppingItemService.getUserShoppingItems(userId));
+    }
+
+    public void toggleShoppingItem(Long id) {
+        run(() -> shoppingItemService.toggleStatus(id));
+    }
+
+    public MealPlanDto getMealPlan(Long id) {
+        return call(() -> mealPlanService.getMealPlanById(id));
+    }
+
+    public List<MealPlanDto> getUserMealPlans(Long userId) {
+        return call(() -> mealPlanService.getUserMealPlans(userId));
+    }
+
+    public Map<LocalDate, List<EventCell>> getUserMonthLayout(Long userId, YearMonth month) {
+        return call(() -> mealPlanCalendarService.getUserMonthLayout(userId, month));
+    }
+
+    public List<MealPlanDto> getUserMealPlansOn(Long userId, LocalDate day) {
+        return call(() -> mealPlanCalendarService.getUserMealPlansOn(userId, day));
+    }
+
+    public void createMealPlan(MealPlanDto mealPlan) {
+        run(() -> {
+            validate(mealPlan);
+            mealPlanService.createMealPlan(mealPlan);
+        });
+    }
+
+    public void updateMealPlan(Long id, MealPlanDto mealPlan) {
+        run(() -> {
+            validate(mealPlan);
+            mealPlanService.updateMealPlan(id, mealPlan);
+        });
+    }
+
+    public void deleteMealPlan(Long id) {
+        run(() -> mealPlanService.deleteMealPlan(id));
+    }
+
+    public List<UserResponseDto> getUsers() {
+        return call(userService::getAllUsers);
+    }
+
+    public CursorPage<UserResponseDto> getUsersPage(String cursor, int limit) {
+        return call(() -> userService.getUsersPage(cursor, limit));
+    }
+
+    public List<DailyStats> getStatistics(String day) {
+        return call(() -> unwrap(statisticsController.getStats(day)));
+    }
+
+    public void recalculateStatistics(String day) {
+        run(() -> {
+            try {
+                unwrap(statisticsController.recalculateStats(day));
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        });
+    }
+
+    private <T> T unwrap(ResponseEntity<T> response) {
+        if (response.getStatusCode().isError()) {
+            throw responseError(response.getStatusCode(), null);
+        }
+        return response.getBody();
+    }
+
+    private void validate(Object dto) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return;
+        }
+
+        List<String> errors = violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .toList();
+        try {
+            throw responseError(HttpStatus.BAD_REQUEST, objectMapper.writeValueAsString(Map.of("errors", errors)));
+        } catch (JsonProcessingException e) {
+            throw responseError(HttpStatus.BAD_REQUEST, String.join(", ", errors));
+        }
+    }
+
+    private void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T call(Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (RestClientResponseException | AccessDeniedException e) {
+            throw e;
+        } catch (EntityAlreadyExistsException e) {
+            throw responseError(HttpStatus.CONFLICT, e.getMessage());
+        } catch (EntityDoesNotExistException e) {
+            throw responseError(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw responseError(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (RecipeProviderUnavailableException e) {
+            throw responseError(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        } catch (ResponseStatusException e) {
+            throw responseError(e.getStatusCode(), e.getReason());
+        } catch (RuntimeException e) {
+            log.error("Unhandled exception in web gateway call: {}", e.getMessage(), e);
+            throw responseError(HttpStatus.INTERNAL_SERVER_ERROR, null);
+        }
+    }
+
+    private RestClientResponseException responseError(HttpStatusCode status, String body) {
+        byte[] bytes = body != null ? body.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        String statusText = status instanceof HttpStatus httpStatus ? httpStatus.getReasonPhrase() : "";
+
+        if (status.is4xxClientError()) {
+            return HttpClientErrorException.create(status, statusText, new HttpHeaders(), bytes, StandardCharsets.UTF_8);
+        }
+        return HttpServerErrorException.create(status, statusText, new HttpHeaders(), bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -4,8 +4,11 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.l5g7.mealcraft.app.ratelimit.InMemoryRateLimitStore;
+import org.l5g7.mealcraft.app.ratelimit.RateLimitStore;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -30,6 +33,9 @@ class LogInLimitAspectTest {
     @Mock
     private PrintWriter printWriter;
 
+    @Spy
+    private RateLimitStore rateLimitStore = new InMemoryRateLimitStore(100);
+
     @InjectMocks
     private LogInLimitAspect logInLimitAspect;
 
@@ -3,6 +3,7 @@ package org.l5g7.mealcraft.app.aop.loginaspect;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.l5g7.mealcraft.app.ratelimit.InMemoryRateLimitStore;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -23,7 +24,7 @@ class WriteLogLimitExceededResponseEdgeCaseTest {
     @Test
     void writeLogLimitExceededResponse_nullResponseHandling() throws Exception {
         // Arrange
-        LogInLimitAspect aspect = new LogInLimitAspect();
+        LogInLimitAspect aspect = new LogInLimitAspect(new InMemoryRateLimitStore(100));
         ServletRequestAttributes attrs = mock(ServletRequestAttributes.class);
         when(attrs.getResponse()).thenReturn(null);
 
@@ -50,7 +51,7 @@ class WriteLogLimitExceededResponseEdgeCaseTest {
     @Test
     void writeLogLimitExceededResponse_writerGetterThrowsException() throws Exception {
         // Arrange
-        LogInLimitAspect aspect = new LogInLimitAspect();
+        LogInLimitAspect aspect = new LogInLimitAspect(new InMemoryRateLimitStore(100));
         ServletRequestAttributes attrs = mock(ServletRequestAttributes.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
 
@@ -76,7 +77,7 @@ class WriteLogLimitExceededResponseEdgeCaseTest {
     @Test
     void writeLogLimitExceededResponse_writerWriteThrowsException() throws Exception {
         // Arrange
-        LogInLimitAspect aspect = new LogInLimitAspect();
+        LogInLimitAspect aspect = new LogInLimitAspect(new InMemoryRateLimitStore(100));
         ServletRequestAttributes attrs = mock(ServletRequestAttributes.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
         PrintWriter writer = mock(PrintWriter.class);
@@ -99,7 +100,7 @@ class WriteLogLimitExceededResponseEdgeCaseTest {
     @Test
     void writeLogLimitExceededResponse_writerFlushThrowsException() throws Exception {
         // Arrange
-        LogInLimitAspect aspect = new LogInLimitAspect();
+        LogInLimitAspect aspect = new LogInLimitAspect(new InMemoryRateLimitStore(100));
         ServletRequestAttributes attrs = mock(ServletRequestAttributes.class);
         HttpServletResponse response = mock(HttpServletResponse.class);
         PrintWriter writer = mock(PrintWriter.class);
@@ -0,0 +1,81 @@
+package org.l5g7.mealcraft.app.caching;
+
+import org.junit.jupiter.api.Test;
+import org.l5g7.mealcraft.app.auth.security.AuthenticatedUser;
+import org.l5g7.mealcraft.enums.Role;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AggregateVersionsTest {
+
+    private final AggregateVersions aggregateVersions = new AggregateVersions();
+
+    @Test
+    void bump_incrementsOnlyNamedAggregates() {
+        aggregateVersions.bump(AggregateVersions.PRODUCTS, AggregateVersions.shoppingItemsOf(1L));
+
+        assertEquals(1, aggregateVersions.version(AggregateVersions.PRODUCTS));
+        assertEquals(1, aggregateVersions.version(AggregateVersions.shoppingItemsOf(1L)));
+        assertEquals(0, aggregateVersions.version(AggregateVersions.shoppingItemsOf(2L)));
+    }
+
+    @Test
+    void bump_insideTransaction_bumpsAgainAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            aggregateVersions.bump(AggregateVersions.UNITS);
+            assertEquals(1, aggregateVersions.version(AggregateVersions.UNITS));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(2, aggregateVersions.version(AggregateVersions.UNITS));
+    }
+
+    @Test
+    void notModified_matchingTag_answers304() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertFalse(aggregateVersions.notModified(request(null, first), AggregateVersions.RECIPES));
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/recipes");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        assertTrue(aggregateVersions.notModified(new ServletWebRequest(conditional, second), AggregateVersions.RECIPES));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), second.getStatus());
+        assertEquals("no-cache, private", second.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void notModified_tagsDifferPerCaller() {
+        MockHttpServletResponse admin = new MockHttpServletResponse();
+        MockHttpServletResponse user = new MockHttpServletResponse();
+
+        aggregateVersions.notModified(request(new AuthenticatedUser(1L, "admin", Role.ADMIN), admin),
+                AggregateVersions.PRODUCTS);
+        aggregateVersions.notModified(request(new AuthenticatedUser(2L, "user", Role.USER), user),
+                AggregateVersions.PRODUCTS);
+
+        assertNotNull(admin.getHeader(HttpHeaders.ETAG));
+        assertNotEquals(admin.getHeader(HttpHeaders.ETAG), user.getHeader(HttpHeaders.ETAG));
+    }
+
+    private static ServletWebRequest request(AuthenticatedUser principal, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        if (principal != null) {
+            request.setUserPrincipal(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        }
+        return new ServletWebRequest(request, response);
+    }
+}
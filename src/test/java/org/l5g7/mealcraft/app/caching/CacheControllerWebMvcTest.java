@@ -2,6 +2,7 @@ package org.l5g7.mealcraft.app.caching;
 
 import org.junit.jupiter.api.Test;
 import org.l5g7.mealcraft.app.auth.security.JwtCookieFilter;
+import org.l5g7.mealcraft.app.ratelimit.ApiRateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -23,7 +24,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         controllers = CacheController.class,
         excludeFilters = @ComponentScan.Filter(
                 type = FilterType.ASSIGNABLE_TYPE,
-                classes = { JwtCookieFilter.class }
+                classes = { JwtCookieFilter.class, ApiRateLimitFilter.class }
         )
 )
 @AutoConfigureMockMvc(addFilters = false)
@@ -13,7 +13,9 @@ import org.junit.platform.suite.api.Suite;
         CacheControllerTest.class,
         CacheControllerWebMvcTest.class,
         CacheControllerIntegrationTest.class,
-        CacheControllerEdgeCaseTest.class
+        CacheControllerEdgeCaseTest.class,
+        AggregateVersionsTest.class,
+        SingleFlightTest.class
 })
 public class CacheTestSuite {
 }
@@ -0,0 +1,66 @@
+package org.l5g7.mealcraft.app.caching;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Long> singleFlight = new SingleFlight<>();
+
+    @Test
+    void run_concurrentCallersOfOneKey_shareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Long> first = executor.submit(() -> singleFlight.run("salt", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return 1L;
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<Long> second = executor.submit(() -> singleFlight.run("salt", () -> {
+                loads.incrementAndGet();
+                return 2L;
+            }));
+
+            assertThrows(TimeoutException.class, () -> second.get(200, TimeUnit.MILLISECONDS));
+            assertEquals(3L, singleFlight.run("pepper", () -> 3L));
+            release.countDown();
+
+            assertEquals(1L, first.get(5, TimeUnit.SECONDS));
+            assertEquals(1L, second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void run_failedLoad_isRetriedByTheNextCaller() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.run("salt", () -> {
+            throw new IllegalStateException("insert failed");
+        }));
+
+        assertEquals(1L, singleFlight.run("salt", () -> 1L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
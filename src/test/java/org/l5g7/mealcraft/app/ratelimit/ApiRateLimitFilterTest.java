@@ -0,0 +1,114 @@
+package org.l5g7.mealcraft.app.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.l5g7.mealcraft.app.auth.security.AuthenticatedUser;
+import org.l5g7.mealcraft.enums.Role;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiRateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ApiRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ApiRateLimitProperties.Endpoint search = new ApiRateLimitProperties.Endpoint();
+        search.setPattern("/recipes/search");
+        search.setLimits(Map.of(
+                Role.USER, new RateLimit(2, Duration.ofHours(1)),
+                Role.PREMIUM_USER, new RateLimit(4, Duration.ofHours(1))));
+        ApiRateLimitProperties.Endpoint imports = new ApiRateLimitProperties.Endpoint();
+        imports.setPattern("/recipes/import/**");
+        imports.setMethod("POST");
+        imports.setLimits(Map.of(Role.USER, new RateLimit(1, Duration.ofHours(1))));
+
+        ApiRateLimitProperties properties = new ApiRateLimitProperties();
+        properties.getEndpoints().put("recipe-search", search);
+        properties.getEndpoints().put("recipe-import", imports);
+        filter = new ApiRateLimitFilter(properties, new InMemoryRateLimitStore(100), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_overLimit_answers429WithRetryAfter() throws Exception {
+        signIn(new AuthenticatedUser(1L, "user", Role.USER));
+        send("GET", "/recipes/search");
+        send("GET", "/recipes/search");
+
+        MockHttpServletResponse rejected = send("GET", "/recipes/search");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertNotNull(rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(2.0, meterRegistry.get(ApiRateLimitFilter.REQUESTS_METRIC)
+                .tags("endpoint", "recipe-search", "role", "USER", "outcome", "allowed").counter().count());
+        assertEquals(1.0, meterRegistry.get(ApiRateLimitFilter.REQUESTS_METRIC)
+                .tags("endpoint", "recipe-search", "role", "USER", "outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void doFilter_heavyUser_doesNotLimitOthers() throws Exception {
+        signIn(new AuthenticatedUser(1L, "heavy", Role.USER));
+        for (int i = 0; i < 5; i++) {
+            send("GET", "/recipes/search");
+        }
+
+        signIn(new AuthenticatedUser(2L, "other", Role.USER));
+
+        assertEquals(HttpStatus.OK.value(), send("GET", "/recipes/search").getStatus());
+    }
+
+    @Test
+    void doFilter_limitsFollowTheRole() throws Exception {
+        signIn(new AuthenticatedUser(3L, "premium", Role.PREMIUM_USER));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(HttpStatus.OK.value(), send("GET", "/recipes/search").getStatus());
+        }
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send("GET", "/recipes/search").getStatus());
+
+        signIn(new AuthenticatedUser(4L, "admin", Role.ADMIN));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(HttpStatus.OK.value(), send("GET", "/recipes/search").getStatus());
+        }
+    }
+
+    @Test
+    void doFilter_otherPathsAndMethods_passThrough() throws Exception {
+        signIn(new AuthenticatedUser(1L, "user", Role.USER));
+
+        send("POST", "/recipes/import/bulk");
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), send("POST", "/recipes/import").getStatus());
+        assertEquals(HttpStatus.OK.value(), send("GET", "/recipes/import").getStatus());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(HttpStatus.OK.value(), send("GET", "/recipes/1").getStatus());
+        }
+    }
+
+    private static void signIn(AuthenticatedUser user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private MockHttpServletResponse send(String method, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,96 @@
+package org.l5g7.mealcraft.app.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GcraRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquire_burstUsedUp_rejectsWithRetryAfter() {
+        RateLimiter limiter = new GcraRateLimiter(new RateLimit(3, Duration.ofSeconds(3)), 100, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("client").allowed());
+        }
+        RateLimiter.Decision rejected = limiter.tryAcquire("client");
+
+        assertFalse(rejected.allowed());
+        assertEquals(Duration.ofSeconds(1), rejected.retryAfter());
+        assertEquals(1, rejected.retryAfterSeconds());
+    }
+
+    @Test
+    void tryAcquire_permitsComeBackEvenly() {
+        RateLimiter limiter = new GcraRateLimiter(new RateLimit(2, Duration.ofSeconds(2)), 100, clock::get);
+        limiter.tryAcquire("client");
+        limiter.tryAcquire("client");
+
+        clock.addAndGet(Duration.ofMillis(999).toNanos());
+        assertFalse(limiter.tryAcquire("client").allowed());
+
+        clock.addAndGet(Duration.ofMillis(1).toNanos());
+        assertTrue(limiter.tryAcquire("client").allowed());
+        assertFalse(limiter.tryAcquire("client").allowed());
+    }
+
+    @Test
+    void tryAcquire_keysAreLimitedIndependently() {
+        RateLimiter limiter = new GcraRateLimiter(new RateLimit(1, Duration.ofMinutes(1)), 100, clock::get);
+
+        assertTrue(limiter.tryAcquire("first").allowed());
+        assertFalse(limiter.tryAcquire("first").allowed());
+        assertTrue(limiter.tryAcquire("second").allowed());
+    }
+
+    @Test
+    void tryAcquire_manyKeys_staysBounded() {
+        RateLimiter limiter = new GcraRateLimiter(new RateLimit(1, Duration.ofSeconds(1)), 8, clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            clock.addAndGet(Duration.ofMillis(1).toNanos());
+            limiter.tryAcquire("client" + i);
+        }
+
+        assertTrue(limiter.trackedKeys() <= 8);
+    }
+
+    @Test
+    void tryAcquire_concurrentCallers_neverExceedPermits() throws InterruptedException {
+        RateLimiter limiter = new GcraRateLimiter(new RateLimit(100, Duration.ofHours(1)), 100);
+        AtomicInteger allowed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < 100; j++) {
+                    if (limiter.tryAcquire("client").allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(100, allowed.get());
+    }
+}
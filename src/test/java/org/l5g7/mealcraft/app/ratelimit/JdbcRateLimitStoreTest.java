@@ -0,0 +1,115 @@
+package org.l5g7.mealcraft.app.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcRateLimitStoreTest {
+
+    private static final RateLimit LIMIT = new RateLimit(50, Duration.ofMinutes(1));
+    private static final Duration FLUSH_INTERVAL = Duration.ofSeconds(1);
+    private static final String CREATE_TABLE = "CREATE TABLE rate_limit_counter ("
+            + "limiter_name VARCHAR(100) NOT NULL, caller_key VARCHAR(200) NOT NULL, window_start BIGINT NOT NULL, "
+            + "expires_at BIGINT NOT NULL, used BIGINT NOT NULL, "
+            + "PRIMARY KEY (limiter_name, caller_key, window_start))";
+
+    private final AtomicLong clock = new AtomicLong(Duration.ofHours(1).toMillis());
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private JdbcRateLimitStore nodeA;
+    private JdbcRateLimitStore nodeB;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new NamedParameterJdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:rate_limit_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.getJdbcTemplate().execute(CREATE_TABLE);
+        nodeA = new JdbcRateLimitStore(jdbcTemplate, 100, 5, FLUSH_INTERVAL, clock::get);
+        nodeB = new JdbcRateLimitStore(jdbcTemplate, 100, 5, FLUSH_INTERVAL, clock::get);
+    }
+
+    @Test
+    void tryAcquire_limitIsSharedByAllNodes() {
+        RateLimiter onA = nodeA.limiter("api", LIMIT);
+        RateLimiter onB = nodeB.limiter("api", LIMIT);
+
+        int allowed = 0;
+        for (int i = 0; i < 80; i++) {
+            if ((i % 2 == 0 ? onA : onB).tryAcquire("caller").allowed()) {
+                allowed++;
+            }
+        }
+
+        assertEquals(LIMIT.permits(), allowed);
+        RateLimiter.Decision rejected = onA.tryAcquire("caller");
+        assertFalse(rejected.allowed());
+        assertEquals(60, rejected.retryAfterSeconds());
+    }
+
+    @Test
+    void tryAcquire_servesALeaseWithoutTheDatabase() {
+        RateLimiter limiter = nodeA.limiter("api", LIMIT);
+
+        limiter.tryAcquire("caller");
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire("caller").allowed());
+        }
+        assertEquals(5, reserved("caller"));
+
+        assertTrue(limiter.tryAcquire("caller").allowed());
+        assertEquals(10, reserved("caller"));
+    }
+
+    @Test
+    void flush_returnsIdleLeasesToOtherNodes() {
+        RateLimiter onA = nodeA.limiter("api", LIMIT);
+        RateLimiter onB = nodeB.limiter("api", LIMIT);
+        onA.tryAcquire("caller");
+        while (onB.tryAcquire("caller").allowed()) {
+            clock.incrementAndGet();
+        }
+
+        clock.addAndGet(FLUSH_INTERVAL.toMillis());
+        nodeA.flush();
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(onB.tryAcquire("caller").allowed());
+        }
+        assertFalse(onB.tryAcquire("caller").allowed());
+    }
+
+    @Test
+    void flush_deletesEndedWindows() {
+        nodeA.limiter("api", LIMIT).tryAcquire("caller");
+
+        clock.addAndGet(LIMIT.period().toMillis());
+        nodeA.flush();
+
+        assertEquals(0, jdbcTemplate.getJdbcTemplate()
+                .queryForObject("SELECT COUNT(*) FROM rate_limit_counter", Long.class));
+        assertEquals(0, nodeA.limiter("api", LIMIT).trackedKeys());
+    }
+
+    @Test
+    void close_returnsEveryLease() {
+        nodeA.limiter("api", LIMIT).tryAcquire("caller");
+        assertEquals(5, reserved("caller"));
+
+        nodeA.close();
+
+        assertEquals(1, reserved("caller"));
+    }
+
+    private long reserved(String key) {
+        return jdbcTemplate.queryForObject(
+                "SELECT used FROM rate_limit_counter WHERE limiter_name = 'api' AND caller_key = :key",
+                new MapSqlParameterSource("key", key), Long.class);
+    }
+}
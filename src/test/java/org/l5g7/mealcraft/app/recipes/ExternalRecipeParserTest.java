@@ -2,6 +2,7 @@ package org.l5g7.mealcraft.app.recipes;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvFileSource;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredientDto;
 import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.ExternalRecipe;
@@ -284,7 +285,7 @@ class ExternalRecipeParserTest {
 
         assertEquals("Flour", dto.getProductName());
         assertEquals(2.5, dto.getAmount());
-        assertEquals("cups", dto.getUnitName());
+        assertEquals("cup", dto.getUnitName());
     }
 
     @Test
@@ -330,5 +331,46 @@ class ExternalRecipeParserTest {
         assertEquals(1.25, dto.getAmount());
         assertEquals("cups", dto.getUnitName());
     }
-}
 
+    @Test
+    void integrationTest_rangeUsesUpperBound() {
+        RecipeIngredientDto dto = new RecipeIngredientDto();
+
+        ExternalRecipeParser.fillIngredientFromStrings(dto, "Olive Oil", "2-3 tbs");
+
+        assertEquals(3.0, dto.getAmount());
+        assertEquals("tbsp", dto.getUnitName());
+    }
+
+    @Test
+    void integrationTest_hyphenatedMixedNumber() {
+        RecipeIngredientDto dto = new RecipeIngredientDto();
+
+        ExternalRecipeParser.fillIngredientFromStrings(dto, "Flour", "1-1/2 cups");
+
+        assertEquals(1.5, dto.getAmount());
+        assertEquals("cups", dto.getUnitName());
+    }
+
+    @Test
+    void integrationTest_unitAliasesAreCaseInsensitive() {
+        RecipeIngredientDto dto = new RecipeIngredientDto();
+
+        ExternalRecipeParser.fillIngredientFromStrings(dto, "Butter", "3 Tablespoons");
+
+        assertEquals(3.0, dto.getAmount());
+        assertEquals("tbsp", dto.getUnitName());
+    }
+
+    @ParameterizedTest(name = "[{0}]")
+    @CsvFileSource(resources = "/external-recipes/themealdb-measures.csv", delimiter = '|', numLinesToSkip = 1,
+            ignoreLeadingAndTrailingWhitespace = false)
+    void fillIngredientFromStrings_matchesGoldenFile(String measure, double amount, String unit) {
+        RecipeIngredientDto dto = new RecipeIngredientDto();
+
+        ExternalRecipeParser.fillIngredientFromStrings(dto, "Ingredient", measure);
+
+        assertEquals(amount, dto.getAmount());
+        assertEquals(unit, dto.getUnitName());
+    }
+}
@@ -0,0 +1,85 @@
+package org.l5g7.mealcraft.app.recipes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonReaderTest {
+
+    private final ObjectReader reader = new ObjectMapper().readerFor(RecipeDto.class);
+
+    @Test
+    void next_reportsEveryNonBlankLineWithItsNumber() throws IOException {
+        List<String> lines = read("""
+                {"name":"Soup"}
+
+                {"name":"Stew"}
+                """);
+
+        assertEquals(List.of("1 Soup", "3 Stew"), lines);
+    }
+
+    @Test
+    void next_brokenSyntax_failsOnlyItsOwnLine() throws IOException {
+        List<String> lines = read("""
+                {"name": soup}
+                {"name":"Stew"}
+                {"name":"Unterminated",
+
+                {"name":"Pie"}
+                {"name":"Line
+                {"name":"Cake"}
+                """);
+
+        assertEquals(List.of("1 error", "2 Stew", "3 error", "5 Pie", "6 error", "7 Cake"), lines);
+    }
+
+    @Test
+    void next_valueOfTheWrongShape_failsOnlyItsOwnLine() throws IOException {
+        List<String> lines = read("""
+                [1, 2]
+                {"name":"Stew","ingredients":"none"}
+                {"name":"Pie"}
+                """);
+
+        assertEquals(List.of("1 error", "2 error", "3 Pie"), lines);
+    }
+
+    @Test
+    void next_ignoresTheRestOfALineAfterItsValue() throws IOException {
+        List<String> lines = read("""
+                {"name":"Soup"} {"name":"Stew"}
+                {"name":"Pie"} trailing
+                {"name":"Cake"}
+                """);
+
+        assertEquals(List.of("1 Soup", "2 Pie", "3 Cake"), lines);
+    }
+
+    @Test
+    void next_brokenLineLongerThanTheParserBuffer_resumesOnTheNextLine() throws IOException {
+        String longName = "x".repeat(20_000);
+        List<String> lines = read("{\"name\":\"" + longName + "\",\n{\"name\":\"Stew\"}\n");
+
+        assertEquals(List.of("1 error", "2 Stew"), lines);
+    }
+
+    private List<String> read(String ndjson) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (NdjsonReader<RecipeDto> recipes = new NdjsonReader<>(reader,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)))) {
+            while (recipes.next()) {
+                lines.add(recipes.line() + " " + (recipes.error() != null ? "error" : recipes.value().getName()));
+            }
+        }
+        return lines;
+    }
+}
@@ -2,10 +2,22 @@ package org.l5g7.mealcraft.app.recipes;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
+import org.l5g7.mealcraft.app.paging.CursorPage;
+import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.ExternalRecipe;
+import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.RecipeProvider;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
@@ -18,6 +30,12 @@ class RecipeControllerTest {
     @Mock
     private RecipeService recipeService;
 
+    @Mock
+    private RecipeProvider recipeProvider;
+
+    @Spy
+    private AggregateVersions aggregateVersions = new AggregateVersions();
+
     @InjectMocks
     private RecipeController controller;
 
@@ -25,13 +43,30 @@ class RecipeControllerTest {
     void getAllRecipes_delegatesToService() {
         RecipeDto recipe1 = RecipeDto.builder().id(1L).name("Recipe 1").build();
         RecipeDto recipe2 = RecipeDto.builder().id(2L).name("Recipe 2").build();
-        when(recipeService.getAllRecipes()).thenReturn(Arrays.asList(recipe1, recipe2));
+        when(recipeService.getRecipesPage(null, 50)).thenReturn(new CursorPage<>(Arrays.asList(recipe1, recipe2), "next"));
+
+        ResponseEntity<?> result = controller.getAllRecipes(null, 50, "full", getRequest());
+
+        assertEquals(List.of(recipe1, recipe2), result.getBody());
+        assertEquals("next", result.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+        verify(recipeService, times(1)).getRecipesPage(null, 50);
+    }
+
+    @Test
+    void getAllRecipes_summaryView_returnsSummariesWithoutCursorOnLastPage() {
+        RecipeSummaryDto summary = RecipeSummaryDto.builder().id(1L).name("Recipe 1").ingredientCount(3L).build();
+        when(recipeService.getRecipeSummaries("abc", 10)).thenReturn(new CursorPage<>(List.of(summary), null));
 
-        List<RecipeDto> result = controller.getAllRecipes();
+        ResponseEntity<?> result = controller.getAllRecipes("abc", 10, "summary", getRequest());
 
-        assertEquals(2, result.size());
-        assertEquals("Recipe 1", result.get(0).getName());
-        verify(recipeService, times(1)).getAllRecipes();
+        assertEquals(List.of(summary), result.getBody());
+        assertNull(result.getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAllRecipes_unknownView_throws() {
+        assertThrows(IllegalArgumentException.class, () -> controller.getAllRecipes(null, 10, "compact", getRequest()));
+        verifyNoInteractions(recipeService);
     }
 
     @Test
@@ -46,6 +81,23 @@ class RecipeControllerTest {
         verify(recipeService, times(1)).getRecipeById(1L);
     }
 
+    @Test
+    void suggestRecipes_delegatesToService() {
+        List<String> products = List.of("Flour");
+        RecipeSuggestionDto suggestion = RecipeSuggestionDto.builder()
+                .recipe(RecipeDto.builder().id(1L).name("Cake").build())
+                .missingCount(1)
+                .missingProducts(List.of("Sugar"))
+                .build();
+        when(recipeService.suggestRecipes(products, 5)).thenReturn(List.of(suggestion));
+
+        List<RecipeSuggestionDto> result = controller.suggestRecipes(products, 5);
+
+        assertEquals(1, result.size());
+        assertEquals(List.of("Sugar"), result.get(0).getMissingProducts());
+        verify(recipeService, times(1)).suggestRecipes(products, 5);
+    }
+
     @Test
     void getRecipesByProducts_delegatesToService() {
         List<String> products = Arrays.asList("Flour", "Sugar");
@@ -92,5 +144,38 @@ class RecipeControllerTest {
 
         verify(recipeService, times(1)).deleteRecipeById(1L);
     }
-}
 
+    @Test
+    void importRecipes_delegatesToService() throws Exception {
+        InputStream body = new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8));
+        List<RecipeImportResult> results = List.of(RecipeImportResult.builder().line(1).recipeId(7L).build());
+        when(recipeService.importRecipes(body)).thenReturn(results);
+
+        assertEquals(results, controller.importRecipes(body));
+    }
+
+    @Test
+    void getExternalRandomBatch_convertsProviderRecipes() {
+        ExternalRecipe external = new ExternalRecipe(1L, "Teriyaki Chicken", null, null,
+                List.of("Chicken"), List.of("2 lb"), "52772");
+        when(recipeProvider.getRandomRecipes(3)).thenReturn(List.of(external));
+
+        List<RecipeDto> result = controller.getExternalRandomBatch(3);
+
+        assertEquals(1, result.size());
+        assertEquals("Teriyaki Chicken", result.get(0).getName());
+        assertEquals("Chicken", result.get(0).getIngredients().get(0).getProductName());
+    }
+
+    @Test
+    void getExternalRandomBatch_countOutOfRange_throws() {
+        assertThrows(IllegalArgumentException.class, () -> controller.getExternalRandomBatch(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.getExternalRandomBatch(RecipeController.MAX_EXTERNAL_BATCH + 1));
+        verifyNoInteractions(recipeProvider);
+    }
+
+    private static ServletWebRequest getRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/recipes"), new MockHttpServletResponse());
+    }
+}
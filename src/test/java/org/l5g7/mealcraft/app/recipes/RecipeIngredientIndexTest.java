@@ -0,0 +1,195 @@
+package org.l5g7.mealcraft.app.recipes;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.l5g7.mealcraft.app.products.Product;
+import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredient;
+import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredientRepository;
+import org.l5g7.mealcraft.app.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecipeIngredientIndexTest {
+
+    private RecipeIngredientRepository recipeIngredientRepository;
+    private RecipeIngredientIndex index;
+
+    private final Product flour = Product.builder().id(1L).name("Flour").build();
+    private final Product sugar = Product.builder().id(2L).name("Sugar").build();
+    private final Product eggs = Product.builder().id(3L).name("Eggs").build();
+    private final User owner = User.builder().id(7L).build();
+
+    @BeforeEach
+    void setUp() {
+        recipeIngredientRepository = mock(RecipeIngredientRepository.class);
+        index = new RecipeIngredientIndex(recipeIngredientRepository);
+    }
+
+    @Test
+    void findRecipesMadeOnlyOf_returnsRecipesWhoseIngredientsAreAllAvailable() {
+        index.indexRecipe(recipe(10L, null, flour, sugar));
+        index.indexRecipe(recipe(11L, null, flour, eggs));
+        index.indexRecipe(recipe(12L, null, sugar));
+
+        assertEquals(List.of(10L, 12L), index.findRecipesMadeOnlyOf(List.of("flour", " SUGAR "), null));
+    }
+
+    @Test
+    void findRecipesMadeOnlyOf_respectsVisibilityScope() {
+        index.indexRecipe(recipe(10L, null, flour));
+        index.indexRecipe(recipe(11L, owner, flour));
+
+        assertEquals(List.of(10L), index.findRecipesMadeOnlyOf(List.of("Flour"), null));
+        assertEquals(List.of(10L, 11L), index.findRecipesMadeOnlyOf(List.of("Flour"), 7L));
+        assertEquals(List.of(10L), index.findRecipesMadeOnlyOf(List.of("Flour"), 8L));
+    }
+
+    @Test
+    void indexRecipe_again_replacesPreviousIngredients() {
+        index.indexRecipe(recipe(10L, null, flour));
+        index.indexRecipe(recipe(10L, null, flour, eggs));
+
+        assertTrue(index.findRecipesMadeOnlyOf(List.of("Flour"), null).isEmpty());
+        assertEquals(List.of(10L), index.findRecipesMadeOnlyOf(List.of("Flour", "Eggs"), null));
+    }
+
+    @Test
+    void removeRecipe_dropsItFromResults() {
+        index.indexRecipe(recipe(10L, null, flour));
+        index.indexRecipe(recipe(11L, null, flour));
+
+        index.removeRecipe(10L);
+
+        assertEquals(List.of(11L), index.findRecipesMadeOnlyOf(List.of("Flour"), null));
+    }
+
+    @Test
+    void renameProduct_isFoundByNewNameOnly() {
+        index.indexRecipe(recipe(10L, null, flour));
+
+        index.renameProduct(1L, "Wheat flour");
+
+        assertTrue(index.findRecipesMadeOnlyOf(List.of("Flour"), null).isEmpty());
+        assertEquals(List.of(10L), index.findRecipesMadeOnlyOf(List.of("wheat flour"), null));
+    }
+
+    @Test
+    void rebuild_loadsIngredientRowsFromRepository() {
+        index.indexRecipe(recipe(99L, null, eggs));
+        when(recipeIngredientRepository.findAllIngredientRows()).thenReturn(List.of(
+                row(10L, null, 1L, "Flour"),
+                row(10L, null, 2L, "Sugar"),
+                row(11L, 7L, 1L, "Flour")
+        ));
+
+        index.rebuild();
+
+        assertEquals(List.of(10L, 11L), index.findRecipesMadeOnlyOf(List.of("Flour", "Sugar"), 7L));
+        assertTrue(index.findRecipesMadeOnlyOf(List.of("Eggs"), null).isEmpty());
+    }
+
+    @Test
+    void rebuild_keepsChangesMadeWhileItWasLoading() {
+        when(recipeIngredientRepository.findAllIngredientRows()).thenAnswer(invocation -> {
+            List<RecipeIngredientRepository.IngredientRow> rows = List.of(
+                    row(10L, null, 1L, "Flour"),
+                    row(11L, null, 1L, "Flour"));
+            index.indexRecipe(recipe(12L, null, flour));
+            index.removeRecipe(10L);
+            index.renameProduct(1L, "Wheat flour");
+            return rows;
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of(11L, 12L), index.findRecipesMadeOnlyOf(List.of("Wheat flour"), null));
+        assertTrue(index.findRecipesMadeOnlyOf(List.of("Flour"), null).isEmpty());
+    }
+
+    @Test
+    void findBestMatches_ranksByMissingThenCoverage() {
+        index.indexRecipe(recipe(10L, null, flour, sugar, eggs));
+        index.indexRecipe(recipe(11L, null, flour, sugar));
+        index.indexRecipe(recipe(12L, null, flour, eggs));
+        index.indexRecipe(recipe(14L, null, eggs));
+
+        List<RecipeIngredientIndex.RecipeMatch> matches = index.findBestMatches(List.of("Flour", "Sugar"), null, 3);
+
+        assertEquals(List.of(11L, 10L, 12L), matches.stream().map(RecipeIngredientIndex.RecipeMatch::recipeId).toList());
+        assertEquals(0, matches.get(0).missingCount());
+        assertEquals(1, matches.get(1).missingCount());
+        assertEquals(2.0 / 3.0, matches.get(1).coverage(), 1e-9);
+    }
+
+    @Test
+    void findBestMatches_countsEachIngredientOnceWhateverItsAmount() {
+        index.indexRecipe(weightedRecipe(12L, flour, 1.0, eggs, 500.0));
+        index.indexRecipe(weightedRecipe(13L, flour, 500.0, eggs, 1.0));
+
+        List<RecipeIngredientIndex.RecipeMatch> matches = index.findBestMatches(List.of("Flour"), null, 2);
+
+        assertEquals(List.of(12L, 13L), matches.stream().map(RecipeIngredientIndex.RecipeMatch::recipeId).toList());
+        assertTrue(matches.stream().allMatch(match -> match.coverage() == 0.5));
+    }
+
+    @Test
+    void findBestMatches_largeCatalog_keepsOnlyTopK() {
+        for (long id = 1; id <= 10_000; id++) {
+            index.indexRecipe(id % 100 == 0 ? recipe(id, null, flour) : recipe(id, null, flour, eggs));
+        }
+
+        List<RecipeIngredientIndex.RecipeMatch> matches = index.findBestMatches(List.of("Flour"), null, 5);
+
+        assertEquals(List.of(100L, 200L, 300L, 400L, 500L),
+                matches.stream().map(RecipeIngredientIndex.RecipeMatch::recipeId).toList());
+        assertTrue(matches.stream().allMatch(match -> match.missingCount() == 0));
+    }
+
+    private Recipe weightedRecipe(Long id, Product first, double firstAmount, Product second, double secondAmount) {
+        Recipe recipe = recipe(id, null, first, second);
+        recipe.getIngredients().get(0).setAmount(firstAmount);
+        recipe.getIngredients().get(1).setAmount(secondAmount);
+        return recipe;
+    }
+
+    private Recipe recipe(Long id, User ownerUser, Product... products) {
+        Recipe recipe = Recipe.builder().id(id).name("Recipe " + id).ownerUser(ownerUser).build();
+        List<RecipeIngredient> ingredients = new ArrayList<>();
+        for (Product product : products) {
+            ingredients.add(RecipeIngredient.builder().recipe(recipe).product(product).amount(1.0).build());
+        }
+        recipe.setIngredients(ingredients);
+        return recipe;
+    }
+
+    private RecipeIngredientRepository.IngredientRow row(Long recipeId, Long ownerUserId, Long productId,
+                                                         String productName) {
+        return new RecipeIngredientRepository.IngredientRow() {
+            @Override
+            public Long getRecipeId() {
+                return recipeId;
+            }
+
+            @Override
+            public Long getOwnerUserId() {
+                return ownerUserId;
+            }
+
+            @Override
+            public Long getProductId() {
+                return productId;
+            }
+
+            @Override
+            public String getProductName() {
+                return productName;
+            }
+        };
+    }
+}
@@ -0,0 +1,195 @@
+package org.l5g7.mealcraft.app.recipes;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.l5g7.mealcraft.app.paging.CursorPage;
+import org.l5g7.mealcraft.app.paging.PageCursor;
+import org.l5g7.mealcraft.app.products.ProductRenamedEvent;
+import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredientDto;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RecipeReadModelTest {
+
+    private RecipeRepository recipeRepository;
+    private RecipeReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        recipeRepository = mock(RecipeRepository.class);
+        readModel = new RecipeReadModel(recipeRepository);
+    }
+
+    @Test
+    void rebuild_groupsStreamedRowsIntoRecipes() {
+        seed(
+                row(1L, null, 1000L, 10L, 1L, "Flour", 2.0),
+                row(1L, null, 1000L, 11L, 2L, "Sugar", 1.0),
+                row(2L, null, 2000L, null, null, null, null)
+        );
+
+        List<RecipeDto> recipes = readModel.findVisible(null);
+
+        assertEquals(List.of(1L, 2L), recipes.stream().map(RecipeDto::getId).toList());
+        assertEquals(List.of("Flour", "Sugar"), productNames(recipes.get(0)));
+        assertTrue(recipes.get(1).getIngredients().isEmpty());
+    }
+
+    @Test
+    void findVisible_mergesPublicAndOwnRecipesByCreationTime() {
+        seed(
+                row(1L, null, 3000L, null, null, null, null),
+                row(2L, 7L, 1000L, null, null, null, null),
+                row(3L, 8L, 2000L, null, null, null, null),
+                row(4L, null, 2000L, null, null, null, null)
+        );
+
+        assertEquals(List.of(2L, 4L, 1L), ids(readModel.findVisible(7L)));
+        assertEquals(List.of(4L, 1L), ids(readModel.findVisible(null)));
+        assertTrue(readModel.findVisibleById(3L, 7L).isEmpty());
+        assertTrue(readModel.findVisibleById(3L, 8L).isPresent());
+    }
+
+    @Test
+    void findPage_followsCursorUntilTheLastPage() {
+        seed(
+                row(1L, null, 1000L, 10L, 1L, "Flour", 2.0),
+                row(2L, 7L, 2000L, null, null, null, null),
+                row(3L, null, 3000L, null, null, null, null)
+        );
+
+        CursorPage<RecipeDto> first = readModel.findPage(7L, PageCursor.START, 2);
+        CursorPage<RecipeSummaryDto> second = readModel.findSummaryPage(7L, PageCursor.decode(first.nextCursor()), 2);
+
+        assertEquals(List.of(1L, 2L), ids(first.items()));
+        assertEquals(List.of(3L), second.items().stream().map(RecipeSummaryDto::getId).toList());
+        assertNull(second.nextCursor());
+        assertEquals(1L, readModel.findSummaryPage(null, PageCursor.START, 1).items().get(0).getIngredientCount());
+    }
+
+    @Test
+    void onRecipeChanged_reloadsTheRecipe() {
+        seed(row(1L, null, 1000L, 10L, 1L, "Flour", 2.0));
+        when(recipeRepository.findRecipeRowsByIdIn(List.of(1L)))
+                .thenReturn(List.of(new RecipeRow(1L, "Renamed", 7L, null, new Date(1000L), null)));
+        when(recipeRepository.findIngredientRowsByRecipeIdIn(List.of(1L)))
+                .thenReturn(List.of(new RecipeIngredientRow(1L, 12L, 3L, "Eggs", 4.0)));
+
+        readModel.onRecipeChanged(new RecipeChangedEvent(1L));
+
+        assertTrue(readModel.findVisible(null).isEmpty());
+        RecipeDto reloaded = readModel.findVisibleById(1L, 7L).orElseThrow();
+        assertEquals("Renamed", reloaded.getName());
+        assertEquals(List.of("Eggs"), productNames(reloaded));
+    }
+
+    @Test
+    void onRecipeChanged_keepsServingTheRecipeWhileItIsReloaded() {
+        seed(row(1L, null, 1000L, 10L, 1L, "Flour", 2.0));
+        List<List<Long>> seenWhileLoading = new ArrayList<>();
+        when(recipeRepository.findRecipeRowsByIdIn(List.of(1L))).thenAnswer(invocation -> {
+            seenWhileLoading.add(ids(readModel.findVisible(null)));
+            return List.of(new RecipeRow(1L, "Renamed", null, null, new Date(1000L), null));
+        });
+        when(recipeRepository.findIngredientRowsByRecipeIdIn(List.of(1L))).thenReturn(List.of());
+
+        readModel.onRecipeChanged(new RecipeChangedEvent(1L));
+
+        assertEquals(List.of(List.of(1L)), seenWhileLoading);
+        assertEquals(List.of(1L), ids(readModel.findVisible(null)));
+        assertEquals("Renamed", readModel.findVisibleById(1L, null).orElseThrow().getName());
+    }
+
+    @Test
+    void onRecipeChanged_dropsARecipeThatIsGone() {
+        seed(row(1L, null, 1000L, 10L, 1L, "Flour", 2.0));
+        when(recipeRepository.findRecipeRowsByIdIn(List.of(1L))).thenReturn(List.of());
+        when(recipeRepository.findIngredientRowsByRecipeIdIn(List.of(1L))).thenReturn(List.of());
+
+        readModel.onRecipeChanged(new RecipeChangedEvent(1L));
+
+        assertTrue(readModel.findVisible(null).isEmpty());
+        assertTrue(readModel.findVisibleById(1L, null).isEmpty());
+    }
+
+    @Test
+    void onRecipeDeleted_dropsTheRecipeAndUnlinksDerivedOnes() {
+        seed(
+                row(1L, null, 1000L, null, null, null, null),
+                new RecipeReadRow(2L, "Recipe 2", null, 1L, new Date(2000L), null, null, null, null, null)
+        );
+
+        readModel.onRecipeDeleted(new RecipeDeletedEvent(1L));
+
+        assertEquals(List.of(2L), ids(readModel.findVisible(null)));
+        assertNull(readModel.findVisibleById(2L, null).orElseThrow().getBaseRecipeId());
+    }
+
+    @Test
+    void onProductRenamed_updatesIngredientNamesWithoutTouchingTheDatabase() {
+        seed(
+                row(1L, null, 1000L, 10L, 1L, "Flour", 2.0),
+                row(2L, null, 2000L, 11L, 2L, "Sugar", 1.0)
+        );
+        clearInvocations(recipeRepository);
+
+        readModel.onProductRenamed(new ProductRenamedEvent(1L, "Wheat flour"));
+
+        assertEquals(List.of("Wheat flour"), productNames(readModel.findVisibleById(1L, null).orElseThrow()));
+        assertEquals(List.of("Sugar"), productNames(readModel.findVisibleById(2L, null).orElseThrow()));
+        verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    void findVisibleById_returnsCopies() {
+        seed(row(1L, null, 1000L, 10L, 1L, "Flour", 2.0));
+
+        RecipeDto copy = readModel.findVisibleById(1L, null).orElseThrow();
+        copy.setName("Changed");
+        copy.getIngredients().clear();
+
+        RecipeDto again = readModel.findVisibleById(1L, null).orElseThrow();
+        assertEquals("Recipe 1", again.getName());
+        assertEquals(1, again.getIngredients().size());
+    }
+
+    @Test
+    void rebuild_keepsServingTheOldModelUntilLoaded() {
+        seed(row(1L, null, 1000L, null, null, null, null));
+        List<List<Long>> seenWhileLoading = new ArrayList<>();
+        when(recipeRepository.streamAllReadRows()).thenReturn(Stream.of(
+                        row(2L, null, 2000L, null, null, null, null),
+                        row(3L, null, 3000L, null, null, null, null))
+                .peek(row -> seenWhileLoading.add(ids(readModel.findVisible(null)))));
+
+        readModel.rebuild();
+
+        assertEquals(List.of(List.of(1L), List.of(1L)), seenWhileLoading);
+        assertEquals(List.of(2L, 3L), ids(readModel.findVisible(null)));
+    }
+
+    private void seed(RecipeReadRow... rows) {
+        when(recipeRepository.streamAllReadRows()).thenReturn(Stream.of(rows));
+        readModel.rebuild();
+    }
+
+    private RecipeReadRow row(Long id, Long ownerUserId, long createdAt, Long ingredientId,
+                              Long productId, String productName, Double amount) {
+        return new RecipeReadRow(id, "Recipe " + id, ownerUserId, null, new Date(createdAt), null,
+                ingredientId, productId, productName, amount);
+    }
+
+    private List<Long> ids(List<RecipeDto> recipes) {
+        return recipes.stream().map(RecipeDto::getId).toList();
+    }
+
+    private List<String> productNames(RecipeDto recipe) {
+        return recipe.getIngredients().stream().map(RecipeIngredientDto::getProductName).toList();
+    }
+}
@@ -3,11 +3,13 @@ package org.l5g7.mealcraft.app.recipes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
 import org.l5g7.mealcraft.app.mealplan.MealPlanRepository;
 import org.l5g7.mealcraft.app.products.Product;
 import org.l5g7.mealcraft.app.products.ProductRepository;
 import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredient;
 import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredientDto;
+import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredientRepository;
 import org.l5g7.mealcraft.app.units.Unit;
 import org.l5g7.mealcraft.app.user.CurrentUserProvider;
 import org.l5g7.mealcraft.app.user.User;
@@ -18,7 +20,9 @@ import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.RecipeProvider;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.Date;
@@ -52,6 +56,20 @@ class RecipeServiceImplTest {
     @Mock
     private MealPlanRepository mealPlanRepository;
 
+    @Spy
+    private RecipeIngredientIndex recipeIngredientIndex = new RecipeIngredientIndex(mock(RecipeIngredientRepository.class));
+
+    private final RecipeRepository readModelRepository = mock(RecipeRepository.class);
+
+    @Spy
+    private RecipeReadModel recipeReadModel = new RecipeReadModel(readModelRepository);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private AggregateVersions aggregateVersions = new AggregateVersions();
+
     private User testUser;
     private Product testProduct1;
     private Product testProduct2;
@@ -114,32 +132,35 @@ class RecipeServiceImplTest {
 
     @Test
     void getAllRecipes_asAdmin_returnsOnlyPublicRecipes() {
+        seedReadModel(testRecipe, userRecipe(101L, testUser));
         when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(null);
-        when(recipeRepository.findAllByOwnerUserIsNull()).thenReturn(List.of(testRecipe));
 
         List<RecipeDto> result = recipeService.getAllRecipes();
 
         assertEquals(1, result.size());
         assertEquals("Test Recipe", result.get(0).getName());
-        verify(recipeRepository, times(1)).findAllByOwnerUserIsNull();
-        verify(recipeRepository, never()).findAllByOwnerUserIsNullOrOwnerUser_Id(anyLong());
+        assertEquals(List.of("Flour", "Sugar"),
+                result.get(0).getIngredients().stream().map(RecipeIngredientDto::getProductName).toList());
+        verifyNoInteractions(recipeRepository);
     }
 
     @Test
     void getAllRecipes_asUser_returnsPublicAndUserRecipes() {
+        User otherUser = new User();
+        otherUser.setId(2L);
+        seedReadModel(testRecipe, userRecipe(101L, testUser), userRecipe(102L, otherUser));
         when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(testUser);
-        when(recipeRepository.findAllByOwnerUserIsNullOrOwnerUser_Id(1L)).thenReturn(List.of(testRecipe));
 
         List<RecipeDto> result = recipeService.getAllRecipes();
 
-        assertEquals(1, result.size());
-        verify(recipeRepository, times(1)).findAllByOwnerUserIsNullOrOwnerUser_Id(1L);
+        assertEquals(List.of(100L, 101L), result.stream().map(RecipeDto::getId).toList());
+        verifyNoInteractions(recipeRepository);
     }
 
     @Test
     void getRecipeById_asAdmin_returnsPublicRecipe() {
+        seedReadModel(testRecipe);
         when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(null);
-        when(recipeRepository.findById(100L)).thenReturn(Optional.of(testRecipe));
 
         RecipeDto result = recipeService.getRecipeById(100L);
 
@@ -149,16 +170,8 @@ class RecipeServiceImplTest {
 
     @Test
     void getRecipeById_asUser_returnsOwnRecipe() {
-        Recipe userRecipe = Recipe.builder()
-                .id(101L)
-                .name("User Recipe")
-                .ownerUser(testUser)
-                .createdAt(new Date())
-                .ingredients(List.of())
-                .build();
-
+        seedReadModel(userRecipe(101L, testUser));
         when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(testUser);
-        when(recipeRepository.findById(101L)).thenReturn(Optional.of(userRecipe));
 
         RecipeDto result = recipeService.getRecipeById(101L);
 
@@ -170,28 +183,30 @@ class RecipeServiceImplTest {
     void getRecipeById_asUser_throwsWhenAccessingOtherUserRecipe() {
         User otherUser = new User();
         otherUser.setId(2L);
-
-        Recipe otherUserRecipe = Recipe.builder()
-                .id(102L)
-                .name("Other Recipe")
-                .ownerUser(otherUser)
-                .createdAt(new Date())
-                .build();
-
+        seedReadModel(userRecipe(102L, otherUser));
         when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(testUser);
-        when(recipeRepository.findById(102L)).thenReturn(Optional.of(otherUserRecipe));
 
         assertThrows(EntityDoesNotExistException.class, () -> recipeService.getRecipeById(102L));
     }
 
     @Test
     void getRecipeById_throwsWhenNotFound() {
+        seedReadModel();
         when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(null);
-        when(recipeRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(EntityDoesNotExistException.class, () -> recipeService.getRecipeById(999L));
     }
 
+    @Test
+    void getRecipeById_returnsCopy_thatCallersCannotUseToChangeTheModel() {
+        seedReadModel(testRecipe);
+        when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(null);
+
+        recipeService.getRecipeById(100L).getIngredients().clear();
+
+        assertEquals(2, recipeService.getRecipeById(100L).getIngredients().size());
+    }
+
     @Test
     void createRecipe_asAdmin_savesPublicRecipe() {
         when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(null);
@@ -206,6 +221,7 @@ class RecipeServiceImplTest {
         assertEquals("New Recipe", saved.getName());
         assertNull(saved.getOwnerUser());
         assertEquals(2, saved.getIngredients().size());
+        verify(eventPublisher).publishEvent(any(RecipeChangedEvent.class));
     }
 
     @Test
@@ -401,6 +417,7 @@ class RecipeServiceImplTest {
         recipeService.deleteRecipeById(100L);
 
         verify(recipeRepository).deleteById(100L);
+        verify(eventPublisher).publishEvent(new RecipeDeletedEvent(100L));
     }
 
     @Test
@@ -466,13 +483,16 @@ class RecipeServiceImplTest {
         testProduct1.setOwnerUser(null);
         testProduct2.setOwnerUser(null);
 
+        recipeIngredientIndex.indexRecipe(testRecipe);
+        seedReadModel(testRecipe);
+
         when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(null);
-        when(recipeRepository.findAllByOwnerUserIsNull()).thenReturn(List.of(testRecipe));
 
         List<RecipeDto> result = recipeService.getRecipesByProducts(Arrays.asList("Flour", "Sugar"));
 
         assertEquals(1, result.size());
         assertEquals("Test Recipe", result.get(0).getName());
+        verifyNoInteractions(recipeRepository);
     }
 
     @Test
@@ -480,7 +500,7 @@ class RecipeServiceImplTest {
         List<RecipeDto> result = recipeService.getRecipesByProducts(List.of());
 
         assertTrue(result.isEmpty());
-        verify(recipeRepository, never()).findAllByOwnerUserIsNull();
+        verifyNoInteractions(recipeRepository);
     }
 
     @Test
@@ -490,17 +510,71 @@ class RecipeServiceImplTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void suggestRecipes_reportsMissingProducts() {
+        recipeIngredientIndex.indexRecipe(testRecipe);
+        seedReadModel(testRecipe);
+
+        when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(null);
+
+        List<RecipeSuggestionDto> result = recipeService.suggestRecipes(List.of("flour"), 10);
+
+        assertEquals(1, result.size());
+        assertEquals("Test Recipe", result.get(0).getRecipe().getName());
+        assertEquals(1, result.get(0).getMatchedCount());
+        assertEquals(1, result.get(0).getMissingCount());
+        assertEquals(List.of("Sugar"), result.get(0).getMissingProducts());
+    }
+
+    @Test
+    void suggestRecipes_rejectsInvalidLimit() {
+        List<String> products = List.of("Flour");
+
+        assertThrows(IllegalArgumentException.class, () -> recipeService.suggestRecipes(products, 0));
+    }
+
     @Test
     void getRecipesByProducts_filtersNonMatchingRecipes() {
         testProduct1.setOwnerUser(null);
         testProduct2.setOwnerUser(null);
 
+        recipeIngredientIndex.indexRecipe(testRecipe);
+
         when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(null);
-        when(recipeRepository.findAllByOwnerUserIsNull()).thenReturn(List.of(testRecipe));
 
         List<RecipeDto> result = recipeService.getRecipesByProducts(List.of("Flour"));
 
         assertTrue(result.isEmpty());
+        verify(recipeReadModel, never()).findAllById(any());
     }
-}
 
+    private Recipe userRecipe(Long id, User owner) {
+        return Recipe.builder()
+                .id(id)
+                .name("User Recipe")
+                .ownerUser(owner)
+                .createdAt(new Date())
+                .ingredients(List.of())
+                .build();
+    }
+
+    private void seedReadModel(Recipe... recipes) {
+        when(readModelRepository.streamAllReadRows())
+                .thenReturn(Arrays.stream(recipes).flatMap(recipe -> readRowsOf(recipe).stream()));
+        recipeReadModel.rebuild();
+    }
+
+    private List<RecipeReadRow> readRowsOf(Recipe recipe) {
+        Long ownerId = recipe.getOwnerUser() != null ? recipe.getOwnerUser().getId() : null;
+        Long baseRecipeId = recipe.getBaseRecipe() != null ? recipe.getBaseRecipe().getId() : null;
+        if (recipe.getIngredients().isEmpty()) {
+            return List.of(new RecipeReadRow(recipe.getId(), recipe.getName(), ownerId, baseRecipeId,
+                    recipe.getCreatedAt(), recipe.getImageUrl(), null, null, null, null));
+        }
+        return recipe.getIngredients().stream()
+                .map(ingredient -> new RecipeReadRow(recipe.getId(), recipe.getName(), ownerId, baseRecipeId,
+                        recipe.getCreatedAt(), recipe.getImageUrl(), ingredient.getId(),
+                        ingredient.getProduct().getId(), ingredient.getProduct().getName(), ingredient.getAmount()))
+                .toList();
+    }
+}
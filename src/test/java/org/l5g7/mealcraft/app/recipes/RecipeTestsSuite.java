@@ -7,7 +7,10 @@ import org.junit.platform.suite.api.Suite;
 @SelectClasses({
         RecipeServiceImplTest.class,
         RecipeControllerTest.class,
-        ExternalRecipeParserTest.class
+        ExternalRecipeParserTest.class,
+        RecipeIngredientIndexTest.class,
+        RecipeReadModelTest.class,
+        NdjsonReaderTest.class
 })
 public class RecipeTestsSuite {
 }
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.l5g7.mealcraft.app.auth.AuthService;
 import org.l5g7.mealcraft.app.auth.dto.LoginUserDto;
 import org.l5g7.mealcraft.app.auth.dto.RegisterUserDto;
+import org.l5g7.mealcraft.app.auth.security.AuthenticationCache;
 import org.l5g7.mealcraft.app.auth.security.JwtService;
 import org.l5g7.mealcraft.app.user.*;
 import org.l5g7.mealcraft.enums.Role;
@@ -20,8 +21,6 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Arrays;
-import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,6 +42,9 @@ class AuthServiceTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private AuthenticationCache authenticationCache;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -112,15 +114,15 @@ class AuthServiceTest {
 
     @Test
     void login_WithUsername_Success_ReturnsToken() {
-        List<User> users = Arrays.asList(testUser);
-        when(userRepository.findAll()).thenReturn(users);
+        when(authenticationCache.findLoginUser(TEST_USERNAME)).thenReturn(Optional.of(testUser));
         when(passwordHasher.hashPassword(TEST_PASSWORD)).thenReturn(HASHED_PASSWORD);
         when(jwtService.generateToken(TEST_USERNAME, Role.USER)).thenReturn(TEST_TOKEN);
 
         String result = authService.login(loginDto);
 
         assertEquals(TEST_TOKEN, result);
-        verify(userRepository, times(1)).findAll();
+        verify(authenticationCache, times(1)).findLoginUser(TEST_USERNAME);
+        verify(userRepository, never()).findAll();
         verify(passwordHasher, times(1)).hashPassword(TEST_PASSWORD);
         verify(jwtService, times(1)).generateToken(TEST_USERNAME, Role.USER);
     }
@@ -128,8 +130,7 @@ class AuthServiceTest {
     @Test
     void login_WithEmail_Success_ReturnsToken() {
         loginDto.setUsernameOrEmail(TEST_EMAIL);
-        List<User> users = Arrays.asList(testUser);
-        when(userRepository.findAll()).thenReturn(users);
+        when(authenticationCache.findLoginUser(TEST_EMAIL)).thenReturn(Optional.of(testUser));
         when(passwordHasher.hashPassword(TEST_PASSWORD)).thenReturn(HASHED_PASSWORD);
         when(jwtService.generateToken(TEST_USERNAME, Role.USER)).thenReturn(TEST_TOKEN);
 
@@ -141,7 +142,7 @@ class AuthServiceTest {
 
     @Test
     void login_UserNotFound_ThrowsException() {
-        when(userRepository.findAll()).thenReturn(Arrays.asList());
+        when(authenticationCache.findLoginUser(TEST_USERNAME)).thenReturn(Optional.empty());
 
         assertThrows(EntityDoesNotExistException.class, () -> {
             authService.login(loginDto);
@@ -153,8 +154,7 @@ class AuthServiceTest {
 
     @Test
     void login_InvalidPassword_ThrowsException() {
-        List<User> users = Arrays.asList(testUser);
-        when(userRepository.findAll()).thenReturn(users);
+        when(authenticationCache.findLoginUser(TEST_USERNAME)).thenReturn(Optional.of(testUser));
         when(passwordHasher.hashPassword(TEST_PASSWORD)).thenReturn("wrong_hash");
 
         assertThrows(ResponseStatusException.class, () -> {
@@ -166,17 +166,17 @@ class AuthServiceTest {
 
     @Test
     void logout_Success_ReturnsTrue() {
-        List<User> users = Arrays.asList(testUser);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getName()).thenReturn(TEST_USERNAME);
-        when(userRepository.findAll()).thenReturn(users);
+        when(userRepository.findIdByUsername(TEST_USERNAME)).thenReturn(Optional.of(1L));
         SecurityContextHolder.setContext(securityContext);
 
         boolean result = authService.logout();
 
         assertTrue(result);
-        verify(userRepository, times(1)).findAll();
+        verify(userRepository, times(1)).findIdByUsername(TEST_USERNAME);
+        verify(userRepository, never()).findAll();
     }
 
     @Test
@@ -188,7 +188,7 @@ class AuthServiceTest {
         boolean result = authService.logout();
 
         assertFalse(result);
-        verify(userRepository, never()).findAll();
+        verify(userRepository, never()).findIdByUsername(any());
     }
 
     @Test
@@ -199,7 +199,7 @@ class AuthServiceTest {
         boolean result = authService.logout();
 
         assertFalse(result);
-        verify(userRepository, never()).findAll();
+        verify(userRepository, never()).findIdByUsername(any());
     }
 
     @Test
@@ -207,7 +207,7 @@ class AuthServiceTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getName()).thenReturn(TEST_USERNAME);
-        when(userRepository.findAll()).thenReturn(Arrays.asList());
+        when(userRepository.findIdByUsername(TEST_USERNAME)).thenReturn(Optional.empty());
         SecurityContextHolder.setContext(securityContext);
 
         assertThrows(EntityDoesNotExistException.class, () -> {
@@ -8,7 +8,8 @@ import org.junit.platform.suite.api.Suite;
     AuthControllerTest.class,
     AuthServiceTest.class,
     JwtKeyTest.class,
-    JwtServiceTest.class
+    JwtServiceTest.class,
+    AuthenticationCacheTest.class
 })
 
 public class AuthTestsSuit {
@@ -0,0 +1,167 @@
+package org.l5g7.mealcraft.authtest;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.l5g7.mealcraft.app.auth.security.AuthenticatedUser;
+import org.l5g7.mealcraft.app.auth.security.AuthenticationCache;
+import org.l5g7.mealcraft.app.auth.security.JwtKey;
+import org.l5g7.mealcraft.app.auth.security.JwtService;
+import org.l5g7.mealcraft.app.user.User;
+import org.l5g7.mealcraft.app.user.UserRepository;
+import org.l5g7.mealcraft.enums.Role;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationCacheTest {
+
+    @Mock
+    private JwtKey jwtKey;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private JwtService jwtService;
+    private AuthenticationCache authenticationCache;
+
+    @BeforeEach
+    void setUp() {
+        when(jwtKey.getSecretKey()).thenReturn(Jwts.SIG.HS256.key().build());
+        jwtService = spy(new JwtService(jwtKey));
+        ReflectionTestUtils.setField(jwtService, "expirationMs", 86400000L);
+        authenticationCache = new AuthenticationCache(jwtService, userRepository, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void resolve_repeatedToken_parsesAndLooksUpOnce() {
+        String token = jwtService.generateToken("testuser", Role.USER);
+        when(userRepository.findIdByUsername("testuser")).thenReturn(Optional.of(7L));
+
+        AuthenticatedUser first = authenticationCache.resolve(token).orElseThrow();
+        AuthenticatedUser second = authenticationCache.resolve(token).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(7L, first.getId());
+        assertEquals(Role.USER, first.getRole());
+        verify(jwtService, times(1)).parseToken(token);
+        verify(userRepository, times(1)).findIdByUsername("testuser");
+    }
+
+    @Test
+    void resolve_invalidToken_isEmptyAndNotCached() {
+        assertTrue(authenticationCache.resolve("invalid-jwt-token").isEmpty());
+        assertTrue(authenticationCache.resolve("invalid-jwt-token").isEmpty());
+
+        verify(jwtService, times(2)).parseToken("invalid-jwt-token");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void resolve_unknownUser_isCachedUntilUserIsCreated() {
+        String token = jwtService.generateToken("newuser", Role.USER);
+        when(userRepository.findIdByUsername("newuser")).thenReturn(Optional.empty(), Optional.of(3L));
+
+        assertTrue(authenticationCache.resolve(token).isEmpty());
+        assertTrue(authenticationCache.resolve(token).isEmpty());
+        authenticationCache.evictUsername("newuser");
+
+        assertEquals(3L, authenticationCache.resolve(token).orElseThrow().getId());
+        verify(userRepository, times(2)).findIdByUsername("newuser");
+    }
+
+    @Test
+    void findLoginUser_unknownIdentifier_isQueriedOnceUntilEmailIsTaken() {
+        User user = new User();
+        user.setUsername("newuser");
+        user.setEmail("new@example.com");
+        when(userRepository.findByUsernameOrEmail(anyString())).thenReturn(Optional.empty(), Optional.of(user));
+
+        assertTrue(authenticationCache.findLoginUser("new@example.com").isEmpty());
+        assertTrue(authenticationCache.findLoginUser(" New@Example.com").isEmpty());
+        authenticationCache.evictEmail("new@example.com");
+
+        assertSame(user, authenticationCache.findLoginUser("NEW@example.com").orElseThrow());
+        verify(userRepository, times(2)).findByUsernameOrEmail(anyString());
+    }
+
+    @Test
+    void findLoginUser_knownIdentifier_isNotCached() {
+        User user = new User();
+        user.setUsername("testuser");
+        when(userRepository.findByUsernameOrEmail("testuser")).thenReturn(Optional.of(user), Optional.empty());
+
+        assertTrue(authenticationCache.findLoginUser("testuser").isPresent());
+        assertTrue(authenticationCache.findLoginUser("testuser").isEmpty());
+    }
+
+    @Test
+    void evictUser_dropsPrincipalsOfDeletedUser() {
+        String token = jwtService.generateToken("testuser", Role.USER);
+        when(userRepository.findIdByUsername("testuser")).thenReturn(Optional.of(7L), Optional.empty());
+        authenticationCache.resolve(token);
+
+        authenticationCache.evictUser(7L);
+
+        assertTrue(authenticationCache.resolve(token).isEmpty());
+    }
+
+    @Test
+    void resolve_expiredEntry_verifiesTokenAgain() {
+        MutableClock clock = new MutableClock(Instant.now());
+        AuthenticationCache shortLived =
+                new AuthenticationCache(jwtService, userRepository, 100, Duration.ofSeconds(20), clock);
+        String token = jwtService.generateToken("testuser", Role.USER);
+        when(userRepository.findIdByUsername("testuser")).thenReturn(Optional.of(7L));
+
+        shortLived.resolve(token);
+        clock.advance(Duration.ofSeconds(19));
+        shortLived.resolve(token);
+        verify(jwtService, times(1)).parseToken(token);
+
+        clock.advance(Duration.ofSeconds(1));
+        shortLived.resolve(token);
+        verify(jwtService, times(2)).parseToken(token);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.l5g7.mealcraft.app.auth.security.JwtClaims;
 import org.l5g7.mealcraft.app.auth.security.JwtKey;
 import org.l5g7.mealcraft.app.auth.security.JwtService;
 import org.l5g7.mealcraft.enums.Role;
@@ -13,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -165,6 +167,29 @@ class JwtServiceTest {
         assertFalse(isValid);
     }
 
+    @Test
+    void parseToken_ValidToken_ReturnsAllClaims() {
+        String token = jwtService.generateToken(TEST_USERNAME, Role.ADMIN);
+
+        JwtClaims claims = jwtService.parseToken(token).orElseThrow();
+
+        assertEquals(TEST_USERNAME, claims.username());
+        assertEquals(Role.ADMIN, claims.role());
+        assertTrue(claims.expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void parseToken_ForeignSignature_ReturnsEmpty() {
+        String foreignToken = Jwts.builder()
+                .claim("role", TEST_ROLE.toString())
+                .subject(TEST_USERNAME)
+                .expiration(new Date(System.currentTimeMillis() + TEST_EXPIRATION_MS))
+                .signWith(Jwts.SIG.HS256.key().build())
+                .compact();
+
+        assertTrue(jwtService.parseToken(foreignToken).isEmpty());
+    }
+
     @Test
     void generateToken_DifferentRoles_CreatesDistinctTokens() {
         String userToken = jwtService.generateToken(TEST_USERNAME, Role.USER);
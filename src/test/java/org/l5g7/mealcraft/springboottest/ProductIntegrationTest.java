@@ -3,10 +3,15 @@ package org.l5g7.mealcraft.springboottest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.l5g7.mealcraft.app.auth.dto.LoginUserDto;
+import org.l5g7.mealcraft.app.products.NameKeyBackfill;
+import org.l5g7.mealcraft.app.products.Product;
 import org.l5g7.mealcraft.app.products.ProductDto;
 import org.l5g7.mealcraft.app.products.ProductRepository;
+import org.l5g7.mealcraft.app.products.ProductSearchIndex;
+import org.l5g7.mealcraft.app.products.PublicProductNameIndex;
 import org.l5g7.mealcraft.app.recipes.RecipeRepository;
 import org.l5g7.mealcraft.app.units.Unit;
+import org.l5g7.mealcraft.app.units.UnitNameIndex;
 import org.l5g7.mealcraft.app.units.UnitRepository;
 import org.l5g7.mealcraft.app.user.PasswordHasher;
 import org.l5g7.mealcraft.app.user.User;
@@ -19,7 +24,10 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Date;
 import java.util.List;
@@ -51,6 +59,24 @@ class ProductIntegrationTest {
     @Autowired
     PasswordHasher passwordHasher;
 
+    @Autowired
+    ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    PublicProductNameIndex publicProductNameIndex;
+
+    @Autowired
+    UnitNameIndex unitNameIndex;
+
+    @Autowired
+    NameKeyBackfill nameKeyBackfill;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
     @Value("${jwt.cookie-name}")
     String authCookieName;
 
@@ -79,6 +105,9 @@ class ProductIntegrationTest {
         unit.setName("g");
         Unit savedUnit = unitRepository.save(unit);
         unitId = savedUnit.getId();
+        productSearchIndex.rebuild();
+        publicProductNameIndex.rebuild();
+        unitNameIndex.rebuild();
 
         String loginUrl = "http://localhost:" + port + "/auth/login";
         LoginUserDto creds = new LoginUserDto("vika@mealcraft.org", "vika123");
@@ -241,6 +270,36 @@ class ProductIntegrationTest {
                 .anyMatch(p -> p.getName().equals("Banana"));
     }
 
+    @Test
+    void getAllProducts_withLimit_followsNextCursorToTheEnd() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.COOKIE, cookieHeader);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        for (String name : List.of("Apple", "Banana", "Cherry")) {
+            ProductDto body = ProductDto.builder().name(name).defaultUnitId(unitId).imageUrl("x.jpg").build();
+            rest.postForEntity(productsBase, new HttpEntity<>(body, headers), Void.class);
+        }
+
+        HttpEntity<Void> getReq = new HttpEntity<>(headers);
+        ResponseEntity<List<ProductDto>> firstPage = rest.exchange(productsBase + "?limit=2",
+                HttpMethod.GET, getReq, new ParameterizedTypeReference<>() {});
+
+        assertThat(firstPage.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(firstPage.getBody()).hasSize(2);
+        String cursor = firstPage.getHeaders().getFirst("X-Next-Cursor");
+        assertThat(cursor).isNotBlank();
+
+        ResponseEntity<List<ProductDto>> secondPage = rest.exchange(productsBase + "?limit=2&cursor=" + cursor,
+                HttpMethod.GET, getReq, new ParameterizedTypeReference<>() {});
+
+        assertThat(secondPage.getBody()).hasSize(1);
+        assertThat(secondPage.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+        assertThat(List.of(firstPage.getBody().get(0), firstPage.getBody().get(1), secondPage.getBody().get(0)))
+                .extracting(ProductDto::getName)
+                .containsExactlyInAnyOrder("Apple", "Banana", "Cherry");
+    }
+
     @Test
     void updateProduct_returns200_andUpdates() {
         HttpHeaders headers = new HttpHeaders();
@@ -586,4 +645,43 @@ class ProductIntegrationTest {
 
         assertThat(byIdResp.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
+
+    @Test
+    void legacyRowsWithoutNameKeys_getKeysAndCollidingNamesAreRenamed() {
+        jdbcTemplate.update("INSERT INTO unit (name) VALUES ('Cup'), ('cup ')");
+        jdbcTemplate.update("INSERT INTO product (name, created_at) VALUES ('Salt', CURRENT_TIMESTAMP), "
+                + "('SALT', CURRENT_TIMESTAMP), ('Pepper', CURRENT_TIMESTAMP)");
+
+        nameKeyBackfill.afterSingletonsInstantiated();
+
+        Unit cup = unitRepository.findByNameKey("cup").orElseThrow();
+        assertThat(cup.getName()).isEqualTo("Cup");
+        assertThat(unitRepository.findByNameKey("cup (" + (cup.getId() + 1) + ")")).isPresent();
+        Product salt = productRepository.findByPublicNameKey("salt").orElseThrow();
+        assertThat(salt.getName()).isEqualTo("Salt");
+        Product renamedSalt = productRepository.findByPublicNameKey("salt (" + (salt.getId() + 1) + ")").orElseThrow();
+        assertThat(productRepository.findByPublicNameKey("pepper")).isPresent();
+
+        renamedSalt.setImageUrl("https://example.org/salt.png");
+        productRepository.saveAndFlush(renamedSalt);
+        salt.setImageUrl("https://example.org/salt.png");
+        productRepository.saveAndFlush(salt);
+    }
+
+    @Test
+    void namesCreatedForARolledBackTransaction_stayAndAreReused() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Unit cup = unitNameIndex.getOrCreate("Cup");
+            publicProductNameIndex.getOrCreate("Oats", name -> productRepository.saveAndFlush(
+                    Product.builder().name(name).defaultUnit(cup).createdAt(new Date()).build()));
+            status.setRollbackOnly();
+        });
+
+        Unit cup = unitRepository.findByNameKey("cup").orElseThrow();
+        Product oats = productRepository.findByPublicNameKey("oats").orElseThrow();
+        assertThat(unitNameIndex.getOrCreate(" CUP ").getId()).isEqualTo(cup.getId());
+        assertThat(publicProductNameIndex.getOrCreate("oats", name -> {
+            throw new AssertionError("Oats must not be created again");
+        }).getId()).isEqualTo(oats.getId());
+    }
 }
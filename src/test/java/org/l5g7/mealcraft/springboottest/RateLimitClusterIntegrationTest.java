@@ -0,0 +1,87 @@
+package org.l5g7.mealcraft.springboottest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.l5g7.mealcraft.MealCraftApplication;
+import org.l5g7.mealcraft.app.ratelimit.JdbcRateLimitStore;
+import org.l5g7.mealcraft.app.ratelimit.RateLimit;
+import org.l5g7.mealcraft.app.ratelimit.RateLimitStore;
+import org.l5g7.mealcraft.app.ratelimit.RateLimiter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application instances on one database, as two nodes behind a load balancer would run.
+ */
+class RateLimitClusterIntegrationTest {
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    void nodesShareOneLimit() {
+        assertThat(nodeA.getBean(RateLimitStore.class)).isInstanceOf(JdbcRateLimitStore.class);
+        RateLimit limit = new RateLimit(30, Duration.ofHours(1));
+        RateLimiter onA = nodeA.getBean(RateLimitStore.class).limiter("cluster-test", limit);
+        RateLimiter onB = nodeB.getBean(RateLimitStore.class).limiter("cluster-test", limit);
+
+        int allowed = 0;
+        for (int i = 0; i < 60; i++) {
+            if ((i % 2 == 0 ? onA : onB).tryAcquire("shared").allowed()) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(30);
+    }
+
+    @Test
+    void closedNodeHandsItsLeasesBack() {
+        RateLimit limit = new RateLimit(30, Duration.ofHours(1));
+        RateLimiter onA = nodeA.getBean(RateLimitStore.class).limiter("cluster-test", limit);
+        RateLimiter onB = nodeB.getBean(RateLimitStore.class).limiter("cluster-test", limit);
+        onA.tryAcquire("leased");
+        int allowedOnB = 0;
+        while (onB.tryAcquire("leased").allowed()) {
+            allowedOnB++;
+        }
+
+        nodeA.close();
+
+        assertThat(allowedOnB).isLessThan(29);
+        while (onB.tryAcquire("leased").allowed()) {
+            allowedOnB++;
+        }
+        assertThat(allowedOnB).isEqualTo(29);
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(MealCraftApplication.class)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:rate_limit_cluster;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.show-sql=false",
+                        "mealcraft.rate-limit.store=jdbc",
+                        "mealcraft.rate-limit.jdbc.flush-interval=1h",
+                        "server.port=0")
+                .run();
+    }
+}
@@ -5,10 +5,16 @@ import org.junit.jupiter.api.Test;
 import org.l5g7.mealcraft.app.auth.dto.LoginUserDto;
 import org.l5g7.mealcraft.app.products.Product;
 import org.l5g7.mealcraft.app.products.ProductRepository;
+import org.l5g7.mealcraft.app.products.ProductSearchIndex;
+import org.l5g7.mealcraft.app.products.PublicProductNameIndex;
 import org.l5g7.mealcraft.app.recipes.RecipeDto;
+import org.l5g7.mealcraft.app.recipes.RecipeImportResult;
+import org.l5g7.mealcraft.app.recipes.RecipeIngredientIndex;
+import org.l5g7.mealcraft.app.recipes.RecipeReadModel;
 import org.l5g7.mealcraft.app.recipes.RecipeRepository;
 import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredientDto;
 import org.l5g7.mealcraft.app.units.Unit;
+import org.l5g7.mealcraft.app.units.UnitNameIndex;
 import org.l5g7.mealcraft.app.units.UnitRepository;
 import org.l5g7.mealcraft.app.user.PasswordHasher;
 import org.l5g7.mealcraft.app.user.User;
@@ -54,6 +60,21 @@ class RecipeIntegrationTest {
     @Autowired
     PasswordHasher passwordHasher;
 
+    @Autowired
+    ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    PublicProductNameIndex publicProductNameIndex;
+
+    @Autowired
+    UnitNameIndex unitNameIndex;
+
+    @Autowired
+    RecipeIngredientIndex recipeIngredientIndex;
+
+    @Autowired
+    RecipeReadModel recipeReadModel;
+
     @Value("${jwt.cookie-name}")
     String authCookieName;
 
@@ -91,6 +112,11 @@ class RecipeIntegrationTest {
                 .build();
         Product savedProduct = productRepository.save(product);
         productId = savedProduct.getId();
+        productSearchIndex.rebuild();
+        publicProductNameIndex.rebuild();
+        unitNameIndex.rebuild();
+        recipeIngredientIndex.rebuild();
+        recipeReadModel.rebuild();
 
         String loginUrl = "http://localhost:" + port + "/auth/login";
         LoginUserDto creds = new LoginUserDto("vika@mealcraft.org", "vika123");
@@ -559,4 +585,120 @@ class RecipeIntegrationTest {
 
         assertThat(byIdResp.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
+
+    @Test
+    void bulkImportAsAdmin_importsValidLines_andReportsFailedOnes() {
+        User admin = User.builder()
+                .username("admin")
+                .email("admin@mealcraft.org")
+                .password(passwordHasher.hashPassword("admin123"))
+                .role(Role.ADMIN)
+                .avatarUrl(null)
+                .createdAt(new Date())
+                .build();
+        userRepository.save(admin);
+
+        String loginUrl = "http://localhost:" + port + "/auth/login";
+        ResponseEntity<String> adminLoginResp = rest.postForEntity(loginUrl,
+                new LoginUserDto("admin@mealcraft.org", "admin123"), String.class);
+        assertThat(adminLoginResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String adminCookie = adminLoginResp.getHeaders().get(HttpHeaders.SET_COOKIE).get(0).split(";", 2)[0];
+
+        HttpHeaders adminHeaders = new HttpHeaders();
+        adminHeaders.add(HttpHeaders.COOKIE, adminCookie);
+        adminHeaders.setContentType(MediaType.APPLICATION_NDJSON);
+
+        String ndjson = """
+                {"name":"Syrup","ingredients":[{"productName":" SUGAR ","amount":100,"unitName":"g"}]}
+                {"name":"Broken",
+                
+                {"name":"Pancakes","ingredients":[{"productName":"Flour","amount":2,"unitName":"cup"},{"productName":"Sugar","amount":1}]}
+                {"name":"Empty","ingredients":[]}
+                """;
+        ResponseEntity<List<RecipeImportResult>> importResp = rest.exchange(
+                recipesBase + "/import/bulk",
+                HttpMethod.POST,
+                new HttpEntity<>(ndjson, adminHeaders),
+                new ParameterizedTypeReference<List<RecipeImportResult>>() {}
+        );
+        assertThat(importResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<RecipeImportResult> results = importResp.getBody();
+        assertThat(results).isNotNull()
+                .extracting(RecipeImportResult::getLine)
+                .containsExactly(1, 2, 4, 5);
+        assertThat(results.get(0).getRecipeId()).isNotNull();
+        assertThat(results.get(1).getError()).startsWith("Malformed JSON");
+        assertThat(results.get(2).getRecipeId()).isNotNull();
+        assertThat(results.get(3).getError()).isEqualTo("Imported recipe must contain at least one ingredient");
+
+        assertThat(productRepository.findAll())
+                .extracting(Product::getName)
+                .containsExactlyInAnyOrder("Sugar", "Flour");
+        assertThat(unitRepository.findAll())
+                .extracting(Unit::getName)
+                .containsExactlyInAnyOrder("g", "cup");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.COOKIE, cookieHeader);
+        ResponseEntity<RecipeDto> syrupResp = rest.exchange(
+                recipesBase + "/{id}",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                RecipeDto.class,
+                results.get(0).getRecipeId()
+        );
+        assertThat(syrupResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(syrupResp.getBody()).isNotNull();
+        assertThat(syrupResp.getBody().getIngredients())
+                .extracting(RecipeIngredientDto::getProductId)
+                .containsExactly(productId);
+    }
+
+    @Test
+    void bulkImportAsAdmin_recipeThatCannotBeSaved_failsOnlyItsOwnLine() {
+        User admin = User.builder()
+                .username("admin")
+                .email("admin@mealcraft.org")
+                .password(passwordHasher.hashPassword("admin123"))
+                .role(Role.ADMIN)
+                .avatarUrl(null)
+                .createdAt(new Date())
+                .build();
+        userRepository.save(admin);
+
+        String loginUrl = "http://localhost:" + port + "/auth/login";
+        ResponseEntity<String> adminLoginResp = rest.postForEntity(loginUrl,
+                new LoginUserDto("admin@mealcraft.org", "admin123"), String.class);
+        assertThat(adminLoginResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String adminCookie = adminLoginResp.getHeaders().get(HttpHeaders.SET_COOKIE).get(0).split(";", 2)[0];
+
+        HttpHeaders adminHeaders = new HttpHeaders();
+        adminHeaders.add(HttpHeaders.COOKIE, adminCookie);
+        adminHeaders.setContentType(MediaType.APPLICATION_NDJSON);
+
+        String tooLongImageUrl = "https://example.org/" + "x".repeat(300);
+        String ndjson = """
+                {"name":"Syrup","ingredients":[{"productName":"Sugar","amount":100,"unitName":"g"}]}
+                {"name":"Poster","imageUrl":"%s","ingredients":[{"productName":"Flour","amount":1}]}
+                {"name":"Porridge","ingredients":[{"productName":"Oats","amount":50,"unitName":"g"}]}
+                """.formatted(tooLongImageUrl);
+        ResponseEntity<List<RecipeImportResult>> importResp = rest.exchange(
+                recipesBase + "/import/bulk",
+                HttpMethod.POST,
+                new HttpEntity<>(ndjson, adminHeaders),
+                new ParameterizedTypeReference<List<RecipeImportResult>>() {}
+        );
+        assertThat(importResp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<RecipeImportResult> results = importResp.getBody();
+        assertThat(results).isNotNull()
+                .extracting(RecipeImportResult::getLine)
+                .containsExactly(1, 2, 3);
+        assertThat(results.get(0).getRecipeId()).isNotNull();
+        assertThat(results.get(1).getError()).isEqualTo("Recipe could not be saved");
+        assertThat(results.get(2).getRecipeId()).isNotNull();
+
+        assertThat(productRepository.findAll())
+                .extracting(Product::getName)
+                .containsExactlyInAnyOrder("Sugar", "Oats");
+    }
 }
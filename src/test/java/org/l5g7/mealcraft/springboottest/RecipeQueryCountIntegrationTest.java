@@ -0,0 +1,159 @@
+package org.l5g7.mealcraft.springboottest;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.l5g7.mealcraft.app.products.Product;
+import org.l5g7.mealcraft.app.products.ProductRepository;
+import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredient;
+import org.l5g7.mealcraft.app.recipes.Recipe;
+import org.l5g7.mealcraft.app.recipes.RecipeDto;
+import org.l5g7.mealcraft.app.recipes.RecipeIngredientIndex;
+import org.l5g7.mealcraft.app.recipes.RecipeReadModel;
+import org.l5g7.mealcraft.app.recipes.RecipeRepository;
+import org.l5g7.mealcraft.app.recipes.RecipeService;
+import org.l5g7.mealcraft.app.units.Unit;
+import org.l5g7.mealcraft.app.units.UnitRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RecipeQueryCountIntegrationTest {
+
+    private static final int RECIPE_COUNT = 50;
+
+    @Autowired
+    RecipeService recipeService;
+
+    @Autowired
+    RecipeRepository recipeRepository;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Autowired
+    UnitRepository unitRepository;
+
+    @Autowired
+    RecipeIngredientIndex recipeIngredientIndex;
+
+    @Autowired
+    RecipeReadModel recipeReadModel;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        deleteAll();
+
+        Unit unit = new Unit();
+        unit.setName("g");
+        Unit savedUnit = unitRepository.save(unit);
+
+        List<Product> products = new ArrayList<>();
+        for (String name : List.of("Flour", "Sugar", "Eggs", "Milk", "Butter")) {
+            products.add(productRepository.save(Product.builder()
+                    .name(name)
+                    .defaultUnit(savedUnit)
+                    .createdAt(new Date())
+                    .build()));
+        }
+
+        Recipe first = null;
+        for (int i = 0; i < RECIPE_COUNT; i++) {
+            Recipe recipe = Recipe.builder()
+                    .name("Recipe " + i)
+                    .baseRecipe(i == RECIPE_COUNT - 1 ? first : null)
+                    .createdAt(new Date())
+                    .build();
+            List<RecipeIngredient> ingredients = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                ingredients.add(RecipeIngredient.builder()
+                        .recipe(recipe)
+                        .product(products.get((i + j) % products.size()))
+                        .amount(1.0 + j)
+                        .build());
+            }
+            recipe.setIngredients(ingredients);
+            Recipe saved = recipeRepository.save(recipe);
+            if (first == null) {
+                first = saved;
+            }
+        }
+        recipeIngredientIndex.rebuild();
+        recipeReadModel.rebuild();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteAll();
+    }
+
+    private void deleteAll() {
+        recipeRepository.deleteAll(recipeRepository.findAll().stream()
+                .filter(recipe -> recipe.getBaseRecipe() != null)
+                .toList());
+        recipeRepository.deleteAll();
+        productRepository.deleteAll();
+        unitRepository.deleteAll();
+    }
+
+    @Test
+    void rebuild_loadsAllRecipesInOneStatement() {
+        recipeReadModel.rebuild();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getAllRecipes_isServedWithoutStatements() {
+        List<RecipeDto> recipes = recipeService.getAllRecipes();
+
+        assertThat(recipes).hasSize(RECIPE_COUNT);
+        assertThat(recipes).allSatisfy(recipe -> assertThat(recipe.getIngredients()).hasSize(3));
+        assertThat(recipes.get(RECIPE_COUNT - 1).getBaseRecipeId()).isEqualTo(recipes.get(0).getId());
+        assertThat(recipes.get(0).getIngredients().get(0).getProductName()).isEqualTo("Flour");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getRecipesByProducts_isServedWithoutStatements() {
+        List<RecipeDto> recipes = recipeService.getRecipesByProducts(List.of("Flour", "Sugar", "Eggs"));
+
+        assertThat(recipes).hasSize(RECIPE_COUNT / 5);
+        assertThat(recipes).extracting(RecipeDto::getName).startsWith("Recipe 0", "Recipe 5");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getRecipeById_isServedWithoutStatements() {
+        Long id = recipeService.getAllRecipes().get(10).getId();
+
+        RecipeDto recipe = recipeService.getRecipeById(id);
+
+        assertThat(recipe.getIngredients()).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
@@ -10,6 +10,7 @@ import org.l5g7.mealcraft.app.recipes.RecipeRepository;
 import org.l5g7.mealcraft.app.shoppingitem.ShoppingItemRepository;
 import org.l5g7.mealcraft.app.user.PasswordHasher;
 import org.l5g7.mealcraft.app.user.User;
+import org.l5g7.mealcraft.app.user.UserIdentifierKeyBackfill;
 import org.l5g7.mealcraft.app.user.UserRepository;
 import org.l5g7.mealcraft.app.user.UserRequestDto;
 import org.l5g7.mealcraft.app.user.UserResponseDto;
@@ -21,6 +22,7 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Date;
@@ -59,6 +61,12 @@ class UserIntegrationTest {
     @Autowired
     PasswordHasher passwordHasher;
 
+    @Autowired
+    UserIdentifierKeyBackfill userIdentifierKeyBackfill;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
     @Value("${jwt.cookie-name}")
     String authCookieName;
 
@@ -311,4 +319,21 @@ class UserIntegrationTest {
         assertThat(userRepository.findById(u.getId())).isEmpty();
         assertThat(userRepository.findByEmail("vika@mealcraft.org")).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void usersWithoutIdentifierKeys_canLogInAfterBackfill() {
+        userRepository.save(User.builder()
+                .username("Vika")
+                .email("Vika@mealcraft.org")
+                .password(passwordHasher.hashPassword("vika123"))
+                .role(Role.USER)
+                .createdAt(new Date())
+                .build());
+        jdbcTemplate.update("UPDATE users SET username_key = NULL, email_key = NULL WHERE username = 'Vika'");
+
+        userIdentifierKeyBackfill.afterSingletonsInstantiated();
+
+        assertThat(userRepository.findByUsernameOrEmail("vika")).isPresent();
+        assertThat(userRepository.findByUsernameOrEmail(" vika@MEALCRAFT.org")).isPresent();
+    }
+}
@@ -0,0 +1,165 @@
+package org.l5g7.mealcraft.unittest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.l5g7.mealcraft.app.mealplan.EventCell;
+import org.l5g7.mealcraft.app.mealplan.MealPlan;
+import org.l5g7.mealcraft.app.mealplan.MealPlanCalendarServiceImpl;
+import org.l5g7.mealcraft.app.mealplan.MealPlanDto;
+import org.l5g7.mealcraft.app.mealplan.MealPlanRepository;
+import org.l5g7.mealcraft.app.recipes.Recipe;
+import org.l5g7.mealcraft.app.user.User;
+import org.l5g7.mealcraft.app.user.UserRepository;
+import org.l5g7.mealcraft.enums.MealPlanColor;
+import org.l5g7.mealcraft.enums.MealStatus;
+import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MealPlanCalendarServiceImplTest {
+
+    private static final YearMonth NOVEMBER = YearMonth.of(2025, 11);
+
+    @Mock
+    private MealPlanRepository mealPlanRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private MealPlanCalendarServiceImpl calendarService;
+
+    private User testUser;
+    private Recipe testRecipe;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder().id(1L).build();
+        testRecipe = Recipe.builder().id(100L).name("Soup").createdAt(new Date()).build();
+        lenient().when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+    }
+
+    @Test
+    void getUserMonthLayout_queriesOnlyMonthWithLookbackForLongestPlan() {
+        when(mealPlanRepository.findMaxServingsByUserOwner(testUser)).thenReturn(4);
+        when(mealPlanRepository.findAllByUserOwnerAndPlanDateBetween(eq(testUser), any(), any())).thenReturn(List.of());
+
+        calendarService.getUserMonthLayout(1L, NOVEMBER);
+
+        verify(mealPlanRepository).findAllByUserOwnerAndPlanDateBetween(testUser,
+                date(LocalDate.of(2025, 10, 29)),
+                new Date(date(LocalDate.of(2025, 12, 1)).getTime() - 1));
+        verify(mealPlanRepository, never()).findAllByUserOwner(any());
+    }
+
+    @Test
+    void getUserMonthLayout_userWithoutPlans_skipsPlanQuery() {
+        when(mealPlanRepository.findMaxServingsByUserOwner(testUser)).thenReturn(null);
+
+        assertTrue(calendarService.getUserMonthLayout(1L, NOVEMBER).isEmpty());
+        verify(mealPlanRepository, never()).findAllByUserOwnerAndPlanDateBetween(any(), any(), any());
+    }
+
+    @Test
+    void getUserMonthLayout_reusesSlotOfEndedPlan() {
+        MealPlan first = plan(10L, LocalDate.of(2025, 11, 3), 3);
+        MealPlan overlapping = plan(11L, LocalDate.of(2025, 11, 4), 1);
+        MealPlan later = plan(12L, LocalDate.of(2025, 11, 6), 2);
+        stubPlans(3, first, overlapping, later);
+
+        Map<LocalDate, List<EventCell>> layout = calendarService.getUserMonthLayout(1L, NOVEMBER);
+
+        assertEquals(2, layout.get(LocalDate.of(2025, 11, 4)).size());
+        assertEquals(1, layout.get(LocalDate.of(2025, 11, 4)).get(1).getSlot());
+        assertEquals(1, layout.get(LocalDate.of(2025, 11, 5)).size());
+        EventCell reused = layout.get(LocalDate.of(2025, 11, 6)).get(0);
+        assertEquals(0, reused.getSlot());
+        assertTrue(reused.isStart());
+        assertTrue(layout.get(LocalDate.of(2025, 11, 7)).get(0).isEnd());
+    }
+
+    @Test
+    void getUserMonthLayout_keepsSlotOfLongPlanAfterShorterOneEnds() {
+        MealPlan shorter = plan(10L, LocalDate.of(2025, 11, 10), 1);
+        MealPlan longer = plan(11L, LocalDate.of(2025, 11, 10), 3);
+        stubPlans(3, shorter, longer);
+
+        Map<LocalDate, List<EventCell>> layout = calendarService.getUserMonthLayout(1L, NOVEMBER);
+
+        List<EventCell> nextDay = layout.get(LocalDate.of(2025, 11, 11));
+        assertEquals(2, nextDay.size());
+        assertNull(nextDay.get(0));
+        assertEquals(1, nextDay.get(1).getSlot());
+    }
+
+    @Test
+    void getUserMonthLayout_planStartedInPreviousMonth_isClippedWithoutStart() {
+        MealPlan spanning = plan(10L, LocalDate.of(2025, 10, 30), 4);
+        MealPlan ended = plan(11L, LocalDate.of(2025, 10, 28), 2);
+        stubPlans(4, spanning, ended);
+
+        Map<LocalDate, List<EventCell>> layout = calendarService.getUserMonthLayout(1L, NOVEMBER);
+
+        assertEquals(2, layout.size());
+        EventCell firstDay = layout.get(LocalDate.of(2025, 11, 1)).get(0);
+        assertFalse(firstDay.isStart());
+        assertEquals("Soup", firstDay.getName());
+        assertEquals(MealPlanColor.BLUE.getHex(), firstDay.getColor());
+        assertTrue(layout.get(LocalDate.of(2025, 11, 2)).get(0).isEnd());
+        assertFalse(layout.containsKey(LocalDate.of(2025, 10, 31)));
+    }
+
+    @Test
+    void getUserMealPlansOn_returnsPlansCoveringDay() {
+        MealPlan covering = plan(10L, LocalDate.of(2025, 11, 3), 3);
+        MealPlan ended = plan(11L, LocalDate.of(2025, 11, 2), 1);
+        stubPlans(3, covering, ended);
+
+        List<MealPlanDto> plans = calendarService.getUserMealPlansOn(1L, LocalDate.of(2025, 11, 4));
+
+        assertEquals(List.of(10L), plans.stream().map(MealPlanDto::getId).toList());
+    }
+
+    @Test
+    void getUserMonthLayout_unknownUser_throws() {
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(EntityDoesNotExistException.class, () -> calendarService.getUserMonthLayout(2L, NOVEMBER));
+    }
+
+    private void stubPlans(int longest, MealPlan... plans) {
+        when(mealPlanRepository.findMaxServingsByUserOwner(testUser)).thenReturn(longest);
+        when(mealPlanRepository.findAllByUserOwnerAndPlanDateBetween(eq(testUser), any(), any()))
+                .thenReturn(List.of(plans));
+    }
+
+    private MealPlan plan(Long id, LocalDate day, int servings) {
+        return MealPlan.builder()
+                .id(id)
+                .userOwner(testUser)
+                .recipe(testRecipe)
+                .planDate(date(day))
+                .servings(servings)
+                .status(MealStatus.PLANNED)
+                .color(MealPlanColor.BLUE)
+                .build();
+    }
+
+    private static Date date(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
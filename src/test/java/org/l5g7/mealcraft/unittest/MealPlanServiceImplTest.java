@@ -3,6 +3,7 @@ package org.l5g7.mealcraft.unittest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
 import org.l5g7.mealcraft.app.mealplan.MealPlan;
 import org.l5g7.mealcraft.app.mealplan.MealPlanDto;
 import org.l5g7.mealcraft.app.mealplan.MealPlanRepository;
@@ -20,6 +21,7 @@ import org.l5g7.mealcraft.enums.MealStatus;
 import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
@@ -46,6 +48,9 @@ class MealPlanServiceImplTest {
     @Mock
     private org.l5g7.mealcraft.app.shoppingitem.ShoppingItemService shoppingItemService;
 
+    @Spy
+    private AggregateVersions aggregateVersions = new AggregateVersions();
+
     @InjectMocks
     private MealPlanServiceImpl mealPlanService;
 
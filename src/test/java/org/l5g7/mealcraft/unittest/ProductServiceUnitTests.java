@@ -2,19 +2,27 @@ package org.l5g7.mealcraft.unittest;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
 import org.l5g7.mealcraft.app.products.Product;
 import org.l5g7.mealcraft.app.products.ProductDto;
+import org.l5g7.mealcraft.app.products.ProductRenamedEvent;
 import org.l5g7.mealcraft.app.products.ProductRepository;
+import org.l5g7.mealcraft.app.products.ProductSearchIndex;
 import org.l5g7.mealcraft.app.products.ProductServiceImpl;
+import org.l5g7.mealcraft.app.products.PublicProductNameIndex;
 import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredient;
 import org.l5g7.mealcraft.app.recipes.Recipe;
+import org.l5g7.mealcraft.app.recipes.RecipeIngredientIndex;
 import org.l5g7.mealcraft.app.recipes.RecipeRepository;
 import org.l5g7.mealcraft.app.units.Unit;
 import org.l5g7.mealcraft.app.units.UnitRepository;
 import org.l5g7.mealcraft.app.user.CurrentUserProvider;
 import org.l5g7.mealcraft.app.user.User;
 import org.l5g7.mealcraft.app.user.UserRepository;
+import org.l5g7.mealcraft.exception.EntityAlreadyExistsException;
 import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -31,6 +39,9 @@ class ProductServiceUnitTests {
     private RecipeRepository recipeRepository;
     private ProductServiceImpl productService;
     private CurrentUserProvider currentUserProvider;
+    private ProductSearchIndex productSearchIndex;
+    private ApplicationEventPublisher eventPublisher;
+    private PublicProductNameIndex publicProductNameIndex;
     private User owner;
     private User anotherUser;
     private Unit unitOne;
@@ -44,12 +55,20 @@ class ProductServiceUnitTests {
         userRepository = mock(UserRepository.class);
         recipeRepository = mock(RecipeRepository.class);
         currentUserProvider = mock(CurrentUserProvider.class);
+        productSearchIndex = new ProductSearchIndex(productRepository);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        publicProductNameIndex = new PublicProductNameIndex(productRepository, mock(PlatformTransactionManager.class));
 
         productService = new ProductServiceImpl(
                 productRepository,
                 unitRepository,
                 recipeRepository,
-                currentUserProvider
+                currentUserProvider,
+                mock(RecipeIngredientIndex.class),
+                productSearchIndex,
+                eventPublisher,
+                publicProductNameIndex,
+                new AggregateVersions()
         );
         owner = User.builder()
                 .id(1L)
@@ -322,6 +341,25 @@ class ProductServiceUnitTests {
         productService.updateProduct(100L, dto);
 
         verify(productRepository).save(productOne);
+        verify(eventPublisher).publishEvent(new ProductRenamedEvent(100L, "New name"));
+    }
+
+    @Test
+    void updateProduct_sameName_publishesNoRename() {
+        ProductDto dto = ProductDto.builder()
+                .name("Milk")
+                .imageUrl("img")
+                .defaultUnitId(10L)
+                .build();
+
+        when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(owner);
+        when(productRepository.findById(100L)).thenReturn(Optional.of(productOne));
+        when(unitRepository.findById(10L)).thenReturn(Optional.of(unitOne));
+
+        productService.updateProduct(100L, dto);
+
+        verify(productRepository).save(productOne);
+        verify(eventPublisher, never()).publishEvent(any(ProductRenamedEvent.class));
     }
 
     @Test
@@ -421,6 +459,20 @@ class ProductServiceUnitTests {
         productService.patchProduct(100L, dto);
 
         verify(productRepository).save(productOne);
+        verify(eventPublisher).publishEvent(new ProductRenamedEvent(100L, "Patch name"));
+    }
+
+    @Test
+    void patchProduct_sameName_publishesNoRename() {
+        ProductDto dto = ProductDto.builder().name("Milk").imageUrl("img").build();
+
+        when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(owner);
+        when(productRepository.findById(100L)).thenReturn(Optional.of(productOne));
+
+        productService.patchProduct(100L, dto);
+
+        verify(productRepository).save(productOne);
+        verify(eventPublisher, never()).publishEvent(any(ProductRenamedEvent.class));
     }
 
     @Test
@@ -472,14 +524,22 @@ class ProductServiceUnitTests {
 
     @Test
     void searchProducts_adminGetsOnlyPublic() {
+        Product publicProduct = Product.builder()
+                .id(200L)
+                .name("Mineral Water")
+                .defaultUnit(unitOne)
+                .ownerUser(null)
+                .build();
+        productSearchIndex.indexProduct(productOne);
+        productSearchIndex.indexProduct(publicProduct);
+
         when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(null);
-        when(productRepository.findAllByOwnerUserIsNullAndNameStartingWithIgnoreCase("Mi"))
-                .thenReturn(List.of(productOne));
 
         var result = productService.searchProductsByPrefix("Mi");
 
-        verify(productRepository).findAllByOwnerUserIsNullAndNameStartingWithIgnoreCase("Mi");
-        assert(result.size() == 1);
+        assertEquals(1, result.size());
+        assertEquals(200L, result.get(0).getId());
+        verify(productRepository, never()).findAll();
     }
 
     @Test
@@ -498,15 +558,149 @@ class ProductServiceUnitTests {
                 .ownerUser(anotherUser)
                 .build();
 
-        when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(owner);
         when(productRepository.findAll())
                 .thenReturn(List.of(productOne, publicProduct, anotherUserProduct));
+        productSearchIndex.rebuild();
+
+        when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(owner);
 
         var result = productService.searchProductsByPrefix("Mi");
 
-        verify(productRepository).findAll();
         assertEquals(2, result.size());
         assertTrue(result.stream().anyMatch(p -> p.getId().equals(100L)));
         assertTrue(result.stream().anyMatch(p -> p.getId().equals(200L)));
     }
+
+    @Test
+    void searchProducts_respectsLimitAndNameOrder() {
+        for (long id = 1; id <= 30; id++) {
+            productSearchIndex.indexProduct(Product.builder()
+                    .id(id)
+                    .name(String.format("Milk %02d", 31 - id))
+                    .defaultUnit(unitOne)
+                    .build());
+        }
+        when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(null);
+
+        var result = productService.searchProductsByPrefix("milk", 3);
+
+        assertEquals(List.of("Milk 01", "Milk 02", "Milk 03"), result.stream().map(ProductDto::getName).toList());
+    }
+
+    @Test
+    void searchProducts_rejectsInvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> productService.searchProductsByPrefix("Mi", 0));
+    }
+
+    @Test
+    void searchProducts_changingAResult_leavesTheIndexUntouched() {
+        productSearchIndex.indexProduct(Product.builder().id(1L).name("Milk").defaultUnit(unitOne).build());
+        when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(null);
+
+        productService.searchProductsByPrefix("mi").get(0).setName("Changed");
+        productService.searchProductsFuzzy("milk", 10).get(0).setName("Changed");
+
+        assertEquals("Milk", productService.searchProductsByPrefix("mi").get(0).getName());
+        assertEquals("Milk", productService.searchProductsFuzzy("milk", 10).get(0).getName());
+    }
+
+    @Test
+    void searchProductsFuzzy_ranksByEditDistanceAndRespectsVisibility() {
+        productSearchIndex.indexProduct(Product.builder().id(1L).name("Tomato").defaultUnit(unitOne).build());
+        productSearchIndex.indexProduct(Product.builder().id(2L).name("Potato").defaultUnit(unitOne).build());
+        productSearchIndex.indexProduct(Product.builder().id(3L).name("Tomatoes").defaultUnit(unitOne)
+                .ownerUser(owner).build());
+        productSearchIndex.indexProduct(Product.builder().id(4L).name("Tomate").defaultUnit(unitOne)
+                .ownerUser(anotherUser).build());
+        when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(owner);
+
+        var result = productService.searchProductsFuzzy("tomatoe", 10);
+
+        assertEquals(List.of(3L, 1L), result.stream().map(ProductDto::getId).toList());
+    }
+
+    @Test
+    void searchProductsFuzzy_blankQuery_returnsEmpty() {
+        assertTrue(productService.searchProductsFuzzy("  ", 10).isEmpty());
+    }
+
+    @Test
+    void findSimilarPublicProduct_resolvesTypoToExistingPublicProduct() {
+        Product parmesan = Product.builder().id(5L).name("Parmesan").defaultUnit(unitOne).build();
+        productSearchIndex.indexProduct(parmesan);
+        when(productRepository.findById(5L)).thenReturn(Optional.of(parmesan));
+
+        assertEquals(Optional.of(parmesan), productService.findSimilarPublicProduct(" parmesean "));
+    }
+
+    @Test
+    void findSimilarPublicProduct_shortNamesRequireExactMatch() {
+        productSearchIndex.indexProduct(Product.builder().id(6L).name("Butter").defaultUnit(unitOne).build());
+
+        assertTrue(productService.findSimilarPublicProduct("Batter").isEmpty());
+        verify(productRepository, never()).findById(6L);
+    }
+
+    @Test
+    void getOrCreatePublicProduct_existingNameInOtherCase_returnsItWithoutScanningOrSaving() {
+        Product salt = Product.builder().id(7L).name("Salt").defaultUnit(unitOne).build();
+        when(productRepository.findAllByOwnerUserIsNull()).thenReturn(List.of(salt));
+        when(productRepository.findById(7L)).thenReturn(Optional.of(salt));
+        publicProductNameIndex.rebuild();
+        clearInvocations(productRepository);
+        when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(null);
+
+        assertSame(salt, productService.getOrCreatePublicProduct(" SALT ", unitOne));
+        verify(productRepository, never()).findAllByOwnerUserIsNull();
+        verify(productRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void getOrCreatePublicProduct_unknownName_createsAndIndexesIt() {
+        when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(null);
+        when(productRepository.findByPublicNameKey("salt")).thenReturn(Optional.empty());
+        when(productRepository.saveAndFlush(any(Product.class))).thenAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            product.setId(8L);
+            return product;
+        });
+        when(productRepository.findById(8L))
+                .thenAnswer(invocation -> Optional.of(Product.builder().id(8L).name("Salt").defaultUnit(unitOne).build()));
+
+        assertEquals(8L, productService.getOrCreatePublicProduct("Salt", unitOne).getId());
+        assertEquals(8L, productService.getOrCreatePublicProduct(" salt", unitOne).getId());
+
+        verify(productRepository, times(1)).saveAndFlush(any(Product.class));
+        assertEquals(List.of(8L), productSearchIndex.findByPrefix("salt", null, 10).stream()
+                .map(ProductDto::getId)
+                .toList());
+    }
+
+    @Test
+    void createProduct_publicNameTakenInOtherCase_throwsAlreadyExists() {
+        Product salt = Product.builder().id(7L).name("Salt").defaultUnit(unitOne).build();
+        when(productRepository.findAllByOwnerUserIsNull()).thenReturn(List.of(salt));
+        when(productRepository.existsById(7L)).thenReturn(true);
+        publicProductNameIndex.rebuild();
+        when(unitRepository.findById(10L)).thenReturn(Optional.of(unitOne));
+        when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(null);
+
+        ProductDto dto = ProductDto.builder().name("salt ").defaultUnitId(10L).build();
+
+        assertThrows(EntityAlreadyExistsException.class, () -> productService.createProduct(dto));
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    void createProduct_privateProductMayShareAPublicName() {
+        Product salt = Product.builder().id(7L).name("Salt").defaultUnit(unitOne).build();
+        when(productRepository.findAllByOwnerUserIsNull()).thenReturn(List.of(salt));
+        publicProductNameIndex.rebuild();
+        when(unitRepository.findById(10L)).thenReturn(Optional.of(unitOne));
+        when(currentUserProvider.getCurrentUserOrNullIfAdmin()).thenReturn(owner);
+
+        productService.createProduct(ProductDto.builder().name("Salt").defaultUnitId(10L).build());
+
+        verify(productRepository).save(any(Product.class));
+    }
 }
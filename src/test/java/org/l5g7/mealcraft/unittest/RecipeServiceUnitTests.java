@@ -2,6 +2,7 @@ package org.l5g7.mealcraft.unittest;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
 import org.l5g7.mealcraft.app.mealplan.MealPlanRepository;
 import org.l5g7.mealcraft.app.products.Product;
 import org.l5g7.mealcraft.app.products.ProductRepository;
@@ -9,6 +10,10 @@ import org.l5g7.mealcraft.app.products.ProductService;
 import org.l5g7.mealcraft.app.recipeingredient.RecipeIngredientDto;
 import org.l5g7.mealcraft.app.recipes.Recipe;
 import org.l5g7.mealcraft.app.recipes.RecipeDto;
+import org.l5g7.mealcraft.app.recipes.RecipeBulkImporter;
+import org.l5g7.mealcraft.app.recipes.RecipeIngredientIndex;
+import org.l5g7.mealcraft.app.recipes.RecipeReadModel;
+import org.l5g7.mealcraft.app.recipes.RecipeReadRow;
 import org.l5g7.mealcraft.app.recipes.RecipeRepository;
 import org.l5g7.mealcraft.app.recipes.RecipeServiceImpl;
 import org.l5g7.mealcraft.app.units.UnitService;
@@ -17,10 +22,12 @@ import org.l5g7.mealcraft.app.user.User;
 import org.l5g7.mealcraft.app.user.UserRepository;
 import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
 import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.RecipeProvider;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,6 +43,7 @@ public class RecipeServiceUnitTests {
     private UnitService unitService;
     private ProductService productService;
     private MealPlanRepository mealPlanRepository;
+    private RecipeReadModel recipeReadModel;
 
     private RecipeServiceImpl recipeService;
 
@@ -49,6 +57,7 @@ public class RecipeServiceUnitTests {
         unitService = mock(UnitService.class);
         productService = mock(ProductService.class);
         mealPlanRepository = mock(MealPlanRepository.class);
+        recipeReadModel = new RecipeReadModel(recipeRepository);
 
         recipeService = new RecipeServiceImpl(
                 recipeRepository,
@@ -58,10 +67,23 @@ public class RecipeServiceUnitTests {
                 currentUserProvider,
                 unitService,
                 productService,
-                mealPlanRepository
+                mealPlanRepository,
+                mock(RecipeIngredientIndex.class),
+                recipeReadModel,
+                mock(ApplicationEventPublisher.class),
+                mock(RecipeBulkImporter.class),
+                new AggregateVersions()
+        );
+    }
 
+    private void seedReadModel(RecipeReadRow... rows) {
+        when(recipeRepository.streamAllReadRows()).thenReturn(Stream.of(rows));
+        recipeReadModel.rebuild();
+        clearInvocations(recipeRepository);
+    }
 
-        );
+    private RecipeReadRow headerRow(Long id, String name, Long ownerUserId) {
+        return new RecipeReadRow(id, name, ownerUserId, null, null, null, null, null, null, null);
     }
 
     private void mockCurrentUser(User user) {
@@ -227,14 +249,7 @@ public class RecipeServiceUnitTests {
                 .build();
         mockCurrentUser(user);
 
-        Recipe entity = Recipe.builder()
-                .id(5L)
-                .name("Public")
-                .ownerUser(null)
-                .ingredients(new ArrayList<>())
-                .build();
-
-        when(recipeRepository.findById(5L)).thenReturn(Optional.of(entity));
+        seedReadModel(headerRow(5L, "Public", null));
 
         RecipeDto dto = recipeService.getRecipeById(5L);
 
@@ -260,14 +275,7 @@ public class RecipeServiceUnitTests {
                 .password("pass")
                 .build();
 
-        Recipe entity = Recipe.builder()
-                .id(5L)
-                .name("Private")
-                .ownerUser(owner)
-                .ingredients(new ArrayList<>())
-                .build();
-
-        when(recipeRepository.findById(5L)).thenReturn(Optional.of(entity));
+        seedReadModel(headerRow(5L, "Private", owner.getId()));
 
         EntityDoesNotExistException ex = assertThrows(
                 EntityDoesNotExistException.class,
@@ -359,23 +367,13 @@ public class RecipeServiceUnitTests {
     void getAllRecipes_asAdmin_returnsOnlyPublicRecipes() {
         mockAdmin();
 
-        Recipe publicRecipe = Recipe.builder()
-                .id(1L)
-                .name("Public")
-                .ownerUser(null)
-                .ingredients(new ArrayList<>())
-                .build();
-
-        when(recipeRepository.findAllByOwnerUserIsNull())
-                .thenReturn(List.of(publicRecipe));
+        seedReadModel(headerRow(1L, "Public", null), headerRow(2L, "Own", 1L));
 
         List<RecipeDto> result = recipeService.getAllRecipes();
 
         assertEquals(1, result.size());
         assertEquals("Public", result.get(0).getName());
-        verify(recipeRepository, times(1)).findAllByOwnerUserIsNull();
-        verify(recipeRepository, never())
-                .findAllByOwnerUserIsNullOrOwnerUser_Id(anyLong());
+        verifyNoInteractions(recipeRepository);
     }
 
     @Test
@@ -388,22 +386,11 @@ public class RecipeServiceUnitTests {
                 .build();
         mockCurrentUser(user);
 
-        Recipe publicRecipe = Recipe.builder()
-                .id(1L)
-                .name("Public")
-                .ownerUser(null)
-                .ingredients(new ArrayList<>())
-                .build();
-
-        Recipe ownRecipe = Recipe.builder()
-                .id(2L)
-                .name("Own")
-                .ownerUser(user)
-                .ingredients(new ArrayList<>())
-                .build();
-
-        when(recipeRepository.findAllByOwnerUserIsNullOrOwnerUser_Id(1L))
-                .thenReturn(List.of(publicRecipe, ownRecipe));
+        seedReadModel(
+                headerRow(1L, "Public", null),
+                headerRow(2L, "Own", user.getId()),
+                headerRow(3L, "Foreign", 2L)
+        );
 
         List<RecipeDto> result = recipeService.getAllRecipes();
 
@@ -411,10 +398,7 @@ public class RecipeServiceUnitTests {
         assertTrue(result.stream().anyMatch(r -> r.getName().equals("Public")));
         assertTrue(result.stream().anyMatch(r -> r.getName().equals("Own")));
 
-        verify(recipeRepository, times(1))
-                .findAllByOwnerUserIsNullOrOwnerUser_Id(1L);
-        verify(recipeRepository, never())
-                .findAllByOwnerUserIsNull();
+        verifyNoInteractions(recipeRepository);
     }
 
 }
\ No newline at end of file
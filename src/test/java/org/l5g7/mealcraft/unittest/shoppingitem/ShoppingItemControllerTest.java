@@ -2,12 +2,18 @@ package org.l5g7.mealcraft.unittest.shoppingitem;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
+import org.l5g7.mealcraft.app.paging.CursorPage;
 import org.l5g7.mealcraft.app.shoppingitem.ShoppingItemController;
 import org.l5g7.mealcraft.app.shoppingitem.ShoppingItemDto;
 import org.l5g7.mealcraft.app.shoppingitem.ShoppingItemService;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -20,16 +26,20 @@ class ShoppingItemControllerTest {
     @Mock
     private ShoppingItemService shoppingItemService;
 
+    @Spy
+    private AggregateVersions aggregateVersions = new AggregateVersions();
+
     @InjectMocks
     private ShoppingItemController controller;
 
     @Test
     void getAllShoppingItem_returnsList() {
-        when(shoppingItemService.getAllShoppingItems()).thenReturn(List.of(ShoppingItemDto.builder().id(1L).name("Milk").build()));
-        List<ShoppingItemDto> result = controller.getAllShoppingItem();
+        when(shoppingItemService.getShoppingItemsPage(null, 50))
+                .thenReturn(new CursorPage<>(List.of(ShoppingItemDto.builder().id(1L).name("Milk").build()), null));
+        List<ShoppingItemDto> result = controller.getAllShoppingItem(null, 50, getRequest()).getBody();
         assertEquals(1, result.size());
         assertEquals(1L, result.get(0).getId());
-        verify(shoppingItemService, times(1)).getAllShoppingItems();
+        verify(shoppingItemService, times(1)).getShoppingItemsPage(null, 50);
     }
 
     @Test
@@ -44,7 +54,7 @@ class ShoppingItemControllerTest {
     @Test
     void getUserNotifications_returnsUserItems() {
         when(shoppingItemService.getUserShoppingItems(5L)).thenReturn(List.of(ShoppingItemDto.builder().id(3L).name("Eggs").build()));
-        List<ShoppingItemDto> result = controller.getUserNotifications(5L);
+        List<ShoppingItemDto> result = controller.getUserNotifications(5L, getRequest());
         assertEquals(1, result.size());
         verify(shoppingItemService, times(1)).getUserShoppingItems(5L);
     }
@@ -81,5 +91,8 @@ class ShoppingItemControllerTest {
         controller.toggleShoppingItemStatus(40L);
         verify(shoppingItemService, times(1)).toggleStatus(40L);
     }
-}
 
+    private static ServletWebRequest getRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/shopping-items"), new MockHttpServletResponse());
+    }
+}
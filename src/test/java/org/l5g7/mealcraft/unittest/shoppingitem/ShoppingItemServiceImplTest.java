@@ -3,6 +3,7 @@ package org.l5g7.mealcraft.unittest.shoppingitem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
 import org.l5g7.mealcraft.app.products.Product;
 import org.l5g7.mealcraft.app.products.ProductRepository;
 import org.l5g7.mealcraft.app.shoppingitem.ShoppingItem;
@@ -16,6 +17,7 @@ import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Date;
@@ -37,6 +39,9 @@ class ShoppingItemServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private AggregateVersions aggregateVersions = new AggregateVersions();
+
     @InjectMocks
     private ShoppingItemServiceImpl service;
 
@@ -3,10 +3,17 @@ package org.l5g7.mealcraft.unittest.units;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
 import org.l5g7.mealcraft.app.units.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.Arrays;
 import java.util.List;
@@ -22,6 +29,9 @@ class UnitControllerTest {
     @Mock
     private UnitServiceImpl unitServiceImpl;
 
+    @Spy
+    private AggregateVersions aggregateVersions = new AggregateVersions();
+
     @InjectMocks
     private UnitController unitController;
 
@@ -47,7 +57,7 @@ class UnitControllerTest {
         );
         when(unitServiceImpl.getAllUnits()).thenReturn(expectedUnits);
 
-        List<UnitDto> result = unitController.getAllUnits();
+        List<UnitDto> result = unitController.getAllUnits(getRequest());
 
         assertNotNull(result);
         assertEquals(3, result.size());
@@ -59,13 +69,45 @@ class UnitControllerTest {
     void getAllUnits_EmptyList_ReturnsEmptyList() {
         when(unitServiceImpl.getAllUnits()).thenReturn(List.of());
 
-        List<UnitDto> result = unitController.getAllUnits();
+        List<UnitDto> result = unitController.getAllUnits(getRequest());
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
         verify(unitServiceImpl, times(1)).getAllUnits();
     }
 
+    @Test
+    void getAllUnits_MatchingETag_Returns304WithoutQuery() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        unitController.getAllUnits(new ServletWebRequest(new MockHttpServletRequest("GET", "/units"), first));
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/units");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        List<UnitDto> result = unitController.getAllUnits(new ServletWebRequest(conditional, second));
+
+        assertNull(result);
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), second.getStatus());
+        verify(unitServiceImpl, times(1)).getAllUnits();
+    }
+
+    @Test
+    void getAllUnits_UnitChangedSinceETag_ReturnsFreshList() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        unitController.getAllUnits(new ServletWebRequest(new MockHttpServletRequest("GET", "/units"), first));
+        aggregateVersions.bump(AggregateVersions.UNITS);
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/units");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, first.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        when(unitServiceImpl.getAllUnits()).thenReturn(List.of(testUnitDto));
+
+        assertEquals(List.of(testUnitDto), unitController.getAllUnits(new ServletWebRequest(conditional, second)));
+        assertEquals(HttpStatus.OK.value(), second.getStatus());
+        assertNotEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+    }
+
     @Test
     void getUnit_ValidId_ReturnsUnit() {
         long unitId = 1L;
@@ -201,4 +243,8 @@ class UnitControllerTest {
         });
         verify(unitServiceImpl, times(1)).deleteUnit(unitId);
     }
-}
\ No newline at end of file
+
+    private static ServletWebRequest getRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/units"), new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,76 @@
+package org.l5g7.mealcraft.unittest.units;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.l5g7.mealcraft.app.units.Unit;
+import org.l5g7.mealcraft.app.units.UnitNameIndex;
+import org.l5g7.mealcraft.app.units.UnitRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UnitNameIndexTest {
+
+    private UnitRepository unitRepository;
+    private UnitNameIndex unitNameIndex;
+
+    @BeforeEach
+    void setUp() {
+        unitRepository = mock(UnitRepository.class);
+        unitNameIndex = new UnitNameIndex(unitRepository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void getOrCreate_existingNameInOtherCase_returnsExistingWithoutInsert() {
+        Unit kilogram = Unit.builder().id(1L).name("kilogram").build();
+        when(unitRepository.findAll()).thenReturn(List.of(kilogram));
+        when(unitRepository.findById(1L)).thenReturn(Optional.of(kilogram));
+        unitNameIndex.rebuild();
+
+        assertSame(kilogram, unitNameIndex.getOrCreate("  KILOGRAM "));
+        verify(unitRepository, never()).findByNameKey(any());
+        verify(unitRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void getOrCreate_unitDeletedBehindIndex_createsItAgain() {
+        Unit stale = Unit.builder().id(1L).name("g").build();
+        Unit recreated = Unit.builder().id(2L).name("g").build();
+        when(unitRepository.findAll()).thenReturn(List.of(stale));
+        when(unitRepository.findById(1L)).thenReturn(Optional.empty());
+        when(unitRepository.findByNameKey("g")).thenReturn(Optional.empty());
+        when(unitRepository.saveAndFlush(any(Unit.class))).thenReturn(recreated);
+        when(unitRepository.findById(2L)).thenReturn(Optional.of(recreated));
+        unitNameIndex.rebuild();
+
+        assertEquals(2L, unitNameIndex.getOrCreate("g").getId());
+    }
+
+    @Test
+    void getOrCreate_insertLosesRaceToAnotherInstance_usesWinner() {
+        Unit winner = Unit.builder().id(3L).name("cup").build();
+        when(unitRepository.findByNameKey("cup")).thenReturn(Optional.empty(), Optional.of(winner));
+        when(unitRepository.saveAndFlush(any(Unit.class))).thenThrow(new DataIntegrityViolationException("uk_unit_name_key"));
+        when(unitRepository.findById(3L)).thenReturn(Optional.of(winner));
+
+        assertSame(winner, unitNameIndex.getOrCreate("Cup"));
+    }
+
+    @Test
+    void rename_movesIdToNewName() {
+        Unit unit = Unit.builder().id(4L).name("litre").build();
+        when(unitRepository.findById(4L)).thenReturn(Optional.of(unit));
+        unitNameIndex.put(Unit.builder().id(4L).name("liter").build());
+
+        unitNameIndex.rename(4L, "liter", "litre");
+
+        assertSame(unit, unitNameIndex.getOrCreate("LITRE"));
+        verify(unitRepository, never()).saveAndFlush(any());
+    }
+}
@@ -7,12 +7,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.l5g7.mealcraft.app.caching.AggregateVersions;
 import org.l5g7.mealcraft.app.products.ProductRepository;
+import org.l5g7.mealcraft.app.products.ProductSearchIndex;
 import org.l5g7.mealcraft.app.units.*;
 import org.l5g7.mealcraft.exception.EntityAlreadyExistsException;
 import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -35,12 +38,21 @@ class UnitServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private UnitNameIndex unitNameIndex;
+
     @Mock
     private SecurityContext securityContext;
 
     @Mock
     private Authentication authentication;
 
+    @Spy
+    private AggregateVersions aggregateVersions = new AggregateVersions();
+
     @InjectMocks
     private UnitServiceImpl unitService;
 
@@ -345,53 +357,14 @@ class UnitServiceImplTest {
     // ========== getOrCreateUnitByName Tests ==========
 
     @Test
-    void getOrCreateUnitByName_ExistingUnit_ReturnsExisting() {
-        when(repository.findFirstByNameIgnoreCase("kilogram")).thenReturn(Optional.of(testUnit));
-
-        Unit result = unitService.getOrCreateUnitByName("kilogram");
-
-        assertNotNull(result);
-        assertEquals(testUnit.getId(), result.getId());
-        assertEquals(testUnit.getName(), result.getName());
-        verify(repository, times(1)).findFirstByNameIgnoreCase("kilogram");
-        verify(repository, never()).save(any(Unit.class));
-    }
-
-    @Test
-    void getOrCreateUnitByName_NonExistingUnit_CreatesNew() {
-        Unit newUnit = Unit.builder().id(2L).name("meter").build();
-        when(repository.findFirstByNameIgnoreCase("meter")).thenReturn(Optional.empty());
-        when(repository.save(any(Unit.class))).thenReturn(newUnit);
-
-        Unit result = unitService.getOrCreateUnitByName("meter");
-
-        assertNotNull(result);
-        assertEquals("meter", result.getName());
-        verify(repository, times(1)).findFirstByNameIgnoreCase("meter");
-        verify(repository, times(1)).save(any(Unit.class));
-    }
-
-    @Test
-    void getOrCreateUnitByName_CaseInsensitive_ReturnsExisting() {
-        when(repository.findFirstByNameIgnoreCase("KILOGRAM")).thenReturn(Optional.of(testUnit));
-
-        Unit result = unitService.getOrCreateUnitByName("KILOGRAM");
-
-        assertNotNull(result);
-        assertEquals(testUnit.getId(), result.getId());
-        verify(repository, times(1)).findFirstByNameIgnoreCase("KILOGRAM");
-        verify(repository, never()).save(any(Unit.class));
-    }
-
-    @Test
-    void getOrCreateUnitByName_TrimsWhitespace_FindsUnit() {
-        when(repository.findFirstByNameIgnoreCase("kilogram")).thenReturn(Optional.of(testUnit));
+    void getOrCreateUnitByName_DelegatesToNameIndex() {
+        when(unitNameIndex.getOrCreate("  kilogram  ")).thenReturn(testUnit);
 
         Unit result = unitService.getOrCreateUnitByName("  kilogram  ");
 
-        assertNotNull(result);
-        assertEquals(testUnit.getId(), result.getId());
-        verify(repository, times(1)).findFirstByNameIgnoreCase("kilogram");
+        assertSame(testUnit, result);
+        verify(repository, never()).findFirstByNameIgnoreCase(anyString());
+        verify(repository, never()).save(any(Unit.class));
     }
 
     @Test
@@ -399,8 +372,7 @@ class UnitServiceImplTest {
         assertThrows(IllegalArgumentException.class, () -> {
             unitService.getOrCreateUnitByName(null);
         });
-        verify(repository, never()).findFirstByNameIgnoreCase(anyString());
-        verify(repository, never()).save(any(Unit.class));
+        verify(unitNameIndex, never()).getOrCreate(any());
     }
 
     @Test
@@ -408,8 +380,7 @@ class UnitServiceImplTest {
         assertThrows(IllegalArgumentException.class, () -> {
             unitService.getOrCreateUnitByName("   ");
         });
-        verify(repository, never()).findFirstByNameIgnoreCase(anyString());
-        verify(repository, never()).save(any(Unit.class));
+        verify(unitNameIndex, never()).getOrCreate(any());
     }
 
     // ========== getAuthenticatedUsername Tests ==========
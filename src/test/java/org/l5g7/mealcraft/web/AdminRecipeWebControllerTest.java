@@ -2,18 +2,21 @@ package org.l5g7.mealcraft.web;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.l5g7.mealcraft.app.paging.CursorPage;
 import org.l5g7.mealcraft.app.products.ProductDto;
 import org.l5g7.mealcraft.app.recipes.RecipeDto;
+import org.l5g7.mealcraft.app.recipes.RecipeSummaryDto;
 import org.mockito.Mockito;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
-import org.springframework.web.client.RestClient;
+import org.springframework.web.client.HttpClientErrorException;
+import org.l5g7.mealcraft.web.gateway.ApiGateway;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
-import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -21,30 +24,28 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class AdminRecipeWebControllerTest {
 
     private MockMvc mockMvc;
-    private RestClient internalApiClient;
+    private ApiGateway apiGateway;
 
     @BeforeEach
     void setUp() {
-        internalApiClient = Mockito.mock(RestClient.class, RETURNS_DEEP_STUBS);
-        AdminRecipeWebController controller = new AdminRecipeWebController(internalApiClient);
+        apiGateway = Mockito.mock(ApiGateway.class);
+        AdminRecipeWebController controller = new AdminRecipeWebController(apiGateway);
         mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
     }
 
     @Test
     void recipesPage_displaysRecipes() throws Exception {
-        Mockito.when(internalApiClient.get()
-                        .uri("/recipes")
-                        .retrieve()
-                        .toEntity(Mockito.any(ParameterizedTypeReference.class)))
-                .thenReturn(ResponseEntity.ok(List.of(
-                        RecipeDto.builder().id(1L).name("Pasta").build(),
-                        RecipeDto.builder().id(2L).name("Pizza").build()
-                )));
-
-        mockMvc.perform(get("/mealcraft/admin/recipe"))
+        Mockito.when(apiGateway.getRecipeSummaries("page-2", 50))
+                .thenReturn(new CursorPage<>(List.of(
+                        RecipeSummaryDto.builder().id(1L).name("Pasta").ingredientCount(2L).build(),
+                        RecipeSummaryDto.builder().id(2L).name("Pizza").ingredientCount(5L).build()
+                ), "page-3"));
+
+        mockMvc.perform(get("/mealcraft/admin/recipe").param("cursor", "page-2"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("admin-page"))
                 .andExpect(model().attribute("title", "Recipes"))
+                .andExpect(model().attribute("nextCursor", "page-3"))
                 .andExpect(model().attributeExists("data", "fragmentToLoad"));
     }
 
@@ -61,10 +62,7 @@ class AdminRecipeWebControllerTest {
     void showCreateBasedOnRecipeForm_displaysFormWithData() throws Exception {
         RecipeDto base = RecipeDto.builder().id(1L).name("Base Recipe").build();
 
-        Mockito.when(internalApiClient.get()
-                        .uri("/recipes/{id}", 1L)
-                        .retrieve()
-                        .body(RecipeDto.class))
+        Mockito.when(apiGateway.getRecipe(1L))
                 .thenReturn(base);
 
         mockMvc.perform(get("/mealcraft/admin/recipe/new-from/1"))
@@ -75,10 +73,7 @@ class AdminRecipeWebControllerTest {
 
     @Test
     void showEditRecipeForm_displaysFormWithData() throws Exception {
-        Mockito.when(internalApiClient.get()
-                        .uri("/recipes/{id}", 1L)
-                        .retrieve()
-                        .body(RecipeDto.class))
+        Mockito.when(apiGateway.getRecipe(1L))
                 .thenReturn(RecipeDto.builder().id(1L).name("Pasta").build());
 
         mockMvc.perform(get("/mealcraft/admin/recipe/edit/1"))
@@ -90,39 +85,40 @@ class AdminRecipeWebControllerTest {
 
     @Test
     void saveRecipe_create_redirectsToList() throws Exception {
-        Mockito.when(internalApiClient.post()
-                        .uri("/recipes")
-                        .body(Mockito.any())
-                        .retrieve()
-                        .toBodilessEntity())
-                .thenReturn(ResponseEntity.ok().build());
-
         mockMvc.perform(post("/mealcraft/admin/recipe")
                         .param("name", "New Recipe"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/mealcraft/admin/recipe"));
+
+        Mockito.verify(apiGateway).createRecipe(Mockito.any(RecipeDto.class));
     }
 
     @Test
-    void deleteRecipe_redirectsToList() throws Exception {
-        Mockito.when(internalApiClient.delete()
-                        .uri("/recipes/{id}", 1L)
-                        .retrieve()
-                        .toBodilessEntity())
-                .thenReturn(ResponseEntity.ok().build());
+    void saveRecipe_serviceRejects_showsFormWithError() throws Exception {
+        Mockito.doThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", new HttpHeaders(),
+                        "Recipe must contain at least one ingredient".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8))
+                .when(apiGateway).createRecipe(Mockito.any(RecipeDto.class));
 
+        mockMvc.perform(post("/mealcraft/admin/recipe")
+                        .param("name", "New Recipe"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("admin-page"))
+                .andExpect(model().attribute("errorMessage", "Recipe must contain at least one ingredient"));
+    }
+
+    @Test
+    void deleteRecipe_redirectsToList() throws Exception {
         mockMvc.perform(post("/mealcraft/admin/recipe/delete/1"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/mealcraft/admin/recipe"));
+
+        Mockito.verify(apiGateway).deleteRecipe(1L);
     }
 
 
     @Test
     void viewRecipe_displaysRecipeDetails() throws Exception {
-        Mockito.when(internalApiClient.get()
-                        .uri("/recipes/{id}", 1L)
-                        .retrieve()
-                        .body(RecipeDto.class))
+        Mockito.when(apiGateway.getRecipe(1L))
                 .thenReturn(RecipeDto.builder().id(1L).name("Pasta").build());
 
         mockMvc.perform(get("/mealcraft/admin/recipe/view/1"))
@@ -133,10 +129,7 @@ class AdminRecipeWebControllerTest {
 
     @Test
     void getProductSuggestions_returnsJson() throws Exception {
-        Mockito.when(internalApiClient.get()
-                        .uri(Mockito.anyString())
-                        .retrieve()
-                        .body(Mockito.any(ParameterizedTypeReference.class)))
+        Mockito.when(apiGateway.searchProducts("Mi"))
                 .thenReturn(List.of(ProductDto.builder().id(1L).name("Milk").build()));
 
         mockMvc.perform(get("/mealcraft/admin/recipe/product-suggestions").param("query", "Mi"))
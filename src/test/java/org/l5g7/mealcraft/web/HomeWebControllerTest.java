@@ -2,11 +2,13 @@ package org.l5g7.mealcraft.web;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.l5g7.mealcraft.app.auth.security.AuthenticatedUser;
+import org.l5g7.mealcraft.app.recipes.RecipeDto;
 import org.l5g7.mealcraft.app.user.UserResponseDto;
 import org.l5g7.mealcraft.app.user.UserService;
 import org.l5g7.mealcraft.enums.Role;
+import org.l5g7.mealcraft.web.gateway.ApiGateway;
 import org.mockito.Mockito;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -14,8 +16,8 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
-import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.mockito.Mockito.*;
@@ -26,14 +28,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class HomeWebControllerTest {
 
     private MockMvc mockMvc;
-    private RestClient internalApiClient;
+    private ApiGateway apiGateway;
     private UserService userService;
 
     @BeforeEach
     void setUp() {
-        internalApiClient = Mockito.mock(RestClient.class, RETURNS_DEEP_STUBS);
+        apiGateway = Mockito.mock(ApiGateway.class);
         userService = Mockito.mock(UserService.class);
-        HomeWebController controller = new HomeWebController(internalApiClient, userService);
+        HomeWebController controller = new HomeWebController(apiGateway, userService, new PageComposer(2, Duration.ofSeconds(1)));
         mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
     }
 
@@ -52,15 +54,11 @@ class HomeWebControllerTest {
 
     @Test
     void toggleChecked_redirectsToHome() throws Exception {
-        when(internalApiClient.patch()
-                        .uri("/shopping-items/toggle/{id}", 1L)
-                        .retrieve()
-                        .toBodilessEntity())
-                .thenReturn(ResponseEntity.ok().build());
-
         mockMvc.perform(post("/mealcraft/shopping/toggle").param("id", "1"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/mealcraft/home"));
+
+        verify(apiGateway).toggleShoppingItem(1L);
     }
 
     @Test
@@ -99,5 +97,23 @@ class HomeWebControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/mealcraft/admin/home"));
     }
-}
 
+    @Test
+    void showUserRecipePage_withAuthenticatedUser_filtersByPrincipalIdWithoutUserLookup() throws Exception {
+        AuthenticatedUser principal = new AuthenticatedUser(7L, "testUser", Role.USER);
+        Authentication auth = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(auth);
+        SecurityContextHolder.setContext(securityContext);
+        RecipeDto own = RecipeDto.builder().id(1L).name("Own").ownerUserId(7L).build();
+        RecipeDto other = RecipeDto.builder().id(2L).name("Other").ownerUserId(8L).build();
+        when(apiGateway.getRecipes()).thenReturn(List.of(own, other));
+
+        mockMvc.perform(get("/mealcraft/user/recipes"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("data", List.of(own)));
+
+        verify(apiGateway).getUserShoppingItems(7L);
+        verifyNoInteractions(userService);
+    }
+}
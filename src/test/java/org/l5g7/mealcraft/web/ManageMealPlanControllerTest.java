@@ -7,20 +7,18 @@ import org.l5g7.mealcraft.app.recipes.RecipeDto;
 import org.l5g7.mealcraft.app.user.UserResponseDto;
 import org.l5g7.mealcraft.app.user.UserService;
 import org.l5g7.mealcraft.enums.Role;
+import org.l5g7.mealcraft.web.gateway.ApiGateway;
 import org.mockito.Mockito;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
-import org.springframework.web.client.RestClient;
 
 import java.util.List;
 
-import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -29,14 +27,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class ManageMealPlanControllerTest {
 
     private MockMvc mockMvc;
-    private RestClient internalApiClient;
+    private ApiGateway apiGateway;
     private UserService userService;
 
     @BeforeEach
     void setUp() {
-        internalApiClient = Mockito.mock(RestClient.class, RETURNS_DEEP_STUBS);
+        apiGateway = Mockito.mock(ApiGateway.class);
         userService = Mockito.mock(UserService.class);
-        ManageMealPlanController controller = new ManageMealPlanController(internalApiClient, userService);
+        ManageMealPlanController controller = new ManageMealPlanController(apiGateway, userService);
         mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
 
         Authentication auth = new UsernamePasswordAuthenticationToken("testUser", "password");
@@ -50,19 +48,13 @@ class ManageMealPlanControllerTest {
         UserResponseDto userDto = new UserResponseDto(1L, "testUser", "test@example.com", Role.USER, null);
         when(userService.getUserByUsername("testUser")).thenReturn(userDto);
 
-        when(internalApiClient.get()
-                        .uri("/recipes")
-                        .retrieve()
-                        .toEntity(Mockito.any(ParameterizedTypeReference.class)))
-                .thenReturn(ResponseEntity.ok(List.of(
+        when(apiGateway.getRecipes())
+                .thenReturn(List.of(
                         RecipeDto.builder().id(1L).name("Pasta").build()
-                )));
+                ));
 
-        when(internalApiClient.get()
-                        .uri("/shopping-items/getUserShoppingItems/{id}", 1L)
-                        .retrieve()
-                        .toEntity(Mockito.any(ParameterizedTypeReference.class)))
-                .thenReturn(ResponseEntity.ok(List.of()));
+        when(apiGateway.getUserShoppingItems(1L))
+                .thenReturn(List.of());
 
         mockMvc.perform(get("/mealcraft/meals/add/2025-01-15"))
                 .andExpect(status().isOk())
@@ -77,23 +69,14 @@ class ManageMealPlanControllerTest {
         when(userService.getUserByUsername("testUser")).thenReturn(userDto);
 
         MealPlanDto mealPlan = MealPlanDto.builder().id(1L).name("My Meal").build();
-        when(internalApiClient.get()
-                        .uri("/meal-plans/{id}", 1L)
-                        .retrieve()
-                        .toEntity(Mockito.any(ParameterizedTypeReference.class)))
-                .thenReturn(ResponseEntity.ok(mealPlan));
-
-        when(internalApiClient.get()
-                        .uri("/recipes")
-                        .retrieve()
-                        .toEntity(Mockito.any(ParameterizedTypeReference.class)))
-                .thenReturn(ResponseEntity.ok(List.of()));
-
-        when(internalApiClient.get()
-                        .uri("/shopping-items/getUserShoppingItems/{id}", 1L)
-                        .retrieve()
-                        .toEntity(Mockito.any(ParameterizedTypeReference.class)))
-                .thenReturn(ResponseEntity.ok(List.of()));
+        when(apiGateway.getMealPlan(1L))
+                .thenReturn(mealPlan);
+
+        when(apiGateway.getRecipes())
+                .thenReturn(List.of());
+
+        when(apiGateway.getUserShoppingItems(1L))
+                .thenReturn(List.of());
 
         mockMvc.perform(get("/mealcraft/meals/edit/1"))
                 .andExpect(status().isOk())
@@ -103,46 +86,32 @@ class ManageMealPlanControllerTest {
 
     @Test
     void saveMealPlan_create_redirectsToHome() throws Exception {
-        when(internalApiClient.post()
-                        .uri("/meal-plans")
-                        .body(Mockito.any())
-                        .retrieve()
-                        .toBodilessEntity())
-                .thenReturn(ResponseEntity.ok().build());
-
         mockMvc.perform(post("/mealcraft/meals/save")
                         .param("name", "New Meal Plan"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/mealcraft/home"));
+
+        verify(apiGateway).createMealPlan(Mockito.any(MealPlanDto.class));
     }
 
     @Test
     void saveMealPlan_update_redirectsToHome() throws Exception {
-        when(internalApiClient.put()
-                        .uri("/meal-plans/{id}", 1L)
-                        .body(Mockito.any())
-                        .retrieve()
-                        .toBodilessEntity())
-                .thenReturn(ResponseEntity.ok().build());
-
         mockMvc.perform(post("/mealcraft/meals/save")
                         .param("id", "1")
                         .param("name", "Updated Meal Plan"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/mealcraft/home"));
+
+        verify(apiGateway).updateMealPlan(Mockito.eq(1L), Mockito.any(MealPlanDto.class));
     }
 
     @Test
     void deleteMealPlan_redirectsToHome() throws Exception {
-        when(internalApiClient.delete()
-                        .uri("/meal-plans/{id}", 1L)
-                        .retrieve()
-                        .toBodilessEntity())
-                .thenReturn(ResponseEntity.ok().build());
-
         mockMvc.perform(get("/mealcraft/meals/delete/1"))
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/mealcraft/home"));
+
+        verify(apiGateway).deleteMealPlan(1L);
     }
 }
 
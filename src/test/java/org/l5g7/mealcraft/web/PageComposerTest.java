@@ -0,0 +1,150 @@
+package org.l5g7.mealcraft.web;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.ui.ExtendedModelMap;
+import org.springframework.ui.Model;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageComposerTest {
+
+    private PageComposer pageComposer;
+
+    @BeforeEach
+    void setUp() {
+        pageComposer = new PageComposer(4, Duration.ofSeconds(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pageComposer.close();
+        SecurityContextHolder.clearContext();
+        MDC.clear();
+    }
+
+    @Test
+    void compose_runsPartsConcurrently() {
+        // each part only finishes once all three have started, which they can only do side by side
+        CountDownLatch allStarted = new CountDownLatch(3);
+        Model model = new ExtendedModelMap();
+
+        pageComposer.compose(model,
+                PagePart.of("first", m -> m.addAttribute("first", awaitOthers(allStarted))),
+                PagePart.of("second", m -> m.addAttribute("second", awaitOthers(allStarted))),
+                PagePart.of("third", m -> m.addAttribute("third", awaitOthers(allStarted))));
+
+        assertEquals(List.of("first", "second", "third"), List.copyOf(model.asMap().keySet()));
+        assertTrue(model.asMap().values().stream().allMatch(Boolean.TRUE::equals));
+    }
+
+    @Test
+    void compose_propagatesSecurityContextAndMdc() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("testUser", null, List.of()));
+        MDC.put("user", "testUser");
+        Model model = new ExtendedModelMap();
+
+        pageComposer.compose(model, PagePart.of("context", m -> {
+            m.addAttribute("username", SecurityContextHolder.getContext().getAuthentication().getName());
+            m.addAttribute("mdcUser", MDC.get("user"));
+        }));
+
+        assertEquals("testUser", model.getAttribute("username"));
+        assertEquals("testUser", model.getAttribute("mdcUser"));
+    }
+
+    @Test
+    void compose_failingPart_usesFallbackAndKeepsOthers() {
+        Model model = new ExtendedModelMap();
+
+        pageComposer.compose(model,
+                PagePart.of("broken", m -> {
+                    throw new IllegalStateException("down");
+                }).orElse(m -> m.addAttribute("broken", List.of())),
+                PagePart.of("working", m -> m.addAttribute("working", "ok")));
+
+        assertEquals(List.of(), model.getAttribute("broken"));
+        assertEquals("ok", model.getAttribute("working"));
+    }
+
+    @Test
+    void compose_slowPart_timesOutToFallbackAndIsInterrupted() throws InterruptedException {
+        CountDownLatch never = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Model model = new ExtendedModelMap();
+
+        pageComposer.compose(model,
+                PagePart.of("slow", m -> {
+                    try {
+                        never.await();
+                        m.addAttribute("slow", "done");
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                })
+                        .orElse(m -> m.addAttribute("slow", "fallback"))
+                        .within(Duration.ofMillis(100)));
+
+        assertEquals("fallback", model.getAttribute("slow"));
+        assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void compose_saturatedPool_runsOnCallerWithoutLosingItsContext() {
+        // one thread with a queue of 16: the first part holds the thread until a part has run on the caller
+        PageComposer single = new PageComposer(1, Duration.ofSeconds(10));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("testUser", null, List.of()));
+        Thread caller = Thread.currentThread();
+        CountDownLatch ranOnCaller = new CountDownLatch(1);
+        Model model = new ExtendedModelMap();
+        PagePart[] parts = new PagePart[40];
+        parts[0] = PagePart.of("part0", m -> m.addAttribute("part0", await(ranOnCaller)));
+        for (int i = 1; i < parts.length; i++) {
+            String name = "part" + i;
+            parts[i] = PagePart.of(name, m -> {
+                if (Thread.currentThread() == caller) {
+                    ranOnCaller.countDown();
+                }
+                m.addAttribute(name, name);
+            });
+        }
+
+        try {
+            single.compose(model, parts);
+        } finally {
+            single.close();
+        }
+
+        assertEquals(40, model.asMap().size());
+        assertEquals(Boolean.TRUE, model.getAttribute("part0"));
+        assertEquals("testUser", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    private static boolean awaitOthers(CountDownLatch latch) {
+        latch.countDown();
+        return await(latch);
+    }
+
+    /**
+     * Waits for {@code latch} to open; the timeout only keeps a broken composer from hanging the build.
+     */
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
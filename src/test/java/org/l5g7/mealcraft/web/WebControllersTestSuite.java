@@ -2,6 +2,7 @@ package org.l5g7.mealcraft.web;
 
 import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
+import org.l5g7.mealcraft.web.gateway.ApiGatewayTest;
 
 @Suite
 @SelectClasses({
@@ -16,7 +17,9 @@ import org.junit.platform.suite.api.Suite;
         AdminUserWebControllerTest.class,
         AuthWebControllerTest.class,
         HomeWebControllerTest.class,
-        ManageMealPlanControllerTest.class
+        ManageMealPlanControllerTest.class,
+        PageComposerTest.class,
+        ApiGatewayTest.class
 })
 public class WebControllersTestSuite {
 }
@@ -0,0 +1,89 @@
+package org.l5g7.mealcraft.web.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.l5g7.mealcraft.app.mealplan.MealPlanCalendarService;
+import org.l5g7.mealcraft.app.mealplan.MealPlanService;
+import org.l5g7.mealcraft.app.products.ProductDto;
+import org.l5g7.mealcraft.app.products.ProductService;
+import org.l5g7.mealcraft.app.recipes.RecipeService;
+import org.l5g7.mealcraft.app.shoppingitem.ShoppingItemService;
+import org.l5g7.mealcraft.app.statistics.StatisticsController;
+import org.l5g7.mealcraft.app.units.UnitService;
+import org.l5g7.mealcraft.app.user.UserService;
+import org.l5g7.mealcraft.exception.EntityAlreadyExistsException;
+import org.l5g7.mealcraft.exception.EntityDoesNotExistException;
+import org.l5g7.mealcraft.mealcraftstarterexternalrecipes.RecipeProvider;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+class ApiGatewayTest {
+
+    private ProductService productService;
+    private RecipeService recipeService;
+    private Validator validator;
+    private ApiGateway apiGateway;
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        recipeService = mock(RecipeService.class);
+        validator = mock(Validator.class);
+        when(validator.validate(any())).thenReturn(Set.of());
+
+        apiGateway = new ApiGateway(recipeService, productService, mock(UnitService.class),
+                mock(ShoppingItemService.class), mock(MealPlanService.class), mock(MealPlanCalendarService.class),
+                mock(UserService.class),
+                mock(StatisticsController.class), mock(RecipeProvider.class), validator, new ObjectMapper());
+    }
+
+    @Test
+    void createProduct_alreadyExists_translatedToConflict() {
+        ProductDto dto = ProductDto.builder().name("Milk").build();
+        doThrow(new EntityAlreadyExistsException("Product", "Milk")).when(productService).createProduct(dto);
+
+        HttpClientErrorException ex = assertThrows(HttpClientErrorException.class, () -> apiGateway.createProduct(dto));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+    }
+
+    @Test
+    void getRecipe_missing_translatedToNotFoundWithMessage() {
+        when(recipeService.getRecipeById(5L)).thenThrow(new EntityDoesNotExistException("Recipe", "5"));
+
+        HttpClientErrorException ex = assertThrows(HttpClientErrorException.class, () -> apiGateway.getRecipe(5L));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+        assertEquals("Recipe not found", ex.getResponseBodyAsString());
+    }
+
+    @Test
+    void deleteProduct_illegalState_translatedToBadRequest() {
+        doThrow(new IllegalStateException("Product is used in recipes")).when(productService).deleteProductById(1L);
+
+        HttpClientErrorException ex = assertThrows(HttpClientErrorException.class, () -> apiGateway.deleteProduct(1L));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        assertEquals("Product is used in recipes", ex.getResponseBodyAsString());
+    }
+
+    @Test
+    void getProducts_unexpectedFailure_translatedToServerError() {
+        when(productService.getAllProducts()).thenThrow(new NullPointerException("boom"));
+
+        HttpServerErrorException ex = assertThrows(HttpServerErrorException.class, () -> apiGateway.getProducts());
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, ex.getStatusCode());
+        assertEquals("", ex.getResponseBodyAsString());
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.l5g7.mealcraft.app.auth.security.JwtCookieFilter;
+import org.l5g7.mealcraft.app.paging.CursorPage;
+import org.l5g7.mealcraft.app.ratelimit.ApiRateLimitFilter;
 import org.l5g7.mealcraft.app.user.UserController;
 import org.l5g7.mealcraft.app.user.UserRequestDto;
 import org.l5g7.mealcraft.app.user.UserResponseDto;
@@ -35,7 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         controllers = UserController.class,
         excludeFilters = @ComponentScan.Filter(
                 type = FilterType.ASSIGNABLE_TYPE,
-                classes = { JwtCookieFilter.class }
+                classes = { JwtCookieFilter.class, ApiRateLimitFilter.class }
         )
 )
 @AutoConfigureMockMvc(addFilters = false)
@@ -93,11 +95,12 @@ class UserControllerWebMvcTest {
                         .avatarUrl(null)
                         .build()
         );
-        when(userService.getAllUsers()).thenReturn(list);
+        when(userService.getUsersPage(null, 50)).thenReturn(new CursorPage<>(list, "next-page"));
 
         mockMvc.perform(get("/users")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next-page"))
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()", is(2)))
@@ -116,7 +119,7 @@ class UserControllerWebMvcTest {
                 .andExpect(jsonPath("$.password").doesNotExist());
 
 
-        verify(userService).getAllUsers();
+        verify(userService).getUsersPage(null, 50);
     }
 
     @Test